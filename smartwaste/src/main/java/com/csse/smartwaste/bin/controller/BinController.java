@@ -1,15 +1,31 @@
 package com.csse.smartwaste.bin.controller;
 
 import com.csse.smartwaste.bin.entity.Bin;
+import com.csse.smartwaste.bin.entity.BinRolloverRun;
+import com.csse.smartwaste.bin.service.BinImportService;
+import com.csse.smartwaste.bin.service.BinRolloverService;
 import com.csse.smartwaste.bin.service.BinService;
+import com.csse.smartwaste.bin.service.FillPredictionService;
+import com.csse.smartwaste.bin.service.BinStatsService;
+import com.csse.smartwaste.bin.dto.BinClusterResponse;
+import com.csse.smartwaste.bin.dto.BinImportResponse;
+import com.csse.smartwaste.bin.dto.BinLocationResponse;
+import com.csse.smartwaste.bin.dto.BinPageResponse;
 import com.csse.smartwaste.bin.dto.BinRequest;
 import com.csse.smartwaste.bin.dto.BinResponse;
 import com.csse.smartwaste.common.exception.DuplicateResourceException;
 import com.csse.smartwaste.common.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -35,14 +51,26 @@ import java.util.Map;
 public class BinController {
 
     private final BinService binService;
+    private final BinImportService binImportService;
+    private final BinStatsService binStatsService;
+    private final BinRolloverService binRolloverService;
+    private final FillPredictionService fillPredictionService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Constructor injection - follows Dependency Injection best practice
      * DIP: Depends on abstraction (BinService) not concrete implementation
      */
     @Autowired
-    public BinController(BinService binService) {
+    public BinController(BinService binService, BinImportService binImportService,
+                         BinStatsService binStatsService, BinRolloverService binRolloverService,
+                         FillPredictionService fillPredictionService, ObjectMapper objectMapper) {
         this.binService = binService;
+        this.binImportService = binImportService;
+        this.binStatsService = binStatsService;
+        this.binRolloverService = binRolloverService;
+        this.fillPredictionService = fillPredictionService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -78,6 +106,32 @@ public class BinController {
         }
     }
 
+    /**
+     * Bulk import bins from an NDJSON or CSV request body
+     * The body is streamed, so uploads of any size are processed in constant memory.
+     * SRP: Single responsibility - only handles bulk import HTTP request
+     * 
+     * @param body raw request body
+     * @param contentType text/csv for CSV, anything else is read as NDJSON
+     * @param format optional explicit format (ndjson or csv), overrides the content type
+     * @return ResponseEntity containing counts and per-row errors
+     */
+    @PostMapping("/import")
+    public ResponseEntity<BinImportResponse> importBins(
+            InputStream body,
+            @RequestHeader(value = "Content-Type", required = false) String contentType,
+            @RequestParam(required = false) String format) throws IOException {
+        BinImportService.Format importFormat;
+        if (format != null) {
+            importFormat = BinImportService.Format.valueOf(format.toUpperCase());
+        } else if (contentType != null && contentType.toLowerCase().contains("csv")) {
+            importFormat = BinImportService.Format.CSV;
+        } else {
+            importFormat = BinImportService.Format.NDJSON;
+        }
+        return ResponseEntity.ok(binImportService.importBins(body, importFormat));
+    }
+
     /**
      * Get bin by binId
      * SRP: Single responsibility - only handles bin retrieval HTTP request
@@ -92,40 +146,140 @@ public class BinController {
     }
 
     /**
-     * Get all bins
+     * Resolve a scanned QR/RFID tag value to its bin
+     * SRP: Single responsibility - only handles tag scan HTTP request
+     * 
+     * @param value the scanned tag value
+     * @return ResponseEntity containing the bin
+     */
+    @GetMapping("/by-tag/{value}")
+    public ResponseEntity<BinResponse> getBinByTagValue(@PathVariable String value) {
+        return ResponseEntity.ok(binService.getBinByTagValue(value));
+    }
+
+    /**
+     * Get all bins, one page at a time
      * SRP: Single responsibility - only handles all bins retrieval HTTP request
      * 
-     * @return ResponseEntity containing list of all bins
+     * @param limit page size (defaults to the configured page size)
+     * @param after cursor from the X-Next-Cursor header of the previous page
+     * @return ResponseEntity containing one page of bins
      */
     @GetMapping
-    public ResponseEntity<List<BinResponse>> getAllBins() {
-        List<BinResponse> bins = binService.getAllBins();
-        return ResponseEntity.ok(bins);
+    public ResponseEntity<List<BinResponse>> getAllBins(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        return pageResponse(binService.getBinsPage(null, null, after, limit));
     }
 
     /**
-     * Get bins by owner ID
+     * Get bins by owner ID, one page at a time
      * SRP: Single responsibility - only handles bins by owner retrieval HTTP request
      * 
      * @param ownerId the owner identifier
-     * @return ResponseEntity containing list of bins owned by the specified owner
+     * @param limit page size (defaults to the configured page size)
+     * @param after cursor from the X-Next-Cursor header of the previous page
+     * @return ResponseEntity containing one page of bins owned by the specified owner
      */
     @GetMapping("/owner/{ownerId}")
-    public ResponseEntity<List<BinResponse>> getBinsByOwnerId(@PathVariable String ownerId) {
-        List<BinResponse> bins = binService.getBinsByOwnerId(ownerId);
-        return ResponseEntity.ok(bins);
+    public ResponseEntity<List<BinResponse>> getBinsByOwnerId(
+            @PathVariable String ownerId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        return pageResponse(binService.getBinsPage(ownerId, null, after, limit));
     }
 
     /**
-     * Get bins by status
+     * Get bins by status, one page at a time
      * SRP: Single responsibility - only handles bins by status retrieval HTTP request
      * 
      * @param status the bin status
-     * @return ResponseEntity containing list of bins with the specified status
+     * @param limit page size (defaults to the configured page size)
+     * @param after cursor from the X-Next-Cursor header of the previous page
+     * @return ResponseEntity containing one page of bins with the specified status
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<BinResponse>> getBinsByStatus(@PathVariable Bin.BinStatus status) {
-        List<BinResponse> bins = binService.getBinsByStatus(status);
+    public ResponseEntity<List<BinResponse>> getBinsByStatus(
+            @PathVariable Bin.BinStatus status,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        return pageResponse(binService.getBinsPage(null, status, after, limit));
+    }
+
+    /**
+     * Stream all matching bins as NDJSON straight from a database cursor
+     * SRP: Single responsibility - only handles streamed listing HTTP request
+     * 
+     * @param ownerId optional owner filter
+     * @param status optional status filter
+     * @return ResponseEntity writing one JSON bin per line
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamBins(
+            @RequestParam(required = false) String ownerId,
+            @RequestParam(required = false) Bin.BinStatus status) {
+        StreamingResponseBody body = (OutputStream out) -> {
+            binService.streamBins(ownerId, status, bin -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(bin));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * Get bins inside a bounding box
+     * SRP: Single responsibility - only handles bounding-box HTTP request
+     * 
+     * @param bbox bounding box as "minLng,minLat,maxLng,maxLat"
+     * @param limit maximum number of bins to return
+     * @return ResponseEntity containing bins inside the box
+     */
+    @GetMapping("/within")
+    public ResponseEntity<List<BinLocationResponse>> getBinsWithinBounds(
+            @RequestParam String bbox,
+            @RequestParam(defaultValue = "5000") int limit) {
+        List<BinLocationResponse> bins = binService.getBinsWithinBounds(bbox, limit);
+        return ResponseEntity.ok(bins);
+    }
+
+    /**
+     * Get pre-aggregated map clusters inside a bounding box
+     * SRP: Single responsibility - only handles cluster HTTP request
+     * 
+     * @param bbox bounding box as "minLng,minLat,maxLng,maxLat"
+     * @param zoom map zoom level
+     * @return ResponseEntity containing one marker per cluster
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<List<BinClusterResponse>> getBinClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(binService.getBinClusters(bbox, zoom));
+    }
+
+    /**
+     * Get the bins nearest to a point
+     * SRP: Single responsibility - only handles nearest-bin HTTP request
+     * 
+     * @param lat query latitude
+     * @param lng query longitude
+     * @param k number of bins to return
+     * @return ResponseEntity containing bins ordered by distance
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<BinLocationResponse>> getNearestBins(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") int k) {
+        List<BinLocationResponse> bins = binService.getNearestBins(lat, lng, k);
         return ResponseEntity.ok(bins);
     }
 
@@ -181,21 +335,18 @@ public class BinController {
      */
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getBinStats() {
-        long totalBins = binService.getAllBins().size();
-        long activeBins = binService.getBinCountByStatus(Bin.BinStatus.ACTIVE);
-        long damagedBins = binService.getBinCountByStatus(Bin.BinStatus.DAMAGED);
-        long maintenanceBins = binService.getBinCountByStatus(Bin.BinStatus.MAINTENANCE);
-        long lostBins = binService.getBinCountByStatus(Bin.BinStatus.LOST);
-
-        Map<String, Object> stats = Map.of(
-            "totalBins", totalBins,
-            "activeBins", activeBins,
-            "damagedBins", damagedBins,
-            "maintenanceBins", maintenanceBins,
-            "lostBins", lostBins
-        );
+        return ResponseEntity.ok(binStatsService.getBinStats());
+    }
 
-        return ResponseEntity.ok(stats);
+    /**
+     * Get bin lookup cache metrics
+     * SRP: Single responsibility - only handles cache metrics HTTP request
+     * 
+     * @return ResponseEntity containing hit/miss counters and cache size
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getLookupCacheStats() {
+        return ResponseEntity.ok(binService.getLookupCacheStats());
     }
 
     /**
@@ -209,4 +360,68 @@ public class BinController {
         Map<String, Map<String, Object>> activitySummary = binService.getActivitySummary();
         return ResponseEntity.ok(activitySummary);
     }
+
+    /**
+     * Reconcile zone activity counters against the database on demand
+     * SRP: Single responsibility - only handles reconciliation HTTP request
+     *
+     * @return ResponseEntity containing the corrections that were applied
+     */
+    @PostMapping("/activity-summary/reconcile")
+    public ResponseEntity<Map<String, Map<String, Long>>> reconcileActivitySummary() {
+        return ResponseEntity.ok(binService.reconcileActivitySummary());
+    }
+
+    /**
+     * Get bins predicted to be full within the given number of hours, most urgent first
+     * SRP: Single responsibility - only handles fill prediction HTTP request
+     *
+     * @param withinHours prediction horizon from now
+     * @param limit maximum number of bins to return
+     * @return ResponseEntity containing the bins ordered by predicted full time
+     */
+    @GetMapping("/predicted-full")
+    public ResponseEntity<List<BinResponse>> getBinsPredictedFull(
+            @RequestParam(defaultValue = "24") double withinHours,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(fillPredictionService.getBinsPredictedFullWithin(withinHours, limit));
+    }
+
+    /**
+     * Assign bins to a worker, replacing any earlier assignment of those bins
+     * SRP: Single responsibility - only handles bin assignment HTTP request
+     *
+     * @param workerId the worker identifier
+     * @param binIds the bins to assign
+     * @return ResponseEntity containing how many bins changed assignment
+     */
+    @PutMapping("/assignments/{workerId}")
+    public ResponseEntity<Map<String, Object>> assignBinsToWorker(@PathVariable String workerId,
+                                                                  @RequestBody List<String> binIds) {
+        int assigned = binService.assignBinsToWorker(workerId, binIds).size();
+        return ResponseEntity.ok(Map.of("workerId", workerId, "assigned", assigned));
+    }
+
+    /**
+     * Get the most recent daily rollover runs
+     * SRP: Single responsibility - only handles rollover history HTTP request
+     *
+     * @return ResponseEntity containing the runs and how many bins each one reset
+     */
+    @GetMapping("/rollover/runs")
+    public ResponseEntity<List<BinRolloverRun>> getRolloverRuns() {
+        return ResponseEntity.ok(binRolloverService.getRecentRuns());
+    }
+
+    /**
+     * Return a page as a plain array, with the continuation cursor in the X-Next-Cursor header
+     * Keeps the original response shape for existing callers.
+     */
+    private ResponseEntity<List<BinResponse>> pageResponse(BinPageResponse page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
@@ -0,0 +1,51 @@
+package com.csse.smartwaste.bin.dto;
+
+import java.util.Map;
+
+/**
+ * Bin Cluster Response DTO - One map marker standing for one or more nearby bins
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only carries what a clustered map marker needs
+ * - ISP (Interface Segregation): Map clients get aggregates instead of every bin
+ *
+ * CODE SMELLS AVOIDED:
+ * - No bloated payloads: A city-wide view is a few hundred markers, not the whole fleet
+ * - Clear naming: Descriptive field names
+ */
+public class BinClusterResponse {
+    private double latitude;
+    private double longitude;
+    private int count;
+    private Map<String, Integer> statusCounts;
+
+    /** Set only for single-bin markers at street level */
+    private String binId;
+
+    // Default constructor
+    public BinClusterResponse() {}
+
+    // Constructor with all aggregate fields
+    public BinClusterResponse(double latitude, double longitude, int count, Map<String, Integer> statusCounts) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.statusCounts = statusCounts;
+    }
+
+    // Getters and Setters
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public Map<String, Integer> getStatusCounts() { return statusCounts; }
+    public void setStatusCounts(Map<String, Integer> statusCounts) { this.statusCounts = statusCounts; }
+
+    public String getBinId() { return binId; }
+    public void setBinId(String binId) { this.binId = binId; }
+}
@@ -0,0 +1,72 @@
+package com.csse.smartwaste.bin.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bin Import Response DTO - Outcome of a bulk bin import
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for transferring import results
+ *
+ * CODE SMELLS AVOIDED:
+ * - No unbounded payloads: Row errors are capped and the cap is reported
+ * - Clear structure: Counters plus the individual row errors
+ */
+public class BinImportResponse {
+    private long totalRows;
+    private long inserted;
+    private long duplicates;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    // Default constructor
+    public BinImportResponse() {}
+
+    // Getters and Setters
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+
+    public long getInserted() { return inserted; }
+    public void setInserted(long inserted) { this.inserted = inserted; }
+
+    public long getDuplicates() { return duplicates; }
+    public void setDuplicates(long duplicates) { this.duplicates = duplicates; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    /**
+     * Row Error DTO
+     * SRP: Single responsibility - only describes why one input line was rejected
+     */
+    public static class RowError {
+        private long line;
+        private String binId;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long line, String binId, String message) {
+            this.line = line;
+            this.binId = binId;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+
+        public String getBinId() { return binId; }
+        public void setBinId(String binId) { this.binId = binId; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
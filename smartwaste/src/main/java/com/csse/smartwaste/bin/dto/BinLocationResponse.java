@@ -0,0 +1,50 @@
+package com.csse.smartwaste.bin.dto;
+
+import com.csse.smartwaste.bin.entity.Bin;
+
+/**
+ * Bin Location Response DTO - Lightweight bin marker returned by spatial queries
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only carries what a map marker needs
+ * - ISP (Interface Segregation): Map clients do not receive the full BinResponse
+ *
+ * CODE SMELLS AVOIDED:
+ * - No bloated payloads: Only id, status and coordinates are sent for large result sets
+ * - Clear naming: Descriptive field names
+ */
+public class BinLocationResponse {
+    private String binId;
+    private Bin.BinStatus status;
+    private double latitude;
+    private double longitude;
+    private Double distanceKm;
+
+    // Default constructor
+    public BinLocationResponse() {}
+
+    // Constructor with all fields
+    public BinLocationResponse(String binId, Bin.BinStatus status, double latitude, double longitude, Double distanceKm) {
+        this.binId = binId;
+        this.status = status;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distanceKm = distanceKm;
+    }
+
+    // Getters and Setters
+    public String getBinId() { return binId; }
+    public void setBinId(String binId) { this.binId = binId; }
+
+    public Bin.BinStatus getStatus() { return status; }
+    public void setStatus(Bin.BinStatus status) { this.status = status; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+}
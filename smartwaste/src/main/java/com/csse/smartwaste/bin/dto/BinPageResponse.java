@@ -0,0 +1,34 @@
+package com.csse.smartwaste.bin.dto;
+
+import java.util.List;
+
+/**
+ * Bin Page Response DTO - One page of a keyset-paginated bin listing
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for carrying a page and its continuation cursor
+ *
+ * CODE SMELLS AVOIDED:
+ * - No offset paging: The cursor is the last _id returned, so deep pages cost the same as the first
+ */
+public class BinPageResponse {
+    private List<BinResponse> items;
+    private String nextCursor;
+
+    // Default constructor
+    public BinPageResponse() {}
+
+    // Constructor with all fields
+    public BinPageResponse(List<BinResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<BinResponse> getItems() { return items; }
+    public void setItems(List<BinResponse> items) { this.items = items; }
+
+    /** Cursor for the next page, or null when this is the last page */
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -26,6 +26,12 @@ public class BinResponse {
     private Double latitude;
     private Double longitude;
     private String address;
+    private String zoneId;
+    private String assignedWorkerId;
+    private LocalDateTime lastCollectedAt;
+    private Integer fillLevel;
+    private Double fillRatePerHour;
+    private LocalDateTime predictedFullAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -56,7 +62,7 @@ public class BinResponse {
             tagResponse = new BinTagResponse(bin.getTag().getType(), bin.getTag().getValue());
         }
 
-        return new BinResponse(
+        BinResponse response = new BinResponse(
             bin.getId(),
             bin.getBinId(),
             bin.getOwnerId(),
@@ -68,6 +74,13 @@ public class BinResponse {
             bin.getCreatedAt(),
             bin.getUpdatedAt()
         );
+        response.setZoneId(bin.getZoneId());
+        response.setAssignedWorkerId(bin.getAssignedWorkerId());
+        response.setLastCollectedAt(bin.getLastCollectedAt());
+        response.setFillLevel(bin.getFillLevel());
+        response.setFillRatePerHour(bin.getFillRatePerHour());
+        response.setPredictedFullAt(bin.getPredictedFullAt());
+        return response;
     }
 
     // Getters and Setters
@@ -95,6 +108,24 @@ public class BinResponse {
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
 
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public String getAssignedWorkerId() { return assignedWorkerId; }
+    public void setAssignedWorkerId(String assignedWorkerId) { this.assignedWorkerId = assignedWorkerId; }
+
+    public LocalDateTime getLastCollectedAt() { return lastCollectedAt; }
+    public void setLastCollectedAt(LocalDateTime lastCollectedAt) { this.lastCollectedAt = lastCollectedAt; }
+
+    public Integer getFillLevel() { return fillLevel; }
+    public void setFillLevel(Integer fillLevel) { this.fillLevel = fillLevel; }
+
+    public Double getFillRatePerHour() { return fillRatePerHour; }
+    public void setFillRatePerHour(Double fillRatePerHour) { this.fillRatePerHour = fillRatePerHour; }
+
+    public LocalDateTime getPredictedFullAt() { return predictedFullAt; }
+    public void setPredictedFullAt(LocalDateTime predictedFullAt) { this.predictedFullAt = predictedFullAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
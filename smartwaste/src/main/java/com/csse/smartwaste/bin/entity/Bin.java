@@ -1,6 +1,9 @@
 package com.csse.smartwaste.bin.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -21,12 +24,24 @@ import java.time.LocalDateTime;
  * - Proper encapsulation: Private fields with public getters/setters
  */
 @Document(collection = "bins")
+@CompoundIndexes({
+    // Keyset pagination of the owner and status listings
+    @CompoundIndex(name = "owner_id_idx", def = "{'ownerId': 1, '_id': 1}"),
+    @CompoundIndex(name = "status_id_idx", def = "{'status': 1, '_id': 1}"),
+    // Daily rollover pages through one zone's COLLECTED bins
+    @CompoundIndex(name = "zone_status_id_idx", def = "{'zoneId': 1, 'status': 1, '_id': 1}"),
+    // Fallback for tag scans while the in-memory tag index is loading
+    @CompoundIndex(name = "tag_value_idx", def = "{'tag.value': 1}"),
+    // A worker's route is built from their assigned ACTIVE bins
+    @CompoundIndex(name = "worker_status_idx", def = "{'assignedWorkerId': 1, 'status': 1}")
+})
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Bin {
 
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String binId;
     private String ownerId;
     private BinStatus status;
@@ -34,6 +49,23 @@ public class Bin {
     private Double latitude;
     private Double longitude;
     private String address;
+
+    @Indexed
+    private String zoneId;
+
+    // Worker responsible for collecting this bin, if any
+    private String assignedWorkerId;
+
+    // Set when the bin moves to COLLECTED, and when the missed-collection detector reports it
+    private LocalDateTime lastCollectedAt;
+    private LocalDateTime lastMissedAt;
+
+    // Fill prediction, maintained by FillPredictionService from sensor and collection readings
+    private Integer fillLevel;
+    private Double fillRatePerHour;
+    private LocalDateTime fillLevelUpdatedAt;
+    private LocalDateTime predictedFullAt;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -55,6 +87,28 @@ public class Bin {
         this.address = address;
     }
 
+    // Copy constructor - used to snapshot a bin before it is modified
+    public Bin(Bin other) {
+        this.id = other.id;
+        this.binId = other.binId;
+        this.ownerId = other.ownerId;
+        this.status = other.status;
+        this.tag = other.tag != null ? new BinTag(other.tag.getType(), other.tag.getValue()) : null;
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+        this.address = other.address;
+        this.zoneId = other.zoneId;
+        this.assignedWorkerId = other.assignedWorkerId;
+        this.lastCollectedAt = other.lastCollectedAt;
+        this.lastMissedAt = other.lastMissedAt;
+        this.fillLevel = other.fillLevel;
+        this.fillRatePerHour = other.fillRatePerHour;
+        this.fillLevelUpdatedAt = other.fillLevelUpdatedAt;
+        this.predictedFullAt = other.predictedFullAt;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -83,9 +137,33 @@ public class Bin {
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
 
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public String getAssignedWorkerId() { return assignedWorkerId; }
+    public void setAssignedWorkerId(String assignedWorkerId) { this.assignedWorkerId = assignedWorkerId; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public LocalDateTime getLastCollectedAt() { return lastCollectedAt; }
+    public void setLastCollectedAt(LocalDateTime lastCollectedAt) { this.lastCollectedAt = lastCollectedAt; }
+
+    public LocalDateTime getLastMissedAt() { return lastMissedAt; }
+    public void setLastMissedAt(LocalDateTime lastMissedAt) { this.lastMissedAt = lastMissedAt; }
+
+    public Integer getFillLevel() { return fillLevel; }
+    public void setFillLevel(Integer fillLevel) { this.fillLevel = fillLevel; }
+
+    public Double getFillRatePerHour() { return fillRatePerHour; }
+    public void setFillRatePerHour(Double fillRatePerHour) { this.fillRatePerHour = fillRatePerHour; }
+
+    public LocalDateTime getFillLevelUpdatedAt() { return fillLevelUpdatedAt; }
+    public void setFillLevelUpdatedAt(LocalDateTime fillLevelUpdatedAt) { this.fillLevelUpdatedAt = fillLevelUpdatedAt; }
+
+    public LocalDateTime getPredictedFullAt() { return predictedFullAt; }
+    public void setPredictedFullAt(LocalDateTime predictedFullAt) { this.predictedFullAt = predictedFullAt; }
+
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
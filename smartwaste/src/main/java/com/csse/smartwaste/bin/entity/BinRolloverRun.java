@@ -0,0 +1,102 @@
+package com.csse.smartwaste.bin.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Bin Rollover Run Entity - Records one daily COLLECTED to ACTIVE rollover of a zone
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only describes the outcome of a rollover run
+ *
+ * CODE SMELLS AVOIDED:
+ * - No double rollover: The unique zone/date index lets only one instance claim a day
+ * - Proper encapsulation: Private fields with public getters/setters
+ */
+@Document(collection = "bin_rollover_runs")
+@CompoundIndex(name = "zone_date_idx", def = "{'zoneId': 1, 'rolloverDate': 1}", unique = true)
+public class BinRolloverRun {
+
+    @Id
+    private String id;
+
+    private String zoneId;
+
+    /** Local date of the zone the run belongs to */
+    private LocalDate rolloverDate;
+
+    private RunStatus status;
+    private long binsUpdated;
+    private int batches;
+    private String error;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    /** Identifies the current claim; writes of an instance whose claim was taken over are ignored */
+    private String claimToken;
+    /** Refreshed after every page; a RUNNING run without a recent heartbeat may be reclaimed */
+    private LocalDateTime heartbeatAt;
+
+    // Default constructor for MongoDB
+    public BinRolloverRun() {
+    }
+
+    // Constructor with required fields
+    public BinRolloverRun(String zoneId, LocalDate rolloverDate) {
+        this.zoneId = zoneId;
+        this.rolloverDate = rolloverDate;
+        this.status = RunStatus.RUNNING;
+        this.startedAt = LocalDateTime.now();
+        this.heartbeatAt = this.startedAt;
+        this.claimToken = UUID.randomUUID().toString();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public LocalDate getRolloverDate() { return rolloverDate; }
+    public void setRolloverDate(LocalDate rolloverDate) { this.rolloverDate = rolloverDate; }
+
+    public RunStatus getStatus() { return status; }
+    public void setStatus(RunStatus status) { this.status = status; }
+
+    public long getBinsUpdated() { return binsUpdated; }
+    public void setBinsUpdated(long binsUpdated) { this.binsUpdated = binsUpdated; }
+
+    public int getBatches() { return batches; }
+    public void setBatches(int batches) { this.batches = batches; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    /**
+     * Run Status Enum
+     * FAILED runs, and RUNNING runs whose heartbeat has gone stale, are retried on the next
+     * scheduler tick of the same day.
+     */
+    public enum RunStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+}
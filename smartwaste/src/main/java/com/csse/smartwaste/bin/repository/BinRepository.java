@@ -60,7 +60,7 @@ public interface BinRepository extends MongoRepository<Bin, String> {
      * @param maxLng maximum longitude
      * @return List of bins within the specified geographical bounds
      */
-    @Query("{'location.coordinates': {$geoWithin: {$box: [[?0, ?1], [?2, ?3]]}}}")
+    @Query("{'longitude': {$gte: ?0, $lte: ?2}, 'latitude': {$gte: ?1, $lte: ?3}}")
     List<Bin> findBinsWithinBounds(double minLng, double minLat, double maxLng, double maxLat);
 
     /**
@@ -88,4 +88,12 @@ public interface BinRepository extends MongoRepository<Bin, String> {
      */
     @Query("{'tag.type': ?0}")
     List<Bin> findByTagType(String tagType);
+
+    /**
+     * Find the bin carrying a tag value SRP: Single responsibility - only finds by tag value
+     *
+     * @param tagValue the scanned QR/RFID value
+     * @return Optional containing the bin if found
+     */
+    Optional<Bin> findFirstByTagValue(String tagValue);
 }
@@ -0,0 +1,26 @@
+package com.csse.smartwaste.bin.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.csse.smartwaste.bin.entity.BinRolloverRun;
+
+/**
+ * Bin Rollover Run Repository - Handles data access for rollover run records
+ *
+ * SOLID PRINCIPLES APPLIED: - SRP (Single Responsibility): Only responsible for
+ * rollover run persistence - DIP (Dependency Inversion): Depends on abstraction
+ * (MongoRepository) not concrete implementation
+ */
+@Repository
+public interface BinRolloverRunRepository extends MongoRepository<BinRolloverRun, String> {
+
+    /**
+     * Find the most recent runs SRP: Single responsibility - only lists recent runs
+     *
+     * @return the latest 50 runs, newest first
+     */
+    List<BinRolloverRun> findTop50ByOrderByStartedAtDesc();
+}
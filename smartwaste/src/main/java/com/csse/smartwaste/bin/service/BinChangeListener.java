@@ -0,0 +1,47 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+
+/**
+ * Bin Change Listener - Receives bin write events so in-memory views stay in sync with MongoDB
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - OCP (Open/Closed): New in-memory views are added by implementing this interface,
+ *   without modifying BinService
+ * - ISP (Interface Segregation): Only the three events a read model needs
+ * - DIP (Dependency Inversion): BinService publishes to this abstraction, not to concrete indexes
+ *
+ * Implementations are called on the request thread that performed the write and must be
+ * thread-safe. They must not depend on BinService (it depends on them through BinChangePublisher).
+ */
+public interface BinChangeListener {
+
+    /**
+     * Called after a bin has been inserted or updated
+     *
+     * @param previous snapshot of the bin before the write, or null when the bin was created
+     *                 (or when the bin is replayed during a reload)
+     * @param current the bin as it was saved
+     */
+    void onBinSaved(Bin previous, Bin current);
+
+    /**
+     * Called after a bin has been deleted
+     *
+     * @param bin the bin as it was before deletion
+     */
+    void onBinDeleted(Bin bin);
+
+    /**
+     * Called before every bin is replayed through onBinSaved during a full reload.
+     * Implementations should drop their current state here.
+     */
+    default void onReloadStarted() {
+    }
+
+    /**
+     * Called after a full reload has replayed every bin
+     */
+    default void onReloadCompleted() {
+    }
+}
@@ -0,0 +1,97 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bin Change Publisher - Fans bin write events out to every registered BinChangeListener
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for delivering bin change events
+ * - OCP (Open/Closed): Listeners are discovered by Spring, so new views need no changes here
+ * - DIP (Dependency Inversion): Depends on the BinChangeListener abstraction
+ *
+ * CODE SMELLS AVOIDED:
+ * - No shotgun surgery: BinService notifies one collaborator instead of every index
+ * - No duplicate loading: All listeners are rebuilt from a single pass over the bins collection
+ */
+@Component
+public class BinChangePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinChangePublisher.class);
+
+    private final List<BinChangeListener> listeners;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (BinChangeListener, MongoTemplate)
+     */
+    @Autowired
+    public BinChangePublisher(List<BinChangeListener> listeners, MongoTemplate mongoTemplate) {
+        this.listeners = listeners;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Publish a bin insert or update
+     * SRP: Single responsibility - only forwards the event
+     *
+     * @param previous snapshot before the write, or null for a new bin
+     * @param current the saved bin
+     */
+    public void publishSaved(Bin previous, Bin current) {
+        for (BinChangeListener listener : listeners) {
+            listener.onBinSaved(previous, current);
+        }
+    }
+
+    /**
+     * Publish a bin deletion
+     * SRP: Single responsibility - only forwards the event
+     *
+     * @param bin the deleted bin
+     */
+    public void publishDeleted(Bin bin) {
+        for (BinChangeListener listener : listeners) {
+            listener.onBinDeleted(bin);
+        }
+    }
+
+    /**
+     * Rebuild every listener from MongoDB
+     * Runs once at startup and after bulk migrations that write to the collection directly.
+     * The collection is read through a cursor so the whole fleet is never held in one list.
+     *
+     * @return number of bins replayed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public long reloadAll() {
+        long started = System.currentTimeMillis();
+        listeners.forEach(BinChangeListener::onReloadStarted);
+
+        long count = 0;
+        try (Stream<Bin> bins = mongoTemplate.stream(new Query(), Bin.class)) {
+            var iterator = bins.iterator();
+            while (iterator.hasNext()) {
+                publishSaved(null, iterator.next());
+                count++;
+            }
+        }
+
+        listeners.forEach(BinChangeListener::onReloadCompleted);
+        logger.info("Reloaded {} bins into {} listeners in {} ms",
+                count, listeners.size(), System.currentTimeMillis() - started);
+        return count;
+    }
+}
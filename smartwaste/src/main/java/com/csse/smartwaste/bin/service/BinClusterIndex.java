@@ -0,0 +1,248 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.dto.BinClusterResponse;
+import com.csse.smartwaste.bin.entity.Bin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bin Cluster Index - Pre-aggregated map clusters for every zoom level
+ *
+ * Each zoom level is a grid of Web Mercator cells, eight per tile edge (about 32 screen pixels).
+ * A cell holds the count, centroid sums and per-status counts of the bins inside it, so a
+ * cluster query only reads the cells covering the viewport. A bin change moves the bin out of
+ * its old cell and into its new one on every level - O(levels) work, independent of fleet size.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for map cluster aggregation
+ * - OCP (Open/Closed): Kept current through the BinChangeListener extension point
+ *
+ * CODE SMELLS AVOIDED:
+ * - No client-side clustering: Phones receive aggregates instead of the whole fleet
+ * - No per-request recomputation: Aggregates are maintained incrementally
+ */
+@Component
+public class BinClusterIndex implements BinChangeListener {
+
+    /** Cells per tile edge is 2^CELL_ZOOM_OFFSET */
+    private static final int CELL_ZOOM_OFFSET = 3;
+    private static final double MAX_MERCATOR_LATITUDE = 85.05112878;
+    private static final int UNKNOWN_STATUS = Bin.BinStatus.values().length;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxZoom;
+    private final List<Map<Long, Cell>> levels;
+    private final Map<String, Placement> placements = new HashMap<>();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     *
+     * @param maxZoom deepest zoom level that is clustered; closer views show individual bins
+     */
+    @Autowired
+    public BinClusterIndex(@Value("${smartwaste.bins.cluster-max-zoom:16}") int maxZoom) {
+        this.maxZoom = maxZoom;
+        this.levels = new ArrayList<>(maxZoom + 1);
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    @Override
+    public void onBinSaved(Bin previous, Bin current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null && previous.getBinId() != null && !previous.getBinId().equals(current.getBinId())) {
+                remove(previous.getBinId());
+            }
+            if (current.getBinId() == null) {
+                return;
+            }
+            remove(current.getBinId());
+            if (current.getLatitude() != null && current.getLongitude() != null) {
+                Placement placement = new Placement(current.getLatitude(), current.getLongitude(),
+                        current.getStatus() == null ? UNKNOWN_STATUS : current.getStatus().ordinal());
+                placements.put(current.getBinId(), placement);
+                apply(placement, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBinDeleted(Bin bin) {
+        lock.writeLock().lock();
+        try {
+            remove(bin.getBinId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReloadStarted() {
+        lock.writeLock().lock();
+        try {
+            placements.clear();
+            levels.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Deepest clustered zoom level
+     */
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * Get the clusters covering a bounding box at a zoom level
+     * SRP: Single responsibility - only handles cluster lookup
+     *
+     * @param zoom map zoom level, at most getMaxZoom()
+     * @return one marker per occupied cell intersecting the box
+     */
+    public List<BinClusterResponse> findClusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        int level = Math.max(0, Math.min(zoom, maxZoom));
+        int cellZoom = level + CELL_ZOOM_OFFSET;
+        int minX = cellX(minLng, cellZoom);
+        int maxX = cellX(maxLng, cellZoom);
+        int minY = cellY(maxLat, cellZoom); // y grows southwards
+        int maxY = cellY(minLat, cellZoom);
+
+        List<BinClusterResponse> clusters = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> cells = levels.get(level);
+            long rangeSize = (long) (maxX - minX + 1) * (maxY - minY + 1);
+            if (rangeSize <= cells.size()) {
+                for (int x = minX; x <= maxX; x++) {
+                    for (int y = minY; y <= maxY; y++) {
+                        Cell cell = cells.get(key(x, y));
+                        if (cell != null) {
+                            clusters.add(cell.toResponse());
+                        }
+                    }
+                }
+            } else {
+                // Viewport wider than the occupied area: scanning the level is cheaper
+                for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                    int x = (int) (entry.getKey() >>> 32);
+                    int y = (int) (long) entry.getKey();
+                    if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                        clusters.add(entry.getValue().toResponse());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return clusters;
+    }
+
+    /**
+     * Number of bins with coordinates in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return placements.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void remove(String binId) {
+        Placement placement = placements.remove(binId);
+        if (placement != null) {
+            apply(placement, -1);
+        }
+    }
+
+    private void apply(Placement placement, int delta) {
+        for (int level = 0; level <= maxZoom; level++) {
+            int cellZoom = level + CELL_ZOOM_OFFSET;
+            long key = key(cellX(placement.longitude, cellZoom), cellY(placement.latitude, cellZoom));
+            Map<Long, Cell> cells = levels.get(level);
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+            cell.add(placement, delta);
+            if (cell.count == 0) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static int cellX(double longitude, int cellZoom) {
+        double x = (longitude + 180.0) / 360.0;
+        return clampCell(x, cellZoom);
+    }
+
+    private static int cellY(double latitude, int cellZoom) {
+        double lat = Math.toRadians(Math.max(-MAX_MERCATOR_LATITUDE, Math.min(MAX_MERCATOR_LATITUDE, latitude)));
+        double y = (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2;
+        return clampCell(y, cellZoom);
+    }
+
+    private static int clampCell(double fraction, int cellZoom) {
+        int cellsPerEdge = 1 << cellZoom;
+        return Math.max(0, Math.min(cellsPerEdge - 1, (int) Math.floor(fraction * cellsPerEdge)));
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    /**
+     * Where a bin was counted, so it can be taken out again without the previous snapshot
+     */
+    private static final class Placement {
+        private final double latitude;
+        private final double longitude;
+        private final int status;
+
+        private Placement(double latitude, double longitude, int status) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Running aggregate of the bins in one cell
+     */
+    private static final class Cell {
+        private int count;
+        private double latitudeSum;
+        private double longitudeSum;
+        private final int[] statusCounts = new int[UNKNOWN_STATUS + 1];
+
+        private void add(Placement placement, int delta) {
+            count += delta;
+            latitudeSum += delta * placement.latitude;
+            longitudeSum += delta * placement.longitude;
+            statusCounts[placement.status] += delta;
+        }
+
+        private BinClusterResponse toResponse() {
+            Map<String, Integer> byStatus = new LinkedHashMap<>();
+            Bin.BinStatus[] statuses = Bin.BinStatus.values();
+            for (int i = 0; i < statusCounts.length; i++) {
+                if (statusCounts[i] > 0) {
+                    byStatus.put(i == UNKNOWN_STATUS ? "UNKNOWN" : statuses[i].name(), statusCounts[i]);
+                }
+            }
+            return new BinClusterResponse(latitudeSum / count, longitudeSum / count, count, byStatus);
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.dto.BinImportResponse;
+import com.csse.smartwaste.bin.dto.BinRequest;
+import com.csse.smartwaste.bin.entity.Bin;
+import com.csse.smartwaste.zone.service.ZoneEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bin Import Service - Bulk loads bins from NDJSON or CSV streams
+ *
+ * The input is read line by line and handled in fixed-size chunks: each chunk costs one
+ * $in lookup for existing binIds and one unordered bulk insert, so memory use does not
+ * depend on the size of the upload.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for parsing, validating and batch-inserting bins
+ * - DIP (Dependency Inversion): Depends on MongoTemplate and the bin change publisher
+ *
+ * CODE SMELLS AVOIDED:
+ * - No per-row round trips: Existence checks and inserts are batched per chunk
+ * - No silent failures: Every rejected row is reported with its line number
+ */
+@Service
+public class BinImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    private static final List<String> CSV_COLUMNS = List.of(
+            "binId", "ownerId", "status", "tagType", "tagValue", "latitude", "longitude", "address");
+
+    /**
+     * Supported input formats
+     */
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final BinChangePublisher binChangePublisher;
+    private final ZoneEngine zoneEngine;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, ObjectMapper) not concrete implementation
+     */
+    @Autowired
+    public BinImportService(MongoTemplate mongoTemplate, BinChangePublisher binChangePublisher,
+                            ZoneEngine zoneEngine, ObjectMapper objectMapper,
+                            @Value("${smartwaste.bins.import-chunk-size:1000}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.binChangePublisher = binChangePublisher;
+        this.zoneEngine = zoneEngine;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import bins from a stream
+     * SRP: Single responsibility - only drives the read/validate/insert loop
+     *
+     * @param input request body; read once, line by line
+     * @param format NDJSON (one BinRequest object per line) or CSV (header row required)
+     * @return counts and row errors
+     * @throws IOException if the stream cannot be read
+     * @throws IllegalArgumentException if the CSV header is missing required columns
+     */
+    public BinImportResponse importBins(InputStream input, Format format) throws IOException {
+        BinImportResponse report = new BinImportResponse();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> csvHeader = null;
+            long lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && csvHeader == null) {
+                    csvHeader = parseCsvHeader(line);
+                    continue;
+                }
+
+                report.setTotalRows(report.getTotalRows() + 1);
+                try {
+                    BinRequest request = format == Format.CSV
+                            ? parseCsvRow(line, csvHeader)
+                            : objectMapper.readValue(line, BinRequest.class);
+                    chunk.add(new Row(lineNumber, toBin(request)));
+                } catch (JsonProcessingException e) {
+                    report.setFailed(report.getFailed() + 1);
+                    reject(report, lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+                } catch (IllegalArgumentException e) {
+                    report.setFailed(report.getFailed() + 1);
+                    reject(report, lineNumber, null, e.getMessage());
+                }
+
+                if (chunk.size() == chunkSize) {
+                    flush(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            flush(chunk, report);
+        }
+
+        logger.info("Bin import finished: {} rows, {} inserted, {} duplicates, {} failed",
+                report.getTotalRows(), report.getInserted(), report.getDuplicates(), report.getFailed());
+        return report;
+    }
+
+    /**
+     * Drop rows whose binId already exists, insert the rest and publish them
+     * Chunks are flushed in order, so a binId repeated in a later chunk is caught by the lookup.
+     * A binId inserted elsewhere between the lookup and the insert is rejected by the unique index.
+     */
+    private void flush(List<Row> chunk, BinImportResponse report) {
+        Map<String, Row> candidates = new LinkedHashMap<>();
+        for (Row row : chunk) {
+            if (candidates.putIfAbsent(row.bin.getBinId(), row) != null) {
+                report.setDuplicates(report.getDuplicates() + 1);
+                reject(report, row.line, row.bin.getBinId(), "Duplicate binId earlier in the file");
+            }
+        }
+
+        Query existingQuery = Query.query(Criteria.where("binId").in(candidates.keySet()));
+        existingQuery.fields().include("binId");
+        for (Bin existing : mongoTemplate.find(existingQuery, Bin.class)) {
+            Row row = candidates.remove(existing.getBinId());
+            if (row != null) {
+                report.setDuplicates(report.getDuplicates() + 1);
+                reject(report, row.line, row.bin.getBinId(), "Bin already exists");
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<Row> rows = new ArrayList<>(candidates.values());
+        List<Bin> bins = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            bins.add(row.bin);
+        }
+
+        Set<Integer> failedIndexes = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Bin.class).insert(bins).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failedIndexes.add(error.getIndex());
+                Row row = rows.get(error.getIndex());
+                if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                    // Inserted by a concurrent import or createBin after the lookup above
+                    report.setDuplicates(report.getDuplicates() + 1);
+                    reject(report, row.line, row.bin.getBinId(), "Bin already exists");
+                } else {
+                    report.setFailed(report.getFailed() + 1);
+                    reject(report, row.line, row.bin.getBinId(), error.getMessage());
+                }
+            }
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (!failedIndexes.contains(i)) {
+                binChangePublisher.publishSaved(null, rows.get(i).bin);
+            }
+        }
+        report.setInserted(report.getInserted() + rows.size() - failedIndexes.size());
+    }
+
+    /**
+     * Validate a request and convert it to a bin ready for insertion
+     */
+    private Bin toBin(BinRequest request) {
+        // An NDJSON line holding a bare null parses to no request at all
+        if (request == null) {
+            throw new IllegalArgumentException("Empty record");
+        }
+        if (request.getBinId() == null || request.getBinId().isBlank()) {
+            throw new IllegalArgumentException("binId is required");
+        }
+        if (request.getOwnerId() == null || request.getOwnerId().isBlank()) {
+            throw new IllegalArgumentException("ownerId is required");
+        }
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        if (request.getLatitude() != null
+                && (request.getLatitude() < -90 || request.getLatitude() > 90
+                    || request.getLongitude() < -180 || request.getLongitude() > 180)) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+
+        Bin.BinTag tag = null;
+        if (request.getTag() != null) {
+            tag = new Bin.BinTag(request.getTag().getType(), request.getTag().getValue());
+        }
+        Bin.BinStatus status = request.getStatus() != null ? request.getStatus() : Bin.BinStatus.ACTIVE;
+
+        Bin bin = new Bin(request.getBinId().trim(), request.getOwnerId().trim(), status, tag,
+                request.getLatitude(), request.getLongitude(), request.getAddress());
+        // Assign the id up front so published events carry it; bulk inserts do not write it back
+        bin.setId(new ObjectId().toHexString());
+        bin.setZoneId(zoneEngine.resolveZoneId(bin.getLatitude(), bin.getLongitude(), bin.getAddress()));
+        return bin;
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim(), i);
+        }
+        if (!header.containsKey("binId") || !header.containsKey("ownerId")) {
+            throw new IllegalArgumentException("CSV header must contain binId and ownerId; supported columns: " + CSV_COLUMNS);
+        }
+        return header;
+    }
+
+    private BinRequest parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> values = splitCsvLine(line);
+
+        BinRequest request = new BinRequest();
+        request.setBinId(column(values, header, "binId"));
+        request.setOwnerId(column(values, header, "ownerId"));
+        request.setAddress(column(values, header, "address"));
+
+        String status = column(values, header, "status");
+        if (status != null) {
+            try {
+                request.setStatus(Bin.BinStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown status: " + status);
+            }
+        }
+
+        String tagType = column(values, header, "tagType");
+        String tagValue = column(values, header, "tagValue");
+        if (tagType != null || tagValue != null) {
+            request.setTag(new BinRequest.BinTagRequest(tagType, tagValue));
+        }
+
+        request.setLatitude(parseCoordinate(column(values, header, "latitude"), "latitude"));
+        request.setLongitude(parseCoordinate(column(values, header, "longitude"), "longitude"));
+        return request;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double parseCoordinate(String value, String name) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and doubled quotes inside them
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void reject(BinImportResponse report, long line, String binId, String message) {
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new BinImportResponse.RowError(line, binId, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * A parsed input line waiting in the current chunk
+     */
+    private static final class Row {
+        private final long line;
+        private final Bin bin;
+
+        private Row(long line, Bin bin) {
+            this.line = line;
+            this.bin = bin;
+        }
+    }
+}
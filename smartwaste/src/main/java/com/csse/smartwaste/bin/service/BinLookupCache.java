@@ -0,0 +1,242 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bin Lookup Cache - Bounded read-through cache of bins keyed by binId
+ *
+ * The cache is split into lock-striped LRU segments. Each segment keeps a write stamp that
+ * every invalidation bumps; a loader only publishes its result if the stamp it saw before
+ * going to the database is still current, so a slow read can never overwrite a newer write.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for caching bin lookups
+ * - OCP (Open/Closed): Invalidated through the BinChangeListener extension point
+ * - DIP (Dependency Inversion): The loader is passed in, so the cache knows nothing about MongoDB
+ *
+ * CODE SMELLS AVOIDED:
+ * - No unbounded growth: Size and TTL eviction per segment
+ * - No shared mutable bins: Callers always receive their own copy
+ * - No global lock: Lookups of different bins rarely contend
+ */
+@Component
+public class BinLookupCache implements BinChangeListener {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleLoadsDiscarded = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     *
+     * @param maxSize maximum number of cached bins across all segments
+     * @param ttlMillis time after which a cached bin is reloaded
+     */
+    @Autowired
+    public BinLookupCache(@Value("${smartwaste.bins.cache.max-size:10000}") int maxSize,
+                          @Value("${smartwaste.bins.cache.ttl-ms:300000}") long ttlMillis) {
+        int segmentCapacity = Math.max(1, maxSize / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Get a bin, loading and caching it on a miss
+     * SRP: Single responsibility - only handles read-through lookup
+     *
+     * @param binId the unique bin identifier
+     * @param loader loads the bin from the source of truth; absent bins are not cached
+     * @return a copy of the bin, or empty if the loader found nothing
+     */
+    public Optional<Bin> get(String binId, Function<String, Optional<Bin>> loader) {
+        Segment segment = segmentFor(binId);
+        long stamp;
+
+        segment.lock.lock();
+        try {
+            CachedBin cached = segment.entries.get(binId);
+            if (cached != null && System.nanoTime() - cached.loadedAt < ttlNanos) {
+                hits.increment();
+                return Optional.of(new Bin(cached.bin));
+            }
+            if (cached != null) {
+                segment.entries.remove(binId);
+            }
+            stamp = segment.writeStamp;
+        } finally {
+            segment.lock.unlock();
+        }
+
+        misses.increment();
+        Optional<Bin> loaded = loader.apply(binId);
+        if (loaded.isEmpty()) {
+            return loaded;
+        }
+
+        CachedBin fresh = new CachedBin(new Bin(loaded.get()), System.nanoTime());
+        segment.lock.lock();
+        try {
+            if (segment.writeStamp == stamp) {
+                segment.entries.put(binId, fresh);
+            } else {
+                staleLoadsDiscarded.increment();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        return Optional.of(new Bin(fresh.bin));
+    }
+
+    /**
+     * Drop a bin so the next lookup reloads it
+     * SRP: Single responsibility - only handles single-entry invalidation
+     */
+    public void invalidate(String binId) {
+        if (binId == null) {
+            return;
+        }
+        Segment segment = segmentFor(binId);
+        segment.lock.lock();
+        try {
+            segment.writeStamp++;
+            segment.entries.remove(binId);
+        } finally {
+            segment.lock.unlock();
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Drop every cached bin
+     * SRP: Single responsibility - only handles full invalidation
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.writeStamp++;
+                segment.entries.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        invalidations.increment();
+    }
+
+    @Override
+    public void onBinSaved(Bin previous, Bin current) {
+        if (previous != null && previous.getBinId() != null && !previous.getBinId().equals(current.getBinId())) {
+            invalidate(previous.getBinId());
+        }
+        invalidate(current.getBinId());
+    }
+
+    @Override
+    public void onBinDeleted(Bin bin) {
+        invalidate(bin.getBinId());
+    }
+
+    @Override
+    public void onReloadStarted() {
+        // Reloads follow bulk writes that bypass per-bin events
+        invalidateAll();
+    }
+
+    /**
+     * Get cache metrics
+     * SRP: Single responsibility - only handles metrics reporting
+     *
+     * @return hit/miss counters, hit ratio and current size
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        stats.put("staleLoadsDiscarded", staleLoadsDiscarded.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("size", size());
+        return stats;
+    }
+
+    /**
+     * Number of cached bins, including ones whose TTL has passed but were not yet looked up
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String binId) {
+        int h = binId.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * One lock stripe: an access-ordered map that drops its least recently used entry when full
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, CachedBin> entries;
+        private long writeStamp;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedBin> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * A cached bin and when it was loaded
+     */
+    private static final class CachedBin {
+        private final Bin bin;
+        private final long loadedAt;
+
+        private CachedBin(Bin bin, long loadedAt) {
+            this.bin = bin;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
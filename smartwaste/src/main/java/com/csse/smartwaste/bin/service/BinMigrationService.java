@@ -4,6 +4,7 @@ import com.csse.smartwaste.bin.entity.Bin;
 import com.csse.smartwaste.bin.repository.BinRepository;
 import com.csse.smartwaste.bin.dto.BinRequest;
 import com.csse.smartwaste.bin.dto.BinResponse;
+import com.csse.smartwaste.zone.service.ZoneAssignmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import com.mongodb.client.result.UpdateResult;
@@ -33,16 +34,19 @@ public class BinMigrationService {
     private final BinRepository binRepository;
     private final BinService binService;
     private final MongoTemplate mongoTemplate;
+    private final ZoneAssignmentService zoneAssignmentService;
 
     /**
      * Constructor injection - follows Dependency Injection best practice
      * DIP: Depends on abstraction (BinRepository, BinService) not concrete implementation
      */
     @Autowired
-    public BinMigrationService(BinRepository binRepository, BinService binService, MongoTemplate mongoTemplate) {
+    public BinMigrationService(BinRepository binRepository, BinService binService, MongoTemplate mongoTemplate,
+                               ZoneAssignmentService zoneAssignmentService) {
         this.binRepository = binRepository;
         this.binService = binService;
         this.mongoTemplate = mongoTemplate;
+        this.zoneAssignmentService = zoneAssignmentService;
     }
 
     /**
@@ -211,6 +215,8 @@ public class BinMigrationService {
             }
         }
 
+        refreshInMemoryViews();
+
         return Map.of(
             "success", true,
             "updatedCount", updatedCount,
@@ -275,6 +281,8 @@ public class BinMigrationService {
             }
         }
 
+        refreshInMemoryViews();
+
         return Map.of(
             "success", true,
             "createdCount", createdCount,
@@ -317,6 +325,7 @@ public class BinMigrationService {
             UpdateResult result = mongoTemplate.updateFirst(query, update, Bin.class);
             
             if (result.getModifiedCount() > 0) {
+                refreshInMemoryViews();
                 return Map.of(
                     "success", true,
                     "message", "Successfully updated bin " + binId + " with field " + fieldName + " = " + fieldValue,
@@ -400,6 +409,8 @@ public class BinMigrationService {
                 }
             }
             
+            refreshInMemoryViews();
+            
             return Map.of(
                 "success", true,
                 "migratedCount", migratedCount,
@@ -416,6 +427,14 @@ public class BinMigrationService {
         }
     }
     
+    /**
+     * Re-stamp zone ids and rebuild the in-memory bin views (spatial index etc.)
+     * Migrations write to the collection directly and bypass BinService events.
+     */
+    private void refreshInMemoryViews() {
+        zoneAssignmentService.reassignBins();
+    }
+
     /**
      * Get default coordinates for a bin ID
      * SRP: Single responsibility - only handles coordinate mapping
@@ -516,6 +535,8 @@ public class BinMigrationService {
             results.append("- Bins updated to COLLECTED: ").append(updatedCount).append("\n");
             results.append("- Bins remaining ACTIVE: ").append(processedCount - updatedCount).append("\n");
             
+            refreshInMemoryViews();
+            
             return Map.of(
                 "success", true,
                 "processedCount", processedCount,
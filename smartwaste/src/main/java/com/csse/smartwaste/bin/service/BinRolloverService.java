@@ -0,0 +1,297 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import com.csse.smartwaste.bin.entity.BinRolloverRun;
+import com.csse.smartwaste.bin.repository.BinRolloverRunRepository;
+import com.csse.smartwaste.zone.entity.Zone;
+import com.csse.smartwaste.zone.service.ZoneEngine;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bin Rollover Service - Returns collected bins to ACTIVE once a day, per zone
+ *
+ * Each zone rolls over at its own local time. A run pages through the zone's COLLECTED bins
+ * by _id and flips every page with one updateMany, then publishes the changes so the
+ * in-memory views (activity counters, stats, lookup cache) stay in step with the database.
+ * Only bins collected before that day's rollover instant are flipped, so a late run (after a
+ * restart or a failed attempt) leaves bins collected since the rollover time alone.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for the daily status rollover
+ * - OCP (Open/Closed): Rollover times are zone data, not code
+ * - DIP (Dependency Inversion): Depends on MongoTemplate and the BinChangePublisher abstraction
+ *
+ * CODE SMELLS AVOIDED:
+ * - No per-bin round trips: One bounded updateMany per page instead of updateBinStatus per bin
+ * - No double runs: Each zone/day is claimed through a unique run record
+ * - No stuck days: A RUNNING claim whose heartbeat is older than the lease (the instance died
+ *   mid-run) is reclaimed like a FAILED one
+ * - No silent drift: Listeners are told about every bin that actually changed
+ */
+@Service
+public class BinRolloverService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinRolloverService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final BinRolloverRunRepository runRepository;
+    private final BinChangePublisher binChangePublisher;
+    private final ZoneEngine zoneEngine;
+    private final LocalTime defaultRolloverTime;
+    private final ZoneId defaultTimeZone;
+    private final int batchSize;
+    private final long leaseMillis;
+
+    // Last local date per zone that is known to be claimed, so most ticks skip the database
+    private final Map<String, LocalDate> settledDates = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, BinRolloverRunRepository, BinChangePublisher)
+     */
+    @Autowired
+    public BinRolloverService(MongoTemplate mongoTemplate, BinRolloverRunRepository runRepository,
+                              BinChangePublisher binChangePublisher, ZoneEngine zoneEngine,
+                              @Value("${smartwaste.bins.rollover.default-time:05:00}") String defaultRolloverTime,
+                              @Value("${smartwaste.bins.rollover.default-time-zone:Asia/Colombo}") String defaultTimeZone,
+                              @Value("${smartwaste.bins.rollover.batch-size:1000}") int batchSize,
+                              @Value("${smartwaste.bins.rollover.lease-ms:600000}") long leaseMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.runRepository = runRepository;
+        this.binChangePublisher = binChangePublisher;
+        this.zoneEngine = zoneEngine;
+        this.defaultRolloverTime = LocalTime.parse(defaultRolloverTime);
+        this.defaultTimeZone = ZoneId.of(defaultTimeZone);
+        this.batchSize = Math.max(1, batchSize);
+        this.leaseMillis = Math.max(1, leaseMillis);
+    }
+
+    /**
+     * Roll over every zone whose local rollover time has passed today
+     * SRP: Single responsibility - only decides which zones are due
+     */
+    @Scheduled(cron = "${smartwaste.bins.rollover.check-cron:0 * * * * *}")
+    public void rolloverDueZones() {
+        for (Zone zone : zoneEngine.getZones()) {
+            ZonedDateTime now = ZonedDateTime.now(timeZoneOf(zone));
+            LocalDate today = now.toLocalDate();
+            if (now.toLocalTime().isBefore(rolloverTimeOf(zone)) || today.equals(settledDates.get(zone.getZoneId()))) {
+                continue;
+            }
+            // Stamps are stored as server-local times
+            LocalDateTime cutoff = today.atTime(rolloverTimeOf(zone)).atZone(timeZoneOf(zone))
+                    .withZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime();
+            try {
+                rolloverZone(zone.getZoneId(), today, cutoff);
+            } catch (RuntimeException e) {
+                logger.error("Rollover of zone {} for {} failed; retrying next tick", zone.getZoneId(), today, e);
+            }
+        }
+    }
+
+    /**
+     * Get the most recent rollover runs
+     * SRP: Single responsibility - only handles run history retrieval
+     *
+     * @return the latest runs, newest first
+     */
+    public List<BinRolloverRun> getRecentRuns() {
+        return runRepository.findTop50ByOrderByStartedAtDesc();
+    }
+
+    private void rolloverZone(String zoneId, LocalDate date, LocalDateTime cutoff) {
+        BinRolloverRun run = claim(zoneId, date);
+        if (run == null) {
+            settledDates.put(zoneId, date); // completed or in progress elsewhere
+            return;
+        }
+
+        try {
+            rolloverBins(zoneId, run, cutoff);
+            run.setStatus(BinRolloverRun.RunStatus.COMPLETED);
+            settledDates.put(zoneId, date);
+            logger.info("Rolled over {} bins in zone {} for {} ({} batches)",
+                    run.getBinsUpdated(), zoneId, date, run.getBatches());
+        } catch (RuntimeException e) {
+            run.setStatus(BinRolloverRun.RunStatus.FAILED);
+            run.setError(e.getMessage());
+            throw e;
+        } finally {
+            run.setCompletedAt(LocalDateTime.now());
+            finish(run);
+        }
+    }
+
+    /**
+     * Claim a zone/day by inserting its run record
+     * A FAILED run of the same day, or a RUNNING one whose heartbeat is older than the lease, may be reclaimed.
+     *
+     * @return the claimed run, or null if the day is already done or being done
+     */
+    private BinRolloverRun claim(String zoneId, LocalDate date) {
+        try {
+            return runRepository.insert(new BinRolloverRun(zoneId, date));
+        } catch (DuplicateKeyException e) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expired = now.minus(leaseMillis, ChronoUnit.MILLIS);
+            Query reclaimable = Query.query(new Criteria().andOperator(
+                    Criteria.where("zoneId").is(zoneId),
+                    Criteria.where("rolloverDate").is(date),
+                    new Criteria().orOperator(
+                            Criteria.where("status").is(BinRolloverRun.RunStatus.FAILED),
+                            new Criteria().andOperator(
+                                    Criteria.where("status").is(BinRolloverRun.RunStatus.RUNNING),
+                                    Criteria.where("heartbeatAt").not().gte(expired)))));
+            Update retry = new Update()
+                    .set("status", BinRolloverRun.RunStatus.RUNNING)
+                    .set("startedAt", now)
+                    .set("heartbeatAt", now)
+                    .set("claimToken", UUID.randomUUID().toString())
+                    .unset("error")
+                    .unset("completedAt");
+            return mongoTemplate.findAndModify(reclaimable, retry,
+                    FindAndModifyOptions.options().returnNew(true), BinRolloverRun.class);
+        }
+    }
+
+    /**
+     * Renew the lease of a run after a page
+     *
+     * @throws IllegalStateException if another instance has reclaimed the run meanwhile
+     */
+    private void heartbeat(BinRolloverRun run) {
+        UpdateResult result = mongoTemplate.updateFirst(ownClaim(run),
+                new Update().set("heartbeatAt", LocalDateTime.now()), BinRolloverRun.class);
+        if (result.getMatchedCount() == 0) {
+            throw new IllegalStateException("Rollover run " + run.getId() + " was reclaimed by another instance");
+        }
+    }
+
+    /**
+     * Record the outcome of a run, unless another instance has reclaimed it meanwhile
+     */
+    private void finish(BinRolloverRun run) {
+        mongoTemplate.updateFirst(ownClaim(run), new Update()
+                        .set("status", run.getStatus())
+                        .set("binsUpdated", run.getBinsUpdated())
+                        .set("batches", run.getBatches())
+                        .set("error", run.getError())
+                        .set("completedAt", run.getCompletedAt()),
+                BinRolloverRun.class);
+    }
+
+    private static Query ownClaim(BinRolloverRun run) {
+        return Query.query(Criteria.where("_id").is(run.getId()).and("claimToken").is(run.getClaimToken()));
+    }
+
+    /**
+     * Flip the zone's bins that were collected before the cutoff
+     * Bins collected before lastCollectedAt existed are judged by updatedAt.
+     */
+    private void rolloverBins(String zoneId, BinRolloverRun run, LocalDateTime cutoff) {
+        // Unstamped bins belong to the default zone, exactly as ZoneEngine would resolve them
+        Criteria zoneCriteria = zoneId.equals(zoneEngine.getDefaultZoneId())
+                ? Criteria.where("zoneId").in(zoneId, null)
+                : Criteria.where("zoneId").is(zoneId);
+        Criteria collectedBefore = new Criteria().orOperator(
+                Criteria.where("lastCollectedAt").lt(cutoff),
+                new Criteria().andOperator(
+                        Criteria.where("lastCollectedAt").is(null),
+                        new Criteria().orOperator(
+                                Criteria.where("updatedAt").lt(cutoff),
+                                Criteria.where("updatedAt").is(null))));
+        // Millisecond precision so the stamp survives the round trip through MongoDB unchanged
+        LocalDateTime stamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        String lastId = null;
+        while (true) {
+            Criteria page = new Criteria().andOperator(zoneCriteria,
+                    Criteria.where("status").is(Bin.BinStatus.COLLECTED), collectedBefore);
+            if (lastId != null) {
+                page = new Criteria().andOperator(page, Criteria.where("_id").gt(new ObjectId(lastId)));
+            }
+            List<Bin> bins = mongoTemplate.find(Query.query(page)
+                    .with(Sort.by(Sort.Direction.ASC, "_id"))
+                    .limit(batchSize), Bin.class);
+            if (bins.isEmpty()) {
+                return;
+            }
+
+            List<String> ids = bins.stream().map(Bin::getId).toList();
+            UpdateResult result = mongoTemplate.updateMulti(
+                    Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids),
+                            Criteria.where("status").is(Bin.BinStatus.COLLECTED), collectedBefore)),
+                    new Update().set("status", Bin.BinStatus.ACTIVE).set("updatedAt", stamp),
+                    Bin.class);
+
+            publishRolledOver(bins, stamp, result.getModifiedCount());
+            run.setBinsUpdated(run.getBinsUpdated() + result.getModifiedCount());
+            run.setBatches(run.getBatches() + 1);
+            lastId = ids.get(ids.size() - 1);
+            heartbeat(run);
+        }
+    }
+
+    /**
+     * Tell the listeners which bins changed
+     * When some bins were modified concurrently between the read and the update, the page is
+     * read again and only bins carrying this run's stamp are published.
+     */
+    private void publishRolledOver(List<Bin> bins, LocalDateTime stamp, long modified) {
+        if (modified == bins.size()) {
+            for (Bin previous : bins) {
+                Bin current = new Bin(previous);
+                current.setStatus(Bin.BinStatus.ACTIVE);
+                current.setUpdatedAt(stamp);
+                binChangePublisher.publishSaved(previous, current);
+            }
+            return;
+        }
+
+        Map<String, Bin> previousById = bins.stream()
+                .collect(Collectors.toMap(Bin::getId, Function.identity()));
+        List<Bin> reread = mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(previousById.keySet())), Bin.class);
+        for (Bin current : reread) {
+            if (current.getStatus() == Bin.BinStatus.ACTIVE && stamp.equals(current.getUpdatedAt())) {
+                binChangePublisher.publishSaved(previousById.get(current.getId()), current);
+            }
+        }
+    }
+
+    private LocalTime rolloverTimeOf(Zone zone) {
+        return zone.getRolloverTime() != null ? LocalTime.parse(zone.getRolloverTime()) : defaultRolloverTime;
+    }
+
+    private ZoneId timeZoneOf(Zone zone) {
+        return zone.getTimeZone() != null ? ZoneId.of(zone.getTimeZone()) : defaultTimeZone;
+    }
+}
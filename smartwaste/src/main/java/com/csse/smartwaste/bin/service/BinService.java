@@ -2,18 +2,36 @@ package com.csse.smartwaste.bin.service;
 
 import com.csse.smartwaste.bin.entity.Bin;
 import com.csse.smartwaste.bin.repository.BinRepository;
+import com.csse.smartwaste.bin.dto.BinClusterResponse;
+import com.csse.smartwaste.bin.dto.BinLocationResponse;
+import com.csse.smartwaste.bin.dto.BinPageResponse;
 import com.csse.smartwaste.bin.dto.BinRequest;
 import com.csse.smartwaste.bin.dto.BinResponse;
 import com.csse.smartwaste.common.exception.DuplicateResourceException;
 import com.csse.smartwaste.common.exception.ResourceNotFoundException;
+import com.csse.smartwaste.zone.service.ZoneEngine;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 import java.util.Map;
-import java.util.HashMap;
-import java.util.ArrayList;
 
 /**
  * Bin Service - Handles business logic for bin operations
@@ -34,15 +52,40 @@ import java.util.ArrayList;
 @Service
 public class BinService {
 
+    private static final int MAX_SPATIAL_RESULTS = 10000;
+    private static final int MAX_PAGE_SIZE = 5000;
+
     private final BinRepository binRepository;
+    private final BinChangePublisher binChangePublisher;
+    private final BinSpatialIndex binSpatialIndex;
+    private final ZoneActivityTracker zoneActivityTracker;
+    private final ZoneEngine zoneEngine;
+    private final BinLookupCache binLookupCache;
+    private final BinTagIndex binTagIndex;
+    private final BinClusterIndex binClusterIndex;
+    private final MongoTemplate mongoTemplate;
+    private final int defaultPageSize;
 
     /**
      * Constructor injection - follows Dependency Injection best practice
      * DIP: Depends on abstraction (BinRepository interface) not concrete implementation
      */
     @Autowired
-    public BinService(BinRepository binRepository) {
+    public BinService(BinRepository binRepository, BinChangePublisher binChangePublisher,
+                      BinSpatialIndex binSpatialIndex, ZoneActivityTracker zoneActivityTracker,
+                      ZoneEngine zoneEngine, BinLookupCache binLookupCache, BinTagIndex binTagIndex,
+                      BinClusterIndex binClusterIndex, MongoTemplate mongoTemplate,
+                      @Value("${smartwaste.bins.default-page-size:500}") int defaultPageSize) {
         this.binRepository = binRepository;
+        this.binChangePublisher = binChangePublisher;
+        this.binSpatialIndex = binSpatialIndex;
+        this.zoneActivityTracker = zoneActivityTracker;
+        this.zoneEngine = zoneEngine;
+        this.binLookupCache = binLookupCache;
+        this.binTagIndex = binTagIndex;
+        this.binClusterIndex = binClusterIndex;
+        this.mongoTemplate = mongoTemplate;
+        this.defaultPageSize = defaultPageSize;
     }
 
     /**
@@ -61,9 +104,16 @@ public class BinService {
 
         // Convert DTO to entity
         Bin bin = convertRequestToEntity(binRequest);
+        bin.setZoneId(zoneEngine.resolveZoneId(bin.getLatitude(), bin.getLongitude(), bin.getAddress()));
         
-        // Save bin
-        Bin savedBin = binRepository.save(bin);
+        // Save bin; the unique binId index catches a create racing another create or an import
+        Bin savedBin;
+        try {
+            savedBin = binRepository.save(bin);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Bin", "binId", binRequest.getBinId());
+        }
+        binChangePublisher.publishSaved(null, savedBin);
         
         // Convert entity to response DTO
         return BinResponse.fromBin(savedBin);
@@ -71,6 +121,7 @@ public class BinService {
 
     /**
      * Get bin by binId
+     * Served from the lookup cache; the database is only queried on a miss.
      * SRP: Single responsibility - only handles bin retrieval logic
      * 
      * @param binId the unique bin identifier
@@ -78,51 +129,85 @@ public class BinService {
      * @throws ResourceNotFoundException if bin not found
      */
     public BinResponse getBinByBinId(String binId) {
-        Bin bin = binRepository.findByBinId(binId)
+        Bin bin = binLookupCache.get(binId, binRepository::findByBinId)
                 .orElseThrow(() -> new ResourceNotFoundException("Bin", "binId", binId));
         
         return BinResponse.fromBin(bin);
     }
 
     /**
-     * Get all bins
-     * SRP: Single responsibility - only handles bin retrieval logic
+     * Get bin by the value of its QR/RFID tag
+     * SRP: Single responsibility - only handles tag scan resolution
      * 
-     * @return List of BinResponse containing all bins
+     * @param tagValue the scanned tag value
+     * @return BinResponse containing the bin
+     * @throws ResourceNotFoundException if no bin carries the tag
      */
-    public List<BinResponse> getAllBins() {
-        List<Bin> bins = binRepository.findAll();
-        return bins.stream()
-                .map(BinResponse::fromBin)
-                .collect(Collectors.toList());
+    public BinResponse getBinByTagValue(String tagValue) {
+        Optional<String> binId = binTagIndex.resolve(tagValue);
+        if (binId.isPresent()) {
+            return getBinByBinId(binId.get());
+        }
+        if (!binTagIndex.isLoaded()) {
+            Bin bin = binRepository.findFirstByTagValue(tagValue.trim())
+                    .orElseThrow(() -> new ResourceNotFoundException("Bin", "tag", tagValue));
+            return BinResponse.fromBin(bin);
+        }
+        throw new ResourceNotFoundException("Bin", "tag", tagValue);
     }
 
     /**
-     * Get bins by owner ID
-     * SRP: Single responsibility - only handles bin retrieval by owner logic
+     * Get one page of bins, optionally filtered by owner and/or status
+     * Pages are ordered by _id and continue after the given cursor, so every page is an index range scan.
+     * SRP: Single responsibility - only handles paginated bin retrieval logic
      * 
-     * @param ownerId the owner identifier
-     * @return List of BinResponse containing bins owned by the specified owner
+     * @param ownerId owner filter, or null
+     * @param status status filter, or null
+     * @param after cursor returned with the previous page, or null for the first page
+     * @param limit page size; null means the configured default
+     * @return BinPageResponse with the bins and the cursor of the next page
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<BinResponse> getBinsByOwnerId(String ownerId) {
-        List<Bin> bins = binRepository.findByOwnerId(ownerId);
-        return bins.stream()
+    public BinPageResponse getBinsPage(String ownerId, Bin.BinStatus status, String after, Integer limit) {
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Criteria criteria = listingCriteria(ownerId, status);
+        if (after != null && !after.isBlank()) {
+            if (!ObjectId.isValid(after)) {
+                throw new IllegalArgumentException("Invalid cursor: " + after);
+            }
+            criteria.and("_id").gt(new ObjectId(after));
+        }
+
+        // Fetch one extra bin to learn whether another page exists
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(pageSize + 1);
+        List<Bin> bins = mongoTemplate.find(query, Bin.class);
+
+        String nextCursor = null;
+        if (bins.size() > pageSize) {
+            bins = bins.subList(0, pageSize);
+            nextCursor = bins.get(pageSize - 1).getId();
+        }
+
+        List<BinResponse> items = bins.stream()
                 .map(BinResponse::fromBin)
                 .collect(Collectors.toList());
+        return new BinPageResponse(items, nextCursor);
     }
 
     /**
-     * Get bins by status
-     * SRP: Single responsibility - only handles bin retrieval by status logic
+     * Stream every matching bin from a database cursor
+     * SRP: Single responsibility - only handles streamed bin retrieval logic
      * 
-     * @param status the bin status
-     * @return List of BinResponse containing bins with the specified status
+     * @param ownerId owner filter, or null
+     * @param status status filter, or null
+     * @param consumer receives each bin in _id order
      */
-    public List<BinResponse> getBinsByStatus(Bin.BinStatus status) {
-        List<Bin> bins = binRepository.findByStatus(status);
-        return bins.stream()
-                .map(BinResponse::fromBin)
-                .collect(Collectors.toList());
+    public void streamBins(String ownerId, Bin.BinStatus status, Consumer<BinResponse> consumer) {
+        Query query = Query.query(listingCriteria(ownerId, status)).with(Sort.by(Sort.Direction.ASC, "_id"));
+        try (Stream<Bin> bins = mongoTemplate.stream(query, Bin.class)) {
+            bins.map(BinResponse::fromBin).forEach(consumer);
+        }
     }
 
     /**
@@ -138,12 +223,169 @@ public class BinService {
         Bin bin = binRepository.findByBinId(binId)
                 .orElseThrow(() -> new ResourceNotFoundException("Bin", "binId", binId));
         
+        Bin previous = new Bin(bin);
         bin.setStatus(status);
+        if (status == Bin.BinStatus.COLLECTED) {
+            bin.setLastCollectedAt(bin.getUpdatedAt());
+        }
         Bin updatedBin = binRepository.save(bin);
+        binChangePublisher.publishSaved(previous, updatedBin);
         
         return BinResponse.fromBin(updatedBin);
     }
 
+    /**
+     * Get several bins by binId with one $in query
+     * SRP: Single responsibility - only handles bulk bin retrieval logic
+     * 
+     * @param binIds the bin identifiers
+     * @return bins keyed by binId; unknown ids are absent
+     */
+    public Map<String, BinResponse> getBinsByBinIds(Collection<String> binIds) {
+        if (binIds.isEmpty()) {
+            return Map.of();
+        }
+        Query query = Query.query(Criteria.where("binId").in(binIds));
+        return mongoTemplate.find(query, Bin.class).stream()
+                .collect(Collectors.toMap(Bin::getBinId, BinResponse::fromBin, (first, second) -> first));
+    }
+
+    /**
+     * Move one bin from one status to another with a single conditional findAndModify
+     * SRP: Single responsibility - only handles a guarded status transition
+     * 
+     * @param binId the bin identifier
+     * @param from the status the bin must have to be changed
+     * @param to the new status
+     * @return the updated bin, or empty if the bin does not exist or is not in the expected status
+     */
+    public Optional<BinResponse> transitionBinStatus(String binId, Bin.BinStatus from, Bin.BinStatus to) {
+        LocalDateTime stamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Bin previous = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("binId").is(binId).and("status").is(from)),
+                statusUpdate(to, stamp),
+                FindAndModifyOptions.options().returnNew(false),
+                Bin.class);
+        if (previous == null) {
+            return Optional.empty();
+        }
+
+        Bin current = new Bin(previous);
+        current.setStatus(to);
+        current.setUpdatedAt(stamp);
+        if (to == Bin.BinStatus.COLLECTED) {
+            current.setLastCollectedAt(stamp);
+        }
+        binChangePublisher.publishSaved(previous, current);
+        return Optional.of(BinResponse.fromBin(current));
+    }
+
+    /**
+     * Move several bins from one status to another with a single updateMany
+     * Bins that are no longer in the expected status are left alone. Only bins that this call
+     * actually changed are published, recognised by the update timestamp it wrote.
+     * SRP: Single responsibility - only handles bulk status transitions
+     * 
+     * @param binIds the bin identifiers
+     * @param from the status a bin must have to be changed
+     * @param to the new status
+     * @return binIds that were changed
+     */
+    public Set<String> transitionBinStatuses(Collection<String> binIds, Bin.BinStatus from, Bin.BinStatus to) {
+        if (binIds.isEmpty()) {
+            return Set.of();
+        }
+        Criteria candidates = Criteria.where("binId").in(binIds).and("status").is(from);
+        Map<String, Bin> previousByBinId = mongoTemplate.find(Query.query(candidates), Bin.class).stream()
+                .collect(Collectors.toMap(Bin::getBinId, bin -> bin, (first, second) -> first));
+        if (previousByBinId.isEmpty()) {
+            return Set.of();
+        }
+
+        // Millisecond precision so the stamp survives the round trip through MongoDB unchanged
+        LocalDateTime stamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("binId").in(previousByBinId.keySet()).and("status").is(from)),
+                statusUpdate(to, stamp),
+                Bin.class);
+
+        Set<String> changed = new HashSet<>();
+        Query updated = Query.query(Criteria.where("binId").in(previousByBinId.keySet())
+                .and("status").is(to).and("updatedAt").is(stamp));
+        for (Bin current : mongoTemplate.find(updated, Bin.class)) {
+            binChangePublisher.publishSaved(previousByBinId.get(current.getBinId()), current);
+            changed.add(current.getBinId());
+        }
+        return changed;
+    }
+
+    /**
+     * Assign several bins to a worker with a single updateMany
+     * Only bins whose assignment actually changed are published.
+     * SRP: Single responsibility - only handles worker assignment of bins
+     * 
+     * @param workerId the worker to assign, or null to clear the assignment
+     * @param binIds the bin identifiers
+     * @return binIds whose assignment was changed
+     */
+    public Set<String> assignBinsToWorker(String workerId, Collection<String> binIds) {
+        if (binIds.isEmpty()) {
+            return Set.of();
+        }
+        Criteria candidates = Criteria.where("binId").in(binIds).and("assignedWorkerId").ne(workerId);
+        Map<String, Bin> previousByBinId = mongoTemplate.find(Query.query(candidates), Bin.class).stream()
+                .collect(Collectors.toMap(Bin::getBinId, bin -> bin, (first, second) -> first));
+        if (previousByBinId.isEmpty()) {
+            return Set.of();
+        }
+
+        LocalDateTime stamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("binId").in(previousByBinId.keySet())),
+                new Update().set("assignedWorkerId", workerId).set("updatedAt", stamp),
+                Bin.class);
+
+        Set<String> changed = new HashSet<>();
+        Query updated = Query.query(Criteria.where("binId").in(previousByBinId.keySet()).and("updatedAt").is(stamp));
+        for (Bin current : mongoTemplate.find(updated, Bin.class)) {
+            binChangePublisher.publishSaved(previousByBinId.get(current.getBinId()), current);
+            changed.add(current.getBinId());
+        }
+        return changed;
+    }
+
+    /**
+     * Get the ACTIVE bins assigned to a worker
+     * SRP: Single responsibility - only handles retrieval of a worker's pending bins
+     * 
+     * @param workerId the worker identifier
+     * @return bins still waiting for collection by this worker
+     */
+    public List<BinResponse> getActiveBinsAssignedTo(String workerId) {
+        Query query = Query.query(Criteria.where("assignedWorkerId").is(workerId).and("status").is(Bin.BinStatus.ACTIVE));
+        return mongoTemplate.find(query, Bin.class).stream()
+                .map(BinResponse::fromBin)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the ACTIVE bins of a zone
+     * Bins without a zone stamp belong to the default zone.
+     * SRP: Single responsibility - only handles retrieval of a zone's pending bins
+     * 
+     * @param zoneId the zone identifier
+     * @return bins in the zone still waiting for collection
+     */
+    public List<BinResponse> getActiveBinsInZone(String zoneId) {
+        Criteria zoneCriteria = zoneId.equals(zoneEngine.getDefaultZoneId())
+                ? Criteria.where("zoneId").in(zoneId, null)
+                : Criteria.where("zoneId").is(zoneId);
+        Query query = Query.query(zoneCriteria.and("status").is(Bin.BinStatus.ACTIVE));
+        return mongoTemplate.find(query, Bin.class).stream()
+                .map(BinResponse::fromBin)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Delete bin by binId
      * SRP: Single responsibility - only handles bin deletion logic
@@ -156,6 +398,7 @@ public class BinService {
                 .orElseThrow(() -> new ResourceNotFoundException("Bin", "binId", binId));
         
         binRepository.delete(bin);
+        binChangePublisher.publishDeleted(bin);
     }
 
     /**
@@ -181,153 +424,140 @@ public class BinService {
     }
 
     /**
-     * Get activity summary grouped by zones
-     * SRP: Single responsibility - only handles activity summary calculation
+     * Get bins inside a bounding box from the in-memory spatial index
+     * SRP: Single responsibility - only handles bounding-box lookup logic
      * 
-     * @return Map containing zone-wise activity summary
+     * @param bbox bounding box as "minLng,minLat,maxLng,maxLat"
+     * @param limit maximum number of bins to return
+     * @return List of BinLocationResponse inside the box
+     * @throws IllegalArgumentException if the bounding box is malformed
      */
-    public Map<String, Map<String, Object>> getActivitySummary() {
-        List<Bin> allBins = binRepository.findAll();
-        
-        // Group bins by geographical zones based on coordinates
-        Map<String, List<Bin>> zoneGroups = groupBinsByZone(allBins);
-        
-        Map<String, Map<String, Object>> activitySummary = new HashMap<>();
-        
-        for (Map.Entry<String, List<Bin>> entry : zoneGroups.entrySet()) {
-            String zoneName = entry.getKey();
-            List<Bin> zoneBins = entry.getValue();
-            
-            // Calculate counts by status
-            long activeCount = zoneBins.stream()
-                .filter(bin -> bin.getStatus() == Bin.BinStatus.ACTIVE)
-                .count();
-            
-            long collectedCount = zoneBins.stream()
-                .filter(bin -> bin.getStatus() == Bin.BinStatus.COLLECTED)
-                .count();
-            
-            long damagedCount = zoneBins.stream()
-                .filter(bin -> bin.getStatus() == Bin.BinStatus.DAMAGED)
-                .count();
-            
-            long totalCount = zoneBins.size();
-            
-            // Determine overall status
-            String overallStatus = determineOverallStatus(activeCount, collectedCount, damagedCount, totalCount);
-            
-            Map<String, Object> zoneData = new HashMap<>();
-            zoneData.put("totalBins", totalCount);
-            zoneData.put("activeBins", activeCount);
-            zoneData.put("collectedBins", collectedCount);
-            zoneData.put("damagedBins", damagedCount);
-            zoneData.put("status", overallStatus);
-            zoneData.put("scheduledPickups", activeCount + damagedCount); // Bins that need collection
-            
-            activitySummary.put(zoneName, zoneData);
-        }
-        
-        return activitySummary;
+    public List<BinLocationResponse> getBinsWithinBounds(String bbox, int limit) {
+        double[] box = parseBbox(bbox);
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SPATIAL_RESULTS));
+        return binSpatialIndex.findWithinBounds(box[1], box[0], box[3], box[2], cappedLimit);
     }
 
     /**
-     * Group bins by geographical zones
-     * SRP: Single responsibility - only handles zone grouping logic
+     * Get map clusters inside a bounding box at a zoom level
+     * Beyond the deepest clustered zoom every bin is its own marker.
+     * SRP: Single responsibility - only handles cluster lookup logic
      * 
-     * @param bins list of all bins
-     * @return Map of zone name to list of bins in that zone
+     * @param bbox bounding box as "minLng,minLat,maxLng,maxLat"
+     * @param zoom map zoom level
+     * @return List of BinClusterResponse covering the box
+     * @throws IllegalArgumentException if the bounding box or zoom is malformed
      */
-    private Map<String, List<Bin>> groupBinsByZone(List<Bin> bins) {
-        Map<String, List<Bin>> zoneGroups = new HashMap<>();
-        
-        // Initialize zones
-        zoneGroups.put("Downtown Area - Zone A", new ArrayList<>());
-        zoneGroups.put("Residential Area - Zone B", new ArrayList<>());
-        zoneGroups.put("Business District - Zone C", new ArrayList<>());
-        
-        // Group bins by coordinates (simplified zone assignment)
-        for (Bin bin : bins) {
-            if (bin.getLatitude() != null && bin.getLongitude() != null) {
-                String zone = determineZoneByCoordinates(bin.getLatitude(), bin.getLongitude());
-                zoneGroups.get(zone).add(bin);
-            } else {
-                // Fallback to address-based grouping
-                String zone = determineZoneByAddress(bin.getAddress());
-                zoneGroups.get(zone).add(bin);
-            }
+    public List<BinClusterResponse> getBinClusters(String bbox, int zoom) {
+        if (zoom < 0) {
+            throw new IllegalArgumentException("zoom must not be negative");
         }
-        
-        return zoneGroups;
+        double[] box = parseBbox(bbox);
+        if (zoom <= binClusterIndex.getMaxZoom()) {
+            return binClusterIndex.findClusters(box[1], box[0], box[3], box[2], zoom);
+        }
+
+        return binSpatialIndex.findWithinBounds(box[1], box[0], box[3], box[2], MAX_SPATIAL_RESULTS).stream()
+                .map(bin -> {
+                    String status = bin.getStatus() == null ? "UNKNOWN" : bin.getStatus().name();
+                    BinClusterResponse marker = new BinClusterResponse(
+                            bin.getLatitude(), bin.getLongitude(), 1, Map.of(status, 1));
+                    marker.setBinId(bin.getBinId());
+                    return marker;
+                })
+                .collect(Collectors.toList());
     }
 
     /**
-     * Determine zone based on coordinates
-     * SRP: Single responsibility - only handles coordinate-based zone determination
-     * 
-     * @param latitude bin latitude
-     * @param longitude bin longitude
-     * @return zone name
+     * Parse "minLng,minLat,maxLng,maxLat" into {minLng, minLat, maxLng, maxLat}
      */
-    private String determineZoneByCoordinates(Double latitude, Double longitude) {
-        // Simplified zone determination based on coordinates
-        // In a real implementation, this would use proper geographical boundaries
-        
-        if (latitude >= 6.9 && latitude <= 6.95 && longitude >= 79.85 && longitude <= 79.9) {
-            return "Downtown Area - Zone A";
-        } else if (latitude >= 6.85 && latitude <= 6.9 && longitude >= 79.8 && longitude <= 79.85) {
-            return "Residential Area - Zone B";
-        } else {
-            return "Business District - Zone C";
+    private static double[] parseBbox(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+
+        double[] box = new double[4];
+        for (int i = 0; i < 4; i++) {
+            box[i] = Double.parseDouble(parts[i].trim());
+        }
+        if (box[0] > box[2] || box[1] > box[3]) {
+            throw new IllegalArgumentException("bbox minimum corner must be south-west of the maximum corner");
         }
+        return box;
     }
 
     /**
-     * Determine zone based on address
-     * SRP: Single responsibility - only handles address-based zone determination
+     * Get the bins closest to a point from the in-memory spatial index
+     * SRP: Single responsibility - only handles nearest-bin lookup logic
      * 
-     * @param address bin address
-     * @return zone name
+     * @param latitude query latitude
+     * @param longitude query longitude
+     * @param k number of bins to return
+     * @return List of BinLocationResponse ordered by distance
+     * @throws IllegalArgumentException if the coordinates are out of range
      */
-    private String determineZoneByAddress(String address) {
-        if (address == null) {
-            return "Business District - Zone C";
-        }
-        
-        String lowerAddress = address.toLowerCase();
-        
-        if (lowerAddress.contains("downtown") || lowerAddress.contains("city center") || lowerAddress.contains("commercial")) {
-            return "Downtown Area - Zone A";
-        } else if (lowerAddress.contains("residential") || lowerAddress.contains("housing") || lowerAddress.contains("apartment")) {
-            return "Residential Area - Zone B";
-        } else {
-            return "Business District - Zone C";
+    public List<BinLocationResponse> getNearestBins(double latitude, double longitude, int k) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
         }
+        return binSpatialIndex.findNearest(latitude, longitude, Math.max(0, Math.min(k, MAX_SPATIAL_RESULTS)));
     }
 
     /**
-     * Determine overall status for a zone
-     * SRP: Single responsibility - only handles status determination logic
+     * Get bin lookup cache metrics
+     * SRP: Single responsibility - only exposes cache statistics
      * 
-     * @param activeCount number of active bins
-     * @param collectedCount number of collected bins
-     * @param damagedCount number of damaged bins
-     * @param totalCount total number of bins
-     * @return overall status string
+     * @return hit/miss counters and cache size
      */
-    private String determineOverallStatus(long activeCount, long collectedCount, long damagedCount, long totalCount) {
-        if (totalCount == 0) {
-            return "NO_DATA";
+    public Map<String, Object> getLookupCacheStats() {
+        return binLookupCache.getStats();
+    }
+
+    /**
+     * Get activity summary grouped by zones
+     * SRP: Single responsibility - only delegates to the zone activity counters
+     * 
+     * @return Map containing zone-wise activity summary
+     */
+    public Map<String, Map<String, Object>> getActivitySummary() {
+        return zoneActivityTracker.getActivitySummary();
+    }
+
+    /**
+     * Reconcile zone activity counters against the database
+     * SRP: Single responsibility - only triggers counter reconciliation
+     * Drift is corrected once two consecutive runs report the same delta.
+     * 
+     * @return zones whose counters were corrected, with the applied deltas
+     */
+    public Map<String, Map<String, Long>> reconcileActivitySummary() {
+        return zoneActivityTracker.reconcile();
+    }
+
+    /**
+     * Build the update for a status transition; COLLECTED also stamps lastCollectedAt
+     */
+    private static Update statusUpdate(Bin.BinStatus to, LocalDateTime stamp) {
+        Update update = new Update().set("status", to).set("updatedAt", stamp);
+        if (to == Bin.BinStatus.COLLECTED) {
+            update.set("lastCollectedAt", stamp);
         }
-        
-        double completionRate = (double) collectedCount / totalCount;
-        
-        if (completionRate >= 0.8) {
-            return "COMPLETED";
-        } else if (completionRate >= 0.3) {
-            return "IN_PROGRESS";
-        } else {
-            return "PENDING";
+        return update;
+    }
+
+    /**
+     * Build the filter shared by the paginated and streamed listings
+     */
+    private Criteria listingCriteria(String ownerId, Bin.BinStatus status) {
+        Criteria criteria = new Criteria();
+        if (ownerId != null) {
+            criteria.and("ownerId").is(ownerId);
+        }
+        if (status != null) {
+            criteria.and("status").is(status);
         }
+        return criteria;
     }
 
     /**
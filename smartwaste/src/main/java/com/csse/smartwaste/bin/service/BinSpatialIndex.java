@@ -0,0 +1,482 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.dto.BinLocationResponse;
+import com.csse.smartwaste.bin.entity.Bin;
+import com.csse.smartwaste.common.util.GeoUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bin Spatial Index - In-memory uniform grid over bin coordinates
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only answers bounding-box and nearest-neighbour queries
+ * - OCP (Open/Closed): Kept current through the BinChangeListener extension point
+ * - LSP (Liskov Substitution): Behaves like any other BinChangeListener
+ *
+ * CODE SMELLS AVOIDED:
+ * - No per-query database round trips: Queries are answered from memory
+ * - No boxed coordinates: Positions are stored in primitive arrays indexed by slot
+ * - No magic numbers: Grid resolution is a named constant
+ *
+ * Bins are stored in slots (struct-of-arrays); each grid cell keeps the slot numbers that fall
+ * inside it. Updates are O(1); a bounding-box query touches only the overlapping cells and a
+ * nearest query expands ring by ring until no closer bin can exist.
+ */
+@Component
+public class BinSpatialIndex implements BinChangeListener {
+
+    /** Grid cell edge in degrees (about 1.1 km at the equator) */
+    private static final double CELL_SIZE_DEGREES = 0.01;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Slot storage - one entry per indexed bin
+    private String[] binIds = new String[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private Bin.BinStatus[] statuses = new Bin.BinStatus[INITIAL_CAPACITY];
+    private long[] cellKeys = new long[INITIAL_CAPACITY];
+    private int[] positionsInCell = new int[INITIAL_CAPACITY];
+    private int usedSlots;
+    private int[] freeSlots = new int[64];
+    private int freeSlotCount;
+
+    private final Map<String, Integer> slotByBinId = new HashMap<>();
+    private final Map<Long, CellBucket> cells = new HashMap<>();
+
+    // Occupied cell extent, used to bound the nearest-neighbour ring search
+    private int minCellX = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    @Override
+    public void onBinSaved(Bin previous, Bin current) {
+        if (current.getBinId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (current.getLatitude() == null || current.getLongitude() == null) {
+                remove(current.getBinId());
+            } else {
+                upsert(current.getBinId(), current.getLatitude(), current.getLongitude(), current.getStatus());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onBinDeleted(Bin bin) {
+        lock.writeLock().lock();
+        try {
+            remove(bin.getBinId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReloadStarted() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(binIds, null);
+            Arrays.fill(statuses, null);
+            usedSlots = 0;
+            freeSlotCount = 0;
+            slotByBinId.clear();
+            cells.clear();
+            minCellX = Integer.MAX_VALUE;
+            maxCellX = Integer.MIN_VALUE;
+            minCellY = Integer.MAX_VALUE;
+            maxCellY = Integer.MIN_VALUE;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of bins currently indexed
+     *
+     * @return indexed bin count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByBinId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find bins inside a bounding box
+     * SRP: Single responsibility - only handles bounding-box lookup
+     *
+     * @param minLat southern edge
+     * @param minLng western edge
+     * @param maxLat northern edge
+     * @param maxLng eastern edge
+     * @param limit maximum number of bins to return
+     * @return bins inside the box, at most limit entries
+     */
+    public List<BinLocationResponse> findWithinBounds(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        List<BinLocationResponse> result = new ArrayList<>();
+        int x0 = cellX(minLng);
+        int x1 = cellX(maxLng);
+        int y0 = cellY(minLat);
+        int y1 = cellY(maxLat);
+        long cellsInBox = (long) (x1 - x0 + 1) * (y1 - y0 + 1);
+
+        lock.readLock().lock();
+        try {
+            if (cellsInBox > cells.size()) {
+                // Large viewport: walking the occupied cells is cheaper than walking the box
+                for (Map.Entry<Long, CellBucket> entry : cells.entrySet()) {
+                    int x = cellXOf(entry.getKey());
+                    int y = cellYOf(entry.getKey());
+                    if (x >= x0 && x <= x1 && y >= y0 && y <= y1
+                            && collectInBounds(entry.getValue(), minLat, minLng, maxLat, maxLng, limit, result)) {
+                        break;
+                    }
+                }
+            } else {
+                outer:
+                for (int y = y0; y <= y1; y++) {
+                    for (int x = x0; x <= x1; x++) {
+                        CellBucket bucket = cells.get(cellKey(x, y));
+                        if (bucket != null && collectInBounds(bucket, minLat, minLng, maxLat, maxLng, limit, result)) {
+                            break outer;
+                        }
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the k bins closest to a point
+     * SRP: Single responsibility - only handles nearest-neighbour lookup
+     *
+     * @param latitude query latitude
+     * @param longitude query longitude
+     * @param k number of bins to return
+     * @return up to k bins ordered by distance, each with distanceKm set
+     */
+    public List<BinLocationResponse> findNearest(double latitude, double longitude, int k) {
+        lock.readLock().lock();
+        try {
+            if (k <= 0 || slotByBinId.isEmpty()) {
+                return new ArrayList<>();
+            }
+            NearestCollector collector = new NearestCollector(k);
+            int cx = cellX(longitude);
+            int cy = cellY(latitude);
+            int maxRing = Math.max(Math.max(cx - minCellX, maxCellX - cx), Math.max(cy - minCellY, maxCellY - cy));
+
+            for (int ring = 0; ring <= maxRing; ring++) {
+                if (collector.isFull() && ringLowerBoundKm(latitude, ring) > collector.worstDistance()) {
+                    break;
+                }
+                if (8L * ring > cells.size()) {
+                    // Sparse outskirts: scanning the remaining occupied cells is cheaper than ring walking
+                    for (Map.Entry<Long, CellBucket> entry : cells.entrySet()) {
+                        int dx = Math.abs(cellXOf(entry.getKey()) - cx);
+                        int dy = Math.abs(cellYOf(entry.getKey()) - cy);
+                        if (Math.max(dx, dy) >= ring) {
+                            collectNearest(entry.getValue(), latitude, longitude, collector);
+                        }
+                    }
+                    break;
+                }
+                visitRing(cx, cy, ring, latitude, longitude, collector);
+            }
+            return collector.toResponses();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Internal helpers - callers must hold the appropriate lock
+    // ---------------------------------------------------------------------
+
+    private void upsert(String binId, double latitude, double longitude, Bin.BinStatus status) {
+        long key = cellKey(cellX(longitude), cellY(latitude));
+        Integer existing = slotByBinId.get(binId);
+        if (existing != null) {
+            int slot = existing;
+            statuses[slot] = status;
+            if (cellKeys[slot] != key) {
+                detachFromCell(slot);
+                attachToCell(slot, key);
+            }
+            latitudes[slot] = latitude;
+            longitudes[slot] = longitude;
+            return;
+        }
+
+        int slot = allocateSlot();
+        binIds[slot] = binId;
+        latitudes[slot] = latitude;
+        longitudes[slot] = longitude;
+        statuses[slot] = status;
+        attachToCell(slot, key);
+        slotByBinId.put(binId, slot);
+    }
+
+    private void remove(String binId) {
+        Integer slot = slotByBinId.remove(binId);
+        if (slot == null) {
+            return;
+        }
+        detachFromCell(slot);
+        binIds[slot] = null;
+        statuses[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (usedSlots == binIds.length) {
+            int capacity = binIds.length * 2;
+            binIds = Arrays.copyOf(binIds, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            cellKeys = Arrays.copyOf(cellKeys, capacity);
+            positionsInCell = Arrays.copyOf(positionsInCell, capacity);
+        }
+        return usedSlots++;
+    }
+
+    private void attachToCell(int slot, long key) {
+        CellBucket bucket = cells.computeIfAbsent(key, k -> new CellBucket());
+        positionsInCell[slot] = bucket.add(slot);
+        cellKeys[slot] = key;
+
+        int x = cellXOf(key);
+        int y = cellYOf(key);
+        minCellX = Math.min(minCellX, x);
+        maxCellX = Math.max(maxCellX, x);
+        minCellY = Math.min(minCellY, y);
+        maxCellY = Math.max(maxCellY, y);
+    }
+
+    private void detachFromCell(int slot) {
+        CellBucket bucket = cells.get(cellKeys[slot]);
+        int movedSlot = bucket.removeAt(positionsInCell[slot]);
+        if (movedSlot >= 0) {
+            positionsInCell[movedSlot] = positionsInCell[slot];
+        }
+        if (bucket.size == 0) {
+            cells.remove(cellKeys[slot]);
+        }
+    }
+
+    private boolean collectInBounds(CellBucket bucket, double minLat, double minLng, double maxLat, double maxLng,
+                                    int limit, List<BinLocationResponse> result) {
+        for (int i = 0; i < bucket.size; i++) {
+            int slot = bucket.slots[i];
+            double lat = latitudes[slot];
+            double lng = longitudes[slot];
+            if (lat >= minLat && lat <= maxLat && lng >= minLng && lng <= maxLng) {
+                result.add(new BinLocationResponse(binIds[slot], statuses[slot], lat, lng, null));
+                if (result.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void visitRing(int cx, int cy, int ring, double latitude, double longitude, NearestCollector collector) {
+        if (ring == 0) {
+            visitCell(cx, cy, latitude, longitude, collector);
+            return;
+        }
+        for (int x = cx - ring; x <= cx + ring; x++) {
+            visitCell(x, cy - ring, latitude, longitude, collector);
+            visitCell(x, cy + ring, latitude, longitude, collector);
+        }
+        for (int y = cy - ring + 1; y <= cy + ring - 1; y++) {
+            visitCell(cx - ring, y, latitude, longitude, collector);
+            visitCell(cx + ring, y, latitude, longitude, collector);
+        }
+    }
+
+    private void visitCell(int x, int y, double latitude, double longitude, NearestCollector collector) {
+        CellBucket bucket = cells.get(cellKey(x, y));
+        if (bucket != null) {
+            collectNearest(bucket, latitude, longitude, collector);
+        }
+    }
+
+    private void collectNearest(CellBucket bucket, double latitude, double longitude, NearestCollector collector) {
+        for (int i = 0; i < bucket.size; i++) {
+            int slot = bucket.slots[i];
+            collector.offer(slot, GeoUtil.haversineKm(latitude, longitude, latitudes[slot], longitudes[slot]));
+        }
+    }
+
+    /**
+     * Smallest possible distance from the query point to any bin in the given ring.
+     * A bin in ring r is at least (r - 1) whole cells away along latitude or longitude;
+     * the longitude bound uses the exact distance from a point to a meridian.
+     */
+    private double ringLowerBoundKm(double latitude, int ring) {
+        if (ring <= 1) {
+            return 0.0;
+        }
+        double offsetRad = Math.toRadians((ring - 1) * CELL_SIZE_DEGREES);
+        double latitudeBound = GeoUtil.EARTH_RADIUS_KM * offsetRad;
+        double longitudeBound = GeoUtil.EARTH_RADIUS_KM
+                * Math.asin(Math.min(1.0, Math.cos(Math.toRadians(latitude)) * Math.sin(Math.min(offsetRad, Math.PI / 2))));
+        return Math.min(latitudeBound, longitudeBound);
+    }
+
+    private static int cellX(double longitude) {
+        return (int) Math.floor(longitude / CELL_SIZE_DEGREES);
+    }
+
+    private static int cellY(double latitude) {
+        return (int) Math.floor(latitude / CELL_SIZE_DEGREES);
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) y << 32) | (x & 0xffffffffL);
+    }
+
+    private static int cellXOf(long key) {
+        return (int) key;
+    }
+
+    private static int cellYOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Growable list of slot numbers for one grid cell
+     * SRP: Single responsibility - only stores slot membership
+     */
+    private static final class CellBucket {
+        private int[] slots = new int[4];
+        private int size;
+
+        int add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size] = slot;
+            return size++;
+        }
+
+        /**
+         * Swap-remove the entry at the given position
+         * @return the slot that was moved into the position, or -1 if none was moved
+         */
+        int removeAt(int position) {
+            int last = slots[--size];
+            if (position != size) {
+                slots[position] = last;
+                return last;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Bounded max-heap that keeps the k closest slots seen so far
+     * SRP: Single responsibility - only tracks the best k candidates
+     */
+    private final class NearestCollector {
+        private final int capacity;
+        private final int[] heapSlots;
+        private final double[] heapDistances;
+        private int size;
+
+        NearestCollector(int capacity) {
+            this.capacity = capacity;
+            int length = Math.min(capacity, slotByBinId.size());
+            this.heapSlots = new int[length];
+            this.heapDistances = new double[length];
+        }
+
+        boolean isFull() {
+            return size == heapSlots.length;
+        }
+
+        double worstDistance() {
+            return heapDistances[0];
+        }
+
+        void offer(int slot, double distance) {
+            if (size < heapSlots.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) / 2;
+                    if (heapDistances[parent] >= distance) {
+                        break;
+                    }
+                    heapSlots[i] = heapSlots[parent];
+                    heapDistances[i] = heapDistances[parent];
+                    i = parent;
+                }
+                heapSlots[i] = slot;
+                heapDistances[i] = distance;
+            } else if (size > 0 && distance < heapDistances[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && heapDistances[child + 1] > heapDistances[child]) {
+                        child++;
+                    }
+                    if (heapDistances[child] <= distance) {
+                        break;
+                    }
+                    heapSlots[i] = heapSlots[child];
+                    heapDistances[i] = heapDistances[child];
+                    i = child;
+                }
+                heapSlots[i] = slot;
+                heapDistances[i] = distance;
+            }
+        }
+
+        List<BinLocationResponse> toResponses() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(heapDistances[a], heapDistances[b]));
+
+            List<BinLocationResponse> result = new ArrayList<>(Math.min(capacity, size));
+            for (int i : order) {
+                int slot = heapSlots[i];
+                result.add(new BinLocationResponse(binIds[slot], statuses[slot],
+                        latitudes[slot], longitudes[slot], heapDistances[i]));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bin Stats Service - Serves bin counts per status from a cached aggregation snapshot
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for bin status statistics
+ * - OCP (Open/Closed): Learns about writes through the BinChangeListener extension point
+ * - DIP (Dependency Inversion): Depends on MongoTemplate for the aggregation
+ *
+ * CODE SMELLS AVOIDED:
+ * - No entity materialisation for counting: One $group by status replaces findAll plus four counts
+ * - No stale reads after writes: Bin writes bump a version that invalidates the snapshot
+ * - No thundering herd: Only one thread recomputes a stale snapshot at a time
+ */
+@Service
+public class BinStatsService implements BinChangeListener {
+
+    private final MongoTemplate mongoTemplate;
+    private final long maxAgeMillis;
+
+    // Bumped on every bin write; a snapshot is only valid for the version it was computed at
+    private final AtomicLong writeVersion = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstraction (MongoTemplate) not concrete implementation
+     */
+    @Autowired
+    public BinStatsService(MongoTemplate mongoTemplate,
+                           @Value("${smartwaste.bins.stats-max-age-ms:60000}") long maxAgeMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    @Override
+    public void onBinSaved(Bin previous, Bin current) {
+        if (previous == null || previous.getStatus() != current.getStatus()) {
+            writeVersion.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onBinDeleted(Bin bin) {
+        writeVersion.incrementAndGet();
+    }
+
+    @Override
+    public void onReloadCompleted() {
+        writeVersion.incrementAndGet();
+    }
+
+    /**
+     * Get bin statistics
+     * Served from the snapshot when it is current; otherwise recomputed with one aggregation.
+     * SRP: Single responsibility - only handles statistics retrieval
+     *
+     * @return Map with totalBins, activeBins, damagedBins, maintenanceBins and lostBins
+     */
+    public Map<String, Object> getBinStats() {
+        Snapshot current = snapshot;
+        if (!isFresh(current)) {
+            current = refresh();
+        }
+        return current.stats;
+    }
+
+    /**
+     * Recompute a stale snapshot in the background so requests rarely pay for the query
+     * SRP: Single responsibility - only handles background refreshing
+     */
+    @Scheduled(fixedDelayString = "${smartwaste.bins.stats-refresh-interval-ms:5000}")
+    public void refreshIfStale() {
+        if (!isFresh(snapshot)) {
+            refresh();
+        }
+    }
+
+    private synchronized Snapshot refresh() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current; // another thread refreshed it while we waited
+        }
+
+        long version = writeVersion.get();
+        Map<Bin.BinStatus, Long> counts = new EnumMap<>(Bin.BinStatus.class);
+        long total = countByStatus(counts);
+
+        Map<String, Object> stats = Map.of(
+            "totalBins", total,
+            "activeBins", counts.get(Bin.BinStatus.ACTIVE),
+            "damagedBins", counts.get(Bin.BinStatus.DAMAGED),
+            "maintenanceBins", counts.get(Bin.BinStatus.MAINTENANCE),
+            "lostBins", counts.get(Bin.BinStatus.LOST)
+        );
+
+        Snapshot refreshed = new Snapshot(stats, version, System.currentTimeMillis());
+        snapshot = refreshed;
+        return refreshed;
+    }
+
+    /**
+     * Count bins per status in one $group; bins without a recognised status only count toward the total
+     *
+     * @param counts filled with the count of every status
+     * @return total number of bins
+     */
+    private long countByStatus(Map<Bin.BinStatus, Long> counts) {
+        for (Bin.BinStatus status : Bin.BinStatus.values()) {
+            counts.put(status, 0L);
+        }
+        long total = 0;
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("status").count().as("count"));
+        for (Document row : mongoTemplate.aggregate(aggregation, "bins", Document.class).getMappedResults()) {
+            long count = ((Number) row.get("count")).longValue();
+            Bin.BinStatus status = parseStatus(row.get("_id"));
+            if (status != null) {
+                counts.put(status, count);
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    private static Bin.BinStatus parseStatus(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Bin.BinStatus.valueOf(Objects.toString(value));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null
+                && current.version == writeVersion.get()
+                && System.currentTimeMillis() - current.computedAt < maxAgeMillis;
+    }
+
+    /**
+     * Immutable statistics result and the write version it reflects
+     */
+    private static final class Snapshot {
+        private final Map<String, Object> stats;
+        private final long version;
+        private final long computedAt;
+
+        private Snapshot(Map<String, Object> stats, long version, long computedAt) {
+            this.stats = stats;
+            this.version = version;
+            this.computedAt = computedAt;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bin Tag Index - In-memory map from scanned QR/RFID tag value to binId
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for tag value resolution
+ * - OCP (Open/Closed): Kept current through the BinChangeListener extension point
+ *
+ * CODE SMELLS AVOIDED:
+ * - No query per scan: Resolution is a single concurrent hash lookup
+ * - No lock contention: ConcurrentHashMap lets hundreds of scanners read in parallel
+ */
+@Component
+public class BinTagIndex implements BinChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinTagIndex.class);
+
+    private final Map<String, String> binIdByTagValue = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Override
+    public void onBinSaved(Bin previous, Bin current) {
+        String previousValue = previous != null ? tagValue(previous) : null;
+        String currentValue = tagValue(current);
+
+        if (previousValue != null && !previousValue.equals(currentValue)) {
+            binIdByTagValue.remove(previousValue, previous.getBinId());
+        }
+        if (currentValue != null && current.getBinId() != null) {
+            String replaced = binIdByTagValue.put(currentValue, current.getBinId());
+            if (replaced != null && !replaced.equals(current.getBinId())) {
+                logger.warn("Tag value {} moved from bin {} to bin {}", currentValue, replaced, current.getBinId());
+            }
+        }
+    }
+
+    @Override
+    public void onBinDeleted(Bin bin) {
+        String value = tagValue(bin);
+        if (value != null) {
+            binIdByTagValue.remove(value, bin.getBinId());
+        }
+    }
+
+    @Override
+    public void onReloadStarted() {
+        loaded = false;
+        binIdByTagValue.clear();
+    }
+
+    @Override
+    public void onReloadCompleted() {
+        loaded = true;
+    }
+
+    /**
+     * Resolve a scanned tag value to a binId
+     * SRP: Single responsibility - only handles tag lookup
+     *
+     * @param value the raw scanned value
+     * @return the binId, or empty if no bin carries the tag
+     */
+    public Optional<String> resolve(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(binIdByTagValue.get(value.trim()));
+    }
+
+    /**
+     * Whether the index holds every bin; until then a miss is not authoritative
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return binIdByTagValue.size();
+    }
+
+    private static String tagValue(Bin bin) {
+        if (bin.getTag() == null || bin.getTag().getValue() == null) {
+            return null;
+        }
+        String value = bin.getTag().getValue().trim();
+        return value.isEmpty() ? null : value;
+    }
+}
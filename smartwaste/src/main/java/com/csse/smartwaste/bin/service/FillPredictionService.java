@@ -0,0 +1,327 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.dto.BinResponse;
+import com.csse.smartwaste.bin.entity.Bin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fill Prediction Service - Predicts when each bin will be full from its fill-level history
+ *
+ * Every bin keeps its last fill level and an exponentially smoothed fill rate. A new reading
+ * updates both in constant time; the smoothing weight grows with the time since the previous
+ * reading, so irregular sensor intervals are handled without keeping any history. A large drop
+ * in level is treated as an emptying and keeps the learned rate.
+ *
+ * Predictions live in memory and are written to the bins collection in periodic bulk updates.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for fill-rate tracking and prediction
+ * - OCP (Open/Closed): Learns about bins through the BinChangeListener extension point
+ * - DIP (Dependency Inversion): Depends on MongoTemplate for the bulk writes
+ *
+ * CODE SMELLS AVOIDED:
+ * - No history scans: O(1) work per reading regardless of how many readings a bin has had
+ * - No write per reading: Changed predictions are flushed in bulk
+ * - No unbounded state: Readings for unknown bins are ignored
+ */
+@Service
+public class FillPredictionService implements BinChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(FillPredictionService.class);
+
+    private static final int FULL = 100;
+    // A fall of more than this many points between readings means the bin was emptied
+    private static final int EMPTIED_DROP = 20;
+    private static final int FLUSH_BATCH_SIZE = 1000;
+    private static final int MAX_RESULTS = 5000;
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private final MongoTemplate mongoTemplate;
+    private final BinLookupCache binLookupCache;
+    private final double smoothingHours;
+    private final double minRatePerHour;
+
+    private final Map<String, FillState> states = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstraction (MongoTemplate) not concrete implementation
+     *
+     * @param smoothingHours time constant of the rate smoothing; larger values react more slowly
+     * @param minRatePerHour rates below this (percent per hour) produce no prediction
+     */
+    @Autowired
+    public FillPredictionService(MongoTemplate mongoTemplate, BinLookupCache binLookupCache,
+                                 @Value("${smartwaste.bins.fill.smoothing-hours:12}") double smoothingHours,
+                                 @Value("${smartwaste.bins.fill.min-rate-per-hour:0.05}") double minRatePerHour) {
+        this.mongoTemplate = mongoTemplate;
+        this.binLookupCache = binLookupCache;
+        this.smoothingHours = smoothingHours;
+        this.minRatePerHour = minRatePerHour;
+    }
+
+    /**
+     * Record a fill-level reading of a bin
+     * SRP: Single responsibility - only handles incremental state updates
+     *
+     * @param binId the bin the reading belongs to
+     * @param fillLevel fill level in percent, 0-100
+     * @param recordedAt when the reading was taken; readings older than the current state are ignored
+     */
+    public void recordFillLevel(String binId, int fillLevel, Instant recordedAt) {
+        if (binId == null || fillLevel < 0 || fillLevel > FULL) {
+            return;
+        }
+        Instant at = recordedAt.truncatedTo(ChronoUnit.MILLIS);
+        FillState updated = states.computeIfPresent(binId, (key, state) -> next(state, fillLevel, at));
+        if (updated != null) {
+            dirty.add(binId);
+        }
+    }
+
+    /**
+     * Record that a bin was emptied; the learned fill rate is kept
+     * SRP: Single responsibility - only handles collection resets
+     */
+    public void recordEmptied(String binId, Instant emptiedAt) {
+        if (binId == null) {
+            return;
+        }
+        Instant at = emptiedAt.truncatedTo(ChronoUnit.MILLIS);
+        FillState updated = states.computeIfPresent(binId, (key, state) ->
+                state.at != null && at.isBefore(state.at) ? state : state.with(0, at, state.rate));
+        if (updated != null) {
+            dirty.add(binId);
+        }
+    }
+
+    /**
+     * Get bins predicted to be full within a horizon, most urgent first
+     * Bins that are already full come first.
+     * SRP: Single responsibility - only handles prediction queries
+     *
+     * @param withinHours prediction horizon from now
+     * @param limit maximum number of bins to return
+     * @return bins ordered by predicted full time
+     */
+    public List<BinResponse> getBinsPredictedFullWithin(double withinHours, int limit) {
+        if (withinHours < 0) {
+            throw new IllegalArgumentException("withinHours must not be negative");
+        }
+        Instant horizon = Instant.now().plusMillis((long) (withinHours * MILLIS_PER_HOUR));
+
+        List<Map.Entry<String, FillState>> urgent = states.entrySet().stream()
+                .filter(entry -> entry.getValue().predictedFullAt != null
+                        && !entry.getValue().predictedFullAt.isAfter(horizon))
+                .sorted(Comparator.comparing(entry -> entry.getValue().predictedFullAt))
+                .limit(Math.max(1, Math.min(limit, MAX_RESULTS)))
+                .toList();
+        if (urgent.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> binIds = urgent.stream().map(Map.Entry::getKey).toList();
+        Map<String, Bin> binsById = mongoTemplate.find(Query.query(Criteria.where("binId").in(binIds)), Bin.class)
+                .stream()
+                .collect(Collectors.toMap(Bin::getBinId, Function.identity(), (first, second) -> first));
+
+        List<BinResponse> responses = new ArrayList<>(urgent.size());
+        for (Map.Entry<String, FillState> entry : urgent) {
+            Bin bin = binsById.get(entry.getKey());
+            if (bin != null) {
+                // Memory is ahead of the last flush, so the response carries the live prediction
+                BinResponse response = BinResponse.fromBin(bin);
+                FillState state = entry.getValue();
+                response.setFillLevel(state.level);
+                response.setFillRatePerHour(state.rate);
+                response.setPredictedFullAt(toLocal(state.predictedFullAt));
+                responses.add(response);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Write changed predictions to the bins collection
+     * SRP: Single responsibility - only handles persistence of predictions
+     */
+    @Scheduled(fixedDelayString = "${smartwaste.bins.fill.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        List<String> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+        Iterator<String> pending = dirty.iterator();
+        while (pending.hasNext()) {
+            batch.add(pending.next());
+            pending.remove();
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @Override
+    public void onBinSaved(Bin previous, Bin current) {
+        if (previous != null && previous.getBinId() != null && !previous.getBinId().equals(current.getBinId())) {
+            states.remove(previous.getBinId());
+            dirty.remove(previous.getBinId());
+        }
+        if (current.getBinId() == null) {
+            return;
+        }
+
+        FillState persisted = stateOf(current);
+        states.compute(current.getBinId(), (binId, held) -> {
+            if (held != null && held.isNewerThan(persisted)) {
+                // The write carried an older prediction than memory holds; write ours back
+                dirty.add(binId);
+                return held;
+            }
+            return persisted;
+        });
+    }
+
+    @Override
+    public void onBinDeleted(Bin bin) {
+        if (bin.getBinId() != null) {
+            states.remove(bin.getBinId());
+            dirty.remove(bin.getBinId());
+        }
+    }
+
+    /**
+     * Number of bins with fill state
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * Fold one reading into a bin's state
+     */
+    private FillState next(FillState state, int level, Instant at) {
+        if (state.at == null) {
+            return state.with(level, at, state.rate);
+        }
+        if (!at.isAfter(state.at)) {
+            return state; // duplicate or out-of-order reading
+        }
+        if (level < state.level - EMPTIED_DROP) {
+            return state.with(level, at, state.rate);
+        }
+
+        double hours = Duration.between(state.at, at).toMillis() / MILLIS_PER_HOUR;
+        double observed = (level - state.level) / hours;
+        double rate = state.rate == null
+                ? observed
+                : state.rate + (1 - Math.exp(-hours / smoothingHours)) * (observed - state.rate);
+        return state.with(level, at, rate);
+    }
+
+    private void write(List<String> binIds) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Bin.class);
+        int queued = 0;
+        for (String binId : binIds) {
+            FillState state = states.get(binId);
+            if (state == null) {
+                continue;
+            }
+            bulk.updateOne(Query.query(Criteria.where("binId").is(binId)), new Update()
+                    .set("fillLevel", state.level)
+                    .set("fillRatePerHour", state.rate)
+                    .set("fillLevelUpdatedAt", toLocal(state.at))
+                    .set("predictedFullAt", toLocal(state.predictedFullAt)));
+            queued++;
+        }
+        if (queued == 0) {
+            return;
+        }
+
+        try {
+            bulk.execute();
+            binIds.forEach(binLookupCache::invalidate);
+        } catch (DataAccessException e) {
+            dirty.addAll(binIds); // retried on the next flush
+            logger.warn("Failed to write {} fill predictions: {}", queued, e.getMessage());
+        }
+    }
+
+    private FillState stateOf(Bin bin) {
+        return new FillState(bin.getFillLevel(), toInstant(bin.getFillLevelUpdatedAt()), bin.getFillRatePerHour());
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Immutable fill state of one bin
+     */
+    final class FillState {
+        final Integer level;
+        final Instant at;
+        final Double rate;
+        final Instant predictedFullAt;
+
+        private FillState(Integer level, Instant at, Double rate) {
+            this.level = level;
+            this.at = at;
+            this.rate = rate;
+            this.predictedFullAt = predict(level, at, rate);
+        }
+
+        FillState with(int newLevel, Instant newAt, Double newRate) {
+            return new FillState(newLevel, newAt, newRate);
+        }
+
+        boolean isNewerThan(FillState other) {
+            return at != null && (other.at == null || at.isAfter(other.at));
+        }
+
+        private Instant predict(Integer level, Instant at, Double rate) {
+            if (level == null || at == null) {
+                return null;
+            }
+            if (level >= FULL) {
+                return at;
+            }
+            if (rate == null || rate < minRatePerHour) {
+                return null;
+            }
+            return at.plusMillis((long) ((FULL - level) / rate * MILLIS_PER_HOUR));
+        }
+    }
+}
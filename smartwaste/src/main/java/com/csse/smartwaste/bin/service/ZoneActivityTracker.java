@@ -0,0 +1,269 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import com.csse.smartwaste.zone.entity.Zone;
+import com.csse.smartwaste.zone.service.ZoneEngine;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Zone Activity Tracker - Per-zone bin status counters maintained from bin write events
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for zone-level bin activity counts
+ * - OCP (Open/Closed): Plugs into BinService through the BinChangeListener extension point
+ * - DIP (Dependency Inversion): Zone membership comes from ZoneEngine, counts from MongoTemplate
+ *
+ * CODE SMELLS AVOIDED:
+ * - No repeated full scans: The activity summary is O(zones) and does no database I/O
+ * - No silent drift: A scheduled reconciliation compares counters against MongoDB
+ * - No magic numbers: Completion thresholds are named constants
+ *
+ * Counters are keyed by zoneId; the summary is keyed by zone name as before.
+ */
+@Component
+public class ZoneActivityTracker implements BinChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZoneActivityTracker.class);
+
+    private static final double COMPLETED_THRESHOLD = 0.8;
+    private static final double IN_PROGRESS_THRESHOLD = 0.3;
+
+    /** Counter key for bins that match no zone when no default zone is configured */
+    private static final String UNZONED = "UNZONED";
+
+    /** Counter slot used for bins that have no status */
+    private static final int NO_STATUS_SLOT = Bin.BinStatus.values().length;
+
+    private final MongoTemplate mongoTemplate;
+    private final ZoneEngine zoneEngine;
+    private final Map<String, AtomicLongArray> countersByZone = new ConcurrentHashMap<>();
+
+    // Drift seen on the previous reconciliation run that could not be confirmed yet
+    private Map<String, long[]> pendingDrift = new HashMap<>();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, ZoneEngine) not concrete implementation
+     */
+    @Autowired
+    public ZoneActivityTracker(MongoTemplate mongoTemplate, ZoneEngine zoneEngine) {
+        this.mongoTemplate = mongoTemplate;
+        this.zoneEngine = zoneEngine;
+    }
+
+    @Override
+    public void onBinSaved(Bin previous, Bin current) {
+        if (previous != null) {
+            adjust(previous, -1);
+        }
+        adjust(current, 1);
+    }
+
+    @Override
+    public void onBinDeleted(Bin bin) {
+        adjust(bin, -1);
+    }
+
+    @Override
+    public void onReloadStarted() {
+        countersByZone.clear();
+    }
+
+    /**
+     * Get activity summary grouped by zones
+     * SRP: Single responsibility - only builds the summary from the counters
+     *
+     * @return Map containing zone-wise activity summary
+     */
+    public Map<String, Map<String, Object>> getActivitySummary() {
+        Map<String, Map<String, Object>> activitySummary = new HashMap<>();
+
+        // Zones without bins are still reported, as NO_DATA
+        for (Zone zone : zoneEngine.getZones()) {
+            countersByZone.computeIfAbsent(zone.getZoneId(), z -> newCounters());
+        }
+
+        for (Map.Entry<String, AtomicLongArray> entry : countersByZone.entrySet()) {
+            AtomicLongArray counters = entry.getValue();
+
+            long activeCount = counters.get(Bin.BinStatus.ACTIVE.ordinal());
+            long collectedCount = counters.get(Bin.BinStatus.COLLECTED.ordinal());
+            long damagedCount = counters.get(Bin.BinStatus.DAMAGED.ordinal());
+            long totalCount = 0;
+            for (int i = 0; i < counters.length(); i++) {
+                totalCount += counters.get(i);
+            }
+
+            Map<String, Object> zoneData = new HashMap<>();
+            zoneData.put("totalBins", totalCount);
+            zoneData.put("activeBins", activeCount);
+            zoneData.put("collectedBins", collectedCount);
+            zoneData.put("damagedBins", damagedCount);
+            zoneData.put("status", determineOverallStatus(collectedCount, totalCount));
+            zoneData.put("scheduledPickups", activeCount + damagedCount); // Bins that need collection
+
+            activitySummary.put(zoneEngine.getZoneName(entry.getKey()), zoneData);
+        }
+
+        return activitySummary;
+    }
+
+    /**
+     * Reconcile the counters against MongoDB
+     * Drift is only corrected when the same drift is seen on two consecutive runs. Writers
+     * publish after their MongoDB write, so a single scan can see a write whose event has not
+     * reached the counters yet; correcting it would count that write twice.
+     *
+     * @return zones whose counters were corrected, with the applied delta per status slot
+     */
+    @Scheduled(fixedDelayString = "${smartwaste.bins.zone-reconcile-interval-ms:900000}",
+               initialDelayString = "${smartwaste.bins.zone-reconcile-interval-ms:900000}")
+    public synchronized Map<String, Map<String, Long>> reconcile() {
+        Map<String, long[]> expected = countFromDatabase();
+
+        Map<String, long[]> observedDrift = new HashMap<>();
+        Map<String, Map<String, Long>> corrections = new LinkedHashMap<>();
+
+        for (String zone : expected.keySet()) {
+            AtomicLongArray counters = countersByZone.computeIfAbsent(zone, z -> newCounters());
+            long[] expectedCounts = expected.get(zone);
+            long[] delta = new long[expectedCounts.length];
+            boolean drifted = false;
+            for (int i = 0; i < expectedCounts.length; i++) {
+                delta[i] = expectedCounts[i] - counters.get(i);
+                drifted |= delta[i] != 0;
+            }
+            if (!drifted) {
+                continue;
+            }
+
+            long[] previousDrift = pendingDrift.get(zone);
+            if (Arrays.equals(previousDrift, delta)) {
+                Map<String, Long> applied = new LinkedHashMap<>();
+                for (int i = 0; i < delta.length; i++) {
+                    if (delta[i] != 0) {
+                        counters.addAndGet(i, delta[i]);
+                        applied.put(slotName(i), delta[i]);
+                    }
+                }
+                corrections.put(zone, applied);
+                logger.warn("Corrected zone activity drift for {}: {}", zone, applied);
+            } else {
+                observedDrift.put(zone, delta);
+            }
+        }
+
+        pendingDrift = observedDrift;
+        return corrections;
+    }
+
+    /**
+     * Count bins per zone and status straight from MongoDB
+     * Stamped bins are counted by a $group on the indexed zoneId; only bins that have not
+     * been stamped yet are streamed and resolved one by one.
+     */
+    private Map<String, long[]> countFromDatabase() {
+        Map<String, long[]> counts = new HashMap<>();
+        for (String zoneId : countersByZone.keySet()) {
+            counts.put(zoneId, new long[NO_STATUS_SLOT + 1]);
+        }
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("zoneId").ne(null)),
+                Aggregation.group("zoneId", "status").count().as("count"));
+        for (Document row : mongoTemplate.aggregate(aggregation, "bins", Document.class).getMappedResults()) {
+            Document key = row.get("_id", Document.class);
+            counts.computeIfAbsent(key.getString("zoneId"), z -> new long[NO_STATUS_SLOT + 1])
+                    [slotOf(key.getString("status"))] += ((Number) row.get("count")).longValue();
+        }
+
+        Query unstamped = Query.query(Criteria.where("zoneId").is(null));
+        unstamped.fields().include("status", "latitude", "longitude", "address");
+        try (Stream<Bin> bins = mongoTemplate.stream(unstamped, Bin.class)) {
+            bins.forEach(bin -> counts.computeIfAbsent(zoneOf(bin), z -> new long[NO_STATUS_SLOT + 1])
+                    [slotOf(bin.getStatus())]++);
+        }
+        return counts;
+    }
+
+    private void adjust(Bin bin, int delta) {
+        countersByZone.computeIfAbsent(zoneOf(bin), z -> newCounters())
+                .addAndGet(slotOf(bin.getStatus()), delta);
+    }
+
+    private static AtomicLongArray newCounters() {
+        return new AtomicLongArray(NO_STATUS_SLOT + 1);
+    }
+
+    private static int slotOf(Bin.BinStatus status) {
+        return status == null ? NO_STATUS_SLOT : status.ordinal();
+    }
+
+    private static int slotOf(String status) {
+        if (status == null) {
+            return NO_STATUS_SLOT;
+        }
+        try {
+            return Bin.BinStatus.valueOf(status).ordinal();
+        } catch (IllegalArgumentException e) {
+            return NO_STATUS_SLOT;
+        }
+    }
+
+    private static String slotName(int slot) {
+        return slot == NO_STATUS_SLOT ? "NONE" : Bin.BinStatus.values()[slot].name();
+    }
+
+    /**
+     * Zone of a bin: the stamped zoneId, or a fresh lookup for bins stamped before zones existed
+     * SRP: Single responsibility - only handles zone assignment
+     */
+    private String zoneOf(Bin bin) {
+        if (bin.getZoneId() != null) {
+            return bin.getZoneId();
+        }
+        String zoneId = zoneEngine.resolveZoneId(bin.getLatitude(), bin.getLongitude(), bin.getAddress());
+        return zoneId != null ? zoneId : UNZONED;
+    }
+
+    /**
+     * Determine overall status for a zone
+     * SRP: Single responsibility - only handles status determination logic
+     *
+     * @param collectedCount number of collected bins
+     * @param totalCount total number of bins
+     * @return overall status string
+     */
+    private String determineOverallStatus(long collectedCount, long totalCount) {
+        if (totalCount == 0) {
+            return "NO_DATA";
+        }
+
+        double completionRate = (double) collectedCount / totalCount;
+
+        if (completionRate >= COMPLETED_THRESHOLD) {
+            return "COMPLETED";
+        } else if (completionRate >= IN_PROGRESS_THRESHOLD) {
+            return "IN_PROGRESS";
+        } else {
+            return "PENDING";
+        }
+    }
+}
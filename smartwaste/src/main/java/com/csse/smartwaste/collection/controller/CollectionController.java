@@ -1,16 +1,22 @@
 package com.csse.smartwaste.collection.controller;
 
+import com.csse.smartwaste.collection.dto.CollectionBatchResponse;
 import com.csse.smartwaste.collection.dto.CollectionRecordRequest;
 import com.csse.smartwaste.collection.dto.CollectionRecordResponse;
 import com.csse.smartwaste.collection.entity.CollectionRecord;
+import com.csse.smartwaste.collection.service.CollectionBatchService;
 import com.csse.smartwaste.collection.service.CollectionService;
+import com.csse.smartwaste.collection.service.MissedCollectionDetector;
+import com.csse.smartwaste.collection.service.WorkerStatsRollupService;
 import com.csse.smartwaste.common.exception.DuplicateResourceException;
 import com.csse.smartwaste.common.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -35,14 +41,22 @@ import java.util.Map;
 public class CollectionController {
 
     private final CollectionService collectionService;
+    private final CollectionBatchService collectionBatchService;
+    private final WorkerStatsRollupService workerStatsRollupService;
+    private final MissedCollectionDetector missedCollectionDetector;
 
     /**
      * Constructor injection - follows Dependency Injection best practice
      * DIP: Depends on abstraction (CollectionService) not concrete implementation
      */
     @Autowired
-    public CollectionController(CollectionService collectionService) {
+    public CollectionController(CollectionService collectionService, CollectionBatchService collectionBatchService,
+                                WorkerStatsRollupService workerStatsRollupService,
+                                MissedCollectionDetector missedCollectionDetector) {
         this.collectionService = collectionService;
+        this.collectionBatchService = collectionBatchService;
+        this.workerStatsRollupService = workerStatsRollupService;
+        this.missedCollectionDetector = missedCollectionDetector;
     }
 
     /**
@@ -62,6 +76,18 @@ public class CollectionController {
         }
     }
 
+    /**
+     * Submit a batch of collection records recorded while offline
+     * SRP: Single responsibility - only handles batch submission HTTP request
+     * 
+     * @param requests submissions, each with a client-generated clientRecordId
+     * @return ResponseEntity containing one result per submission
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<CollectionBatchResponse> submitCollectionBatch(@RequestBody List<CollectionRecordRequest> requests) {
+        return ResponseEntity.ok(collectionBatchService.submitBatch(requests));
+    }
+
     /**
      * Get collection records by worker ID
      * SRP: Single responsibility - only handles collection retrieval by worker HTTP request
@@ -119,14 +145,52 @@ public class CollectionController {
      * SRP: Single responsibility - only handles collection statistics HTTP request
      * 
      * @param workerId the worker identifier
+     * @param from optional first day (yyyy-MM-dd)
+     * @param to optional last day (yyyy-MM-dd)
      * @return ResponseEntity containing collection statistics for the specified worker
      */
     @GetMapping("/worker/{workerId}/stats")
-    public ResponseEntity<CollectionService.CollectionStats> getCollectionStatsByWorker(@PathVariable String workerId) {
-        CollectionService.CollectionStats stats = collectionService.getCollectionStatsByWorker(workerId);
+    public ResponseEntity<CollectionService.CollectionStats> getCollectionStatsByWorker(
+            @PathVariable String workerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        CollectionService.CollectionStats stats = collectionService.getCollectionStatsByWorker(workerId, from, to);
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Rebuild the per-worker daily statistics of completed days from the collection records
+     * SRP: Single responsibility - only handles the rollup backfill HTTP request
+     * 
+     * @return ResponseEntity containing the number of worker-day rows
+     */
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Map<String, Long>> rebuildWorkerStats() {
+        return ResponseEntity.ok(Map.of("workerDays", workerStatsRollupService.rebuildCompletedDays()));
+    }
+
+    /**
+     * Run missed-collection detection now instead of waiting for the schedule
+     * SRP: Single responsibility - only handles the manual detection HTTP request
+     * 
+     * @return ResponseEntity containing the run summary
+     */
+    @PostMapping("/missed/detect")
+    public ResponseEntity<Map<String, Object>> detectMissedCollections() {
+        return ResponseEntity.ok(missedCollectionDetector.detect());
+    }
+
+    /**
+     * Get the summary of the latest missed-collection detection run
+     * SRP: Single responsibility - only handles the detection status HTTP request
+     * 
+     * @return ResponseEntity containing the last run summary, empty before the first run
+     */
+    @GetMapping("/missed/last-run")
+    public ResponseEntity<Map<String, Object>> getLastMissedCollectionRun() {
+        return ResponseEntity.ok(missedCollectionDetector.getLastRun());
+    }
+
     /**
      * Check if bin was already collected today
      * SRP: Single responsibility - only handles duplicate check HTTP request
@@ -0,0 +1,33 @@
+package com.csse.smartwaste.collection.dto;
+
+import org.springframework.data.annotation.Id;
+
+/**
+ * Bin Weight Average DTO - Average collected weight of one bin, as computed by an aggregation
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only carries one bin's weight history summary
+ *
+ * CODE SMELLS AVOIDED:
+ * - No record transfer: The average is computed in MongoDB, not from loaded records
+ */
+public class BinWeightAverage {
+
+    @Id
+    private String binId;
+    private double averageWeight;
+    private long collections;
+
+    // Default constructor
+    public BinWeightAverage() {}
+
+    // Getters and Setters
+    public String getBinId() { return binId; }
+    public void setBinId(String binId) { this.binId = binId; }
+
+    public double getAverageWeight() { return averageWeight; }
+    public void setAverageWeight(double averageWeight) { this.averageWeight = averageWeight; }
+
+    public long getCollections() { return collections; }
+    public void setCollections(long collections) { this.collections = collections; }
+}
@@ -0,0 +1,87 @@
+package com.csse.smartwaste.collection.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CollectionBatchResponse DTO - Outcome of a batch of offline collection submissions
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for transferring batch results
+ *
+ * CODE SMELLS AVOIDED:
+ * - No all-or-nothing failures: Every submission gets its own result, in request order
+ * - Clear structure: Counters plus one result per submission
+ */
+public class CollectionBatchResponse {
+    private int created;
+    private int alreadyRecorded;
+    private int rejected;
+    private List<Result> results = new ArrayList<>();
+
+    // Default constructor
+    public CollectionBatchResponse() {}
+
+    // Getters and Setters
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getAlreadyRecorded() { return alreadyRecorded; }
+    public void setAlreadyRecorded(int alreadyRecorded) { this.alreadyRecorded = alreadyRecorded; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<Result> getResults() { return results; }
+    public void setResults(List<Result> results) { this.results = results; }
+
+    /**
+     * Outcome of one submission
+     */
+    public enum Outcome {
+        /** Stored by this batch */
+        CREATED,
+        /** Stored earlier under the same clientRecordId; safe to treat as success */
+        ALREADY_RECORDED,
+        /** The bin was already collected today */
+        DUPLICATE,
+        BIN_NOT_FOUND,
+        BIN_NOT_ACTIVE,
+        INVALID,
+        FAILED
+    }
+
+    /**
+     * Result DTO
+     * SRP: Single responsibility - only describes what happened to one submission
+     */
+    public static class Result {
+        private int index;
+        private String clientRecordId;
+        private Outcome outcome;
+        private String message;
+        private CollectionRecordResponse record;
+
+        public Result() {}
+
+        public Result(int index, String clientRecordId) {
+            this.index = index;
+            this.clientRecordId = clientRecordId;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public String getClientRecordId() { return clientRecordId; }
+        public void setClientRecordId(String clientRecordId) { this.clientRecordId = clientRecordId; }
+
+        public Outcome getOutcome() { return outcome; }
+        public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+
+        public CollectionRecordResponse getRecord() { return record; }
+        public void setRecord(CollectionRecordResponse record) { this.record = record; }
+    }
+}
@@ -28,6 +28,9 @@ public class CollectionRecordRequest {
     private String reason;
     private SensorDataRequest sensorData;
 
+    /** Client-generated id that makes replaying the same submission safe */
+    private String clientRecordId;
+
     // Default constructor
     public CollectionRecordRequest() {}
 
@@ -117,6 +120,14 @@ public class CollectionRecordRequest {
         this.reason = reason;
     }
 
+    public String getClientRecordId() {
+        return clientRecordId;
+    }
+
+    public void setClientRecordId(String clientRecordId) {
+        this.clientRecordId = clientRecordId;
+    }
+
     public SensorDataRequest getSensorData() {
         return sensorData;
     }
@@ -29,6 +29,7 @@ public class CollectionRecordResponse {
     private CollectionRecord.CollectionStatus status;
     private String reason;
     private SensorDataResponse sensorData;
+    private String clientRecordId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -73,7 +74,7 @@ public class CollectionRecordResponse {
             );
         }
 
-        return new CollectionRecordResponse(
+        CollectionRecordResponse response = new CollectionRecordResponse(
             record.getId(),
             record.getBinId(),
             record.getWorkerId(),
@@ -89,6 +90,8 @@ public class CollectionRecordResponse {
             record.getCreatedAt(),
             record.getUpdatedAt()
         );
+        response.setClientRecordId(record.getClientRecordId());
+        return response;
     }
 
     // Getters and Setters
@@ -196,6 +199,14 @@ public class CollectionRecordResponse {
         this.createdAt = createdAt;
     }
 
+    public String getClientRecordId() {
+        return clientRecordId;
+    }
+
+    public void setClientRecordId(String clientRecordId) {
+        this.clientRecordId = clientRecordId;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
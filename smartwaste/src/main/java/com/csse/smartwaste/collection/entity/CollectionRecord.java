@@ -1,9 +1,12 @@
 package com.csse.smartwaste.collection.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -21,6 +24,8 @@ import java.time.LocalDateTime;
  * - Proper encapsulation: Private fields with public getters/setters
  */
 @Document(collection = "collection_records")
+// Per-bin history lookups, including weight averages for load planning
+@CompoundIndex(name = "bin_status_date_idx", def = "{'bin_id': 1, 'collection_status': 1, 'collection_date': -1}")
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class CollectionRecord {
 
@@ -60,6 +65,16 @@ public class CollectionRecord {
     @Field("sensor_data")
     private SensorData sensorData;
 
+    // Generated by the worker app; replays of the same submission are recognised by it
+    @Indexed(unique = true, sparse = true)
+    @Field("client_record_id")
+    private String clientRecordId;
+
+    // binId plus collection day, set only on COLLECTED records: at most one per bin per day
+    @Indexed(unique = true, sparse = true)
+    @Field("daily_collection_key")
+    private String dailyCollectionKey;
+
     @Field("created_at")
     private LocalDateTime createdAt;
 
@@ -184,6 +199,29 @@ public class CollectionRecord {
         this.sensorData = sensorData;
     }
 
+    public String getClientRecordId() {
+        return clientRecordId;
+    }
+
+    public void setClientRecordId(String clientRecordId) {
+        this.clientRecordId = clientRecordId;
+    }
+
+    public String getDailyCollectionKey() {
+        return dailyCollectionKey;
+    }
+
+    public void setDailyCollectionKey(String dailyCollectionKey) {
+        this.dailyCollectionKey = dailyCollectionKey;
+    }
+
+    /**
+     * Build the key that makes a second COLLECTED record for a bin on the same day fail to insert
+     */
+    public static String dailyCollectionKey(String binId, LocalDate day) {
+        return binId + "|" + day;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
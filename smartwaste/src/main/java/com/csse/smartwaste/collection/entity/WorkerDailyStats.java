@@ -0,0 +1,87 @@
+package com.csse.smartwaste.collection.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+
+/**
+ * Worker Daily Stats Entity - One worker's collection totals for one day
+ *
+ * The document id is "workerId|yyyy-MM-dd", so concurrent $inc upserts for the same worker and
+ * day always address the same document.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only holds pre-aggregated daily counters
+ *
+ * CODE SMELLS AVOIDED:
+ * - No history scans: A date range of stats is a range scan over one row per day
+ * - Proper encapsulation: Private fields with public getters/setters
+ */
+@Document(collection = "worker_daily_stats")
+@CompoundIndex(name = "worker_day_idx", def = "{'worker_id': 1, 'day': 1}")
+public class WorkerDailyStats {
+
+    @Id
+    private String id;
+
+    @Field("worker_id")
+    private String workerId;
+
+    /** ISO local date (yyyy-MM-dd) of the collections, in the server time zone */
+    @Field("day")
+    private String day;
+
+    @Field("total_collections")
+    private long totalCollections;
+
+    @Field("collected_count")
+    private long collectedCount;
+
+    @Field("override_count")
+    private long overrideCount;
+
+    @Field("missed_count")
+    private long missedCount;
+
+    @Field("total_weight")
+    private double totalWeight;
+
+    // Default constructor for MongoDB
+    public WorkerDailyStats() {
+    }
+
+    /**
+     * Build the document id of a worker's day
+     */
+    public static String idOf(String workerId, LocalDate day) {
+        return workerId + "|" + day;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getWorkerId() { return workerId; }
+    public void setWorkerId(String workerId) { this.workerId = workerId; }
+
+    public String getDay() { return day; }
+    public void setDay(String day) { this.day = day; }
+
+    public long getTotalCollections() { return totalCollections; }
+    public void setTotalCollections(long totalCollections) { this.totalCollections = totalCollections; }
+
+    public long getCollectedCount() { return collectedCount; }
+    public void setCollectedCount(long collectedCount) { this.collectedCount = collectedCount; }
+
+    public long getOverrideCount() { return overrideCount; }
+    public void setOverrideCount(long overrideCount) { this.overrideCount = overrideCount; }
+
+    public long getMissedCount() { return missedCount; }
+    public void setMissedCount(long missedCount) { this.missedCount = missedCount; }
+
+    public double getTotalWeight() { return totalWeight; }
+    public void setTotalWeight(double totalWeight) { this.totalWeight = totalWeight; }
+}
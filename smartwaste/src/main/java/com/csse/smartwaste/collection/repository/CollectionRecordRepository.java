@@ -1,11 +1,14 @@
 package com.csse.smartwaste.collection.repository;
 
+import com.csse.smartwaste.collection.dto.BinWeightAverage;
 import com.csse.smartwaste.collection.entity.CollectionRecord;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -114,4 +117,47 @@ public interface CollectionRecordRepository extends MongoRepository<CollectionRe
      * @return Optional containing the latest collection record for the specified bin
      */
     Optional<CollectionRecord> findFirstByBinIdOrderByCollectionDateDesc(String binId);
+
+    /**
+     * Find the record created for a client submission
+     * SRP: Single responsibility - only finds by client record id
+     * 
+     * @param clientRecordId the client-generated identifier
+     * @return Optional containing the record if the submission was already stored
+     */
+    Optional<CollectionRecord> findByClientRecordId(String clientRecordId);
+
+    /**
+     * Find the records already created for a set of client submissions
+     * SRP: Single responsibility - only finds by client record ids
+     * 
+     * @param clientRecordIds the client-generated identifiers
+     * @return List of records that already exist
+     */
+    List<CollectionRecord> findByClientRecordIdIn(Collection<String> clientRecordIds);
+
+    /**
+     * Find the bins collected in a period, in one query
+     * SRP: Single responsibility - only finds collected bins for seeding the collected-today set
+     * 
+     * @param start the start of the period
+     * @param end the end of the period
+     * @return records carrying only the bin id
+     */
+    @Query(value = "{'collectionDate': {$gte: ?0, $lte: ?1}, 'status': {$in: ['COLLECTED', 'OVERRIDE']}}", fields = "{'binId': 1}")
+    List<CollectionRecord> findCollectedBinIdsBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Average weight of the completed collections of each bin since a point in time
+     * SRP: Single responsibility - only summarises weight history for load estimates
+     * 
+     * @param binIds the bin identifiers
+     * @param since only collections on or after this time are averaged
+     * @return one row per bin with weighed collections
+     */
+    @Aggregation(pipeline = {
+        "{ $match: { 'bin_id': { $in: ?0 }, 'collection_status': 'COLLECTED', 'collection_date': { $gte: ?1 }, 'weight': { $gt: 0 } } }",
+        "{ $group: { _id: '$bin_id', averageWeight: { $avg: '$weight' }, collections: { $sum: 1 } } }"
+    })
+    List<BinWeightAverage> averageCollectedWeightByBin(Collection<String> binIds, LocalDateTime since);
 }
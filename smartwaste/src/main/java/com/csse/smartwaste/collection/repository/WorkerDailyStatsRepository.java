@@ -0,0 +1,43 @@
+package com.csse.smartwaste.collection.repository;
+
+import com.csse.smartwaste.collection.entity.WorkerDailyStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * WorkerDailyStats Repository - Handles data access for the per-worker daily rollups
+ * 
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for reading rollup rows
+ * - DIP (Dependency Inversion): Depends on abstraction (MongoRepository) not concrete implementation
+ * 
+ * CODE SMELLS AVOIDED:
+ * - No fat interfaces: Only the range lookups the stats endpoints need
+ */
+@Repository
+public interface WorkerDailyStatsRepository extends MongoRepository<WorkerDailyStats, String> {
+
+    /**
+     * Find a worker's rollup rows
+     * SRP: Single responsibility - only finds by workerId
+     * 
+     * @param workerId the worker identifier
+     * @return one row per day the worker has collections
+     */
+    List<WorkerDailyStats> findByWorkerId(String workerId);
+
+    /**
+     * Find a worker's rollup rows in an inclusive day range
+     * SRP: Single responsibility - only finds by worker and day range
+     * 
+     * @param workerId the worker identifier
+     * @param fromDay first day, yyyy-MM-dd
+     * @param toDay last day, yyyy-MM-dd
+     * @return one row per day in the range that has collections
+     */
+    @Query("{'workerId': ?0, 'day': {$gte: ?1, $lte: ?2}}")
+    List<WorkerDailyStats> findByWorkerIdAndDayRange(String workerId, String fromDay, String toDay);
+}
@@ -0,0 +1,136 @@
+package com.csse.smartwaste.collection.service;
+
+import com.csse.smartwaste.collection.entity.CollectionRecord;
+import com.csse.smartwaste.collection.repository.CollectionRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collected Today Tracker - In-memory set of the bins already collected today
+ *
+ * The set belongs to one calendar day. It is loaded from MongoDB at startup and again when the
+ * day changes - at midnight, or lazily by the first caller of the new day - and after that it is
+ * kept current by the collection services. A new day's set is only published once it is fully
+ * loaded, so callers never see a half-seeded day.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for knowing which bins were collected today
+ * - DIP (Dependency Inversion): Depends on the CollectionRecordRepository abstraction for seeding
+ *
+ * CODE SMELLS AVOIDED:
+ * - No query per check: The duplicate guard is a hash lookup
+ * - No repeated date arithmetic: Day bounds are computed once per day
+ */
+@Component
+public class CollectedTodayTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectedTodayTracker.class);
+
+    private final CollectionRecordRepository collectionRecordRepository;
+
+    private volatile DaySet today;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstraction (CollectionRecordRepository) not concrete implementation
+     */
+    @Autowired
+    public CollectedTodayTracker(CollectionRecordRepository collectionRecordRepository) {
+        this.collectionRecordRepository = collectionRecordRepository;
+    }
+
+    /**
+     * Check whether a bin was collected today
+     * SRP: Single responsibility - only handles the duplicate check
+     */
+    public boolean isCollectedToday(String binId) {
+        return current().binIds.contains(binId);
+    }
+
+    /**
+     * Record a stored collection
+     * SRP: Single responsibility - only handles set maintenance
+     *
+     * @param binId the collected bin
+     * @param collectionDate collection date of the record; records of other days leave today's set alone
+     * @param status status of the stored record; only COLLECTED and OVERRIDE count as collected
+     */
+    public void markCollected(String binId, LocalDateTime collectionDate, CollectionRecord.CollectionStatus status) {
+        if (binId == null || collectionDate == null || !counts(status)) {
+            return;
+        }
+        DaySet set = current();
+        if (set.day.equals(collectionDate.toLocalDate())) {
+            set.binIds.add(binId);
+        }
+    }
+
+    /**
+     * Number of bins collected today
+     */
+    public int size() {
+        return current().binIds.size();
+    }
+
+    /**
+     * Load the day's set before the first request needs it, and again as each day starts
+     * SRP: Single responsibility - only handles proactive seeding
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 0 * * *")
+    public void seed() {
+        current();
+    }
+
+    private DaySet current() {
+        DaySet set = today;
+        LocalDate date = LocalDate.now();
+        if (set != null && set.day.equals(date)) {
+            return set;
+        }
+        return load(date);
+    }
+
+    private synchronized DaySet load(LocalDate date) {
+        DaySet set = today;
+        if (set != null && set.day.equals(date)) {
+            return set; // loaded by another thread while we waited
+        }
+
+        DaySet loaded = new DaySet(date);
+        for (CollectionRecord record : collectionRecordRepository.findCollectedBinIdsBetween(
+                date.atStartOfDay(), date.atTime(23, 59, 59))) {
+            loaded.binIds.add(record.getBinId());
+        }
+        today = loaded;
+        logger.info("Loaded {} bins collected on {}", loaded.binIds.size(), date);
+        return loaded;
+    }
+
+    private static boolean counts(CollectionRecord.CollectionStatus status) {
+        return status == CollectionRecord.CollectionStatus.COLLECTED
+                || status == CollectionRecord.CollectionStatus.OVERRIDE;
+    }
+
+    /**
+     * The bins collected on one day
+     */
+    private static final class DaySet {
+        private final LocalDate day;
+        private final Set<String> binIds = ConcurrentHashMap.newKeySet();
+
+        private DaySet(LocalDate day) {
+            this.day = day;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.csse.smartwaste.collection.service;
+
+import com.csse.smartwaste.bin.dto.BinResponse;
+import com.csse.smartwaste.bin.entity.Bin;
+import com.csse.smartwaste.bin.service.BinService;
+import com.csse.smartwaste.bin.service.FillPredictionService;
+import com.csse.smartwaste.collection.dto.CollectionBatchResponse;
+import com.csse.smartwaste.collection.dto.CollectionBatchResponse.Outcome;
+import com.csse.smartwaste.collection.dto.CollectionRecordRequest;
+import com.csse.smartwaste.collection.dto.CollectionRecordResponse;
+import com.csse.smartwaste.collection.entity.CollectionRecord;
+import com.csse.smartwaste.collection.repository.CollectionRecordRepository;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Collection Batch Service - Stores collections that a worker app replays after being offline
+ *
+ * A batch costs a fixed number of round trips however many submissions it carries: one lookup
+ * of earlier submissions, one $in query for the bins, one bulk insert and one bulk status
+ * change. The collected-today check is answered from memory. Submissions carry a
+ * client-generated id, so replaying a batch after a lost response never stores a collection
+ * twice.
+ *
+ * The in-memory checks only filter; the unique indexes on the records and the conditional
+ * ACTIVE to COLLECTED update decide. A COLLECTED record whose bin lost that race is deleted again.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for batch submission of collection records
+ * - DIP (Dependency Inversion): Depends on the repository, MongoTemplate and BinService abstractions
+ *
+ * CODE SMELLS AVOIDED:
+ * - No N+1 round trips: Checks and writes are done per batch, not per submission
+ * - No all-or-nothing batches: One bad submission does not reject the others
+ * - No duplicated rules: Same duplicate and bin-status rules as a single submission
+ */
+@Service
+public class CollectionBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionBatchService.class);
+
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final CollectionRecordRepository collectionRecordRepository;
+    private final BinService binService;
+    private final FillPredictionService fillPredictionService;
+    private final CollectedTodayTracker collectedTodayTracker;
+    private final WorkerStatsRollupService workerStatsRollupService;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (CollectionRecordRepository, BinService, MongoTemplate)
+     */
+    @Autowired
+    public CollectionBatchService(CollectionRecordRepository collectionRecordRepository, BinService binService,
+                                  FillPredictionService fillPredictionService,
+                                  CollectedTodayTracker collectedTodayTracker,
+                                  WorkerStatsRollupService workerStatsRollupService, MongoTemplate mongoTemplate) {
+        this.collectionRecordRepository = collectionRecordRepository;
+        this.binService = binService;
+        this.fillPredictionService = fillPredictionService;
+        this.collectedTodayTracker = collectedTodayTracker;
+        this.workerStatsRollupService = workerStatsRollupService;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Store a batch of collection submissions
+     * SRP: Single responsibility - only handles batch submission logic
+     *
+     * @param requests submissions in the order the worker made them
+     * @return one result per submission, in request order
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    public CollectionBatchResponse submitBatch(List<CollectionRecordRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one collection record is required");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " collection records per batch");
+        }
+
+        List<CollectionBatchResponse.Result> results = new ArrayList<>(requests.size());
+        Map<String, Integer> firstIndexByClientId = new HashMap<>();
+        Map<Integer, Integer> repeats = new HashMap<>();
+        List<Integer> pending = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CollectionRecordRequest request = requests.get(i);
+            CollectionBatchResponse.Result result = new CollectionBatchResponse.Result(
+                    i, request == null ? null : request.getClientRecordId());
+            results.add(result);
+
+            String problem = validate(request);
+            if (problem != null) {
+                resolve(result, Outcome.INVALID, problem, null);
+                continue;
+            }
+            Integer first = firstIndexByClientId.putIfAbsent(request.getClientRecordId(), i);
+            if (first != null) {
+                repeats.put(i, first); // same submission twice in one batch
+                continue;
+            }
+            pending.add(i);
+        }
+
+        resolveEarlierSubmissions(requests, results, pending);
+        storeNewSubmissions(requests, results, pending);
+
+        // Repeats share the outcome of the first copy
+        for (Map.Entry<Integer, Integer> repeat : repeats.entrySet()) {
+            CollectionBatchResponse.Result first = results.get(repeat.getValue());
+            Outcome outcome = first.getOutcome() == Outcome.CREATED ? Outcome.ALREADY_RECORDED : first.getOutcome();
+            resolve(results.get(repeat.getKey()), outcome, first.getMessage(), first.getRecord());
+        }
+
+        CollectionBatchResponse response = new CollectionBatchResponse();
+        for (CollectionBatchResponse.Result result : results) {
+            if (result.getOutcome() == Outcome.CREATED) {
+                response.setCreated(response.getCreated() + 1);
+            } else if (result.getOutcome() == Outcome.ALREADY_RECORDED) {
+                response.setAlreadyRecorded(response.getAlreadyRecorded() + 1);
+            } else {
+                response.setRejected(response.getRejected() + 1);
+            }
+        }
+        response.setResults(results);
+        return response;
+    }
+
+    /**
+     * Answer submissions that were stored by an earlier attempt, with one query
+     */
+    private void resolveEarlierSubmissions(List<CollectionRecordRequest> requests,
+                                           List<CollectionBatchResponse.Result> results, List<Integer> pending) {
+        Set<String> clientIds = pending.stream()
+                .map(i -> requests.get(i).getClientRecordId())
+                .collect(Collectors.toSet());
+        Map<String, CollectionRecord> stored = collectionRecordRepository.findByClientRecordIdIn(clientIds).stream()
+                .collect(Collectors.toMap(CollectionRecord::getClientRecordId, Function.identity()));
+
+        pending.removeIf(i -> {
+            CollectionRecord record = stored.get(requests.get(i).getClientRecordId());
+            if (record == null) {
+                return false;
+            }
+            resolve(results.get(i), Outcome.ALREADY_RECORDED, null, CollectionRecordResponse.fromCollectionRecord(record));
+            return true;
+        });
+    }
+
+    private void storeNewSubmissions(List<CollectionRecordRequest> requests,
+                                     List<CollectionBatchResponse.Result> results, List<Integer> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Set<String> binIds = pending.stream()
+                .map(i -> requests.get(i).getBinId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, BinResponse> bins = binService.getBinsByBinIds(binIds);
+
+        // Bins collected earlier in this batch are duplicates too
+        Set<String> collectedInBatch = new HashSet<>();
+
+        List<Integer> accepted = new ArrayList<>();
+        List<CollectionRecord> records = new ArrayList<>();
+        for (int i : pending) {
+            CollectionRecordRequest request = requests.get(i);
+            BinResponse bin = bins.get(request.getBinId());
+            if (bin == null) {
+                resolve(results.get(i), Outcome.BIN_NOT_FOUND, "Bin not found with binId: '" + request.getBinId() + "'", null);
+                continue;
+            }
+            if (request.getStatus() == CollectionRecord.CollectionStatus.COLLECTED) {
+                if (collectedInBatch.contains(request.getBinId())
+                        || collectedTodayTracker.isCollectedToday(request.getBinId())) {
+                    resolve(results.get(i), Outcome.DUPLICATE,
+                            "Bin " + request.getBinId() + " was already collected today", null);
+                    continue;
+                }
+                if (bin.getStatus() != Bin.BinStatus.ACTIVE) {
+                    resolve(results.get(i), Outcome.BIN_NOT_ACTIVE,
+                            "Bin " + request.getBinId() + " is not in ACTIVE status. Current status: " + bin.getStatus(), null);
+                    continue;
+                }
+                collectedInBatch.add(request.getBinId());
+            }
+
+            CollectionRecord record = CollectionService.convertRequestToEntity(request);
+            record.setId(new ObjectId().toHexString());
+            records.add(record);
+            accepted.add(i);
+        }
+
+        Set<Integer> failedPositions = insert(records, accepted, results);
+        withdrawUncollectedBins(records, accepted, results, failedPositions);
+
+        List<CollectionRecord> stored = new ArrayList<>();
+        Instant observedAt = Instant.now();
+        for (int position = 0; position < records.size(); position++) {
+            if (failedPositions.contains(position)) {
+                continue;
+            }
+            CollectionRecord record = records.get(position);
+            stored.add(record);
+            collectedTodayTracker.markCollected(record.getBinId(), record.getCollectionDate(), record.getStatus());
+            resolve(results.get(accepted.get(position)), Outcome.CREATED, null,
+                    CollectionRecordResponse.fromCollectionRecord(record));
+
+            if (record.getFillLevel() != null) {
+                fillPredictionService.recordFillLevel(record.getBinId(), record.getFillLevel(), observedAt);
+            }
+            if (record.getStatus() == CollectionRecord.CollectionStatus.COLLECTED) {
+                fillPredictionService.recordEmptied(record.getBinId(), observedAt);
+            }
+        }
+        workerStatsRollupService.recordStored(stored);
+    }
+
+    /**
+     * Move the bins of the inserted COLLECTED records from ACTIVE to COLLECTED with one update,
+     * then delete the records whose bin was not moved, with one more
+     */
+    private void withdrawUncollectedBins(List<CollectionRecord> records, List<Integer> accepted,
+                                         List<CollectionBatchResponse.Result> results, Set<Integer> failedPositions) {
+        Map<String, Integer> positionByBinId = new HashMap<>();
+        for (int position = 0; position < records.size(); position++) {
+            CollectionRecord record = records.get(position);
+            if (!failedPositions.contains(position) && record.getStatus() == CollectionRecord.CollectionStatus.COLLECTED) {
+                positionByBinId.put(record.getBinId(), position);
+            }
+        }
+        if (positionByBinId.isEmpty()) {
+            return;
+        }
+
+        String failure = null;
+        Set<String> transitioned;
+        try {
+            transitioned = binService.transitionBinStatuses(
+                    positionByBinId.keySet(), Bin.BinStatus.ACTIVE, Bin.BinStatus.COLLECTED);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to mark {} bins as collected: {}", positionByBinId.size(), e.getMessage());
+            transitioned = Set.of();
+            failure = e.getMessage();
+        }
+
+        List<String> withdrawnIds = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : positionByBinId.entrySet()) {
+            if (transitioned.contains(entry.getKey())) {
+                continue;
+            }
+            int position = entry.getValue();
+            failedPositions.add(position);
+            withdrawnIds.add(records.get(position).getId());
+            CollectionBatchResponse.Result result = results.get(accepted.get(position));
+            if (failure != null) {
+                resolve(result, Outcome.FAILED, failure, null);
+            } else {
+                resolve(result, Outcome.BIN_NOT_ACTIVE,
+                        "Bin " + entry.getKey() + " is no longer in ACTIVE status", null);
+            }
+        }
+        if (!withdrawnIds.isEmpty()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").in(withdrawnIds)), CollectionRecord.class);
+        }
+    }
+
+    /**
+     * Insert records with one unordered bulk write
+     *
+     * @return positions in records that were not inserted; their results are already resolved
+     */
+    private Set<Integer> insert(List<CollectionRecord> records, List<Integer> accepted,
+                                List<CollectionBatchResponse.Result> results) {
+        Set<Integer> failedPositions = new HashSet<>();
+        if (records.isEmpty()) {
+            return failedPositions;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CollectionRecord.class)
+                    .insert(records)
+                    .execute();
+        } catch (BulkOperationException e) {
+            List<Integer> duplicates = new ArrayList<>();
+            for (BulkWriteError error : e.getErrors()) {
+                int position = error.getIndex();
+                failedPositions.add(position);
+                if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                    duplicates.add(position);
+                } else {
+                    resolve(results.get(accepted.get(position)), Outcome.FAILED, error.getMessage(), null);
+                }
+            }
+            resolveDuplicates(records, accepted, results, duplicates);
+        }
+        return failedPositions;
+    }
+
+    /**
+     * Tell a concurrent replay of the same submission apart from another collection of the bin today
+     */
+    private void resolveDuplicates(List<CollectionRecord> records, List<Integer> accepted,
+                                   List<CollectionBatchResponse.Result> results, List<Integer> duplicates) {
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        Set<String> clientIds = duplicates.stream()
+                .map(position -> records.get(position).getClientRecordId())
+                .collect(Collectors.toSet());
+        Map<String, CollectionRecord> stored = collectionRecordRepository.findByClientRecordIdIn(clientIds).stream()
+                .collect(Collectors.toMap(CollectionRecord::getClientRecordId, Function.identity()));
+
+        for (int position : duplicates) {
+            CollectionRecord record = records.get(position);
+            CollectionRecord existing = stored.get(record.getClientRecordId());
+            CollectionBatchResponse.Result result = results.get(accepted.get(position));
+            if (existing != null) {
+                resolve(result, Outcome.ALREADY_RECORDED, null, CollectionRecordResponse.fromCollectionRecord(existing));
+            } else {
+                resolve(result, Outcome.DUPLICATE, "Bin " + record.getBinId() + " was already collected today", null);
+            }
+        }
+    }
+
+    private static String validate(CollectionRecordRequest request) {
+        if (request == null) {
+            return "Submission is empty";
+        }
+        if (request.getClientRecordId() == null || request.getClientRecordId().isBlank()) {
+            return "clientRecordId is required";
+        }
+        if (request.getBinId() == null || request.getBinId().isBlank()) {
+            return "binId is required";
+        }
+        if (request.getStatus() == null) {
+            return "status is required";
+        }
+        return null;
+    }
+
+    private static void resolve(CollectionBatchResponse.Result result, Outcome outcome, String message,
+                                CollectionRecordResponse record) {
+        result.setOutcome(outcome);
+        result.setMessage(message);
+        result.setRecord(record);
+    }
+}
@@ -1,24 +1,34 @@
 package com.csse.smartwaste.collection.service;
 
+import com.csse.smartwaste.collection.dto.BinWeightAverage;
 import com.csse.smartwaste.collection.dto.CollectionRecordRequest;
 import com.csse.smartwaste.collection.dto.CollectionRecordResponse;
 import com.csse.smartwaste.collection.entity.CollectionRecord;
 import com.csse.smartwaste.collection.repository.CollectionRecordRepository;
 import com.csse.smartwaste.bin.entity.Bin;
 import com.csse.smartwaste.bin.service.BinService;
+import com.csse.smartwaste.bin.service.FillPredictionService;
 import com.csse.smartwaste.common.exception.DuplicateResourceException;
 import com.csse.smartwaste.common.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Collection Service - Handles business logic for collection operations
+ *
+ * There is no MongoDB transaction manager, so writes are not rolled back together. A COLLECTED
+ * record is inserted first and the bin is then moved ACTIVE to COLLECTED; if that move fails,
+ * the record is deleted again. A crash between the two steps can leave a COLLECTED record for
+ * a bin that is still ACTIVE.
  * 
  * SOLID PRINCIPLES APPLIED:
  * - SRP (Single Responsibility): Only responsible for collection business logic
@@ -34,20 +44,28 @@ import java.util.stream.Collectors;
  * - Clear method naming: Descriptive method names
  */
 @Service
-@Transactional
 public class CollectionService {
 
     private final CollectionRecordRepository collectionRecordRepository;
     private final BinService binService;
+    private final FillPredictionService fillPredictionService;
+    private final CollectedTodayTracker collectedTodayTracker;
+    private final WorkerStatsRollupService workerStatsRollupService;
 
     /**
      * Constructor injection - follows Dependency Injection best practice
      * DIP: Depends on abstraction (CollectionRecordRepository interface) not concrete implementation
      */
     @Autowired
-    public CollectionService(CollectionRecordRepository collectionRecordRepository, BinService binService) {
+    public CollectionService(CollectionRecordRepository collectionRecordRepository, BinService binService,
+                             FillPredictionService fillPredictionService,
+                             CollectedTodayTracker collectedTodayTracker,
+                             WorkerStatsRollupService workerStatsRollupService) {
         this.collectionRecordRepository = collectionRecordRepository;
         this.binService = binService;
+        this.fillPredictionService = fillPredictionService;
+        this.collectedTodayTracker = collectedTodayTracker;
+        this.workerStatsRollupService = workerStatsRollupService;
     }
 
     /**
@@ -57,21 +75,27 @@ public class CollectionService {
      * @param request the collection record creation request
      * @return CollectionRecordResponse containing the created record
      * @throws DuplicateResourceException if bin was already collected today
+     * @throws IllegalStateException if a COLLECTED record is submitted for a bin that is not ACTIVE
      */
     public CollectionRecordResponse createCollectionRecord(CollectionRecordRequest request) {
-        // Check if bin was already collected today
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().atTime(23, 59, 59);
-        
-        boolean alreadyCollected = collectionRecordRepository.existsByBinIdAndCollectionDateBetweenAndStatusIn(
-            request.getBinId(), startOfDay, endOfDay);
+        // A replayed submission gets back the record it already created, before any check that
+        // its own earlier success would now fail
+        if (request.getClientRecordId() != null) {
+            var existing = collectionRecordRepository.findByClientRecordId(request.getClientRecordId());
+            if (existing.isPresent()) {
+                return CollectionRecordResponse.fromCollectionRecord(existing.get());
+            }
+        }
+
+        // Fast in-memory rejection; the unique daily key below is what actually enforces it
+        boolean alreadyCollected = collectedTodayTracker.isCollectedToday(request.getBinId());
         
         if (alreadyCollected && request.getStatus() == CollectionRecord.CollectionStatus.COLLECTED) {
             throw new DuplicateResourceException("Collection Record", "binId", 
                 "Bin " + request.getBinId() + " was already collected today");
         }
 
-        // Validate bin exists and is in correct status
+        // Validate bin exists and is in correct status (served from the bin lookup cache)
         try {
             var binResponse = binService.getBinByBinId(request.getBinId());
             
@@ -89,19 +113,48 @@ public class CollectionService {
         // Convert DTO to entity
         CollectionRecord record = convertRequestToEntity(request);
         
-        // Save record
-        CollectionRecord savedRecord = collectionRecordRepository.save(record);
+        // Insert record - a second COLLECTED record for the bin today fails on dailyCollectionKey
+        CollectionRecord savedRecord;
+        try {
+            savedRecord = collectionRecordRepository.insert(record);
+        } catch (DuplicateKeyException e) {
+            // A replay racing its own first attempt gets back the record that attempt created
+            if (request.getClientRecordId() != null) {
+                var existing = collectionRecordRepository.findByClientRecordId(request.getClientRecordId());
+                if (existing.isPresent()) {
+                    return CollectionRecordResponse.fromCollectionRecord(existing.get());
+                }
+            }
+            throw new DuplicateResourceException("Collection Record", "binId", 
+                "Bin " + request.getBinId() + " was already collected today");
+        }
         
-        // Update bin status if collection was successful
+        // Move the bin ACTIVE -> COLLECTED; if that fails the record is withdrawn again (compensation, not rollback)
         if (request.getStatus() == CollectionRecord.CollectionStatus.COLLECTED) {
+            boolean transitioned;
             try {
-                binService.updateBinStatus(request.getBinId(), Bin.BinStatus.COLLECTED);
-            } catch (Exception e) {
-                // Log error but don't fail the collection record creation
-                System.err.println("Warning: Failed to update bin status for " + request.getBinId() + 
-                    ": " + e.getMessage());
+                transitioned = binService.transitionBinStatus(
+                    request.getBinId(), Bin.BinStatus.ACTIVE, Bin.BinStatus.COLLECTED).isPresent();
+            } catch (RuntimeException e) {
+                collectionRecordRepository.delete(savedRecord);
+                throw e;
+            }
+            if (!transitioned) {
+                collectionRecordRepository.delete(savedRecord);
+                throw new IllegalStateException("Bin " + request.getBinId() + " is no longer in ACTIVE status");
             }
         }
+        collectedTodayTracker.markCollected(savedRecord.getBinId(), savedRecord.getCollectionDate(), savedRecord.getStatus());
+        workerStatsRollupService.recordStored(List.of(savedRecord));
+
+        // The level the worker saw feeds the fill-rate estimate; a collection then empties the bin
+        Instant observedAt = Instant.now();
+        if (request.getFillLevel() != null) {
+            fillPredictionService.recordFillLevel(request.getBinId(), request.getFillLevel(), observedAt);
+        }
+        if (request.getStatus() == CollectionRecord.CollectionStatus.COLLECTED) {
+            fillPredictionService.recordEmptied(request.getBinId(), observedAt);
+        }
         
         // Convert entity to response DTO
         return CollectionRecordResponse.fromCollectionRecord(savedRecord);
@@ -173,28 +226,29 @@ public class CollectionService {
      * SRP: Single responsibility - only handles collection statistics logic
      * 
      * @param workerId the worker identifier
+     * @param from first day to include, or null for no lower bound
+     * @param to last day to include, or null for no upper bound
      * @return CollectionStats containing statistics for the specified worker
      */
-    public CollectionStats getCollectionStatsByWorker(String workerId) {
-        List<CollectionRecord> records = collectionRecordRepository.findByWorkerId(workerId);
-        
-        long totalCollections = records.size();
-        long collectedCount = records.stream()
-                .filter(r -> r.getStatus() == CollectionRecord.CollectionStatus.COLLECTED)
-                .count();
-        long overrideCount = records.stream()
-                .filter(r -> r.getStatus() == CollectionRecord.CollectionStatus.OVERRIDE)
-                .count();
-        long missedCount = records.stream()
-                .filter(r -> r.getStatus() == CollectionRecord.CollectionStatus.MISSED)
-                .count();
-        
-        double totalWeight = records.stream()
-                .filter(r -> r.getWeight() != null)
-                .mapToDouble(CollectionRecord::getWeight)
-                .sum();
-        
-        return new CollectionStats(totalCollections, collectedCount, overrideCount, missedCount, totalWeight);
+    public CollectionStats getCollectionStatsByWorker(String workerId, LocalDate from, LocalDate to) {
+        // Read from the per-day rollup rather than the worker's full history
+        return workerStatsRollupService.getStats(workerId, from, to);
+    }
+
+    /**
+     * Get the average collected weight of each bin over a recent period
+     * SRP: Single responsibility - only handles weight history lookups
+     * 
+     * @param binIds the bin identifiers
+     * @param since start of the period
+     * @return average weight in kg keyed by binId; bins without weighed collections are absent
+     */
+    public Map<String, Double> getAverageCollectedWeights(Collection<String> binIds, LocalDateTime since) {
+        if (binIds.isEmpty()) {
+            return Map.of();
+        }
+        return collectionRecordRepository.averageCollectedWeightByBin(binIds, since).stream()
+                .collect(Collectors.toMap(BinWeightAverage::getBinId, BinWeightAverage::getAverageWeight));
     }
 
     /**
@@ -205,11 +259,7 @@ public class CollectionService {
      * @return true if bin was collected today, false otherwise
      */
     public boolean isBinAlreadyCollectedToday(String binId) {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        LocalDateTime endOfDay = LocalDate.now().atTime(23, 59, 59);
-        
-        return collectionRecordRepository.existsByBinIdAndCollectionDateBetweenAndStatusIn(
-            binId, startOfDay, endOfDay);
+        return collectedTodayTracker.isCollectedToday(binId);
     }
 
     /**
@@ -229,12 +279,13 @@ public class CollectionService {
 
     /**
      * Convert CollectionRecordRequest DTO to CollectionRecord entity
+     * Shared with CollectionBatchService so both paths store the same fields.
      * SRP: Single responsibility - only handles DTO to entity conversion
      * 
      * @param request the collection record request DTO
      * @return CollectionRecord entity
      */
-    private CollectionRecord convertRequestToEntity(CollectionRecordRequest request) {
+    static CollectionRecord convertRequestToEntity(CollectionRecordRequest request) {
         CollectionRecord record = new CollectionRecord(
             request.getBinId(),
             request.getWorkerId(),
@@ -247,6 +298,11 @@ public class CollectionService {
         );
         
         // Set optional fields
+        record.setClientRecordId(request.getClientRecordId());
+        if (request.getStatus() == CollectionRecord.CollectionStatus.COLLECTED) {
+            record.setDailyCollectionKey(CollectionRecord.dailyCollectionKey(
+                request.getBinId(), record.getCollectionDate().toLocalDate()));
+        }
         if (request.getReason() != null) {
             record.setReason(request.getReason());
         }
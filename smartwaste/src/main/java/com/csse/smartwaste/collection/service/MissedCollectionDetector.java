@@ -0,0 +1,277 @@
+package com.csse.smartwaste.collection.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import com.csse.smartwaste.collection.entity.CollectionRecord;
+import com.csse.smartwaste.zone.entity.Zone;
+import com.csse.smartwaste.zone.service.ZoneEngine;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Missed Collection Detector - Reports ACTIVE bins that have gone uncollected for too long
+ *
+ * Every zone has a service interval. A scheduled run pages through each zone's ACTIVE bins by
+ * _id and selects the ones whose lastCollectedAt (or, for bins never collected, createdAt) is
+ * older than the interval. Each page gets MISSED collection records by one bulk insert, and the
+ * bins whose record was stored are then stamped with lastMissedAt by one updateMany. A bin is
+ * therefore reported once per overdue interval, not on every run; a failed insert leaves the bin
+ * unstamped, so the next run reports it again.
+ *
+ * A record's _id is derived from the bin and its lastCollectedAt and lastMissedAt, which identify
+ * one overdue interval. A second instance, or a retry after a crash between insert and stamp,
+ * hits a duplicate key instead of reporting the same interval twice.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for detecting and recording missed collections
+ * - OCP (Open/Closed): Service intervals are zone data, not code
+ * - DIP (Dependency Inversion): Depends on MongoTemplate and the ZoneEngine abstraction
+ *
+ * CODE SMELLS AVOIDED:
+ * - No per-bin history queries: Overdue bins are selected from the denormalised lastCollectedAt
+ * - No per-bin writes: One bulk insert and one updateMany per page
+ */
+@Service
+public class MissedCollectionDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(MissedCollectionDetector.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ZoneEngine zoneEngine;
+    private final WorkerStatsRollupService workerStatsRollupService;
+    private final int defaultIntervalHours;
+    private final int batchSize;
+
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, ZoneEngine, WorkerStatsRollupService)
+     */
+    @Autowired
+    public MissedCollectionDetector(MongoTemplate mongoTemplate, ZoneEngine zoneEngine,
+                                    WorkerStatsRollupService workerStatsRollupService,
+                                    @Value("${smartwaste.bins.missed.default-interval-hours:48}") int defaultIntervalHours,
+                                    @Value("${smartwaste.bins.missed.batch-size:1000}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.zoneEngine = zoneEngine;
+        this.workerStatsRollupService = workerStatsRollupService;
+        this.defaultIntervalHours = Math.max(1, defaultIntervalHours);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Report overdue bins in every zone
+     * SRP: Single responsibility - only drives the per-zone detection
+     *
+     * @return summary of the run, also kept as the last run
+     */
+    @Scheduled(cron = "${smartwaste.bins.missed.check-cron:0 */15 * * * *}")
+    public synchronized Map<String, Object> detect() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        long started = System.currentTimeMillis();
+        Map<String, Long> missedByZone = new LinkedHashMap<>();
+        List<String> failedZones = new ArrayList<>();
+
+        for (Zone zone : zoneEngine.getZones()) {
+            try {
+                missedByZone.put(zone.getZoneId(), detectZone(zone, now));
+            } catch (RuntimeException e) {
+                failedZones.add(zone.getZoneId());
+                logger.error("Missed-collection detection failed for zone {}", zone.getZoneId(), e);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("ranAt", now);
+        summary.put("durationMs", System.currentTimeMillis() - started);
+        summary.put("missed", missedByZone.values().stream().mapToLong(Long::longValue).sum());
+        summary.put("missedByZone", missedByZone);
+        summary.put("failedZones", failedZones);
+        lastRun = summary;
+        return summary;
+    }
+
+    /**
+     * Summary of the most recent run
+     */
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Fill lastCollectedAt from the collection history on the first start after it was introduced
+     * SRP: Single responsibility - only handles the one-time backfill
+     *
+     * One aggregation finds every bin's latest COLLECTED record. OVERRIDE records are skipped
+     * because the live path only sets lastCollectedAt when a bin moves to COLLECTED. Bins that
+     * already carry lastCollectedAt are left alone, so live collections are never overwritten.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLastCollectedAt() {
+        try {
+            if (mongoTemplate.exists(Query.query(Criteria.where("lastCollectedAt").exists(true)), Bin.class)) {
+                return;
+            }
+            List<Document> pipeline = List.of(
+                    new Document("$match", new Document("collection_status",
+                            CollectionRecord.CollectionStatus.COLLECTED.name())),
+                    new Document("$group", new Document("_id", "$bin_id")
+                            .append("last", new Document("$max", "$collection_date"))));
+
+            long updated = 0;
+            List<Document> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+            for (Document row : mongoTemplate.getCollection("collection_records").aggregate(pipeline).allowDiskUse(true)) {
+                batch.add(row);
+                if (batch.size() == BACKFILL_BATCH_SIZE) {
+                    updated += writeBackfill(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                updated += writeBackfill(batch);
+            }
+            logger.info("Backfilled lastCollectedAt on {} bins", updated);
+        } catch (RuntimeException e) {
+            logger.error("lastCollectedAt backfill failed; bins without it are judged by createdAt", e);
+        }
+    }
+
+    private long detectZone(Zone zone, LocalDateTime now) {
+        int intervalHours = zone.getServiceIntervalHours() != null ? zone.getServiceIntervalHours() : defaultIntervalHours;
+        LocalDateTime cutoff = now.minusHours(intervalHours);
+        String reason = "No collection within " + intervalHours + " hours";
+
+        // Unstamped bins belong to the default zone, exactly as ZoneEngine would resolve them
+        Criteria zoneCriteria = zone.getZoneId().equals(zoneEngine.getDefaultZoneId())
+                ? Criteria.where("zoneId").in(zone.getZoneId(), null)
+                : Criteria.where("zoneId").is(zone.getZoneId());
+        Criteria overdue = new Criteria().andOperator(
+                zoneCriteria,
+                Criteria.where("status").is(Bin.BinStatus.ACTIVE),
+                new Criteria().orOperator(
+                        Criteria.where("lastCollectedAt").lt(cutoff),
+                        new Criteria().andOperator(
+                                Criteria.where("lastCollectedAt").is(null),
+                                Criteria.where("createdAt").lt(cutoff))),
+                new Criteria().orOperator(
+                        Criteria.where("lastMissedAt").is(null),
+                        Criteria.where("lastMissedAt").lt(cutoff)));
+
+        long missed = 0;
+        String lastId = null;
+        while (true) {
+            Criteria page = lastId == null
+                    ? overdue
+                    : new Criteria().andOperator(overdue, Criteria.where("_id").gt(new ObjectId(lastId)));
+            Query query = Query.query(page).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            query.fields().include("binId", "ownerId", "address", "assignedWorkerId", "lastCollectedAt", "lastMissedAt");
+            List<Bin> bins = mongoTemplate.find(query, Bin.class);
+            if (bins.isEmpty()) {
+                return missed;
+            }
+            lastId = bins.get(bins.size() - 1).getId();
+
+            // Insert first: only bins whose record is stored (now or by an earlier run) get stamped
+            List<CollectionRecord> records = bins.stream().map(bin -> missedRecord(bin, now, reason)).toList();
+            Set<Integer> failedPositions = new HashSet<>();
+            Set<String> reportedIds = new HashSet<>();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CollectionRecord.class)
+                        .insert(records)
+                        .execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    failedPositions.add(error.getIndex());
+                    if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                        reportedIds.add(bins.get(error.getIndex()).getId()); // interval already reported
+                    } else {
+                        logger.warn("Missed collection of bin {} not recorded: {}",
+                                bins.get(error.getIndex()).getBinId(), error.getMessage());
+                    }
+                }
+            }
+
+            List<CollectionRecord> inserted = new ArrayList<>(records.size());
+            for (int position = 0; position < records.size(); position++) {
+                if (!failedPositions.contains(position)) {
+                    inserted.add(records.get(position));
+                    reportedIds.add(bins.get(position).getId());
+                }
+            }
+            if (!reportedIds.isEmpty()) {
+                mongoTemplate.updateMulti(
+                        Query.query(Criteria.where("_id").in(reportedIds)),
+                        new Update().set("lastMissedAt", now),
+                        Bin.class);
+            }
+            if (!inserted.isEmpty()) {
+                workerStatsRollupService.recordStored(inserted);
+                missed += inserted.size();
+            }
+        }
+    }
+
+    private static CollectionRecord missedRecord(Bin bin, LocalDateTime now, String reason) {
+        CollectionRecord record = new CollectionRecord(bin.getBinId(), bin.getAssignedWorkerId(), bin.getAddress(),
+                bin.getOwnerId(), null, null, null, CollectionRecord.CollectionStatus.MISSED);
+        record.setId(missedRecordId(bin));
+        record.setCollectionDate(now);
+        record.setReason(reason);
+        return record;
+    }
+
+    /**
+     * Same id for every report of one overdue interval of a bin
+     */
+    private static String missedRecordId(Bin bin) {
+        return "missed-" + bin.getId() + "-" + epochMillis(bin.getLastCollectedAt()) + "-" + epochMillis(bin.getLastMissedAt());
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? 0 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private long writeBackfill(List<Document> rows) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Bin.class);
+        for (Document row : rows) {
+            Date last = row.getDate("last");
+            if (row.getString("_id") == null || last == null) {
+                continue;
+            }
+            bulk.updateOne(
+                    Query.query(Criteria.where("binId").is(row.getString("_id")).and("lastCollectedAt").exists(false)),
+                    new Update().set("lastCollectedAt", LocalDateTime.ofInstant(last.toInstant(), ZoneId.systemDefault())));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+}
@@ -27,6 +27,9 @@ public class GlobalCorsConfig {
         
         // Allow all headers
         config.setAllowedHeaders(Arrays.asList("*"));
+
+        // Let browsers read the pagination cursor
+        config.setExposedHeaders(Arrays.asList("X-Next-Cursor"));
         
         // Don't require credentials for development
         config.setAllowCredentials(false);
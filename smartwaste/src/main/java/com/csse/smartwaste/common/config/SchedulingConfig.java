@@ -0,0 +1,14 @@
+package com.csse.smartwaste.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables @Scheduled background jobs (reconciliation, rollovers, flushes).
+ * The scheduler pool size is set with spring.task.scheduling.pool.size.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
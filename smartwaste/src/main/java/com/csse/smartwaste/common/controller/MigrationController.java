@@ -4,6 +4,7 @@ import com.csse.smartwaste.common.util.PasswordMigrationUtil;
 import com.csse.smartwaste.login.entity.User;
 import com.csse.smartwaste.login.repository.UserRepository;
 import com.csse.smartwaste.bin.service.BinMigrationService;
+import com.csse.smartwaste.zone.service.ZoneAssignmentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,13 +26,16 @@ public class MigrationController {
     private final PasswordMigrationUtil migrationUtil;
     private final UserRepository userRepository;
     private final BinMigrationService binMigrationService;
+    private final ZoneAssignmentService zoneAssignmentService;
     
     @Autowired
     public MigrationController(PasswordMigrationUtil migrationUtil, UserRepository userRepository, 
-                              BinMigrationService binMigrationService) {
+                              BinMigrationService binMigrationService,
+                              ZoneAssignmentService zoneAssignmentService) {
         this.migrationUtil = migrationUtil;
         this.userRepository = userRepository;
         this.binMigrationService = binMigrationService;
+        this.zoneAssignmentService = zoneAssignmentService;
     }
     
     /**
@@ -309,4 +313,25 @@ public class MigrationController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
+
+    /**
+     * Stamp zoneId on existing bins and pickup requests
+     * SRP: Single responsibility - only handles zone id backfill
+     *
+     * @return number of updated documents per collection
+     */
+    @PostMapping("/stamp-zone-ids")
+    public ResponseEntity<Map<String, Object>> stampZoneIds() {
+        try {
+            Map<String, Object> response = new HashMap<>(zoneAssignmentService.reassignAll());
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            response.put("message", "Zone id stamping failed");
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package com.csse.smartwaste.common.exception;
+
+/**
+ * Custom exception for requests that are refused because the server is saturated
+ * Follows Single Responsibility Principle - only represents a backpressure rejection
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
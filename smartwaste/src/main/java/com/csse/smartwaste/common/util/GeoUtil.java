@@ -0,0 +1,64 @@
+package com.csse.smartwaste.common.util;
+
+/**
+ * Geo Utility - Great-circle distance helpers shared by the spatial features
+ * Follows Single Responsibility Principle - only handles geographic math
+ */
+public final class GeoUtil {
+
+    /** Mean Earth radius in kilometres */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoUtil() {
+    }
+
+    /**
+     * Haversine distance between two points
+     * @param lat1 latitude of the first point in degrees
+     * @param lng1 longitude of the first point in degrees
+     * @param lat2 latitude of the second point in degrees
+     * @param lng2 longitude of the second point in degrees
+     * @return distance in kilometres
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLng = Math.sin(dLng / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Haversine distances between every pair of points, as one flat row-major array
+     * Trigonometry per point is computed once, so the matrix costs one sqrt/asin per pair.
+     * @param latitudes latitudes in degrees
+     * @param longitudes longitudes in degrees, same length as latitudes
+     * @return n*n distances in kilometres; the distance from i to j is at i * n + j
+     */
+    public static double[] distanceMatrixKm(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        double[] radLat = new double[n];
+        double[] radLng = new double[n];
+        double[] cosLat = new double[n];
+        for (int i = 0; i < n; i++) {
+            radLat[i] = Math.toRadians(latitudes[i]);
+            radLng[i] = Math.toRadians(longitudes[i]);
+            cosLat[i] = Math.cos(radLat[i]);
+        }
+
+        double[] matrix = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double sinLat = Math.sin((radLat[j] - radLat[i]) / 2);
+                double sinLng = Math.sin((radLng[j] - radLng[i]) / 2);
+                double a = sinLat * sinLat + cosLat[i] * cosLat[j] * sinLng * sinLng;
+                double distance = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+                matrix[i * n + j] = distance;
+                matrix[j * n + i] = distance;
+            }
+        }
+        return matrix;
+    }
+}
@@ -1,11 +1,14 @@
 package com.csse.smartwaste.login.entity;
 
 import com.csse.smartwaste.common.model.Role;
+import com.csse.smartwaste.common.model.WasteType;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * User Entity - Represents a user in the system
@@ -26,6 +29,8 @@ public class User {
     private Role role;
     private UserStatus status = UserStatus.ACTIVE; // Default status for backward compatibility
     private UserProfile profile; // Optional profile information
+    private List<WasteType> skills = new ArrayList<>(); // Waste types a worker is trained to handle
+    private Integer dailyPickupCapacity; // Pickups a worker can take per day; null uses the configured default
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime updatedAt = LocalDateTime.now();
 
@@ -57,6 +62,12 @@ public class User {
     public UserProfile getProfile() { return profile; }
     public void setProfile(UserProfile profile) { this.profile = profile; }
 
+    public List<WasteType> getSkills() { return skills; }
+    public void setSkills(List<WasteType> skills) { this.skills = skills; }
+
+    public Integer getDailyPickupCapacity() { return dailyPickupCapacity; }
+    public void setDailyPickupCapacity(Integer dailyPickupCapacity) { this.dailyPickupCapacity = dailyPickupCapacity; }
+
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
@@ -1,16 +1,26 @@
 package com.csse.smartwaste.pickup.controller;
 
 import com.csse.smartwaste.pickup.dto.*;
+import com.csse.smartwaste.pickup.entity.PickupRequest;
+import com.csse.smartwaste.pickup.service.EmergencyDispatchQueue;
+import com.csse.smartwaste.pickup.service.NotificationOutboxDispatcher;
 import com.csse.smartwaste.pickup.service.PickupRequestService;
 import com.csse.smartwaste.pickup.service.PaymentCalculationService;
+import com.csse.smartwaste.pickup.service.WorkerAssignmentEngine;
 import com.csse.smartwaste.common.model.PickupStatus;
 import com.csse.smartwaste.common.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * PickupRequestController - REST controller for pickup request operations
@@ -27,6 +37,15 @@ public class PickupRequestController {
     @Autowired
     private PaymentCalculationService paymentCalculationService;
 
+    @Autowired
+    private WorkerAssignmentEngine workerAssignmentEngine;
+
+    @Autowired
+    private EmergencyDispatchQueue emergencyDispatchQueue;
+
+    @Autowired
+    private NotificationOutboxDispatcher notificationOutboxDispatcher;
+
     /**
      * Create a new pickup request
      */
@@ -175,6 +194,57 @@ public class PickupRequestController {
         }
     }
 
+    /**
+     * Get waiting emergency pickups in dispatch order, most urgent first
+     */
+    @GetMapping("/emergency/queue")
+    public ResponseEntity<List<EmergencyQueueEntryDTO>> getEmergencyQueue(
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(emergencyDispatchQueue.getQueue(limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Claim the most urgent emergency pickup the worker can take
+     */
+    @PostMapping("/emergency/claim")
+    public ResponseEntity<PickupRequestResponseDTO> claimEmergencyPickup(@RequestBody EmergencyClaimDTO claimDTO) {
+        try {
+            Optional<PickupRequest> claimed = emergencyDispatchQueue.claim(
+                    claimDTO.getWorkerId(), claimDTO.getLatitude(), claimDTO.getLongitude());
+            return claimed
+                    .map(request -> ResponseEntity.ok(pickupRequestService.getPickupRequestById(request.getRequestId())))
+                    .orElseGet(() -> ResponseEntity.noContent().build());
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Stream emergency queue changes as server-sent events
+     */
+    @GetMapping(value = "/emergency/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmergencyQueue() {
+        return emergencyDispatchQueue.subscribe();
+    }
+
+    /**
+     * Reload the emergency queue from the database (Admin only)
+     */
+    @PostMapping("/emergency/queue/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildEmergencyQueue() {
+        try {
+            return ResponseEntity.ok(Map.of("waiting", emergencyDispatchQueue.rebuild()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get pending payment requests
      */
@@ -188,6 +258,69 @@ public class PickupRequestController {
         }
     }
 
+    /**
+     * Schedule pickup request into the free slot closest to its preferred time
+     */
+    @PostMapping("/{requestId}/schedule")
+    public ResponseEntity<PickupRequestResponseDTO> schedulePickupRequest(@PathVariable String requestId) {
+        try {
+            PickupRequestResponseDTO response = pickupRequestService.schedulePickupRequest(requestId);
+            return ResponseEntity.ok(response);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Assign open pickup requests to workers now instead of waiting for the schedule (Admin only)
+     */
+    @PostMapping("/dispatch")
+    public ResponseEntity<Map<String, Object>> dispatchPickupRequests() {
+        try {
+            return ResponseEntity.ok(workerAssignmentEngine.dispatch());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get the summary of the latest dispatch run (Admin only)
+     */
+    @GetMapping("/dispatch/last-run")
+    public ResponseEntity<Map<String, Object>> getLastDispatchRun() {
+        return ResponseEntity.ok(workerAssignmentEngine.getLastRun());
+    }
+
+    /**
+     * Get the notification outbox size by channel and status (Admin only)
+     */
+    @GetMapping("/notifications/outbox")
+    public ResponseEntity<Map<String, Map<String, Long>>> getNotificationOutboxStats() {
+        try {
+            return ResponseEntity.ok(notificationOutboxDispatcher.getOutboxStats());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Get the booking state of a zone's pickup slots on a day
+     */
+    @GetMapping("/slots")
+    public ResponseEntity<List<PickupSlotDTO>> getPickupSlots(
+            @RequestParam(required = false) String zoneId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(pickupRequestService.getPickupSlots(zoneId, date));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Reschedule pickup request
      */
@@ -234,4 +367,48 @@ public class PickupRequestController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Get completed revenue, pending payments and refunds for a day range (Admin only)
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<RevenueTotalsDTO> getRevenueTotals(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String city) {
+        try {
+            RevenueTotalsDTO totals = pickupRequestService.getRevenueTotals(from, to, city);
+            return ResponseEntity.ok(totals);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Rebuild the daily revenue counters from the pickup requests (Admin only)
+     */
+    @PostMapping("/revenue/rebuild")
+    public ResponseEntity<Map<String, Long>> rebuildRevenueCounters() {
+        try {
+            return ResponseEntity.ok(Map.of("buckets", pickupRequestService.rebuildRevenueCounters()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Compare the daily revenue counters with the pickup requests (Admin only)
+     */
+    @GetMapping("/revenue/drift")
+    public ResponseEntity<Map<String, Object>> checkRevenueDrift(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(pickupRequestService.checkRevenueDrift(from, to));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.csse.smartwaste.pickup.dto;
+
+/**
+ * EmergencyClaimDTO - DTO for a worker claiming the next emergency pickup
+ */
+public class EmergencyClaimDTO {
+
+    private String workerId;
+    private Double latitude;   // Worker's current position; optional
+    private Double longitude;
+
+    // Constructors
+    public EmergencyClaimDTO() {}
+
+    // Getters & Setters
+    public String getWorkerId() { return workerId; }
+    public void setWorkerId(String workerId) { this.workerId = workerId; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+}
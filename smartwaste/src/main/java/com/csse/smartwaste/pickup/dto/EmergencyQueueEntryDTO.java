@@ -0,0 +1,52 @@
+package com.csse.smartwaste.pickup.dto;
+
+import com.csse.smartwaste.common.model.WasteType;
+
+import java.time.LocalDateTime;
+
+/**
+ * EmergencyQueueEntryDTO - DTO for one waiting emergency pickup in dispatch order
+ */
+public class EmergencyQueueEntryDTO {
+
+    private String requestId;
+    private WasteType wasteType;
+    private String address;
+    private String zoneId;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime createdAt;
+    private long waitingMinutes;
+    private double priority;   // Higher is dispatched first; grows while the request waits
+
+    // Constructors
+    public EmergencyQueueEntryDTO() {}
+
+    // Getters & Setters
+    public String getRequestId() { return requestId; }
+    public void setRequestId(String requestId) { this.requestId = requestId; }
+
+    public WasteType getWasteType() { return wasteType; }
+    public void setWasteType(WasteType wasteType) { this.wasteType = wasteType; }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public long getWaitingMinutes() { return waitingMinutes; }
+    public void setWaitingMinutes(long waitingMinutes) { this.waitingMinutes = waitingMinutes; }
+
+    public double getPriority() { return priority; }
+    public void setPriority(double priority) { this.priority = priority; }
+}
@@ -36,6 +36,7 @@ public class PickupRequestResponseDTO {
     private String postalCode;
     private Double latitude;
     private Double longitude;
+    private String zoneId;
     
     // Payment Details
     private BigDecimal baseAmount;
@@ -118,6 +119,9 @@ public class PickupRequestResponseDTO {
     public Double getLongitude() { return longitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
 
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
     public BigDecimal getBaseAmount() { return baseAmount; }
     public void setBaseAmount(BigDecimal baseAmount) { this.baseAmount = baseAmount; }
 
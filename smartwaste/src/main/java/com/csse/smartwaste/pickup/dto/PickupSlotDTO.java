@@ -0,0 +1,47 @@
+package com.csse.smartwaste.pickup.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * PickupSlotDTO - DTO for the booking state of one pickup slot
+ */
+public class PickupSlotDTO {
+
+    private String zoneId;
+    private LocalDateTime slotStart;
+    private LocalDateTime slotEnd;
+    private int capacity;
+    private int reserved;
+    private int available;
+
+    // Constructors
+    public PickupSlotDTO() {}
+
+    public PickupSlotDTO(String zoneId, LocalDateTime slotStart, LocalDateTime slotEnd, int capacity, int reserved) {
+        this.zoneId = zoneId;
+        this.slotStart = slotStart;
+        this.slotEnd = slotEnd;
+        this.capacity = capacity;
+        this.reserved = reserved;
+        this.available = Math.max(0, capacity - reserved);
+    }
+
+    // Getters & Setters
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public LocalDateTime getSlotStart() { return slotStart; }
+    public void setSlotStart(LocalDateTime slotStart) { this.slotStart = slotStart; }
+
+    public LocalDateTime getSlotEnd() { return slotEnd; }
+    public void setSlotEnd(LocalDateTime slotEnd) { this.slotEnd = slotEnd; }
+
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+
+    public int getReserved() { return reserved; }
+    public void setReserved(int reserved) { this.reserved = reserved; }
+
+    public int getAvailable() { return available; }
+    public void setAvailable(int available) { this.available = available; }
+}
@@ -0,0 +1,75 @@
+package com.csse.smartwaste.pickup.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RevenueTotalsDTO - DTO for pickup payment totals over a day range, overall and per city
+ */
+public class RevenueTotalsDTO {
+
+    private String fromDay;
+    private String toDay;
+    private String city;
+    private BigDecimal completedRevenue;
+    private BigDecimal pendingPayments;
+    private BigDecimal refunds;
+    private List<CityRevenue> cities = new ArrayList<>();
+
+    // Constructors
+    public RevenueTotalsDTO() {}
+
+    // Getters & Setters
+    public String getFromDay() { return fromDay; }
+    public void setFromDay(String fromDay) { this.fromDay = fromDay; }
+
+    public String getToDay() { return toDay; }
+    public void setToDay(String toDay) { this.toDay = toDay; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public BigDecimal getCompletedRevenue() { return completedRevenue; }
+    public void setCompletedRevenue(BigDecimal completedRevenue) { this.completedRevenue = completedRevenue; }
+
+    public BigDecimal getPendingPayments() { return pendingPayments; }
+    public void setPendingPayments(BigDecimal pendingPayments) { this.pendingPayments = pendingPayments; }
+
+    public BigDecimal getRefunds() { return refunds; }
+    public void setRefunds(BigDecimal refunds) { this.refunds = refunds; }
+
+    public List<CityRevenue> getCities() { return cities; }
+    public void setCities(List<CityRevenue> cities) { this.cities = cities; }
+
+    /**
+     * Totals of one city
+     */
+    public static class CityRevenue {
+        private String city;
+        private BigDecimal completedRevenue;
+        private BigDecimal pendingPayments;
+        private BigDecimal refunds;
+
+        public CityRevenue() {}
+
+        public CityRevenue(String city, BigDecimal completedRevenue, BigDecimal pendingPayments, BigDecimal refunds) {
+            this.city = city;
+            this.completedRevenue = completedRevenue;
+            this.pendingPayments = pendingPayments;
+            this.refunds = refunds;
+        }
+
+        public String getCity() { return city; }
+        public void setCity(String city) { this.city = city; }
+
+        public BigDecimal getCompletedRevenue() { return completedRevenue; }
+        public void setCompletedRevenue(BigDecimal completedRevenue) { this.completedRevenue = completedRevenue; }
+
+        public BigDecimal getPendingPayments() { return pendingPayments; }
+        public void setPendingPayments(BigDecimal pendingPayments) { this.pendingPayments = pendingPayments; }
+
+        public BigDecimal getRefunds() { return refunds; }
+        public void setRefunds(BigDecimal refunds) { this.refunds = refunds; }
+    }
+}
@@ -0,0 +1,24 @@
+package com.csse.smartwaste.pickup.dto;
+
+import com.csse.smartwaste.common.model.WasteType;
+
+import java.util.List;
+
+/**
+ * WorkerSkillsDTO - DTO for the pickup assignment settings of a worker
+ */
+public class WorkerSkillsDTO {
+
+    private List<WasteType> skills;
+    private Integer dailyPickupCapacity;
+
+    // Constructors
+    public WorkerSkillsDTO() {}
+
+    // Getters & Setters
+    public List<WasteType> getSkills() { return skills; }
+    public void setSkills(List<WasteType> skills) { this.skills = skills; }
+
+    public Integer getDailyPickupCapacity() { return dailyPickupCapacity; }
+    public void setDailyPickupCapacity(Integer dailyPickupCapacity) { this.dailyPickupCapacity = dailyPickupCapacity; }
+}
@@ -0,0 +1,116 @@
+package com.csse.smartwaste.pickup.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * NotificationOutboxMessage Entity - One notification waiting for (or done with) delivery
+ * Written when the notification is raised and delivered later by NotificationOutboxDispatcher.
+ */
+@Document(collection = "notification_outbox")
+@CompoundIndexes({
+    // Dispatcher: due messages of one channel
+    @CompoundIndex(name = "channel_status_due_idx", def = "{'channel': 1, 'status': 1, 'nextAttemptAt': 1}"),
+    // Dispatcher: re-read of the batch it just claimed
+    @CompoundIndex(name = "claim_idx", def = "{'claimedBy': 1, 'claimedAt': 1}")
+})
+public class NotificationOutboxMessage {
+
+    @Id
+    private String id;
+
+    private Channel channel;
+    private String recipient;        // Email address, phone number or user id, depending on the channel
+    private String subject;          // Email subject or app notification title; unused for SMS
+    private String body;
+    private String requestId;        // Pickup request whose notification flags follow delivery; may be null
+
+    private Status status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String claimedBy;        // Dispatcher instance holding the message while SENDING
+    private LocalDateTime claimedAt;
+    private LocalDateTime leaseUntil; // A SENDING message past its lease is picked up again
+    private String provider;
+    private String lastError;
+    private LocalDateTime createdAt;
+
+    @Indexed(name = "sent_at_ttl_idx", expireAfter = "7d")
+    private LocalDateTime sentAt;    // Delivered messages are purged a week after delivery
+
+    public enum Channel {
+        EMAIL, SMS, APP
+    }
+
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+
+    // Constructors
+    public NotificationOutboxMessage() {}
+
+    public NotificationOutboxMessage(Channel channel, String recipient, String subject, String body, String requestId) {
+        this.channel = channel;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.requestId = requestId;
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Channel getChannel() { return channel; }
+    public void setChannel(Channel channel) { this.channel = channel; }
+
+    public String getRecipient() { return recipient; }
+    public void setRecipient(String recipient) { this.recipient = recipient; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public String getRequestId() { return requestId; }
+    public void setRequestId(String requestId) { this.requestId = requestId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
+
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+
+    public LocalDateTime getLeaseUntil() { return leaseUntil; }
+    public void setLeaseUntil(LocalDateTime leaseUntil) { this.leaseUntil = leaseUntil; }
+
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
@@ -5,6 +5,8 @@ import com.csse.smartwaste.common.model.PickupStatus;
 import com.csse.smartwaste.common.model.PaymentStatus;
 import com.csse.smartwaste.common.model.WasteType;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,6 +17,7 @@ import java.util.List;
  * Follows Single Responsibility Principle - only represents pickup request data
  */
 @Document(collection = "pickup_requests")
+@CompoundIndex(name = "type_status_idx", def = "{'pickupType': 1, 'status': 1}")
 public class PickupRequest {
 
     @Id
@@ -43,6 +46,9 @@ public class PickupRequest {
     private Double latitude;
     private Double longitude;
 
+    @Indexed
+    private String zoneId; // Stamped from the coordinates/address on save
+
     // Payment Details
     private BigDecimal baseAmount;
     private BigDecimal urgencyFee;
@@ -135,6 +141,9 @@ public class PickupRequest {
     public Double getLongitude() { return longitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
 
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
     public BigDecimal getBaseAmount() { return baseAmount; }
     public void setBaseAmount(BigDecimal baseAmount) { this.baseAmount = baseAmount; }
 
@@ -0,0 +1,56 @@
+package com.csse.smartwaste.pickup.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+/**
+ * PickupRevenueDaily Entity - Payment counters of the pickup requests created in one city on one day
+ * Amounts are integer cents, maintained with $inc as requests change payment state.
+ * The document id is "city|yyyy-MM-dd" so every update for a bucket addresses the same document.
+ */
+@Document(collection = "pickup_revenue_daily")
+@CompoundIndex(name = "day_city_idx", def = "{'day': 1, 'city': 1}")
+public class PickupRevenueDaily {
+
+    @Id
+    private String id;
+
+    private String city;      // Empty for requests without a city
+    private String day;       // yyyy-MM-dd of the request's createdAt, server time zone
+
+    private long completedCents;
+    private long pendingCents;
+    private long refundedCents;
+
+    // Constructor
+    public PickupRevenueDaily() {}
+
+    /**
+     * Build the document id of a city's day
+     */
+    public static String idOf(String city, LocalDate day) {
+        return city + "|" + day;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getDay() { return day; }
+    public void setDay(String day) { this.day = day; }
+
+    public long getCompletedCents() { return completedCents; }
+    public void setCompletedCents(long completedCents) { this.completedCents = completedCents; }
+
+    public long getPendingCents() { return pendingCents; }
+    public void setPendingCents(long pendingCents) { this.pendingCents = pendingCents; }
+
+    public long getRefundedCents() { return refundedCents; }
+    public void setRefundedCents(long refundedCents) { this.refundedCents = refundedCents; }
+}
@@ -0,0 +1,62 @@
+package com.csse.smartwaste.pickup.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * PickupSlotReservation Entity - The pickup slot a request is booked into
+ * Keyed by the request id, so a request holds at most one reservation.
+ */
+@Document(collection = "pickup_slot_reservations")
+@CompoundIndex(name = "zone_day_idx", def = "{'zoneId': 1, 'day': 1}")
+public class PickupSlotReservation {
+
+    @Id
+    private String requestId;
+
+    private String zoneId;
+    private String day;              // yyyy-MM-dd of the slot
+    private int slotIndex;           // Position of the slot within the day's working hours
+    private LocalDateTime slotStart;
+    private LocalDateTime slotEnd;
+    private LocalDateTime reservedAt;
+
+    // Constructors
+    public PickupSlotReservation() {}
+
+    public PickupSlotReservation(String requestId, String zoneId, String day, int slotIndex,
+                                 LocalDateTime slotStart, LocalDateTime slotEnd) {
+        this.requestId = requestId;
+        this.zoneId = zoneId;
+        this.day = day;
+        this.slotIndex = slotIndex;
+        this.slotStart = slotStart;
+        this.slotEnd = slotEnd;
+        this.reservedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getRequestId() { return requestId; }
+    public void setRequestId(String requestId) { this.requestId = requestId; }
+
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public String getDay() { return day; }
+    public void setDay(String day) { this.day = day; }
+
+    public int getSlotIndex() { return slotIndex; }
+    public void setSlotIndex(int slotIndex) { this.slotIndex = slotIndex; }
+
+    public LocalDateTime getSlotStart() { return slotStart; }
+    public void setSlotStart(LocalDateTime slotStart) { this.slotStart = slotStart; }
+
+    public LocalDateTime getSlotEnd() { return slotEnd; }
+    public void setSlotEnd(LocalDateTime slotEnd) { this.slotEnd = slotEnd; }
+
+    public LocalDateTime getReservedAt() { return reservedAt; }
+    public void setReservedAt(LocalDateTime reservedAt) { this.reservedAt = reservedAt; }
+}
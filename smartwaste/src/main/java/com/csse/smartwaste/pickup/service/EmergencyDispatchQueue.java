@@ -0,0 +1,443 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.common.model.PickupStatus;
+import com.csse.smartwaste.common.model.PickupType;
+import com.csse.smartwaste.common.model.Role;
+import com.csse.smartwaste.common.model.WasteType;
+import com.csse.smartwaste.common.util.GeoUtil;
+import com.csse.smartwaste.common.util.UserValidationUtil;
+import com.csse.smartwaste.login.entity.User;
+import com.csse.smartwaste.pickup.dto.EmergencyQueueEntryDTO;
+import com.csse.smartwaste.pickup.entity.PickupRequest;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Emergency Dispatch Queue - Keeps open emergency pickups in dispatch order and hands them out to workers
+ *
+ * Every open, unassigned EMERGENCY request is held in memory. Its priority is the bonus of its
+ * waste type plus a fixed number of points for every minute it has waited, so a request that
+ * waits long enough overtakes any newer one, whatever its type. Because every request gains
+ * points at the same rate, the waiting order never changes and is kept in a sorted set by the
+ * time-independent key (rate x creation minute - type bonus); no periodic re-sorting is needed.
+ *
+ * A claim looks at the first few requests in that order and takes the one with the best priority
+ * after a penalty for its distance from the worker, skipping waste types the worker is not trained
+ * for. Removing the entry from the set decides between concurrent claimers, and a conditional
+ * findAndModify decides against every other writer: a request that was assigned or closed in the
+ * meantime is dropped and the next one is tried.
+ *
+ * The queue follows the request lifecycle through PickupRequestService, is rebuilt from the
+ * database when the application starts and is re-synchronised on a fixed delay to pick up
+ * changes made by other instances. Subscribers get enqueue and claim events as server-sent
+ * events, so dispatchers see a new emergency within seconds instead of on their next poll.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for ordering and claiming emergency pickups
+ * - OCP (Open/Closed): Escalation rate, type bonuses and distance penalty are configuration
+ * - DIP (Dependency Inversion): Depends on MongoTemplate, NotificationService and UserValidationUtil abstractions
+ *
+ * CODE SMELLS AVOIDED:
+ * - No polling: Changes are pushed to subscribers as they happen
+ * - No double dispatch: A request is assigned only while it is still open and unassigned
+ * - No priority drift: Escalation is encoded in the sort key, so entries never need re-ordering
+ */
+@Service
+public class EmergencyDispatchQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmergencyDispatchQueue.class);
+
+    private static final List<PickupStatus> OPEN_STATUSES =
+            List.of(PickupStatus.PENDING, PickupStatus.SCHEDULED, PickupStatus.RESCHEDULED);
+    private static final int MAX_CLAIM_ATTEMPTS = 8;
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationService notificationService;
+    private final UserValidationUtil userValidationUtil;
+    private final double escalationPerMinute;
+    private final double distancePenaltyPerKm;
+    private final Map<WasteType, Double> wasteTypeBonus = new EnumMap<>(WasteType.class);
+    private final Set<WasteType> skilledWasteTypes = EnumSet.noneOf(WasteType.class);
+    private final int claimCandidates;
+    private final long subscriberTimeoutMillis;
+    private final ExecutorService publisher;
+
+    private final ConcurrentSkipListSet<Entry> waiting = new ConcurrentSkipListSet<>(
+            Comparator.comparingDouble((Entry entry) -> entry.key).thenComparing(entry -> entry.requestId));
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, NotificationService, UserValidationUtil)
+     */
+    @Autowired
+    public EmergencyDispatchQueue(MongoTemplate mongoTemplate, NotificationService notificationService,
+                                  UserValidationUtil userValidationUtil,
+                                  @Value("${smartwaste.pickups.emergency.escalation-per-minute:1.0}") double escalationPerMinute,
+                                  @Value("${smartwaste.pickups.emergency.distance-penalty-per-km:2.0}") double distancePenaltyPerKm,
+                                  @Value("${smartwaste.pickups.emergency.waste-type-bonus:HAZARDOUS:60,E_WASTE:30}") String[] wasteTypeBonus,
+                                  @Value("${smartwaste.pickups.assignment.skilled-waste-types:E_WASTE,HAZARDOUS}") String[] skilledWasteTypes,
+                                  @Value("${smartwaste.pickups.emergency.claim-candidates:32}") int claimCandidates,
+                                  @Value("${smartwaste.pickups.emergency.subscriber-timeout-ms:1800000}") long subscriberTimeoutMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.notificationService = notificationService;
+        this.userValidationUtil = userValidationUtil;
+        this.escalationPerMinute = Math.max(0.0, escalationPerMinute);
+        this.distancePenaltyPerKm = Math.max(0.0, distancePenaltyPerKm);
+        for (String bonus : wasteTypeBonus) {
+            if (bonus.isBlank()) {
+                continue;
+            }
+            String[] parts = bonus.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Waste type bonus must look like TYPE:points, got " + bonus);
+            }
+            this.wasteTypeBonus.put(WasteType.valueOf(parts[0].trim()), Double.parseDouble(parts[1].trim()));
+        }
+        for (String type : skilledWasteTypes) {
+            if (!type.isBlank()) {
+                this.skilledWasteTypes.add(WasteType.valueOf(type.trim()));
+            }
+        }
+        this.claimCandidates = Math.max(1, claimCandidates);
+        this.subscriberTimeoutMillis = Math.max(0, subscriberTimeoutMillis);
+        this.publisher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "emergency-queue-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+    }
+
+    /**
+     * Bring the queue in line with a request that was just created or changed
+     * SRP: Single responsibility - only decides whether the request waits in the queue
+     *
+     * Open, unassigned emergency requests are (re-)queued; any other request is removed.
+     */
+    public void sync(PickupRequest request) {
+        if (!isQueueable(request)) {
+            remove(request.getRequestId());
+            return;
+        }
+        Entry entry = new Entry(request, keyOf(request));
+        boolean[] added = new boolean[1];
+        entries.compute(entry.requestId, (id, previous) -> {
+            if (previous != null) {
+                waiting.remove(previous);
+            }
+            waiting.add(entry);
+            added[0] = previous == null;
+            return entry;
+        });
+        if (added[0]) {
+            publish("enqueued", List.of(toDTO(entry, LocalDateTime.now())));
+        }
+    }
+
+    /**
+     * Take a request out of the queue, e.g. when it was cancelled or deleted
+     */
+    public void remove(String requestId) {
+        if (requestId == null) {
+            return;
+        }
+        Entry removed = entries.remove(requestId);
+        if (removed != null) {
+            waiting.remove(removed);
+            publish("removed", List.of(toDTO(removed, LocalDateTime.now())));
+        }
+    }
+
+    /**
+     * Assign the most urgent emergency pickup this worker can take
+     * SRP: Single responsibility - only handles one atomic claim
+     *
+     * @param workerId  the claiming worker
+     * @param latitude  the worker's current latitude; without a position distance is ignored
+     * @param longitude the worker's current longitude
+     * @return the claimed request, now IN_PROGRESS and assigned to the worker, or empty if nothing is claimable
+     */
+    public Optional<PickupRequest> claim(String workerId, Double latitude, Double longitude) {
+        User worker = userValidationUtil.validateUserAndRole(workerId, Role.Worker);
+        Set<WasteType> skills = worker.getSkills() == null || worker.getSkills().isEmpty()
+                ? EnumSet.noneOf(WasteType.class)
+                : EnumSet.copyOf(worker.getSkills());
+        boolean located = latitude != null && longitude != null;
+
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            Entry best = null;
+            double bestCost = Double.MAX_VALUE;
+            int seen = 0;
+            for (Iterator<Entry> it = waiting.iterator(); it.hasNext() && seen < claimCandidates; ) {
+                Entry entry = it.next();
+                if (entry.wasteType != null && skilledWasteTypes.contains(entry.wasteType) && !skills.contains(entry.wasteType)) {
+                    continue;
+                }
+                seen++;
+                double cost = entry.key;
+                if (located && entry.latitude != null && entry.longitude != null) {
+                    cost += distancePenaltyPerKm * GeoUtil.haversineKm(latitude, longitude, entry.latitude, entry.longitude);
+                }
+                if (cost < bestCost) {
+                    best = entry;
+                    bestCost = cost;
+                }
+            }
+            if (best == null) {
+                return Optional.empty();
+            }
+            if (!waiting.remove(best)) {
+                continue; // another claimer or an update got there first
+            }
+            entries.remove(best.requestId, best);
+
+            PickupRequest claimed;
+            try {
+                claimed = assign(best.requestId, worker);
+            } catch (RuntimeException e) {
+                restore(best);
+                throw e;
+            }
+            if (claimed == null) {
+                // Assigned or closed elsewhere since it was queued
+                continue;
+            }
+            publish("claimed", List.of(toDTO(best, LocalDateTime.now())));
+            notifyAssignee(claimed);
+            return Optional.of(claimed);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Current queue in dispatch order, most urgent first
+     */
+    public List<EmergencyQueueEntryDTO> getQueue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return waiting.stream()
+                .limit(Math.max(0, limit))
+                .map(entry -> toDTO(entry, now))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Subscribe to queue events; the current queue is sent first as a "snapshot" event
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(subscriberTimeoutMillis);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(error -> subscribers.remove(emitter));
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(getQueue(Integer.MAX_VALUE)));
+            subscribers.add(emitter);
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        logger.info("Emergency dispatch queue loaded with {} waiting requests", rebuild());
+    }
+
+    /**
+     * Reload the queue from the database
+     * SRP: Single responsibility - only handles reconciliation with the stored requests
+     *
+     * Requests found open are (re-)queued. Entries that were queued before the reload started and
+     * are no longer open are dropped; newer entries are kept, since the reload may not see them.
+     *
+     * @return the number of requests waiting afterwards
+     */
+    @Scheduled(fixedDelayString = "${smartwaste.pickups.emergency.resync-ms:60000}",
+            initialDelayString = "${smartwaste.pickups.emergency.resync-ms:60000}")
+    public synchronized int rebuild() {
+        long started = System.nanoTime();
+        try {
+            Query open = Query.query(Criteria.where("pickupType").is(PickupType.EMERGENCY)
+                    .and("status").in(OPEN_STATUSES)
+                    .and("assignedWorkerId").is(null));
+            open.fields().include("requestId", "pickupType", "status", "assignedWorkerId", "wasteType",
+                    "address", "zoneId", "latitude", "longitude", "createdAt");
+            List<PickupRequest> requests = mongoTemplate.find(open, PickupRequest.class);
+
+            Set<String> openIds = requests.stream().map(PickupRequest::getRequestId).collect(Collectors.toSet());
+            for (Entry entry : new ArrayList<>(entries.values())) {
+                if (entry.queuedAt < started && !openIds.contains(entry.requestId)
+                        && entries.remove(entry.requestId, entry)) {
+                    waiting.remove(entry);
+                }
+            }
+            for (PickupRequest request : requests) {
+                Entry current = entries.get(request.getRequestId());
+                if (current == null || current.queuedAt < started) {
+                    sync(request);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Emergency queue resync failed; keeping the current queue", e);
+        }
+        return waiting.size();
+    }
+
+    private PickupRequest assign(String requestId, User worker) {
+        Query stillOpen = Query.query(Criteria.where("_id").is(requestId)
+                .and("status").in(OPEN_STATUSES)
+                .and("assignedWorkerId").is(null));
+        Update update = new Update()
+                .set("assignedWorkerId", worker.getUserId())
+                .set("assignedWorkerName", worker.getName())
+                .set("status", PickupStatus.IN_PROGRESS)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.findAndModify(stillOpen, update, FindAndModifyOptions.options().returnNew(true),
+                PickupRequest.class);
+    }
+
+    private void restore(Entry entry) {
+        entries.compute(entry.requestId, (id, current) -> {
+            if (current != null) {
+                return current; // a newer version was queued meanwhile
+            }
+            waiting.add(entry);
+            return entry;
+        });
+    }
+
+    private boolean isQueueable(PickupRequest request) {
+        return request.getRequestId() != null
+                && request.getPickupType() == PickupType.EMERGENCY
+                && OPEN_STATUSES.contains(request.getStatus())
+                && request.getAssignedWorkerId() == null;
+    }
+
+    /**
+     * Time-independent sort key: smaller is more urgent. priority(now) = rate x now - key
+     */
+    private double keyOf(PickupRequest request) {
+        LocalDateTime createdAt = request.getCreatedAt() != null ? request.getCreatedAt() : LocalDateTime.now();
+        return escalationPerMinute * epochMinutes(createdAt) - wasteTypeBonus.getOrDefault(request.getWasteType(), 0.0);
+    }
+
+    private EmergencyQueueEntryDTO toDTO(Entry entry, LocalDateTime now) {
+        EmergencyQueueEntryDTO dto = new EmergencyQueueEntryDTO();
+        dto.setRequestId(entry.requestId);
+        dto.setWasteType(entry.wasteType);
+        dto.setAddress(entry.address);
+        dto.setZoneId(entry.zoneId);
+        dto.setLatitude(entry.latitude);
+        dto.setLongitude(entry.longitude);
+        dto.setCreatedAt(entry.createdAt);
+        dto.setWaitingMinutes(entry.createdAt != null
+                ? Math.max(0, Duration.between(entry.createdAt, now).toMinutes()) : 0);
+        dto.setPriority(escalationPerMinute * epochMinutes(now) - entry.key);
+        return dto;
+    }
+
+    private static double epochMinutes(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 60_000.0;
+    }
+
+    private void publish(String event, List<EmergencyQueueEntryDTO> payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            publisher.execute(() -> {
+                for (SseEmitter emitter : subscribers) {
+                    try {
+                        emitter.send(SseEmitter.event().name(event).data(payload));
+                    } catch (IOException | IllegalStateException e) {
+                        subscribers.remove(emitter);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Emergency queue event {} dropped during shutdown", event);
+        }
+    }
+
+    private void notifyAssignee(PickupRequest claimed) {
+        try {
+            publisher.execute(() -> {
+                try {
+                    notificationService.sendWorkerAssignmentNotification(claimed);
+                } catch (RuntimeException e) {
+                    logger.warn("Assignment notification failed for emergency request {}", claimed.getRequestId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Assignment notification skipped during shutdown for request {}", claimed.getRequestId());
+        }
+    }
+
+    /**
+     * One waiting request; immutable, a change replaces the entry
+     */
+    private static final class Entry {
+        private final String requestId;
+        private final WasteType wasteType;
+        private final String address;
+        private final String zoneId;
+        private final Double latitude;
+        private final Double longitude;
+        private final LocalDateTime createdAt;
+        private final double key;
+        private final long queuedAt = System.nanoTime();
+
+        private Entry(PickupRequest request, double key) {
+            this.requestId = request.getRequestId();
+            this.wasteType = request.getWasteType();
+            this.address = request.getAddress();
+            this.zoneId = request.getZoneId();
+            this.latitude = request.getLatitude();
+            this.longitude = request.getLongitude();
+            this.createdAt = request.getCreatedAt() != null
+                    ? request.getCreatedAt().truncatedTo(ChronoUnit.SECONDS) : null;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.pickup.entity.NotificationOutboxMessage;
+import com.csse.smartwaste.pickup.entity.NotificationOutboxMessage.Channel;
+import com.csse.smartwaste.pickup.entity.NotificationOutboxMessage.Status;
+import com.csse.smartwaste.pickup.entity.PickupRequest;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Notification Outbox Dispatcher - Delivers queued notifications in the background
+ *
+ * NotificationService only writes messages to the notification_outbox collection. On a short
+ * fixed delay this dispatcher claims due messages in batches of one channel, taking turns between
+ * channels, and hands each batch to a bounded pool of workers. A claim stamps the batch with this
+ * instance and a lease, so several instances never deliver the same message concurrently and a
+ * batch held by a crashed instance is picked up again once its lease runs out. Waiting for rate
+ * permits can outlast a lease, so the lease is renewed right before the provider is called and
+ * messages another instance has claimed meanwhile are dropped from the batch.
+ *
+ * Each channel is delivered by the first provider that supports it, and every provider is kept
+ * below its configured rate. Delivered messages are marked SENT and set the matching notification
+ * flag of their pickup request. Failed messages are retried with exponential backoff and jitter,
+ * and are parked as FAILED after the last attempt. Delivery is at least once: a message whose
+ * outcome could not be recorded is sent again.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for moving outbox messages to providers
+ * - OCP (Open/Closed): New providers are beans implementing NotificationProvider
+ * - DIP (Dependency Inversion): Depends on MongoTemplate and the NotificationProvider abstraction
+ *
+ * CODE SMELLS AVOIDED:
+ * - No provider latency on request threads: Requests only pay for one insert
+ * - No unbounded concurrency: At most one batch per worker is claimed at a time
+ * - No retry storms: Backoff grows per attempt and providers are rate-limited
+ */
+@Service
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<Channel, NotificationProvider> providerByChannel = new EnumMap<>(Channel.class);
+    private final Map<NotificationProvider, RateLimiter> limiters = new IdentityHashMap<>();
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+    private final long leaseMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Semaphore freeWorkers;
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, NotificationProvider beans)
+     */
+    @Autowired
+    public NotificationOutboxDispatcher(MongoTemplate mongoTemplate, ObjectProvider<NotificationProvider> providers,
+                                        @Value("${smartwaste.notifications.batch-size:50}") int batchSize,
+                                        @Value("${smartwaste.notifications.workers:4}") int workerCount,
+                                        @Value("${smartwaste.notifications.max-attempts:6}") int maxAttempts,
+                                        @Value("${smartwaste.notifications.backoff-base-ms:5000}") long backoffBaseMillis,
+                                        @Value("${smartwaste.notifications.backoff-max-ms:900000}") long backoffMaxMillis,
+                                        @Value("${smartwaste.notifications.lease-ms:120000}") long leaseMillis) {
+        this.mongoTemplate = mongoTemplate;
+        for (NotificationProvider provider : providers.orderedStream().collect(Collectors.toList())) {
+            for (Channel channel : provider.getChannels()) {
+                providerByChannel.putIfAbsent(channel, provider);
+            }
+            limiters.put(provider, new RateLimiter(provider.getPermitsPerSecond()));
+        }
+        for (Channel channel : Channel.values()) {
+            if (!providerByChannel.containsKey(channel)) {
+                logger.warn("No notification provider for channel {}; its messages stay in the outbox", channel);
+            }
+        }
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffBaseMillis = Math.max(1, backoffBaseMillis);
+        this.backoffMaxMillis = Math.max(this.backoffBaseMillis, backoffMaxMillis);
+        this.leaseMillis = Math.max(1000, leaseMillis);
+
+        int size = Math.max(1, workerCount);
+        this.freeWorkers = new Semaphore(size);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // A worker frees its permit just before its thread goes idle, so the queue absorbs that overlap
+        this.workers = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(size),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-outbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Batches still running are retried elsewhere once their lease expires
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Claim due messages and start delivering them, one batch per free worker
+     * SRP: Single responsibility - only hands out batches; delivery runs on the worker pool
+     */
+    @Scheduled(fixedDelayString = "${smartwaste.notifications.poll-ms:1000}")
+    public synchronized void dispatch() {
+        List<Channel> channels = new ArrayList<>(providerByChannel.keySet());
+        while (!channels.isEmpty()) {
+            for (Iterator<Channel> it = channels.iterator(); it.hasNext(); ) {
+                Channel channel = it.next();
+                if (!freeWorkers.tryAcquire()) {
+                    return;
+                }
+                List<NotificationOutboxMessage> batch;
+                try {
+                    batch = claim(channel);
+                } catch (RuntimeException e) {
+                    freeWorkers.release();
+                    logger.error("Could not claim {} notifications from the outbox", channel, e);
+                    return;
+                }
+                if (batch.isEmpty()) {
+                    freeWorkers.release();
+                    it.remove();
+                    continue;
+                }
+                try {
+                    workers.execute(() -> {
+                        try {
+                            deliver(channel, batch);
+                        } finally {
+                            freeWorkers.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    freeWorkers.release();
+                    return; // shutting down; the claimed batch is retried after its lease
+                }
+            }
+        }
+    }
+
+    /**
+     * Outbox size by channel and status, for monitoring delivery backlog and failures
+     */
+    public Map<String, Map<String, Long>> getOutboxStats() {
+        List<Document> pipeline = List.of(new Document("$group", new Document("_id",
+                new Document("channel", "$channel").append("status", "$status"))
+                .append("count", new Document("$sum", 1))));
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        for (Document row : mongoTemplate.getCollection("notification_outbox").aggregate(pipeline)) {
+            Document key = row.get("_id", Document.class);
+            stats.computeIfAbsent(Objects.toString(key.get("channel")), channel -> new LinkedHashMap<>())
+                    .put(Objects.toString(key.get("status")), ((Number) row.get("count")).longValue());
+        }
+        return stats;
+    }
+
+    /**
+     * Mark up to one batch of due messages as ours and return them
+     */
+    private List<NotificationOutboxMessage> claim(Channel channel) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Criteria due = new Criteria().andOperator(
+                Criteria.where("channel").is(channel),
+                new Criteria().orOperator(
+                        Criteria.where("status").is(Status.PENDING).and("nextAttemptAt").lte(now),
+                        Criteria.where("status").is(Status.SENDING).and("leaseUntil").lt(now)));
+
+        Query candidates = Query.query(due).with(Sort.by(Sort.Direction.ASC, "nextAttemptAt")).limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, NotificationOutboxMessage.class).stream()
+                .map(NotificationOutboxMessage::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Only messages still due at this moment are taken; the stamp tells which ones we got
+        mongoTemplate.updateMulti(
+                Query.query(new Criteria().andOperator(due, Criteria.where("_id").in(ids))),
+                new Update().set("status", Status.SENDING)
+                        .set("claimedBy", instanceId)
+                        .set("claimedAt", now)
+                        .set("leaseUntil", now.plus(leaseMillis, ChronoUnit.MILLIS)),
+                NotificationOutboxMessage.class);
+        return mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(ids).and("claimedBy").is(instanceId).and("claimedAt").is(now)),
+                NotificationOutboxMessage.class);
+    }
+
+    /**
+     * Send one claimed batch and record the outcome of every message
+     */
+    private void deliver(Channel channel, List<NotificationOutboxMessage> claimed) {
+        NotificationProvider provider = providerByChannel.get(channel);
+        List<NotificationOutboxMessage> batch;
+        try {
+            limiters.get(provider).acquire(claimed.size());
+            batch = renewLease(claimed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return; // left SENDING; retried after the lease
+        } catch (RuntimeException e) {
+            logger.error("Could not renew the lease of {} {} notifications; they are retried after it",
+                    claimed.size(), channel, e);
+            return;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, String> failures;
+        try {
+            failures = provider.deliver(channel, batch);
+        } catch (RuntimeException e) {
+            logger.warn("{} provider {} failed a batch of {} messages", channel, provider.getName(), batch.size(), e);
+            String error = String.valueOf(e.getMessage());
+            failures = batch.stream().collect(Collectors.toMap(NotificationOutboxMessage::getId, message -> error));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NotificationOutboxMessage.class);
+        List<String> deliveredRequestIds = new ArrayList<>();
+        for (NotificationOutboxMessage message : batch) {
+            // Only record the outcome while the claim is still ours
+            Query owned = Query.query(Criteria.where("_id").is(message.getId())
+                    .and("claimedBy").is(instanceId).and("claimedAt").is(message.getClaimedAt()));
+            Update update = new Update().unset("claimedBy").unset("claimedAt").unset("leaseUntil")
+                    .set("provider", provider.getName());
+            String error = failures.get(message.getId());
+            if (error == null) {
+                update.set("status", Status.SENT).set("sentAt", now).unset("lastError");
+                if (message.getRequestId() != null) {
+                    deliveredRequestIds.add(message.getRequestId());
+                }
+            } else {
+                int attempts = message.getAttempts() + 1;
+                update.set("attempts", attempts)
+                        .set("lastError", error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                if (attempts >= maxAttempts) {
+                    update.set("status", Status.FAILED);
+                    logger.error("Giving up on {} notification {} to {} after {} attempts: {}",
+                            channel, message.getId(), message.getRecipient(), attempts, error);
+                } else {
+                    update.set("status", Status.PENDING)
+                            .set("nextAttemptAt", now.plus(backoffMillis(attempts), ChronoUnit.MILLIS));
+                }
+            }
+            bulk.updateOne(owned, update);
+        }
+        try {
+            bulk.execute();
+            if (!deliveredRequestIds.isEmpty()) {
+                mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(deliveredRequestIds)),
+                        new Update().set(flagOf(channel), true), PickupRequest.class);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not record the delivery of {} {} notifications; they will be sent again",
+                    batch.size(), channel, e);
+        }
+    }
+
+    /**
+     * Extend the lease of the messages this instance still holds and return only those
+     * A message whose claim was taken over while waiting for permits is left to its new owner.
+     */
+    private List<NotificationOutboxMessage> renewLease(List<NotificationOutboxMessage> batch) {
+        LocalDateTime claimedAt = batch.get(0).getClaimedAt();
+        List<String> ids = batch.stream().map(NotificationOutboxMessage::getId).collect(Collectors.toList());
+        LocalDateTime leaseUntil = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).plus(leaseMillis, ChronoUnit.MILLIS);
+        Criteria owned = Criteria.where("_id").in(ids).and("claimedBy").is(instanceId).and("claimedAt").is(claimedAt);
+        long renewed = mongoTemplate.updateMulti(Query.query(owned), new Update().set("leaseUntil", leaseUntil),
+                NotificationOutboxMessage.class).getModifiedCount();
+        if (renewed == batch.size()) {
+            return batch;
+        }
+
+        Query stillOurs = Query.query(Criteria.where("_id").in(ids).and("claimedBy").is(instanceId)
+                .and("claimedAt").is(claimedAt).and("leaseUntil").is(leaseUntil));
+        stillOurs.fields().include("_id");
+        List<String> keptIds = mongoTemplate.find(stillOurs, NotificationOutboxMessage.class).stream()
+                .map(NotificationOutboxMessage::getId)
+                .collect(Collectors.toList());
+        logger.warn("{} of {} claimed notifications were taken over while waiting for rate permits",
+                batch.size() - keptIds.size(), batch.size());
+        return batch.stream().filter(message -> keptIds.contains(message.getId())).collect(Collectors.toList());
+    }
+
+    /**
+     * Exponential backoff with jitter: half of the delay is fixed, the other half random
+     */
+    private long backoffMillis(int attempts) {
+        long delay = backoffBaseMillis << Math.min(attempts - 1, 30);
+        delay = delay <= 0 ? backoffMaxMillis : Math.min(delay, backoffMaxMillis);
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static String flagOf(Channel channel) {
+        switch (channel) {
+            case EMAIL:
+                return "emailNotificationSent";
+            case SMS:
+                return "smsNotificationSent";
+            default:
+                return "appNotificationSent";
+        }
+    }
+
+    /**
+     * Evenly spaced permits for one provider; a batch waits until the previous ones have been paid for
+     */
+    private static final class RateLimiter {
+        private final double permitsPerSecond;
+        private long nextFreeNanos = System.nanoTime();
+
+        private RateLimiter(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        void acquire(int permits) throws InterruptedException {
+            if (permitsPerSecond <= 0) {
+                return;
+            }
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long start = Math.max(now, nextFreeNanos);
+                nextFreeNanos = start + (long) (permits * 1_000_000_000L / permitsPerSecond);
+                waitNanos = start - now;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
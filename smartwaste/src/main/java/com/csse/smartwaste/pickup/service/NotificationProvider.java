@@ -0,0 +1,46 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.pickup.entity.NotificationOutboxMessage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Notification Provider - Delivers batches of outbox messages to an external email, SMS or push service
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - OCP (Open/Closed): A real provider is added as a new bean, without modifying the dispatcher
+ * - ISP (Interface Segregation): Only what the dispatcher needs to route, throttle and deliver
+ * - DIP (Dependency Inversion): NotificationOutboxDispatcher delivers through this abstraction
+ *
+ * Implementations are called from the dispatcher's worker threads, one batch at a time per
+ * worker, and must be thread-safe. The dispatcher keeps every call within getPermitsPerSecond().
+ */
+public interface NotificationProvider {
+
+    /**
+     * Name recorded on delivered messages and used in logs
+     */
+    String getName();
+
+    /**
+     * Channels this provider delivers
+     */
+    Set<NotificationOutboxMessage.Channel> getChannels();
+
+    /**
+     * Messages per second the provider accepts; 0 or less means unlimited
+     */
+    double getPermitsPerSecond();
+
+    /**
+     * Deliver one batch of messages of the same channel
+     *
+     * @param channel the channel every message in the batch belongs to
+     * @param batch the messages to deliver
+     * @return error text by message id for the messages that failed; the others count as delivered.
+     *         Throwing fails the whole batch.
+     */
+    Map<String, String> deliver(NotificationOutboxMessage.Channel channel, List<NotificationOutboxMessage> batch);
+}
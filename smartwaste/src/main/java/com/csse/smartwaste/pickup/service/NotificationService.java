@@ -1,44 +1,65 @@
 package com.csse.smartwaste.pickup.service;
 
+import com.csse.smartwaste.pickup.entity.NotificationOutboxMessage;
+import com.csse.smartwaste.pickup.entity.NotificationOutboxMessage.Channel;
 import com.csse.smartwaste.pickup.entity.PickupRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * NotificationService - Service for sending notifications
  * Follows Single Responsibility Principle - only handles notifications
+ *
+ * Notifications are not sent here: each call writes its email, SMS and app messages to the
+ * notification outbox in one insert, and NotificationOutboxDispatcher delivers them in the
+ * background. The pickup request notification flags are set once delivery succeeds.
  */
 @Service
 public class NotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstraction (MongoTemplate) for the outbox writes
+     */
+    @Autowired
+    public NotificationService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
     /**
      * Send pickup request confirmation
      */
     public void sendPickupRequestConfirmation(PickupRequest pickupRequest) {
         logger.info("Sending pickup request confirmation for request ID: {}", pickupRequest.getRequestId());
+        List<NotificationOutboxMessage> messages = new ArrayList<>();
         
         // Send email notification
-        sendEmailNotification(pickupRequest, "Pickup Request Confirmation", 
+        sendEmailNotification(messages, pickupRequest, "Pickup Request Confirmation", 
                 buildConfirmationMessage(pickupRequest));
         
         // Send SMS notification
         if (pickupRequest.getUserPhone() != null) {
-            sendSmsNotification(pickupRequest.getUserPhone(), 
+            sendSmsNotification(messages, pickupRequest, 
                     "Your pickup request has been submitted. Request ID: " + pickupRequest.getRequestId());
         }
         
         // Send app notification
-        sendAppNotification(pickupRequest.getUserId(), 
+        sendAppNotification(messages, pickupRequest, pickupRequest.getUserId(), 
                 "Pickup Request Submitted", 
                 "Your pickup request has been submitted successfully.");
-        
-        // Update notification flags
-        pickupRequest.setEmailNotificationSent(true);
-        pickupRequest.setSmsNotificationSent(true);
-        pickupRequest.setAppNotificationSent(true);
+
+        // Notification flags are set by the dispatcher once each channel has delivered
+        enqueue(messages);
     }
 
     /**
@@ -46,6 +67,7 @@ public class NotificationService {
      */
     public void sendPaymentConfirmation(PickupRequest pickupRequest) {
         logger.info("Sending payment confirmation for request ID: {}", pickupRequest.getRequestId());
+        List<NotificationOutboxMessage> messages = new ArrayList<>();
         
         String message = String.format(
                 "Payment confirmed for pickup request %s. Amount: $%.2f. Pickup scheduled for %s.",
@@ -54,13 +76,15 @@ public class NotificationService {
                 pickupRequest.getScheduledDateTime()
         );
         
-        sendEmailNotification(pickupRequest, "Payment Confirmation", message);
+        sendEmailNotification(messages, pickupRequest, "Payment Confirmation", message);
         
         if (pickupRequest.getUserPhone() != null) {
-            sendSmsNotification(pickupRequest.getUserPhone(), message);
+            sendSmsNotification(messages, pickupRequest, message);
         }
         
-        sendAppNotification(pickupRequest.getUserId(), "Payment Confirmed", message);
+        sendAppNotification(messages, pickupRequest, pickupRequest.getUserId(), "Payment Confirmed", message);
+
+        enqueue(messages);
     }
 
     /**
@@ -68,6 +92,7 @@ public class NotificationService {
      */
     public void sendCancellationNotification(PickupRequest pickupRequest) {
         logger.info("Sending cancellation notification for request ID: {}", pickupRequest.getRequestId());
+        List<NotificationOutboxMessage> messages = new ArrayList<>();
         
         String message = String.format(
                 "Your pickup request %s has been cancelled. Reason: %s",
@@ -75,13 +100,15 @@ public class NotificationService {
                 pickupRequest.getAdminNotes()
         );
         
-        sendEmailNotification(pickupRequest, "Pickup Request Cancelled", message);
+        sendEmailNotification(messages, pickupRequest, "Pickup Request Cancelled", message);
         
         if (pickupRequest.getUserPhone() != null) {
-            sendSmsNotification(pickupRequest.getUserPhone(), message);
+            sendSmsNotification(messages, pickupRequest, message);
         }
         
-        sendAppNotification(pickupRequest.getUserId(), "Request Cancelled", message);
+        sendAppNotification(messages, pickupRequest, pickupRequest.getUserId(), "Request Cancelled", message);
+
+        enqueue(messages);
     }
 
     /**
@@ -89,6 +116,7 @@ public class NotificationService {
      */
     public void sendPaymentReminder(PickupRequest pickupRequest) {
         logger.info("Sending payment reminder for request ID: {}", pickupRequest.getRequestId());
+        List<NotificationOutboxMessage> messages = new ArrayList<>();
         
         String message = String.format(
                 "Payment reminder: Your pickup request %s requires payment of $%.2f. Please complete payment to schedule your pickup.",
@@ -96,13 +124,15 @@ public class NotificationService {
                 pickupRequest.getFinalAmount()
         );
         
-        sendEmailNotification(pickupRequest, "Payment Reminder", message);
+        sendEmailNotification(messages, pickupRequest, "Payment Reminder", message);
         
         if (pickupRequest.getUserPhone() != null) {
-            sendSmsNotification(pickupRequest.getUserPhone(), message);
+            sendSmsNotification(messages, pickupRequest, message);
         }
         
-        sendAppNotification(pickupRequest.getUserId(), "Payment Reminder", message);
+        sendAppNotification(messages, pickupRequest, pickupRequest.getUserId(), "Payment Reminder", message);
+        
+        enqueue(messages);
         
         pickupRequest.setLastReminderSent(java.time.LocalDateTime.now());
     }
@@ -112,6 +142,7 @@ public class NotificationService {
      */
     public void sendWorkerAssignmentNotification(PickupRequest pickupRequest) {
         logger.info("Sending worker assignment notification for request ID: {}", pickupRequest.getRequestId());
+        List<NotificationOutboxMessage> messages = new ArrayList<>();
         
         String message = String.format(
                 "You have been assigned to pickup request %s. Location: %s. Scheduled time: %s",
@@ -121,7 +152,7 @@ public class NotificationService {
         );
         
         // Send notification to assigned worker
-        sendAppNotification(pickupRequest.getAssignedWorkerId(), "New Pickup Assignment", message);
+        sendAppNotification(messages, null, pickupRequest.getAssignedWorkerId(), "New Pickup Assignment", message);
         
         // Send notification to user
         String userMessage = String.format(
@@ -131,8 +162,10 @@ public class NotificationService {
                 pickupRequest.getScheduledDateTime()
         );
         
-        sendEmailNotification(pickupRequest, "Worker Assigned", userMessage);
-        sendAppNotification(pickupRequest.getUserId(), "Worker Assigned", userMessage);
+        sendEmailNotification(messages, pickupRequest, "Worker Assigned", userMessage);
+        sendAppNotification(messages, pickupRequest, pickupRequest.getUserId(), "Worker Assigned", userMessage);
+
+        enqueue(messages);
     }
 
     /**
@@ -140,6 +173,7 @@ public class NotificationService {
      */
     public void sendAdminNotification(PickupRequest pickupRequest) {
         logger.info("Sending admin notification for new request ID: {}", pickupRequest.getRequestId());
+        List<NotificationOutboxMessage> messages = new ArrayList<>();
         
         String message = String.format(
                 "New pickup request received: %s. Type: %s, Location: %s, Amount: $%.2f",
@@ -150,26 +184,51 @@ public class NotificationService {
         );
         
         // Send to all admin users
-        sendAppNotification("admin", "New Pickup Request", message);
+        sendAppNotification(messages, null, "admin", "New Pickup Request", message);
+
+        enqueue(messages);
     }
 
     // Private helper methods
 
-    private void sendEmailNotification(PickupRequest pickupRequest, String subject, String message) {
-        // In a real implementation, integrate with email service (SendGrid, AWS SES, etc.)
-        logger.info("Email sent to {}: Subject: {}, Message: {}", 
-                pickupRequest.getUserEmail(), subject, message);
+    private void sendEmailNotification(List<NotificationOutboxMessage> messages, PickupRequest pickupRequest,
+                                       String subject, String message) {
+        // Delivered by the email provider (SendGrid, AWS SES, etc.) registered with the outbox dispatcher
+        if (pickupRequest.getUserEmail() == null) {
+            return;
+        }
+        messages.add(new NotificationOutboxMessage(Channel.EMAIL, pickupRequest.getUserEmail(), subject, message,
+                pickupRequest.getRequestId()));
     }
 
-    private void sendSmsNotification(String phoneNumber, String message) {
-        // In a real implementation, integrate with SMS service (Twilio, AWS SNS, etc.)
-        logger.info("SMS sent to {}: {}", phoneNumber, message);
+    private void sendSmsNotification(List<NotificationOutboxMessage> messages, PickupRequest pickupRequest,
+                                     String message) {
+        // Delivered by the SMS provider (Twilio, AWS SNS, etc.) registered with the outbox dispatcher
+        messages.add(new NotificationOutboxMessage(Channel.SMS, pickupRequest.getUserPhone(), null, message,
+                pickupRequest.getRequestId()));
     }
 
-    private void sendAppNotification(String userId, String title, String message) {
-        // In a real implementation, integrate with push notification service (FCM, etc.)
-        logger.info("App notification sent to user {}: Title: {}, Message: {}", 
-                userId, title, message);
+    /**
+     * @param pickupRequest the request whose app notification flag follows delivery, or null
+     *                      when the message goes to someone other than the requester
+     */
+    private void sendAppNotification(List<NotificationOutboxMessage> messages, PickupRequest pickupRequest,
+                                     String userId, String title, String message) {
+        // Delivered by the push notification provider (FCM, etc.) registered with the outbox dispatcher
+        if (userId == null) {
+            return;
+        }
+        messages.add(new NotificationOutboxMessage(Channel.APP, userId, title, message,
+                pickupRequest != null ? pickupRequest.getRequestId() : null));
+    }
+
+    /**
+     * Write the messages to the outbox in one insert; delivery happens in the background
+     */
+    private void enqueue(List<NotificationOutboxMessage> messages) {
+        if (!messages.isEmpty()) {
+            mongoTemplate.insert(messages, NotificationOutboxMessage.class);
+        }
     }
 
     private String buildConfirmationMessage(PickupRequest pickupRequest) {
@@ -2,18 +2,27 @@ package com.csse.smartwaste.pickup.service;
 
 import com.csse.smartwaste.pickup.dto.*;
 import com.csse.smartwaste.pickup.entity.PickupRequest;
+import com.csse.smartwaste.pickup.entity.PickupSlotReservation;
 import com.csse.smartwaste.pickup.repository.PickupRequestRepository;
 import com.csse.smartwaste.login.entity.User;
 import com.csse.smartwaste.login.repository.UserRepository;
 import com.csse.smartwaste.common.model.*;
 import com.csse.smartwaste.common.exception.ResourceNotFoundException;
+import com.csse.smartwaste.zone.service.ZoneEngine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -35,6 +44,24 @@ public class PickupRequestService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ZoneEngine zoneEngine;
+
+    @Autowired
+    private PickupStatsService pickupStatsService;
+
+    @Autowired
+    private RevenueCounterService revenueCounterService;
+
+    @Autowired
+    private PickupSlotScheduler pickupSlotScheduler;
+
+    @Autowired
+    private EmergencyDispatchQueue emergencyDispatchQueue;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     // Fee calculation constants
     private static final BigDecimal BASE_FEE_BULKY = new BigDecimal("25.00");
     private static final BigDecimal BASE_FEE_E_WASTE = new BigDecimal("15.00");
@@ -43,6 +70,9 @@ public class PickupRequestService {
     private static final BigDecimal EXTRA_MULTIPLIER = new BigDecimal("1.2");
     private static final BigDecimal REWARD_POINT_VALUE = new BigDecimal("0.01"); // 1 point = $0.01
 
+    // Re-reads allowed when a request changes between reading and writing it
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
     /**
      * Create a new pickup request
      */
@@ -75,6 +105,8 @@ public class PickupRequestService {
         pickupRequest.setPostalCode(createDTO.getPostalCode());
         pickupRequest.setLatitude(createDTO.getLatitude());
         pickupRequest.setLongitude(createDTO.getLongitude());
+        pickupRequest.setZoneId(zoneEngine.resolveZoneId(
+            pickupRequest.getLatitude(), pickupRequest.getLongitude(), pickupRequest.getAddress()));
 
         // Calculate fees
         FeeCalculationDTO feeCalculation = calculateFees(createDTO);
@@ -98,6 +130,9 @@ public class PickupRequestService {
 
         // Save the request
         PickupRequest savedRequest = pickupRequestRepository.save(pickupRequest);
+        revenueCounterService.apply(RevenueCounterService.Contribution.NONE,
+                RevenueCounterService.contributionOf(savedRequest));
+        emergencyDispatchQueue.sync(savedRequest);
 
         // Send notifications
         notificationService.sendPickupRequestConfirmation(savedRequest);
@@ -167,59 +202,117 @@ public class PickupRequestService {
 
     /**
      * Update pickup request
+     * Only the provided fields are written, so flags, assignments and payments stored meanwhile survive.
      */
     public PickupRequestResponseDTO updatePickupRequest(String requestId, PickupRequestUpdateDTO updateDTO) {
+        for (int attempt = 1; ; attempt++) {
+            PickupRequest pickupRequest = pickupRequestRepository.findById(requestId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Pickup request not found with ID: " + requestId));
+            RevenueCounterService.Contribution before = RevenueCounterService.contributionOf(pickupRequest);
+            Criteria unchanged = unchangedSince(pickupRequest);
+            Update update = new Update();
+
+            // Update fields if provided
+            if (updateDTO.getItemDescription() != null) {
+                update.set("itemDescription", updateDTO.getItemDescription());
+            }
+            if (updateDTO.getEstimatedWeight() != null) {
+                update.set("estimatedWeight", updateDTO.getEstimatedWeight());
+            }
+            if (updateDTO.getSpecialInstructions() != null) {
+                update.set("specialInstructions", updateDTO.getSpecialInstructions());
+            }
+            if (updateDTO.getPreferredDateTime() != null) {
+                update.set("preferredDateTime", updateDTO.getPreferredDateTime());
+            }
+            if (updateDTO.getPickupLocation() != null) {
+                update.set("pickupLocation", updateDTO.getPickupLocation());
+            }
+            if (updateDTO.getCity() != null) {
+                update.set("city", updateDTO.getCity());
+            }
+            if (updateDTO.getPostalCode() != null) {
+                update.set("postalCode", updateDTO.getPostalCode());
+            }
+            if (updateDTO.getStatus() != null) {
+                update.set("status", updateDTO.getStatus());
+            }
+            if (updateDTO.getAdminNotes() != null) {
+                update.set("adminNotes", updateDTO.getAdminNotes());
+            }
+            if (updateDTO.getAssignedWorkerId() != null) {
+                update.set("assignedWorkerId", updateDTO.getAssignedWorkerId());
+            }
+            if (updateDTO.getAssignedWorkerName() != null) {
+                update.set("assignedWorkerName", updateDTO.getAssignedWorkerName());
+            }
+
+            // The zone follows the location, so it is only restamped from a location nobody moved meanwhile
+            if (updateDTO.getAddress() != null || updateDTO.getLatitude() != null || updateDTO.getLongitude() != null) {
+                String address = updateDTO.getAddress() != null ? updateDTO.getAddress() : pickupRequest.getAddress();
+                Double latitude = updateDTO.getLatitude() != null ? updateDTO.getLatitude() : pickupRequest.getLatitude();
+                Double longitude = updateDTO.getLongitude() != null ? updateDTO.getLongitude() : pickupRequest.getLongitude();
+                unchanged.and("address").is(pickupRequest.getAddress())
+                        .and("latitude").is(pickupRequest.getLatitude())
+                        .and("longitude").is(pickupRequest.getLongitude());
+                update.set("address", address)
+                        .set("latitude", latitude)
+                        .set("longitude", longitude)
+                        .set("zoneId", zoneEngine.resolveZoneId(latitude, longitude, address));
+            }
+            update.set("updatedAt", LocalDateTime.now());
+
+            PickupRequest savedRequest = updateIfUnchanged(unchanged, update);
+            if (savedRequest == null) {
+                checkAttempts(requestId, attempt);
+                continue;
+            }
+            revenueCounterService.apply(before, RevenueCounterService.contributionOf(savedRequest));
+            if (savedRequest.getStatus() == PickupStatus.CANCELLED) {
+                pickupSlotScheduler.release(requestId);
+            }
+            emergencyDispatchQueue.sync(savedRequest);
+            return convertToResponseDTO(savedRequest);
+        }
+    }
+
+    /**
+     * Book a pickup request into the free slot closest to its preferred time
+     * Rescheduling an already scheduled request moves it to the new slot.
+     */
+    public PickupRequestResponseDTO schedulePickupRequest(String requestId) {
         PickupRequest pickupRequest = pickupRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Pickup request not found with ID: " + requestId));
 
-        // Update fields if provided
-        if (updateDTO.getItemDescription() != null) {
-            pickupRequest.setItemDescription(updateDTO.getItemDescription());
-        }
-        if (updateDTO.getEstimatedWeight() != null) {
-            pickupRequest.setEstimatedWeight(updateDTO.getEstimatedWeight());
-        }
-        if (updateDTO.getSpecialInstructions() != null) {
-            pickupRequest.setSpecialInstructions(updateDTO.getSpecialInstructions());
-        }
-        if (updateDTO.getPreferredDateTime() != null) {
-            pickupRequest.setPreferredDateTime(updateDTO.getPreferredDateTime());
-        }
-        if (updateDTO.getPickupLocation() != null) {
-            pickupRequest.setPickupLocation(updateDTO.getPickupLocation());
-        }
-        if (updateDTO.getAddress() != null) {
-            pickupRequest.setAddress(updateDTO.getAddress());
-        }
-        if (updateDTO.getCity() != null) {
-            pickupRequest.setCity(updateDTO.getCity());
-        }
-        if (updateDTO.getPostalCode() != null) {
-            pickupRequest.setPostalCode(updateDTO.getPostalCode());
-        }
-        if (updateDTO.getLatitude() != null) {
-            pickupRequest.setLatitude(updateDTO.getLatitude());
-        }
-        if (updateDTO.getLongitude() != null) {
-            pickupRequest.setLongitude(updateDTO.getLongitude());
-        }
-        if (updateDTO.getStatus() != null) {
-            pickupRequest.setStatus(updateDTO.getStatus());
-        }
-        if (updateDTO.getAdminNotes() != null) {
-            pickupRequest.setAdminNotes(updateDTO.getAdminNotes());
-        }
-        if (updateDTO.getAssignedWorkerId() != null) {
-            pickupRequest.setAssignedWorkerId(updateDTO.getAssignedWorkerId());
-        }
-        if (updateDTO.getAssignedWorkerName() != null) {
-            pickupRequest.setAssignedWorkerName(updateDTO.getAssignedWorkerName());
+        PickupStatus status = pickupRequest.getStatus();
+        if (status != PickupStatus.DRAFT && status != PickupStatus.PENDING
+                && status != PickupStatus.SCHEDULED && status != PickupStatus.RESCHEDULED) {
+            throw new IllegalArgumentException("Cannot schedule pickup request with status: " + status);
         }
 
+        PickupSlotReservation reservation = pickupSlotScheduler.reserve(requestId,
+                        pickupRequest.getZoneId(), pickupRequest.getPreferredDateTime())
+                .orElseThrow(() -> new IllegalStateException("No free pickup slot for zone " + pickupRequest.getZoneId()));
+
+        pickupRequest.setScheduledDateTime(reservation.getSlotStart());
+        pickupRequest.setStatus(PickupStatus.SCHEDULED);
         pickupRequest.setUpdatedAt(LocalDateTime.now());
+        try {
+            PickupRequest savedRequest = pickupRequestRepository.save(pickupRequest);
+            emergencyDispatchQueue.sync(savedRequest);
+            return convertToResponseDTO(savedRequest);
+        } catch (RuntimeException e) {
+            // Do not keep a slot for a request that does not know about it
+            pickupSlotScheduler.release(requestId);
+            throw e;
+        }
+    }
 
-        PickupRequest savedRequest = pickupRequestRepository.save(pickupRequest);
-        return convertToResponseDTO(savedRequest);
+    /**
+     * Get the booking state of a zone's pickup slots on a day
+     */
+    public List<PickupSlotDTO> getPickupSlots(String zoneId, LocalDate day) {
+        return pickupSlotScheduler.getAvailability(zoneId, day != null ? day : LocalDate.now());
     }
 
     /**
@@ -235,68 +328,103 @@ public class PickupRequestService {
         }
 
         pickupRequestRepository.delete(pickupRequest);
+        pickupSlotScheduler.release(requestId);
+        emergencyDispatchQueue.remove(requestId);
+        revenueCounterService.apply(RevenueCounterService.contributionOf(pickupRequest),
+                RevenueCounterService.Contribution.NONE);
     }
 
     /**
      * Process payment for pickup request
      */
     public PickupRequestResponseDTO processPayment(String requestId, PaymentRequestDTO paymentDTO) {
-        PickupRequest pickupRequest = pickupRequestRepository.findById(requestId)
-                .orElseThrow(() -> new ResourceNotFoundException("Pickup request not found with ID: " + requestId));
-
-        // Validate payment amount
-        if (paymentDTO.getAmount().compareTo(pickupRequest.getFinalAmount()) != 0) {
-            throw new IllegalArgumentException("Payment amount does not match the calculated amount");
-        }
-
-        // Process payment based on method
-        switch (paymentDTO.getPaymentMethod()) {
-            case "Cash":
-                processCashPayment(pickupRequest, paymentDTO);
-                break;
-            case "Card":
-                processCardPayment(pickupRequest, paymentDTO);
-                break;
-            case "Points":
-                processPointsPayment(pickupRequest, paymentDTO);
-                break;
-            case "PayLater":
-                processPayLaterPayment(pickupRequest, paymentDTO);
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid payment method: " + paymentDTO.getPaymentMethod());
+        for (int attempt = 1; ; attempt++) {
+            PickupRequest pickupRequest = pickupRequestRepository.findById(requestId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Pickup request not found with ID: " + requestId));
+
+            RevenueCounterService.Contribution before = RevenueCounterService.contributionOf(pickupRequest);
+            Criteria unchanged = unchangedSince(pickupRequest);
+
+            // Validate payment amount
+            if (paymentDTO.getAmount().compareTo(pickupRequest.getFinalAmount()) != 0) {
+                throw new IllegalArgumentException("Payment amount does not match the calculated amount");
+            }
+
+            // Process payment based on method
+            switch (paymentDTO.getPaymentMethod()) {
+                case "Cash":
+                    processCashPayment(pickupRequest, paymentDTO);
+                    break;
+                case "Card":
+                    processCardPayment(pickupRequest, paymentDTO);
+                    break;
+                case "Points":
+                    processPointsPayment(pickupRequest, paymentDTO);
+                    break;
+                case "PayLater":
+                    processPayLaterPayment(pickupRequest, paymentDTO);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid payment method: " + paymentDTO.getPaymentMethod());
+            }
+
+            Update update = new Update()
+                    .set("paymentStatus", pickupRequest.getPaymentStatus())
+                    .set("paymentReference", pickupRequest.getPaymentReference())
+                    .set("updatedAt", LocalDateTime.now());
+            if (pickupRequest.getPaymentDate() != null) {
+                update.set("paymentDate", pickupRequest.getPaymentDate());
+            }
+            PickupRequest savedRequest = updateIfUnchanged(unchanged, update);
+            if (savedRequest == null) {
+                checkAttempts(requestId, attempt);
+                continue;
+            }
+            revenueCounterService.apply(before, RevenueCounterService.contributionOf(savedRequest));
+
+            // Send payment confirmation
+            notificationService.sendPaymentConfirmation(savedRequest);
+
+            return convertToResponseDTO(savedRequest);
         }
-
-        pickupRequest.setUpdatedAt(LocalDateTime.now());
-        PickupRequest savedRequest = pickupRequestRepository.save(pickupRequest);
-
-        // Send payment confirmation
-        notificationService.sendPaymentConfirmation(savedRequest);
-
-        return convertToResponseDTO(savedRequest);
     }
 
     /**
      * Cancel pickup request
      */
     public PickupRequestResponseDTO cancelPickupRequest(String requestId, String reason) {
-        PickupRequest pickupRequest = pickupRequestRepository.findById(requestId)
-                .orElseThrow(() -> new ResourceNotFoundException("Pickup request not found with ID: " + requestId));
-
-        if (pickupRequest.getStatus() == PickupStatus.COMPLETED) {
-            throw new IllegalArgumentException("Cannot cancel a completed pickup request");
+        for (int attempt = 1; ; attempt++) {
+            PickupRequest pickupRequest = pickupRequestRepository.findById(requestId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Pickup request not found with ID: " + requestId));
+
+            if (pickupRequest.getStatus() == PickupStatus.COMPLETED) {
+                throw new IllegalArgumentException("Cannot cancel a completed pickup request");
+            }
+            RevenueCounterService.Contribution before = RevenueCounterService.contributionOf(pickupRequest);
+
+            Update update = new Update()
+                    .set("status", PickupStatus.CANCELLED)
+                    .set("adminNotes", reason)
+                    .set("updatedAt", LocalDateTime.now());
+            // A paid request that will not be collected is refunded
+            if (pickupRequest.getPaymentStatus() == PaymentStatus.COMPLETED) {
+                update.set("paymentStatus", PaymentStatus.REFUNDED);
+            }
+
+            PickupRequest savedRequest = updateIfUnchanged(unchangedSince(pickupRequest), update);
+            if (savedRequest == null) {
+                checkAttempts(requestId, attempt);
+                continue;
+            }
+            revenueCounterService.apply(before, RevenueCounterService.contributionOf(savedRequest));
+            pickupSlotScheduler.release(requestId);
+            emergencyDispatchQueue.remove(requestId);
+
+            // Send cancellation notification
+            notificationService.sendCancellationNotification(savedRequest);
+
+            return convertToResponseDTO(savedRequest);
         }
-
-        pickupRequest.setStatus(PickupStatus.CANCELLED);
-        pickupRequest.setAdminNotes(reason);
-        pickupRequest.setUpdatedAt(LocalDateTime.now());
-
-        PickupRequest savedRequest = pickupRequestRepository.save(pickupRequest);
-
-        // Send cancellation notification
-        notificationService.sendCancellationNotification(savedRequest);
-
-        return convertToResponseDTO(savedRequest);
     }
 
     /**
@@ -341,47 +469,65 @@ public class PickupRequestService {
 
     /**
      * Get pickup request statistics
+     * Served from a cached single-aggregation snapshot
      */
     public PickupStatsDTO getPickupStats() {
-        PickupStatsDTO stats = new PickupStatsDTO();
-        
-        // Count requests by status
-        stats.setTotalRequests(pickupRequestRepository.count());
-        stats.setPendingRequests(pickupRequestRepository.countByStatus(PickupStatus.PENDING));
-        stats.setScheduledRequests(pickupRequestRepository.countByStatus(PickupStatus.SCHEDULED));
-        stats.setCompletedRequests(pickupRequestRepository.countByStatus(PickupStatus.COMPLETED));
-        stats.setCancelledRequests(pickupRequestRepository.countByStatus(PickupStatus.CANCELLED));
-        
-        // Count emergency requests
-        stats.setEmergencyRequests(pickupRequestRepository.findEmergencyRequests().size());
-        
-        // Calculate revenue
-        List<PickupRequest> allRequests = pickupRequestRepository.findAll();
-        BigDecimal totalRevenue = allRequests.stream()
-                .filter(req -> req.getPaymentStatus() == PaymentStatus.COMPLETED)
-                .map(PickupRequest::getFinalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        stats.setTotalRevenue(totalRevenue);
-        
-        // Calculate pending payments
-        BigDecimal pendingPayments = allRequests.stream()
-                .filter(req -> req.getPaymentStatus() == PaymentStatus.PENDING)
-                .map(PickupRequest::getFinalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        stats.setPendingPayments(pendingPayments);
-        
-        // Count requests this month and week
-        LocalDateTime monthAgo = LocalDateTime.now().minusMonths(1);
-        LocalDateTime weekAgo = LocalDateTime.now().minusWeeks(1);
-        
-        stats.setRequestsThisMonth(pickupRequestRepository.findByCreatedAtAfter(monthAgo).size());
-        stats.setRequestsThisWeek(pickupRequestRepository.findByCreatedAtAfter(weekAgo).size());
-        
-        return stats;
+        return pickupStatsService.getPickupStats();
+    }
+
+    /**
+     * Get completed revenue, pending payments and refunds for a day range, from the daily counters
+     */
+    public RevenueTotalsDTO getRevenueTotals(LocalDate from, LocalDate to, String city) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return revenueCounterService.getTotals(from, to, city);
+    }
+
+    /**
+     * Rebuild the daily revenue counters from the pickup requests
+     */
+    public long rebuildRevenueCounters() {
+        return revenueCounterService.rebuild();
+    }
+
+    /**
+     * Compare the daily revenue counters with the pickup requests
+     */
+    public Map<String, Object> checkRevenueDrift(LocalDate from, LocalDate to) {
+        return revenueCounterService.checkDrift(from, to);
     }
 
     // Private helper methods
 
+    /**
+     * Match the request only while the fields a change was decided on, and its revenue counter, are as read
+     */
+    private Criteria unchangedSince(PickupRequest read) {
+        return Criteria.where("_id").is(read.getRequestId())
+                .and("status").is(read.getStatus())
+                .and("paymentStatus").is(read.getPaymentStatus())
+                .and("finalAmount").is(read.getFinalAmount())
+                .and("city").is(read.getCity());
+    }
+
+    /**
+     * Write only the changed fields, so notification flags and worker assignments stored meanwhile survive
+     *
+     * @return the request as stored after the update, or null if it changed since it was read
+     */
+    private PickupRequest updateIfUnchanged(Criteria unchanged, Update update) {
+        return mongoTemplate.findAndModify(Query.query(unchanged), update,
+                FindAndModifyOptions.options().returnNew(true), PickupRequest.class);
+    }
+
+    private void checkAttempts(String requestId, int attempt) {
+        if (attempt >= MAX_WRITE_ATTEMPTS) {
+            throw new IllegalStateException("Pickup request " + requestId + " kept changing; try again");
+        }
+    }
+
     private BigDecimal calculateBaseAmount(WasteType wasteType, BigDecimal weight) {
         BigDecimal baseFee;
         switch (wasteType) {
@@ -461,6 +607,7 @@ public class PickupRequestService {
         dto.setCity(pickupRequest.getCity());
         dto.setPostalCode(pickupRequest.getPostalCode());
         dto.setLatitude(pickupRequest.getLatitude());
+        dto.setZoneId(pickupRequest.getZoneId());
         dto.setLongitude(pickupRequest.getLongitude());
         dto.setBaseAmount(pickupRequest.getBaseAmount());
         dto.setUrgencyFee(pickupRequest.getUrgencyFee());
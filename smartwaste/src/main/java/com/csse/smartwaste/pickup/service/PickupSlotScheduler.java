@@ -0,0 +1,356 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.pickup.dto.PickupSlotDTO;
+import com.csse.smartwaste.pickup.entity.PickupSlotReservation;
+import com.csse.smartwaste.zone.entity.Zone;
+import com.csse.smartwaste.zone.service.ZoneEngine;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pickup Slot Scheduler - Books pickup requests into capacity-limited time slots per zone and day
+ *
+ * Every day's working hours are split into fixed-length slots, and each slot of a zone takes a
+ * limited number of pickups. Reserved counts of a zone-day are kept in memory and guarded by one
+ * of a fixed set of lock stripes chosen by the zone-day key, so bookings for different zone-days
+ * proceed in parallel while bookings for the same zone-day are serialised. A booking takes the
+ * free slot closest to the preferred time within the booking horizon. Reservations are stored in
+ * pickup_slot_reservations (one per request) and a zone-day's counts are loaded from there the
+ * first time it is touched, so they survive restarts.
+ *
+ * The in-memory counts are authoritative for one application instance; several instances
+ * booking the same zones would each enforce capacity only against their own bookings.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for slot capacity and reservations
+ * - OCP (Open/Closed): Capacity is zone data with a configured default
+ * - DIP (Dependency Inversion): Depends on MongoTemplate and ZoneEngine abstractions
+ *
+ * CODE SMELLS AVOIDED:
+ * - No global lock: Contention is limited to zone-days that share a stripe
+ * - No overbooking: Count check, increment and reservation write happen under the same lock
+ * - No count queries per booking: A zone-day is read from the database once
+ */
+@Service
+public class PickupSlotScheduler {
+
+    private final MongoTemplate mongoTemplate;
+    private final ZoneEngine zoneEngine;
+    private final LocalTime dayStart;
+    private final int slotMinutes;
+    private final int slotsPerDay;
+    private final int defaultCapacity;
+    private final int horizonDays;
+    private final long leadMinutes;
+    private final ReentrantLock[] stripes;
+
+    // "zoneId|yyyy-MM-dd" -> reserved pickups per slot of that day
+    private final Map<String, int[]> books = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, ZoneEngine) not concrete implementation
+     */
+    @Autowired
+    public PickupSlotScheduler(MongoTemplate mongoTemplate, ZoneEngine zoneEngine,
+                               @Value("${smartwaste.pickups.slots.day-start:08:00}") String dayStart,
+                               @Value("${smartwaste.pickups.slots.day-end:18:00}") String dayEnd,
+                               @Value("${smartwaste.pickups.slots.length-minutes:60}") int slotMinutes,
+                               @Value("${smartwaste.pickups.slots.default-capacity:4}") int defaultCapacity,
+                               @Value("${smartwaste.pickups.slots.horizon-days:14}") int horizonDays,
+                               @Value("${smartwaste.pickups.slots.lead-minutes:60}") long leadMinutes,
+                               @Value("${smartwaste.pickups.slots.lock-stripes:64}") int lockStripes) {
+        this.mongoTemplate = mongoTemplate;
+        this.zoneEngine = zoneEngine;
+        this.dayStart = LocalTime.parse(dayStart);
+        this.slotMinutes = slotMinutes;
+        long workingMinutes = Duration.between(this.dayStart, LocalTime.parse(dayEnd)).toMinutes();
+        if (slotMinutes <= 0 || workingMinutes < slotMinutes) {
+            throw new IllegalArgumentException("Pickup slot settings leave no slot between "
+                    + dayStart + " and " + dayEnd);
+        }
+        this.slotsPerDay = (int) (workingMinutes / slotMinutes);
+        this.defaultCapacity = Math.max(0, defaultCapacity);
+        this.horizonDays = Math.max(0, horizonDays);
+        this.leadMinutes = Math.max(0, leadMinutes);
+        this.stripes = new ReentrantLock[Math.max(1, lockStripes)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Book a request into the free slot closest to its preferred time, replacing any earlier booking
+     * SRP: Single responsibility - only handles slot reservation
+     *
+     * The new slot is taken before the earlier one is given up, so a request that cannot be
+     * moved keeps its earlier slot, when it had one.
+     *
+     * @param requestId the pickup request identifier
+     * @param zoneId the request's zone; null uses the default zone
+     * @param preferred preferred pickup time; null means as soon as possible
+     * @return the new reservation, or empty if every slot in the horizon is full
+     * @throws IllegalStateException if the request's reservation changes while it is being moved
+     */
+    public Optional<PickupSlotReservation> reserve(String requestId, String zoneId, LocalDateTime preferred) {
+        String zone = zoneId != null ? zoneId : zoneEngine.getDefaultZoneId();
+        int capacity = capacityOf(zone);
+        PickupSlotReservation previous = mongoTemplate.findById(requestId, PickupSlotReservation.class);
+        if (capacity == 0) {
+            return Optional.empty();
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime earliest = LocalDateTime.now().plusMinutes(leadMinutes);
+        int first = firstSlotStartingAfter(today, earliest);
+        int last = (horizonDays + 1) * slotsPerDay - 1;
+        LocalDateTime target = preferred != null && preferred.isAfter(earliest) ? preferred : earliest;
+
+        // Walk outwards from the target, always trying the closer of the two neighbouring slots next
+        int right = Math.max(first, Math.min(slotEndingAfter(today, target), last + 1));
+        int left = right - 1;
+        while (left >= first || right <= last) {
+            int candidate;
+            if (left < first) {
+                candidate = right++;
+            } else if (right > last) {
+                candidate = left--;
+            } else if (distanceMinutes(today, right, target) < distanceMinutes(today, left, target)) {
+                candidate = right++;
+            } else {
+                candidate = left--;
+            }
+            LocalDate day = today.plusDays(candidate / slotsPerDay);
+            int slot = candidate % slotsPerDay;
+            if (previous != null && previous.getZoneId().equals(zone)
+                    && previous.getDay().equals(day.toString()) && previous.getSlotIndex() == slot) {
+                return Optional.of(previous); // the closest slot is the one already held
+            }
+            Optional<PickupSlotReservation> booked = tryReserve(requestId, zone, day, slot, capacity, previous);
+            if (booked.isPresent()) {
+                if (previous != null) {
+                    uncount(previous);
+                }
+                return booked;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Give up a request's reservation, if it has one
+     * SRP: Single responsibility - only handles slot release
+     *
+     * @param requestId the pickup request identifier
+     * @return the released reservation
+     */
+    public Optional<PickupSlotReservation> release(String requestId) {
+        PickupSlotReservation reservation = mongoTemplate.findById(requestId, PickupSlotReservation.class);
+        if (reservation == null) {
+            return Optional.empty();
+        }
+        String key = reservation.getZoneId() + "|" + reservation.getDay();
+        ReentrantLock lock = stripeOf(key);
+        lock.lock();
+        try {
+            long removed = mongoTemplate.remove(Query.query(Criteria.where("_id").is(requestId)),
+                    PickupSlotReservation.class).getDeletedCount();
+            int[] book = books.get(key);
+            if (removed == 1 && book != null && reservation.getSlotIndex() < book.length) {
+                book[reservation.getSlotIndex()]--;
+            }
+            return removed == 1 ? Optional.of(reservation) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the booking state of every slot of a zone on a day
+     * SRP: Single responsibility - only handles availability reporting
+     *
+     * @param zoneId the zone identifier; null uses the default zone
+     * @param day the day
+     * @return one entry per slot, in time order
+     */
+    public List<PickupSlotDTO> getAvailability(String zoneId, LocalDate day) {
+        String zone = zoneId != null ? zoneId : zoneEngine.getDefaultZoneId();
+        int capacity = capacityOf(zone);
+        String key = zone + "|" + day;
+        int[] reserved;
+        ReentrantLock lock = stripeOf(key);
+        lock.lock();
+        try {
+            reserved = bookOf(key, zone, day).clone();
+        } finally {
+            lock.unlock();
+        }
+
+        List<PickupSlotDTO> slots = new ArrayList<>(slotsPerDay);
+        for (int slot = 0; slot < slotsPerDay; slot++) {
+            LocalDateTime start = slotStart(day, slot);
+            slots.add(new PickupSlotDTO(zone, start, start.plusMinutes(slotMinutes), capacity, reserved[slot]));
+        }
+        return slots;
+    }
+
+    /**
+     * Drop the in-memory counts of days that have passed
+     */
+    @Scheduled(cron = "${smartwaste.pickups.slots.evict-cron:0 5 0 * * *}")
+    public void evictPastDays() {
+        String today = LocalDate.now().toString();
+        books.keySet().removeIf(key -> key.substring(key.lastIndexOf('|') + 1).compareTo(today) < 0);
+    }
+
+    /**
+     * Take a slot if it has room; a previous reservation is replaced in the same write
+     */
+    private Optional<PickupSlotReservation> tryReserve(String requestId, String zoneId, LocalDate day,
+                                                       int slot, int capacity, PickupSlotReservation previous) {
+        String key = zoneId + "|" + day;
+        ReentrantLock lock = stripeOf(key);
+        lock.lock();
+        try {
+            int[] book = bookOf(key, zoneId, day);
+            if (book[slot] >= capacity) {
+                return Optional.empty();
+            }
+            LocalDateTime start = slotStart(day, slot);
+            PickupSlotReservation reservation = new PickupSlotReservation(requestId, zoneId, day.toString(), slot,
+                    start, start.plusMinutes(slotMinutes));
+            if (previous == null) {
+                try {
+                    mongoTemplate.insert(reservation);
+                } catch (DuplicateKeyException e) {
+                    throw new IllegalStateException("Pickup request " + requestId + " is already being scheduled");
+                }
+            } else {
+                Query held = Query.query(Criteria.where("_id").is(requestId)
+                        .and("zoneId").is(previous.getZoneId())
+                        .and("day").is(previous.getDay())
+                        .and("slotIndex").is(previous.getSlotIndex()));
+                if (mongoTemplate.findAndReplace(held, reservation) == null) {
+                    throw new IllegalStateException("Pickup request " + requestId + " is already being scheduled");
+                }
+            }
+            book[slot]++;
+            return Optional.of(reservation);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop a replaced reservation from its zone-day's counts
+     */
+    private void uncount(PickupSlotReservation replaced) {
+        String key = replaced.getZoneId() + "|" + replaced.getDay();
+        ReentrantLock lock = stripeOf(key);
+        lock.lock();
+        try {
+            int[] book = books.get(key);
+            if (book != null && replaced.getSlotIndex() < book.length) {
+                book[replaced.getSlotIndex()]--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserved counts of a zone-day, loaded from the reservations on first use; caller holds the stripe
+     */
+    private int[] bookOf(String key, String zoneId, LocalDate day) {
+        int[] book = books.get(key);
+        if (book != null) {
+            return book;
+        }
+        book = new int[slotsPerDay];
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("zoneId").is(zoneId).and("day").is(day.toString())),
+                Aggregation.group("slotIndex").count().as("count"));
+        for (Document row : mongoTemplate.aggregate(aggregation, PickupSlotReservation.class, Document.class)
+                .getMappedResults()) {
+            int slot = ((Number) row.get("_id")).intValue();
+            if (slot >= 0 && slot < slotsPerDay) {
+                book[slot] = ((Number) row.get("count")).intValue();
+            }
+        }
+        books.put(key, book);
+        return book;
+    }
+
+    private int capacityOf(String zoneId) {
+        return zoneEngine.getZone(zoneId)
+                .map(Zone::getPickupSlotCapacity)
+                .orElse(defaultCapacity);
+    }
+
+    private ReentrantLock stripeOf(String key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private LocalDateTime slotStart(LocalDate day, int slot) {
+        return day.atTime(dayStart).plusMinutes((long) slot * slotMinutes);
+    }
+
+    /**
+     * Index, counted from today's first slot, of the first slot that starts at or after the given time
+     */
+    private int firstSlotStartingAfter(LocalDate today, LocalDateTime time) {
+        int index = slotEndingAfter(today, time);
+        LocalDate day = today.plusDays(index / slotsPerDay);
+        return slotStart(day, index % slotsPerDay).isBefore(time) ? index + 1 : index;
+    }
+
+    /**
+     * Index, counted from today's first slot, of the first slot that ends after the given time
+     */
+    private int slotEndingAfter(LocalDate today, LocalDateTime time) {
+        long dayOffset = ChronoUnit.DAYS.between(today, time.toLocalDate());
+        long minutes = Duration.between(dayStart, time.toLocalTime()).toMinutes();
+        long slot;
+        if (minutes < 0) {
+            slot = 0;
+        } else if (minutes >= (long) slotsPerDay * slotMinutes) {
+            dayOffset++;
+            slot = 0;
+        } else {
+            slot = minutes / slotMinutes;
+        }
+        return (int) Math.min(Integer.MAX_VALUE / 2, dayOffset * slotsPerDay + slot);
+    }
+
+    /**
+     * Minutes between a slot and a time; zero when the time falls inside the slot
+     */
+    private long distanceMinutes(LocalDate today, int index, LocalDateTime time) {
+        LocalDateTime start = slotStart(today.plusDays(index / slotsPerDay), index % slotsPerDay);
+        LocalDateTime end = start.plusMinutes(slotMinutes);
+        if (time.isBefore(start)) {
+            return Duration.between(time, start).toMinutes();
+        }
+        return time.isBefore(end) ? 0 : Duration.between(end, time).toMinutes();
+    }
+}
@@ -0,0 +1,391 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.common.model.PaymentStatus;
+import com.csse.smartwaste.common.model.PickupStatus;
+import com.csse.smartwaste.pickup.dto.RevenueTotalsDTO;
+import com.csse.smartwaste.pickup.entity.PickupRevenueDaily;
+import com.csse.smartwaste.pickup.entity.PickupRequest;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Revenue Counter Service - Maintains per-city, per-day pickup payment counters in integer cents
+ *
+ * Every pickup request contributes its final amount to exactly one counter of the bucket of its
+ * city and creation day: completed revenue, outstanding (pending and not cancelled) or refunded.
+ * Requests in any other payment state contribute nothing. When a request changes, the service
+ * moves the amount from its old counter to its new one with $inc, so totals for any period are
+ * a sum over one small document per city and day.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for the revenue counters
+ * - OCP (Open/Closed): Which counter a request feeds is decided in one place, contributionOf
+ * - DIP (Dependency Inversion): Depends on MongoTemplate for updates and aggregations
+ *
+ * CODE SMELLS AVOIDED:
+ * - No floating-point money: Counters are long cents, converted to BigDecimal only for display
+ * - No request scans on read: Period totals aggregate the counters, never the requests
+ * - No silent drift: The same bucketing is available as a rebuild and as a comparison
+ */
+@Service
+public class RevenueCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueCounterService.class);
+
+    private static final String REQUESTS_COLLECTION = "pickup_requests";
+    private static final String COUNTERS_COLLECTION = "pickup_revenue_daily";
+    private static final String FIRST_DAY = "0000-01-01";
+    private static final String LAST_DAY = "9999-12-31";
+    private static final int MAX_REPORTED_DRIFTS = 100;
+
+    private static final String COMPLETED = "completedCents";
+    private static final String PENDING = "pendingCents";
+    private static final String REFUNDED = "refundedCents";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstraction (MongoTemplate) not concrete implementation
+     */
+    @Autowired
+    public RevenueCounterService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Work out which counter a request currently feeds, and by how much
+     * SRP: Single responsibility - only maps a request's state to its counter
+     *
+     * @param request the request, or null for "no request"
+     * @return the contribution, Contribution.NONE if the request feeds no counter
+     */
+    public static Contribution contributionOf(PickupRequest request) {
+        if (request == null || request.getCreatedAt() == null || request.getFinalAmount() == null
+                || request.getPaymentStatus() == null) {
+            return Contribution.NONE;
+        }
+        String counter;
+        if (request.getPaymentStatus() == PaymentStatus.COMPLETED) {
+            counter = COMPLETED;
+        } else if (request.getPaymentStatus() == PaymentStatus.REFUNDED) {
+            counter = REFUNDED;
+        } else if (request.getPaymentStatus() == PaymentStatus.PENDING && request.getStatus() != PickupStatus.CANCELLED) {
+            counter = PENDING;
+        } else {
+            return Contribution.NONE;
+        }
+        String city = request.getCity() != null ? request.getCity() : "";
+        return new Contribution(city, request.getCreatedAt().toLocalDate(), counter, toCents(request.getFinalAmount()));
+    }
+
+    /**
+     * Move a request's amount from the counter it used to feed to the one it feeds now
+     * SRP: Single responsibility - only applies counter deltas
+     *
+     * A failed update is logged rather than failing the request write; the drift check reports it.
+     *
+     * @param before contribution before the change
+     * @param after contribution after the change
+     */
+    public void apply(Contribution before, Contribution after) {
+        if (before.equals(after)) {
+            return;
+        }
+        try {
+            if (before.getBucketId() != null && before.getBucketId().equals(after.getBucketId())) {
+                Update update = new Update();
+                if (before.counter.equals(after.counter)) {
+                    update.inc(after.counter, after.cents - before.cents);
+                } else {
+                    update.inc(before.counter, -before.cents).inc(after.counter, after.cents);
+                }
+                increment(after, update);
+                return;
+            }
+            if (before != Contribution.NONE) {
+                increment(before, new Update().inc(before.counter, -before.cents));
+            }
+            if (after != Contribution.NONE) {
+                increment(after, new Update().inc(after.counter, after.cents));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not update revenue counters ({} -> {}); run the drift check", before, after, e);
+        }
+    }
+
+    /**
+     * Sum the counters of an inclusive day range, overall and per city
+     * SRP: Single responsibility - only handles period totals
+     *
+     * @param from first day, or null for the beginning
+     * @param to last day, or null for the end
+     * @param city only this city, or null for all
+     * @return totals in currency units
+     */
+    public RevenueTotalsDTO getTotals(LocalDate from, LocalDate to, String city) {
+        String fromDay = from != null ? from.toString() : FIRST_DAY;
+        String toDay = to != null ? to.toString() : LAST_DAY;
+        Criteria criteria = Criteria.where("day").gte(fromDay).lte(toDay);
+        if (city != null) {
+            criteria = criteria.and("city").is(city);
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.group("city")
+                        .sum(COMPLETED).as(COMPLETED)
+                        .sum(PENDING).as(PENDING)
+                        .sum(REFUNDED).as(REFUNDED),
+                Aggregation.sort(Sort.Direction.ASC, "_id"));
+
+        RevenueTotalsDTO totals = new RevenueTotalsDTO();
+        totals.setFromDay(from != null ? fromDay : null);
+        totals.setToDay(to != null ? toDay : null);
+        totals.setCity(city);
+        long completed = 0;
+        long pending = 0;
+        long refunded = 0;
+        for (Document row : mongoTemplate.aggregate(aggregation, COUNTERS_COLLECTION, Document.class).getMappedResults()) {
+            long cityCompleted = cents(row, COMPLETED);
+            long cityPending = cents(row, PENDING);
+            long cityRefunded = cents(row, REFUNDED);
+            completed += cityCompleted;
+            pending += cityPending;
+            refunded += cityRefunded;
+            totals.getCities().add(new RevenueTotalsDTO.CityRevenue(Objects.toString(row.get("_id"), ""),
+                    fromCents(cityCompleted), fromCents(cityPending), fromCents(cityRefunded)));
+        }
+        totals.setCompletedRevenue(fromCents(completed));
+        totals.setPendingPayments(fromCents(pending));
+        totals.setRefunds(fromCents(refunded));
+        return totals;
+    }
+
+    /**
+     * Recompute every counter from the pickup requests and replace the counters collection
+     * SRP: Single responsibility - only handles the full rebuild
+     *
+     * Counter updates made while the rebuild runs may be lost; run it when payments are quiet
+     * and confirm with the drift check.
+     *
+     * @return number of city-day counters written
+     */
+    public long rebuild() {
+        long started = System.currentTimeMillis();
+        List<Document> pipeline = new ArrayList<>(expectedCountersPipeline(null, null));
+        pipeline.add(new Document("$out", COUNTERS_COLLECTION));
+        mongoTemplate.getCollection(REQUESTS_COLLECTION).aggregate(pipeline).allowDiskUse(true).toCollection();
+        long buckets = mongoTemplate.getCollection(COUNTERS_COLLECTION).countDocuments();
+        logger.info("Rebuilt {} revenue counters in {} ms", buckets, System.currentTimeMillis() - started);
+        return buckets;
+    }
+
+    /**
+     * Compare the stored counters with counters recomputed from the pickup requests
+     * SRP: Single responsibility - only handles drift detection
+     *
+     * @param from first day to check, or null for the beginning
+     * @param to last day to check, or null for the end
+     * @return number of checked and drifted buckets, and up to 100 drifted buckets with both values
+     */
+    public Map<String, Object> checkDrift(LocalDate from, LocalDate to) {
+        Map<String, Document> expected = new HashMap<>();
+        for (Document row : mongoTemplate.getCollection(REQUESTS_COLLECTION)
+                .aggregate(expectedCountersPipeline(from, to)).allowDiskUse(true)) {
+            expected.put(row.getString("_id"), row);
+        }
+
+        Query stored = Query.query(Criteria.where("day")
+                .gte(from != null ? from.toString() : FIRST_DAY)
+                .lte(to != null ? to.toString() : LAST_DAY));
+        long checked = 0;
+        long drifted = 0;
+        List<Map<String, Object>> drifts = new ArrayList<>();
+        for (PickupRevenueDaily actual : mongoTemplate.find(stored, PickupRevenueDaily.class)) {
+            checked++;
+            Document wanted = expected.remove(actual.getId());
+            long[] wantedCents = wanted == null
+                    ? new long[3]
+                    : new long[] {cents(wanted, COMPLETED), cents(wanted, PENDING), cents(wanted, REFUNDED)};
+            long[] actualCents = {actual.getCompletedCents(), actual.getPendingCents(), actual.getRefundedCents()};
+            if (!Arrays.equals(wantedCents, actualCents)) {
+                drifted++;
+                addDrift(drifts, actual.getId(), wantedCents, actualCents);
+            }
+        }
+        for (Map.Entry<String, Document> missing : expected.entrySet()) {
+            checked++;
+            drifted++;
+            Document wanted = missing.getValue();
+            addDrift(drifts, missing.getKey(),
+                    new long[] {cents(wanted, COMPLETED), cents(wanted, PENDING), cents(wanted, REFUNDED)}, new long[3]);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("checkedBuckets", checked);
+        report.put("driftedBuckets", drifted);
+        report.put("drifts", drifts);
+        return report;
+    }
+
+    private void increment(Contribution bucket, Update update) {
+        update.setOnInsert("city", bucket.city).setOnInsert("day", bucket.day.toString());
+        mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(bucket.getBucketId())), update,
+                FindAndModifyOptions.options().upsert(true), PickupRevenueDaily.class);
+    }
+
+    /**
+     * Aggregation over pickup_requests producing counter documents, bucketed exactly like contributionOf
+     */
+    private static List<Document> expectedCountersPipeline(LocalDate from, LocalDate to) {
+        ZoneId zone = ZoneId.systemDefault();
+        Document createdAt = new Document("$type", "date");
+        if (from != null) {
+            createdAt.append("$gte", Date.from(from.atStartOfDay(zone).toInstant()));
+        }
+        if (to != null) {
+            createdAt.append("$lt", Date.from(to.plusDays(1).atStartOfDay(zone).toInstant()));
+        }
+
+        Document counter = new Document("$switch", new Document("branches", List.of(
+                branch(new Document("$eq", List.of("$paymentStatus", PaymentStatus.COMPLETED.name())), COMPLETED),
+                branch(new Document("$eq", List.of("$paymentStatus", PaymentStatus.REFUNDED.name())), REFUNDED),
+                branch(new Document("$and", List.of(
+                        new Document("$eq", List.of("$paymentStatus", PaymentStatus.PENDING.name())),
+                        new Document("$ne", List.of("$status", PickupStatus.CANCELLED.name())))), PENDING)))
+                .append("default", null));
+        // Amounts are stored as strings; $round on decimals rounds half to even, as toCents does
+        Document cents = new Document("$toLong", new Document("$round", List.of(
+                new Document("$multiply", List.of(new Document("$toDecimal", "$finalAmount"), 100)), 0)));
+
+        Document group = new Document("_id", new Document("city", "$city").append("day", "$day"));
+        for (String name : List.of(COMPLETED, PENDING, REFUNDED)) {
+            group.append(name, new Document("$sum", new Document("$cond",
+                    List.of(new Document("$eq", List.of("$counter", name)), "$cents", 0L))));
+        }
+
+        return List.of(
+                new Document("$match", new Document("createdAt", createdAt)
+                        .append("finalAmount", new Document("$ne", null))),
+                new Document("$project", new Document("city", new Document("$ifNull", List.of("$city", "")))
+                        .append("day", new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                                .append("date", "$createdAt")
+                                .append("timezone", mongoTimeZone(zone))))
+                        .append("counter", counter)
+                        .append("cents", cents)),
+                new Document("$match", new Document("counter", new Document("$ne", null))),
+                new Document("$group", group),
+                new Document("$project", new Document("_id", new Document("$concat", List.of("$_id.city", "|", "$_id.day")))
+                        .append("city", "$_id.city")
+                        .append("day", "$_id.day")
+                        .append(COMPLETED, 1)
+                        .append(PENDING, 1)
+                        .append(REFUNDED, 1)));
+    }
+
+    private static Document branch(Document condition, String counter) {
+        return new Document("case", condition).append("then", counter);
+    }
+
+    /**
+     * MongoDB accepts Olson ids and "+hh:mm" offsets, but not "Z"
+     */
+    private static String mongoTimeZone(ZoneId zone) {
+        return zone instanceof ZoneOffset offset && offset.getTotalSeconds() == 0 ? "+00:00" : zone.getId();
+    }
+
+    private static void addDrift(List<Map<String, Object>> drifts, String bucketId, long[] expected, long[] actual) {
+        if (drifts.size() >= MAX_REPORTED_DRIFTS) {
+            return;
+        }
+        Map<String, Object> drift = new LinkedHashMap<>();
+        drift.put("bucket", bucketId);
+        drift.put("expectedCents", Map.of(COMPLETED, expected[0], PENDING, expected[1], REFUNDED, expected[2]));
+        drift.put("actualCents", Map.of(COMPLETED, actual[0], PENDING, actual[1], REFUNDED, actual[2]));
+        drifts.add(drift);
+    }
+
+    private static long cents(Document row, String field) {
+        Object value = row.get(field);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_EVEN).movePointRight(2).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * The counter a request feeds: its bucket, counter field and amount in cents
+     */
+    public static final class Contribution {
+
+        public static final Contribution NONE = new Contribution(null, null, null, 0);
+
+        private final String city;
+        private final LocalDate day;
+        private final String counter;
+        private final long cents;
+
+        private Contribution(String city, LocalDate day, String counter, long cents) {
+            this.city = city;
+            this.day = day;
+            this.counter = counter;
+            this.cents = cents;
+        }
+
+        String getBucketId() {
+            return day == null ? null : PickupRevenueDaily.idOf(city, day);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Contribution that)) {
+                return false;
+            }
+            return cents == that.cents && Objects.equals(city, that.city)
+                    && Objects.equals(day, that.day) && Objects.equals(counter, that.counter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(city, day, counter, cents);
+        }
+
+        @Override
+        public String toString() {
+            return this == NONE ? "none" : getBucketId() + " " + counter + " " + cents;
+        }
+    }
+}
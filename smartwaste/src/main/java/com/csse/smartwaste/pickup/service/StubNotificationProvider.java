@@ -0,0 +1,111 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.pickup.entity.NotificationOutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stub Notification Provider - Local stand-in for the email, SMS and push services
+ *
+ * Logs every message instead of sending it. To exercise the outbox under realistic conditions
+ * it can be made slow (a fixed latency plus random jitter per batch) and unreliable (a share of
+ * messages, or of whole batches, fails). Disable it once real providers are registered.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only simulates delivery
+ * - LSP (Liskov Substitution): Behaves like any other NotificationProvider, failures included
+ */
+@Component
+@ConditionalOnProperty(name = "smartwaste.notifications.stub.enabled", havingValue = "true", matchIfMissing = true)
+public class StubNotificationProvider implements NotificationProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubNotificationProvider.class);
+
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double failureRate;
+    private final double batchFailureRate;
+    private final double permitsPerSecond;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * The simulated latency, failure rates and rate limit come from configuration
+     */
+    @Autowired
+    public StubNotificationProvider(@Value("${smartwaste.notifications.stub.latency-ms:0}") long latencyMillis,
+                                    @Value("${smartwaste.notifications.stub.jitter-ms:0}") long jitterMillis,
+                                    @Value("${smartwaste.notifications.stub.failure-rate:0.0}") double failureRate,
+                                    @Value("${smartwaste.notifications.stub.batch-failure-rate:0.0}") double batchFailureRate,
+                                    @Value("${smartwaste.notifications.stub.rate-per-second:0}") double permitsPerSecond) {
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.jitterMillis = Math.max(0, jitterMillis);
+        this.failureRate = Math.min(1.0, Math.max(0.0, failureRate));
+        this.batchFailureRate = Math.min(1.0, Math.max(0.0, batchFailureRate));
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+
+    @Override
+    public Set<NotificationOutboxMessage.Channel> getChannels() {
+        return EnumSet.allOf(NotificationOutboxMessage.Channel.class);
+    }
+
+    @Override
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    @Override
+    public Map<String, String> deliver(NotificationOutboxMessage.Channel channel, List<NotificationOutboxMessage> batch) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMillis + (jitterMillis > 0 ? random.nextLong(jitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Stub " + channel + " delivery interrupted", e);
+            }
+        }
+        if (random.nextDouble() < batchFailureRate) {
+            throw new IllegalStateException("Simulated " + channel + " provider outage");
+        }
+
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (NotificationOutboxMessage message : batch) {
+            if (random.nextDouble() < failureRate) {
+                failures.put(message.getId(), "Simulated " + channel + " delivery failure");
+                continue;
+            }
+            switch (channel) {
+                case EMAIL:
+                    logger.info("Email sent to {}: Subject: {}, Message: {}",
+                            message.getRecipient(), message.getSubject(), message.getBody());
+                    break;
+                case SMS:
+                    logger.info("SMS sent to {}: {}", message.getRecipient(), message.getBody());
+                    break;
+                default:
+                    logger.info("App notification sent to user {}: Title: {}, Message: {}",
+                            message.getRecipient(), message.getSubject(), message.getBody());
+                    break;
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,385 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import com.csse.smartwaste.common.model.PickupStatus;
+import com.csse.smartwaste.common.model.PickupType;
+import com.csse.smartwaste.common.model.Role;
+import com.csse.smartwaste.common.model.WasteType;
+import com.csse.smartwaste.common.util.GeoUtil;
+import com.csse.smartwaste.common.util.UserValidationUtil;
+import com.csse.smartwaste.login.entity.User;
+import com.csse.smartwaste.login.repository.UserRepository;
+import com.csse.smartwaste.pickup.entity.PickupRequest;
+import com.csse.smartwaste.route.service.RouteService;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Worker Assignment Engine - Assigns open pickup requests to workers in bulk
+ *
+ * A dispatch run loads every open, unassigned request and builds an in-memory index of the
+ * active workers: their skills, daily capacity, home position (or the depot), the centre of
+ * their assigned bin route, and the pickups they already hold on each day. Requests are then
+ * taken in order of their pickup time. Each goes to the eligible worker with the lowest score,
+ * where the score adds the distance to the nearest point of that worker's day to how full the
+ * day already is. A worker is eligible if they still have room that day and, for waste types
+ * that need training, hold the matching skill. Every assignment updates the index, so later
+ * requests see the new loads and stops. Emergency requests are left out: workers claim them
+ * through EmergencyDispatchQueue, so the two never compete for the same request.
+ *
+ * The assignments are written in one unordered bulk update that only touches requests that are
+ * still unassigned. Notifications for the requests that were actually assigned are sent on a
+ * background thread.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for choosing and recording assignees
+ * - OCP (Open/Closed): Score weights and skilled waste types are configuration
+ * - DIP (Dependency Inversion): Depends on MongoTemplate, NotificationService and RouteService abstractions
+ *
+ * CODE SMELLS AVOIDED:
+ * - No per-request queries: Workers, loads and route positions are read once per run
+ * - No lost manual assignments: Writes are conditional on the request still being unassigned
+ * - No slow dispatch: Notification delivery never blocks the run
+ */
+@Service
+public class WorkerAssignmentEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerAssignmentEngine.class);
+
+    private static final List<PickupStatus> OPEN_STATUSES =
+            List.of(PickupStatus.PENDING, PickupStatus.SCHEDULED, PickupStatus.RESCHEDULED);
+    private static final List<PickupStatus> HELD_STATUSES =
+            List.of(PickupStatus.PENDING, PickupStatus.SCHEDULED, PickupStatus.RESCHEDULED, PickupStatus.IN_PROGRESS);
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationService notificationService;
+    private final RouteService routeService;
+    private final UserValidationUtil userValidationUtil;
+    private final UserRepository userRepository;
+    private final int defaultDailyCapacity;
+    private final double distanceWeight;
+    private final double loadWeight;
+    private final Set<WasteType> skilledWasteTypes = EnumSet.noneOf(WasteType.class);
+    private final int maxRequestsPerRun;
+    private final ExecutorService notifier;
+
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, NotificationService, RouteService, UserRepository)
+     */
+    @Autowired
+    public WorkerAssignmentEngine(MongoTemplate mongoTemplate, NotificationService notificationService,
+                                  RouteService routeService, UserValidationUtil userValidationUtil,
+                                  UserRepository userRepository,
+                                  @Value("${smartwaste.pickups.assignment.default-daily-capacity:12}") int defaultDailyCapacity,
+                                  @Value("${smartwaste.pickups.assignment.distance-weight-per-km:1.0}") double distanceWeight,
+                                  @Value("${smartwaste.pickups.assignment.load-weight:10.0}") double loadWeight,
+                                  @Value("${smartwaste.pickups.assignment.skilled-waste-types:E_WASTE,HAZARDOUS}") String[] skilledWasteTypes,
+                                  @Value("${smartwaste.pickups.assignment.max-requests-per-run:5000}") int maxRequestsPerRun) {
+        this.mongoTemplate = mongoTemplate;
+        this.notificationService = notificationService;
+        this.routeService = routeService;
+        this.userValidationUtil = userValidationUtil;
+        this.userRepository = userRepository;
+        this.defaultDailyCapacity = Math.max(0, defaultDailyCapacity);
+        this.distanceWeight = distanceWeight;
+        this.loadWeight = loadWeight;
+        for (String type : skilledWasteTypes) {
+            if (!type.isBlank()) {
+                this.skilledWasteTypes.add(WasteType.valueOf(type.trim()));
+            }
+        }
+        this.maxRequestsPerRun = Math.max(1, maxRequestsPerRun);
+        this.notifier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pickup-assignment-notifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdown();
+    }
+
+    /**
+     * Assign every open, unassigned non-emergency pickup request that an eligible worker can take
+     * SRP: Single responsibility - only drives one dispatch run
+     *
+     * @return summary of the run, also kept as the last run
+     */
+    @Scheduled(cron = "${smartwaste.pickups.assignment.dispatch-cron:0 */10 * * * *}")
+    public synchronized Map<String, Object> dispatch() {
+        long started = System.currentTimeMillis();
+        LocalDateTime stamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDate today = stamp.toLocalDate();
+
+        Query open = Query.query(Criteria.where("status").in(OPEN_STATUSES).and("assignedWorkerId").is(null)
+                        .and("pickupType").ne(PickupType.EMERGENCY))
+                .with(Sort.by(Sort.Direction.ASC, "scheduledDateTime", "preferredDateTime", "createdAt"))
+                .limit(maxRequestsPerRun);
+        List<PickupRequest> requests = mongoTemplate.find(open, PickupRequest.class);
+        Map<String, WorkerState> workers = requests.isEmpty() ? Map.of() : loadWorkers(today);
+
+        Map<String, WorkerState> chosen = new LinkedHashMap<>();
+        int unassignable = 0;
+        for (PickupRequest request : requests) {
+            LocalDate day = pickupDay(request, today);
+            WorkerState best = null;
+            double bestScore = Double.MAX_VALUE;
+            for (WorkerState worker : workers.values()) {
+                if (!worker.canTake(request.getWasteType(), day, skilledWasteTypes)) {
+                    continue;
+                }
+                double score = distanceWeight * worker.distanceKm(request, day)
+                        + loadWeight * worker.load(day) / worker.capacity;
+                if (score < bestScore) {
+                    bestScore = score;
+                    best = worker;
+                }
+            }
+            if (best == null) {
+                unassignable++;
+                continue;
+            }
+            best.take(request, day);
+            chosen.put(request.getRequestId(), best);
+        }
+
+        int assigned = chosen.isEmpty() ? 0 : write(chosen, stamp);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("ranAt", stamp);
+        summary.put("durationMs", System.currentTimeMillis() - started);
+        summary.put("openRequests", requests.size());
+        summary.put("workers", workers.size());
+        summary.put("assigned", assigned);
+        summary.put("noEligibleWorker", unassignable);
+        summary.put("changedConcurrently", chosen.size() - assigned);
+        lastRun = summary;
+        return summary;
+    }
+
+    /**
+     * Summary of the most recent dispatch run
+     */
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Set the waste types a worker may handle and how many pickups they take per day
+     * SRP: Single responsibility - only handles worker assignment settings
+     *
+     * @param workerId the worker identifier
+     * @param skills waste types the worker is trained for; null leaves them unchanged
+     * @param dailyPickupCapacity pickups per day; null uses the configured default
+     * @return the updated worker
+     */
+    public User updateWorkerSkills(String workerId, List<WasteType> skills, Integer dailyPickupCapacity) {
+        if (dailyPickupCapacity != null && dailyPickupCapacity < 0) {
+            throw new IllegalArgumentException("dailyPickupCapacity must not be negative");
+        }
+        User worker = userValidationUtil.validateUserAndRole(workerId, Role.Worker);
+        if (skills != null) {
+            worker.setSkills(new ArrayList<>(skills));
+        }
+        worker.setDailyPickupCapacity(dailyPickupCapacity);
+        worker.setUpdatedAt(LocalDateTime.now());
+        return userRepository.save(worker);
+    }
+
+    /**
+     * Write all assignments in one bulk update and notify for the ones that took effect
+     *
+     * @return number of requests actually assigned
+     */
+    private int write(Map<String, WorkerState> chosen, LocalDateTime stamp) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PickupRequest.class);
+        for (Map.Entry<String, WorkerState> entry : chosen.entrySet()) {
+            bulk.updateOne(
+                    Query.query(Criteria.where("_id").is(entry.getKey()).and("assignedWorkerId").is(null)
+                            .and("pickupType").ne(PickupType.EMERGENCY)),
+                    new Update()
+                            .set("assignedWorkerId", entry.getValue().id)
+                            .set("assignedWorkerName", entry.getValue().name)
+                            .set("updatedAt", stamp));
+        }
+        bulk.execute();
+
+        // Only requests carrying this run's stamp were still unassigned when written
+        List<PickupRequest> assigned = mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(chosen.keySet()).and("updatedAt").is(stamp)),
+                PickupRequest.class);
+        for (PickupRequest request : assigned) {
+            try {
+                notifier.execute(() -> {
+                    try {
+                        notificationService.sendWorkerAssignmentNotification(request);
+                    } catch (RuntimeException e) {
+                        logger.warn("Assignment notification failed for request {}", request.getRequestId(), e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.warn("Assignment notification skipped for request {}; shutting down", request.getRequestId());
+            }
+        }
+        return assigned.size();
+    }
+
+    /**
+     * Build the per-run worker index: skills, capacity, positions and the pickups already held per day
+     */
+    private Map<String, WorkerState> loadWorkers(LocalDate today) {
+        double[] depot = routeService.getDepot();
+        Query active = Query.query(Criteria.where("role").is(Role.Worker)
+                .and("status").nin(User.UserStatus.SUSPENDED, User.UserStatus.DELETED));
+        Map<String, WorkerState> workers = new LinkedHashMap<>();
+        for (User user : mongoTemplate.find(active, User.class)) {
+            WorkerState worker = new WorkerState(user,
+                    user.getDailyPickupCapacity() != null ? user.getDailyPickupCapacity() : defaultDailyCapacity);
+            if (user.getProfile() != null && user.getProfile().getGeo() != null) {
+                worker.addAnchor(user.getProfile().getGeo().getY(), user.getProfile().getGeo().getX());
+            } else {
+                worker.addAnchor(depot[0], depot[1]);
+            }
+            workers.put(user.getUserId(), worker);
+        }
+        if (workers.isEmpty()) {
+            return workers;
+        }
+
+        // Centre of each worker's assigned bin route
+        Aggregation routeCentres = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("assignedWorkerId").in(workers.keySet())
+                        .and("status").is(Bin.BinStatus.ACTIVE)
+                        .and("latitude").ne(null)
+                        .and("longitude").ne(null)),
+                Aggregation.group("assignedWorkerId").avg("latitude").as("latitude").avg("longitude").as("longitude"));
+        for (Document row : mongoTemplate.aggregate(routeCentres, Bin.class, Document.class).getMappedResults()) {
+            WorkerState worker = workers.get(String.valueOf(row.get("_id")));
+            if (worker != null && row.get("latitude") instanceof Number lat && row.get("longitude") instanceof Number lng) {
+                worker.addAnchor(lat.doubleValue(), lng.doubleValue());
+            }
+        }
+
+        // Pickups the workers already hold, by day
+        Query held = Query.query(Criteria.where("assignedWorkerId").in(workers.keySet()).and("status").in(HELD_STATUSES));
+        held.fields().include("assignedWorkerId", "scheduledDateTime", "preferredDateTime", "createdAt", "latitude", "longitude");
+        for (PickupRequest request : mongoTemplate.find(held, PickupRequest.class)) {
+            LocalDate day = pickupDay(request, today);
+            WorkerState worker = workers.get(request.getAssignedWorkerId());
+            if (worker != null && !day.isBefore(today)) {
+                worker.take(request, day);
+            }
+        }
+        return workers;
+    }
+
+    /**
+     * Day a request will be picked up: its slot, else its preferred time, and never before today
+     */
+    private static LocalDate pickupDay(PickupRequest request, LocalDate today) {
+        LocalDateTime time = request.getScheduledDateTime() != null
+                ? request.getScheduledDateTime()
+                : request.getPreferredDateTime();
+        LocalDate day = time != null ? time.toLocalDate() : today;
+        return day.isBefore(today) ? today : day;
+    }
+
+    /**
+     * One worker's skills, capacity and positions within a dispatch run
+     */
+    private static final class WorkerState {
+        private final String id;
+        private final String name;
+        private final Set<WasteType> skills = EnumSet.noneOf(WasteType.class);
+        private final int capacity;
+        // Fixed positions (home or depot, route centre) as {lat, lng} pairs
+        private final List<double[]> anchors = new ArrayList<>(2);
+        // Pickup positions per day; the list size is the day's load, entries may be null
+        private final Map<LocalDate, List<double[]>> days = new HashMap<>();
+
+        private WorkerState(User user, int capacity) {
+            this.id = user.getUserId();
+            this.name = user.getName();
+            if (user.getSkills() != null) {
+                this.skills.addAll(user.getSkills());
+            }
+            this.capacity = capacity;
+        }
+
+        private void addAnchor(double latitude, double longitude) {
+            anchors.add(new double[] {latitude, longitude});
+        }
+
+        private int load(LocalDate day) {
+            List<double[]> stops = days.get(day);
+            return stops == null ? 0 : stops.size();
+        }
+
+        private boolean canTake(WasteType wasteType, LocalDate day, Set<WasteType> skilledWasteTypes) {
+            if (load(day) >= capacity) {
+                return false;
+            }
+            return wasteType == null || !skilledWasteTypes.contains(wasteType) || skills.contains(wasteType);
+        }
+
+        private void take(PickupRequest request, LocalDate day) {
+            double[] position = request.getLatitude() != null && request.getLongitude() != null
+                    ? new double[] {request.getLatitude(), request.getLongitude()}
+                    : null;
+            days.computeIfAbsent(day, ignored -> new ArrayList<>()).add(position);
+        }
+
+        /**
+         * Distance from a request to the nearest point of this worker's day; 0 if the request has no coordinates
+         */
+        private double distanceKm(PickupRequest request, LocalDate day) {
+            if (request.getLatitude() == null || request.getLongitude() == null) {
+                return 0;
+            }
+            double latitude = request.getLatitude();
+            double longitude = request.getLongitude();
+            double nearest = Double.MAX_VALUE;
+            for (double[] anchor : anchors) {
+                nearest = Math.min(nearest, GeoUtil.haversineKm(latitude, longitude, anchor[0], anchor[1]));
+            }
+            for (double[] stop : days.getOrDefault(day, List.of())) {
+                if (stop != null) {
+                    nearest = Math.min(nearest, GeoUtil.haversineKm(latitude, longitude, stop[0], stop[1]));
+                }
+            }
+            return nearest;
+        }
+    }
+}
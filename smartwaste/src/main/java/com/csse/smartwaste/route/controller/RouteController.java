@@ -0,0 +1,47 @@
+package com.csse.smartwaste.route.controller;
+
+import com.csse.smartwaste.route.dto.FleetRouteRequest;
+import com.csse.smartwaste.route.dto.FleetRouteResponse;
+import com.csse.smartwaste.route.service.FleetRouteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Route Controller - Handles HTTP requests for dispatch route planning
+ * 
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for handling HTTP requests/responses
+ * - DIP (Dependency Inversion): Depends on service abstraction, not concrete implementation
+ * 
+ * CODE SMELLS AVOIDED:
+ * - No business logic: Delegates to service layer
+ * - Proper error handling: Uses global exception handler
+ */
+@RestController
+@RequestMapping("/api/routes")
+public class RouteController {
+
+    private final FleetRouteService fleetRouteService;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstraction (FleetRouteService) not concrete implementation
+     */
+    @Autowired
+    public RouteController(FleetRouteService fleetRouteService) {
+        this.fleetRouteService = fleetRouteService;
+    }
+
+    /**
+     * Split a zone's ACTIVE bins across several workers' trucks
+     * SRP: Single responsibility - only handles fleet planning HTTP request
+     * 
+     * @param request zone, workers, truck capacity and optional search time
+     * @return ResponseEntity containing one route per worker
+     */
+    @PostMapping("/fleet")
+    public ResponseEntity<FleetRouteResponse> planFleetRoutes(@RequestBody FleetRouteRequest request) {
+        return ResponseEntity.ok(fleetRouteService.planZone(request));
+    }
+}
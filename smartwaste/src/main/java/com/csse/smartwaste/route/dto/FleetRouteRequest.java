@@ -0,0 +1,43 @@
+package com.csse.smartwaste.route.dto;
+
+import java.util.List;
+
+/**
+ * Fleet Route Request DTO - Asks for a zone's ACTIVE bins to be split across several trucks
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only carries the fleet planning parameters
+ *
+ * CODE SMELLS AVOIDED:
+ * - No primitive obsession for optional values: Unset values fall back to configuration
+ */
+public class FleetRouteRequest {
+    private String zoneId;
+    private List<String> workerIds;
+    private Double capacityKg;
+    private Long timeBudgetMs;
+    private boolean assign;
+
+    // Default constructor
+    public FleetRouteRequest() {}
+
+    // Getters and Setters
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    /** One truck per worker, in the order given */
+    public List<String> getWorkerIds() { return workerIds; }
+    public void setWorkerIds(List<String> workerIds) { this.workerIds = workerIds; }
+
+    /** Load limit of each truck */
+    public Double getCapacityKg() { return capacityKg; }
+    public void setCapacityKg(Double capacityKg) { this.capacityKg = capacityKg; }
+
+    /** Search time; the configured default is used when absent */
+    public Long getTimeBudgetMs() { return timeBudgetMs; }
+    public void setTimeBudgetMs(Long timeBudgetMs) { this.timeBudgetMs = timeBudgetMs; }
+
+    /** Whether to assign the planned bins to the workers, so their daily routes pick them up */
+    public boolean isAssign() { return assign; }
+    public void setAssign(boolean assign) { this.assign = assign; }
+}
@@ -0,0 +1,58 @@
+package com.csse.smartwaste.route.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fleet Route Response DTO - One planned route per worker for a zone
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only carries the fleet plan and its totals
+ *
+ * CODE SMELLS AVOIDED:
+ * - No silent drops: Bins that fit no truck or have no coordinates are listed separately
+ */
+public class FleetRouteResponse {
+    private String zoneId;
+    private List<RouteResponse> routes = new ArrayList<>();
+    private double totalDistanceKm;
+    private List<String> unassignedBinIds = new ArrayList<>();
+    private List<String> unroutedBinIds = new ArrayList<>();
+    private boolean assigned;
+    private int restarts;
+    private int parallelism;
+    private long computeTimeMs;
+
+    // Default constructor
+    public FleetRouteResponse() {}
+
+    // Getters and Setters
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public List<RouteResponse> getRoutes() { return routes; }
+    public void setRoutes(List<RouteResponse> routes) { this.routes = routes; }
+
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public void setTotalDistanceKm(double totalDistanceKm) { this.totalDistanceKm = totalDistanceKm; }
+
+    /** Bins left out because no truck had capacity for them */
+    public List<String> getUnassignedBinIds() { return unassignedBinIds; }
+    public void setUnassignedBinIds(List<String> unassignedBinIds) { this.unassignedBinIds = unassignedBinIds; }
+
+    /** Bins left out because they have no coordinates */
+    public List<String> getUnroutedBinIds() { return unroutedBinIds; }
+    public void setUnroutedBinIds(List<String> unroutedBinIds) { this.unroutedBinIds = unroutedBinIds; }
+
+    public boolean isAssigned() { return assigned; }
+    public void setAssigned(boolean assigned) { this.assigned = assigned; }
+
+    public int getRestarts() { return restarts; }
+    public void setRestarts(int restarts) { this.restarts = restarts; }
+
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    public long getComputeTimeMs() { return computeTimeMs; }
+    public void setComputeTimeMs(long computeTimeMs) { this.computeTimeMs = computeTimeMs; }
+}
@@ -0,0 +1,71 @@
+package com.csse.smartwaste.route.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route Response DTO - A worker's planned collection route from the depot and back
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only carries the planned route and its totals
+ *
+ * CODE SMELLS AVOIDED:
+ * - No silent drops: Bins that could not be routed are listed instead of disappearing
+ * - Clear naming: Units are part of the field names
+ */
+public class RouteResponse {
+    private String workerId;
+    private double depotLatitude;
+    private double depotLongitude;
+    private List<RouteStopResponse> stops = new ArrayList<>();
+    private double returnDistanceKm;
+    private double totalDistanceKm;
+    private long estimatedDurationMinutes;
+    private LocalDateTime plannedAt;
+    private LocalDateTime estimatedCompletionAt;
+    private List<String> unroutedBinIds = new ArrayList<>();
+    // Set by fleet planning only
+    private Double expectedLoadKg;
+    private Double capacityKg;
+
+    // Default constructor
+    public RouteResponse() {}
+
+    // Getters and Setters
+    public String getWorkerId() { return workerId; }
+    public void setWorkerId(String workerId) { this.workerId = workerId; }
+
+    public double getDepotLatitude() { return depotLatitude; }
+    public void setDepotLatitude(double depotLatitude) { this.depotLatitude = depotLatitude; }
+
+    public double getDepotLongitude() { return depotLongitude; }
+    public void setDepotLongitude(double depotLongitude) { this.depotLongitude = depotLongitude; }
+
+    public List<RouteStopResponse> getStops() { return stops; }
+    public void setStops(List<RouteStopResponse> stops) { this.stops = stops; }
+
+    public double getReturnDistanceKm() { return returnDistanceKm; }
+    public void setReturnDistanceKm(double returnDistanceKm) { this.returnDistanceKm = returnDistanceKm; }
+
+    public double getTotalDistanceKm() { return totalDistanceKm; }
+    public void setTotalDistanceKm(double totalDistanceKm) { this.totalDistanceKm = totalDistanceKm; }
+
+    public long getEstimatedDurationMinutes() { return estimatedDurationMinutes; }
+    public void setEstimatedDurationMinutes(long estimatedDurationMinutes) { this.estimatedDurationMinutes = estimatedDurationMinutes; }
+
+    public LocalDateTime getPlannedAt() { return plannedAt; }
+    public void setPlannedAt(LocalDateTime plannedAt) { this.plannedAt = plannedAt; }
+
+    public LocalDateTime getEstimatedCompletionAt() { return estimatedCompletionAt; }
+    public void setEstimatedCompletionAt(LocalDateTime estimatedCompletionAt) { this.estimatedCompletionAt = estimatedCompletionAt; }
+
+    public List<String> getUnroutedBinIds() { return unroutedBinIds; }
+    public void setUnroutedBinIds(List<String> unroutedBinIds) { this.unroutedBinIds = unroutedBinIds; }
+
+    public Double getExpectedLoadKg() { return expectedLoadKg; }
+    public void setExpectedLoadKg(Double expectedLoadKg) { this.expectedLoadKg = expectedLoadKg; }
+
+    public Double getCapacityKg() { return capacityKg; }
+    public void setCapacityKg(Double capacityKg) { this.capacityKg = capacityKg; }
+}
@@ -0,0 +1,65 @@
+package com.csse.smartwaste.route.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Route Stop Response DTO - One bin in a worker's planned route
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only carries what the worker app needs to drive to one stop
+ *
+ * CODE SMELLS AVOIDED:
+ * - No bloated payloads: Only position, distances and arrival time, not the full bin
+ * - Clear naming: Units are part of the field names
+ */
+public class RouteStopResponse {
+    private int sequence;
+    private String binId;
+    private double latitude;
+    private double longitude;
+    private String address;
+    private double legDistanceKm;
+    private double cumulativeDistanceKm;
+    private LocalDateTime estimatedArrival;
+
+    // Default constructor
+    public RouteStopResponse() {}
+
+    // Constructor with all fields
+    public RouteStopResponse(int sequence, String binId, double latitude, double longitude, String address,
+                             double legDistanceKm, double cumulativeDistanceKm, LocalDateTime estimatedArrival) {
+        this.sequence = sequence;
+        this.binId = binId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.address = address;
+        this.legDistanceKm = legDistanceKm;
+        this.cumulativeDistanceKm = cumulativeDistanceKm;
+        this.estimatedArrival = estimatedArrival;
+    }
+
+    // Getters and Setters
+    public int getSequence() { return sequence; }
+    public void setSequence(int sequence) { this.sequence = sequence; }
+
+    public String getBinId() { return binId; }
+    public void setBinId(String binId) { this.binId = binId; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public double getLegDistanceKm() { return legDistanceKm; }
+    public void setLegDistanceKm(double legDistanceKm) { this.legDistanceKm = legDistanceKm; }
+
+    public double getCumulativeDistanceKm() { return cumulativeDistanceKm; }
+    public void setCumulativeDistanceKm(double cumulativeDistanceKm) { this.cumulativeDistanceKm = cumulativeDistanceKm; }
+
+    public LocalDateTime getEstimatedArrival() { return estimatedArrival; }
+    public void setEstimatedArrival(LocalDateTime estimatedArrival) { this.estimatedArrival = estimatedArrival; }
+}
@@ -0,0 +1,185 @@
+package com.csse.smartwaste.route.service;
+
+import com.csse.smartwaste.bin.dto.BinResponse;
+import com.csse.smartwaste.bin.service.BinService;
+import com.csse.smartwaste.collection.service.CollectionService;
+import com.csse.smartwaste.common.model.Role;
+import com.csse.smartwaste.common.util.UserValidationUtil;
+import com.csse.smartwaste.route.dto.FleetRouteRequest;
+import com.csse.smartwaste.route.dto.FleetRouteResponse;
+import com.csse.smartwaste.route.dto.RouteResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fleet Route Service - Splits a zone's ACTIVE bins across several workers' trucks
+ *
+ * The expected load of a bin is its average collected weight over a recent window. Bins
+ * without weighed collections are assumed to weigh the average of those that have them, or a
+ * configured default if none do. With assignment requested, the planned bins are assigned to
+ * their workers, so each worker's daily route and collection flow pick them up, and the zone's
+ * other ACTIVE bins (over capacity or without coordinates) lose any earlier assignment.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for assembling fleet plans
+ * - DIP (Dependency Inversion): Depends on BinService, CollectionService and the solver abstractions
+ *
+ * CODE SMELLS AVOIDED:
+ * - No algorithm in the service: The search is delegated to FleetRouteSolver
+ * - No unbounded work: Stop count and search time are capped by configuration
+ */
+@Service
+public class FleetRouteService {
+
+    private final BinService binService;
+    private final CollectionService collectionService;
+    private final RouteService routeService;
+    private final FleetRouteSolver fleetRouteSolver;
+    private final UserValidationUtil userValidationUtil;
+    private final int maxStops;
+    private final long defaultTimeBudgetMs;
+    private final long maxTimeBudgetMs;
+    private final int weightHistoryDays;
+    private final double defaultBinWeightKg;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (BinService, CollectionService, RouteService, FleetRouteSolver)
+     */
+    @Autowired
+    public FleetRouteService(BinService binService, CollectionService collectionService,
+                             RouteService routeService, FleetRouteSolver fleetRouteSolver,
+                             UserValidationUtil userValidationUtil,
+                             @Value("${smartwaste.routes.fleet.max-stops:2000}") int maxStops,
+                             @Value("${smartwaste.routes.fleet.default-time-budget-ms:2000}") long defaultTimeBudgetMs,
+                             @Value("${smartwaste.routes.fleet.max-time-budget-ms:10000}") long maxTimeBudgetMs,
+                             @Value("${smartwaste.routes.fleet.weight-history-days:90}") int weightHistoryDays,
+                             @Value("${smartwaste.routes.fleet.default-bin-weight-kg:10}") double defaultBinWeightKg) {
+        this.binService = binService;
+        this.collectionService = collectionService;
+        this.routeService = routeService;
+        this.fleetRouteSolver = fleetRouteSolver;
+        this.userValidationUtil = userValidationUtil;
+        this.maxStops = maxStops;
+        this.defaultTimeBudgetMs = defaultTimeBudgetMs;
+        this.maxTimeBudgetMs = maxTimeBudgetMs;
+        this.weightHistoryDays = weightHistoryDays;
+        this.defaultBinWeightKg = defaultBinWeightKg;
+    }
+
+    /**
+     * Plan one route per worker over a zone's ACTIVE bins
+     * SRP: Single responsibility - only handles fleet plan assembly
+     *
+     * @param request zone, workers, truck capacity and search time
+     * @return FleetRouteResponse with one route per worker
+     * @throws IllegalArgumentException if the request is incomplete or the zone is too large
+     */
+    public FleetRouteResponse planZone(FleetRouteRequest request) {
+        long started = System.currentTimeMillis();
+        validate(request);
+        List<String> workerIds = new ArrayList<>(new LinkedHashSet<>(request.getWorkerIds()));
+        workerIds.forEach(workerId -> userValidationUtil.validateUserAndRole(workerId, Role.Worker));
+        long timeBudgetMs = request.getTimeBudgetMs() == null
+                ? defaultTimeBudgetMs
+                : Math.max(1, Math.min(request.getTimeBudgetMs(), maxTimeBudgetMs));
+
+        FleetRouteResponse response = new FleetRouteResponse();
+        response.setZoneId(request.getZoneId());
+        response.setParallelism(fleetRouteSolver.getParallelism());
+
+        List<BinResponse> stops = new ArrayList<>();
+        for (BinResponse bin : binService.getActiveBinsInZone(request.getZoneId())) {
+            if (bin.getLatitude() != null && bin.getLongitude() != null) {
+                stops.add(bin);
+            } else {
+                response.getUnroutedBinIds().add(bin.getBinId());
+            }
+        }
+        if (stops.size() > maxStops) {
+            throw new IllegalArgumentException("Zone " + request.getZoneId() + " has " + stops.size()
+                    + " bins to route; at most " + maxStops + " are planned at once");
+        }
+
+        // Point 0 is the depot, point i is stops[i - 1]
+        double[] depot = routeService.getDepot();
+        double[] latitudes = new double[stops.size() + 1];
+        double[] longitudes = new double[stops.size() + 1];
+        double[] demands = expectedLoads(stops);
+        latitudes[0] = depot[0];
+        longitudes[0] = depot[1];
+        for (int i = 0; i < stops.size(); i++) {
+            latitudes[i + 1] = stops.get(i).getLatitude();
+            longitudes[i + 1] = stops.get(i).getLongitude();
+        }
+        FleetRouteSolver.Solution solution = fleetRouteSolver.solve(latitudes, longitudes, demands,
+                workerIds.size(), request.getCapacityKg(), timeBudgetMs);
+
+        double totalKm = 0;
+        for (int vehicle = 0; vehicle < workerIds.size(); vehicle++) {
+            List<BinResponse> ordered = new ArrayList<>();
+            for (int point : solution.getRoute(vehicle)) {
+                ordered.add(stops.get(point - 1));
+            }
+            RouteResponse route = routeService.describeRoute(workerIds.get(vehicle), ordered);
+            route.setExpectedLoadKg(solution.getLoad(vehicle));
+            route.setCapacityKg(request.getCapacityKg());
+            response.getRoutes().add(route);
+            totalKm += route.getTotalDistanceKm();
+
+            if (request.isAssign() && !ordered.isEmpty()) {
+                binService.assignBinsToWorker(workerIds.get(vehicle),
+                        ordered.stream().map(BinResponse::getBinId).toList());
+            }
+        }
+        for (int point : solution.getUnassigned()) {
+            response.getUnassignedBinIds().add(stops.get(point - 1).getBinId());
+        }
+        if (request.isAssign()) {
+            // Zone bins this plan leaves out must not keep a worker from an earlier plan
+            List<String> dropped = new ArrayList<>(response.getUnassignedBinIds());
+            dropped.addAll(response.getUnroutedBinIds());
+            binService.assignBinsToWorker(null, dropped);
+        }
+
+        response.setTotalDistanceKm(totalKm);
+        response.setAssigned(request.isAssign());
+        response.setRestarts(solution.getRestarts());
+        response.setComputeTimeMs(System.currentTimeMillis() - started);
+        return response;
+    }
+
+    private double[] expectedLoads(List<BinResponse> stops) {
+        Map<String, Double> averages = collectionService.getAverageCollectedWeights(
+                stops.stream().map(BinResponse::getBinId).toList(),
+                LocalDateTime.now().minusDays(weightHistoryDays));
+        double fallback = averages.isEmpty()
+                ? defaultBinWeightKg
+                : averages.values().stream().mapToDouble(Double::doubleValue).average().orElse(defaultBinWeightKg);
+
+        double[] demands = new double[stops.size() + 1];
+        for (int i = 0; i < stops.size(); i++) {
+            demands[i + 1] = averages.getOrDefault(stops.get(i).getBinId(), fallback);
+        }
+        return demands;
+    }
+
+    private static void validate(FleetRouteRequest request) {
+        if (request == null || request.getZoneId() == null || request.getZoneId().isBlank()) {
+            throw new IllegalArgumentException("zoneId is required");
+        }
+        if (request.getWorkerIds() == null || request.getWorkerIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one workerId is required");
+        }
+        if (request.getCapacityKg() == null || request.getCapacityKg() <= 0) {
+            throw new IllegalArgumentException("capacityKg must be positive");
+        }
+    }
+}
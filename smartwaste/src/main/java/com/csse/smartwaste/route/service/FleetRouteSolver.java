@@ -0,0 +1,426 @@
+package com.csse.smartwaste.route.service;
+
+import com.csse.smartwaste.common.util.GeoUtil;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Fleet Route Solver - Splits stops across capacity-limited vehicles and orders each vehicle's tour
+ *
+ * Every worker thread of a fork-join pool runs independent restarts until the time budget is
+ * spent. A restart builds a sweep solution from a random angle and direction, then applies
+ * local search: 2-opt and Or-opt inside each tour, relocation of a stop to another vehicle and
+ * exchange of two stops between vehicles, each only when capacities still hold. The best
+ * solution over all restarts wins: fewest stops left out first, then shortest total distance.
+ *
+ * Search k always starts from the same seed, so the same input gives the same plan whenever the
+ * searches finish the same restarts. With a restart cap that is reached within the time budget
+ * the result does not depend on timing at all.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for the vehicle routing search
+ * - OCP (Open/Closed): Single-tour moves are reused from RoutePlanner rather than duplicated
+ *
+ * CODE SMELLS AVOIDED:
+ * - No shared mutable state: Each restart owns its arrays; threads only meet when results are compared
+ * - No unbounded latency: All loops check the common deadline
+ */
+@Component
+public class FleetRouteSolver {
+
+    private static final double EPSILON = 1e-9;
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final ForkJoinPool pool;
+    private final int maxRestarts;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     *
+     * @param parallelism number of concurrent searches; 0 uses every available core
+     * @param maxRestarts restarts per search; 0 searches until the time budget is spent
+     */
+    @Autowired
+    public FleetRouteSolver(@Value("${smartwaste.routes.fleet.parallelism:0}") int parallelism,
+                            @Value("${smartwaste.routes.fleet.max-restarts:0}") int maxRestarts) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxRestarts = Math.max(0, maxRestarts);
+    }
+
+    /**
+     * Solve a capacitated vehicle routing problem
+     * SRP: Single responsibility - only handles the parallel search
+     *
+     * @param latitudes point latitudes in degrees; point 0 is the depot
+     * @param longitudes point longitudes in degrees
+     * @param demands expected load of every point; demands[0] is ignored
+     * @param vehicles number of vehicles, all starting and ending at the depot
+     * @param capacity load limit of every vehicle
+     * @param timeBudgetMs wall-clock time to search for
+     * @return the best solution found
+     */
+    public Solution solve(double[] latitudes, double[] longitudes, double[] demands,
+                          int vehicles, double capacity, long timeBudgetMs) {
+        if (vehicles < 1) {
+            throw new IllegalArgumentException("At least one vehicle is required");
+        }
+        if (latitudes.length == 0 || latitudes.length != longitudes.length || latitudes.length != demands.length) {
+            throw new IllegalArgumentException("A fleet route needs a depot and matching coordinates and demands");
+        }
+        long deadline = System.nanoTime() + Math.max(1, timeBudgetMs) * 1_000_000L;
+        Problem problem = new Problem(latitudes, longitudes, demands, vehicles, capacity);
+        if (problem.n == 1) {
+            return sweep(problem, new SplittableRandom(SEED)); // nothing to route
+        }
+
+        List<ForkJoinTask<Solution>> searches = new ArrayList<>();
+        for (int search = 0; search < pool.getParallelism(); search++) {
+            long seed = SEED + search * 0x9E3779B97F4A7C15L;
+            searches.add(pool.submit(() -> search(problem, new SplittableRandom(seed), maxRestarts, deadline)));
+        }
+
+        Solution best = null;
+        int restarts = 0;
+        for (ForkJoinTask<Solution> search : searches) {
+            Solution found = search.join();
+            restarts += found.restarts;
+            if (best == null || found.isBetterThan(best)) {
+                best = found;
+            }
+        }
+        best.restarts = restarts;
+        return best;
+    }
+
+    /**
+     * Number of searches run side by side
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static Solution search(Problem problem, SplittableRandom random, int maxRestarts, long deadline) {
+        Solution best = null;
+        int restarts = 0;
+        do {
+            Solution candidate = sweep(problem, random);
+            improve(problem, candidate, deadline);
+            restarts++;
+            if (best == null || candidate.isBetterThan(best)) {
+                best = candidate;
+            }
+        } while ((maxRestarts == 0 || restarts < maxRestarts) && System.nanoTime() < deadline);
+        best.restarts = restarts;
+        return best;
+    }
+
+    /**
+     * Fill vehicles one after another in angular order around the depot
+     */
+    private static Solution sweep(Problem problem, SplittableRandom random) {
+        Solution solution = new Solution(problem);
+        int count = problem.byAngle.length;
+        int offset = count == 0 ? 0 : random.nextInt(count);
+        boolean clockwise = random.nextBoolean();
+        int vehicle = 0;
+        for (int k = 0; k < count; k++) {
+            int index = clockwise ? (offset - k + count) % count : (offset + k) % count;
+            int point = problem.byAngle[index];
+            double demand = problem.demands[point];
+            while (vehicle < problem.vehicles && solution.loads[vehicle] + demand > problem.capacity
+                    && solution.sizes[vehicle] > 1) {
+                vehicle++;
+            }
+            if (vehicle < problem.vehicles && solution.loads[vehicle] + demand <= problem.capacity) {
+                solution.append(vehicle, point);
+            } else {
+                solution.unassigned.add(point); // retried once local search has freed capacity
+            }
+            vehicle = Math.min(vehicle, problem.vehicles - 1);
+        }
+        return solution;
+    }
+
+    private static void improve(Problem problem, Solution solution, long deadline) {
+        boolean[] dirty = new boolean[problem.vehicles];
+        Arrays.fill(dirty, true);
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            for (int vehicle = 0; vehicle < problem.vehicles; vehicle++) {
+                if (dirty[vehicle]) {
+                    RoutePlanner.improve(solution.routes[vehicle], solution.sizes[vehicle],
+                            problem.distances, problem.n, deadline);
+                    dirty[vehicle] = false;
+                }
+            }
+            improved = relocate(problem, solution, dirty, deadline);
+            improved |= exchange(problem, solution, dirty, deadline);
+            improved |= insertUnassigned(problem, solution, dirty);
+        }
+    }
+
+    /**
+     * Move one stop to the cheapest feasible position in another vehicle's tour
+     */
+    private static boolean relocate(Problem problem, Solution solution, boolean[] dirty, long deadline) {
+        double[] d = problem.distances;
+        int n = problem.n;
+        boolean changed = false;
+        for (int from = 0; from < problem.vehicles; from++) {
+            int[] route = solution.routes[from];
+            for (int i = 1; i < solution.sizes[from]; i++) {
+                int point = route[i];
+                int previous = route[i - 1];
+                int next = i + 1 < solution.sizes[from] ? route[i + 1] : 0;
+                double bestCost = d[previous * n + point] + d[point * n + next] - d[previous * n + next] - EPSILON;
+                int bestVehicle = -1;
+                int bestPosition = -1;
+                for (int to = 0; to < problem.vehicles; to++) {
+                    if (to == from || solution.loads[to] + problem.demands[point] > problem.capacity) {
+                        continue;
+                    }
+                    int position = cheapestInsertion(problem, solution, to, point);
+                    double cost = insertionCost(problem, solution, to, position, point);
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestVehicle = to;
+                        bestPosition = position;
+                    }
+                }
+                if (bestVehicle >= 0) {
+                    solution.remove(from, i);
+                    solution.insert(bestVehicle, bestPosition, point);
+                    dirty[from] = true;
+                    dirty[bestVehicle] = true;
+                    changed = true;
+                    i--;
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                return changed;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Swap two stops of different vehicles when both tours get shorter in total
+     */
+    private static boolean exchange(Problem problem, Solution solution, boolean[] dirty, long deadline) {
+        double[] d = problem.distances;
+        int n = problem.n;
+        boolean changed = false;
+        for (int a = 0; a < problem.vehicles; a++) {
+            for (int b = a + 1; b < problem.vehicles; b++) {
+                int[] routeA = solution.routes[a];
+                int[] routeB = solution.routes[b];
+                for (int i = 1; i < solution.sizes[a]; i++) {
+                    int pa = routeA[i - 1];
+                    int na = i + 1 < solution.sizes[a] ? routeA[i + 1] : 0;
+                    for (int j = 1; j < solution.sizes[b]; j++) {
+                        int c = routeA[i];
+                        int e = routeB[j];
+                        double shift = problem.demands[e] - problem.demands[c];
+                        if (solution.loads[a] + shift > problem.capacity || solution.loads[b] - shift > problem.capacity) {
+                            continue;
+                        }
+                        int pb = routeB[j - 1];
+                        int nb = j + 1 < solution.sizes[b] ? routeB[j + 1] : 0;
+                        double delta = d[pa * n + e] + d[e * n + na] - d[pa * n + c] - d[c * n + na]
+                                + d[pb * n + c] + d[c * n + nb] - d[pb * n + e] - d[e * n + nb];
+                        if (delta < -EPSILON) {
+                            routeA[i] = e;
+                            routeB[j] = c;
+                            solution.loads[a] += shift;
+                            solution.loads[b] -= shift;
+                            dirty[a] = true;
+                            dirty[b] = true;
+                            changed = true;
+                        }
+                    }
+                }
+                if (System.nanoTime() >= deadline) {
+                    return changed;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Place left-out stops wherever capacity has become free
+     */
+    private static boolean insertUnassigned(Problem problem, Solution solution, boolean[] dirty) {
+        boolean changed = false;
+        for (int k = solution.unassigned.size() - 1; k >= 0; k--) {
+            int point = solution.unassigned.get(k);
+            int bestVehicle = -1;
+            int bestPosition = -1;
+            double bestCost = Double.MAX_VALUE;
+            for (int vehicle = 0; vehicle < problem.vehicles; vehicle++) {
+                if (solution.loads[vehicle] + problem.demands[point] > problem.capacity) {
+                    continue;
+                }
+                int position = cheapestInsertion(problem, solution, vehicle, point);
+                double cost = insertionCost(problem, solution, vehicle, position, point);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestVehicle = vehicle;
+                    bestPosition = position;
+                }
+            }
+            if (bestVehicle >= 0) {
+                solution.unassigned.remove(k);
+                solution.insert(bestVehicle, bestPosition, point);
+                dirty[bestVehicle] = true;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Position at which inserting the point into the vehicle's tour adds the least distance
+     */
+    private static int cheapestInsertion(Problem problem, Solution solution, int vehicle, int point) {
+        int best = 1;
+        double bestCost = Double.MAX_VALUE;
+        for (int position = 1; position <= solution.sizes[vehicle]; position++) {
+            double cost = insertionCost(problem, solution, vehicle, position, point);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = position;
+            }
+        }
+        return best;
+    }
+
+    private static double insertionCost(Problem problem, Solution solution, int vehicle, int position, int point) {
+        double[] d = problem.distances;
+        int n = problem.n;
+        int[] route = solution.routes[vehicle];
+        int x = route[position - 1];
+        int y = position < solution.sizes[vehicle] ? route[position] : 0;
+        return d[x * n + point] + d[point * n + y] - d[x * n + y];
+    }
+
+    /**
+     * Immutable input shared by all searches
+     */
+    private static final class Problem {
+        private final double[] distances;
+        private final double[] demands;
+        private final int n;
+        private final int vehicles;
+        private final double capacity;
+        // Stops (not the depot) ordered by bearing from the depot
+        private final int[] byAngle;
+
+        private Problem(double[] latitudes, double[] longitudes, double[] demands, int vehicles, double capacity) {
+            this.distances = GeoUtil.distanceMatrixKm(latitudes, longitudes);
+            this.demands = demands;
+            this.n = demands.length;
+            this.vehicles = vehicles;
+            this.capacity = capacity;
+
+            double[] bearing = new double[n];
+            double scale = Math.cos(Math.toRadians(latitudes[0]));
+            Integer[] stops = new Integer[n - 1];
+            for (int point = 1; point < n; point++) {
+                bearing[point] = Math.atan2(latitudes[point] - latitudes[0], (longitudes[point] - longitudes[0]) * scale);
+                stops[point - 1] = point;
+            }
+            Arrays.sort(stops, (p, q) -> Double.compare(bearing[p], bearing[q]));
+            this.byAngle = Arrays.stream(stops).mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * One assignment of stops to vehicles, with each vehicle's tour in visiting order
+     */
+    public static final class Solution {
+        private final int[][] routes;
+        private final int[] sizes;
+        private final double[] loads;
+        private final List<Integer> unassigned = new ArrayList<>();
+        private final Problem problem;
+        private int restarts;
+
+        private Solution(Problem problem) {
+            this.problem = problem;
+            this.routes = new int[problem.vehicles][problem.n];
+            this.sizes = new int[problem.vehicles];
+            this.loads = new double[problem.vehicles];
+            Arrays.fill(sizes, 1); // position 0 holds the depot
+        }
+
+        private void append(int vehicle, int point) {
+            routes[vehicle][sizes[vehicle]++] = point;
+            loads[vehicle] += problem.demands[point];
+        }
+
+        private void insert(int vehicle, int position, int point) {
+            int[] route = routes[vehicle];
+            System.arraycopy(route, position, route, position + 1, sizes[vehicle] - position);
+            route[position] = point;
+            sizes[vehicle]++;
+            loads[vehicle] += problem.demands[point];
+        }
+
+        private void remove(int vehicle, int position) {
+            int[] route = routes[vehicle];
+            int point = route[position];
+            System.arraycopy(route, position + 1, route, position, sizes[vehicle] - position - 1);
+            sizes[vehicle]--;
+            loads[vehicle] -= problem.demands[point];
+        }
+
+        private boolean isBetterThan(Solution other) {
+            if (unassigned.size() != other.unassigned.size()) {
+                return unassigned.size() < other.unassigned.size();
+            }
+            return getTotalDistance() < other.getTotalDistance() - EPSILON;
+        }
+
+        /** Stops of a vehicle in visiting order, without the depot */
+        public int[] getRoute(int vehicle) {
+            int[] route = new int[sizes[vehicle] - 1];
+            System.arraycopy(routes[vehicle], 1, route, 0, route.length);
+            return route;
+        }
+
+        /** Expected load of a vehicle */
+        public double getLoad(int vehicle) { return loads[vehicle]; }
+
+        /** Stops that fit in no vehicle */
+        public int[] getUnassigned() { return unassigned.stream().mapToInt(Integer::intValue).toArray(); }
+
+        /** Sum of all closed tours */
+        public double getTotalDistance() {
+            double total = 0;
+            for (int vehicle = 0; vehicle < routes.length; vehicle++) {
+                if (sizes[vehicle] > 1) {
+                    total += RoutePlanner.tourLength(routes[vehicle], sizes[vehicle], problem.distances, problem.n);
+                }
+            }
+            return total;
+        }
+
+        /** Restarts searched across all threads */
+        public int getRestarts() { return restarts; }
+    }
+}
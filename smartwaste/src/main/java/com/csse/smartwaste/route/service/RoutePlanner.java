@@ -0,0 +1,260 @@
+package com.csse.smartwaste.route.service;
+
+import com.csse.smartwaste.common.util.GeoUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Route Planner - Orders the stops of a closed tour that starts and ends at a depot
+ *
+ * A nearest-neighbour tour is built from the depot, then improved with 2-opt (reversing a
+ * stretch of the tour) and Or-opt (moving a run of one to three stops elsewhere, either way
+ * round) until neither finds a shorter tour or the time budget runs out. All work is done on
+ * int and double arrays over a precomputed distance matrix.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for ordering stops; loading bins and ETAs live elsewhere
+ * - OCP (Open/Closed): Improvement moves are separate steps, so another move can be added alongside
+ *
+ * CODE SMELLS AVOIDED:
+ * - No repeated trigonometry: Every distance is computed once, into the matrix
+ * - No unbounded latency: Improvement stops at the time budget and keeps the best tour so far
+ */
+@Component
+public class RoutePlanner {
+
+    private static final double EPSILON = 1e-9;
+    private static final int MAX_SEGMENT_LENGTH = 3;
+
+    private final long timeBudgetNanos;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     *
+     * @param timeBudgetMs upper bound on improvement time per route
+     */
+    @Autowired
+    public RoutePlanner(@Value("${smartwaste.routes.time-budget-ms:150}") long timeBudgetMs) {
+        this.timeBudgetNanos = Math.max(1, timeBudgetMs) * 1_000_000L;
+    }
+
+    /**
+     * Plan a tour over a depot and stops
+     * SRP: Single responsibility - only handles tour construction and improvement
+     *
+     * @param latitudes point latitudes in degrees; index 0 is the depot
+     * @param longitudes point longitudes in degrees, same length as latitudes
+     * @return the planned tour
+     */
+    public Tour plan(double[] latitudes, double[] longitudes) {
+        if (latitudes.length == 0 || latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("A route needs a depot and matching coordinates");
+        }
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        int n = latitudes.length;
+        double[] distances = GeoUtil.distanceMatrixKm(latitudes, longitudes);
+
+        int[] tour = nearestNeighbour(distances, n);
+        improve(tour, n, distances, n, deadline);
+        return new Tour(tour, distances, n);
+    }
+
+    /**
+     * Improve a closed tour in place with 2-opt and Or-opt until neither helps or time runs out
+     * Shared with the fleet solver, which improves each vehicle's tour over a larger matrix.
+     *
+     * @param tour point indexes; tour[0] is the depot and stays in place
+     * @param length number of points in the tour
+     * @param distances row-major distance matrix
+     * @param stride row length of the distance matrix
+     * @param deadline System.nanoTime() value at which to stop
+     * @return true if the tour was changed
+     */
+    static boolean improve(int[] tour, int length, double[] distances, int stride, long deadline) {
+        if (length <= 3) {
+            return false; // every order of up to two stops is equally long
+        }
+        boolean changed = false;
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = twoOpt(tour, length, distances, stride, deadline);
+            improved |= orOpt(tour, length, distances, stride, deadline);
+            changed |= improved;
+        }
+        return changed;
+    }
+
+    /**
+     * Greedy construction: always drive to the closest stop not yet visited
+     */
+    private static int[] nearestNeighbour(double[] distances, int n) {
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        for (int position = 1; position < n; position++) {
+            int from = tour[position - 1];
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int candidate = 1; candidate < n; candidate++) {
+                if (!visited[candidate] && distances[from * n + candidate] < bestDistance) {
+                    best = candidate;
+                    bestDistance = distances[from * n + candidate];
+                }
+            }
+            tour[position] = best;
+            visited[best] = true;
+        }
+        return tour;
+    }
+
+    /**
+     * Replace edges (a,b) and (c,d) by (a,c) and (b,d) whenever that is shorter
+     *
+     * @return true if the tour was changed
+     */
+    private static boolean twoOpt(int[] tour, int n, double[] distances, int stride, long deadline) {
+        boolean changed = false;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 0; i < n - 2; i++) {
+                int a = tour[i];
+                int b = tour[i + 1];
+                double ab = distances[a * stride + b];
+                for (int j = i + 2; j < n; j++) {
+                    int c = tour[j];
+                    int d = tour[j + 1 == n ? 0 : j + 1];
+                    if (d == a) {
+                        continue; // the two edges share the depot
+                    }
+                    double delta = distances[a * stride + c] + distances[b * stride + d] - ab - distances[c * stride + d];
+                    if (delta < -EPSILON) {
+                        reverse(tour, i + 1, j);
+                        b = tour[i + 1];
+                        ab = distances[a * stride + b];
+                        improved = true;
+                        changed = true;
+                    }
+                }
+                if (System.nanoTime() >= deadline) {
+                    return changed;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Move a run of up to three consecutive stops between two other stops, in either direction
+     *
+     * @return true if the tour was changed
+     */
+    private static boolean orOpt(int[] tour, int n, double[] distances, int stride, long deadline) {
+        boolean changed = false;
+        for (int length = 1; length <= MAX_SEGMENT_LENGTH && length < n - 1; length++) {
+            for (int start = 1; start + length <= n; start++) {
+                int end = start + length - 1;
+                int previous = tour[start - 1];
+                int first = tour[start];
+                int last = tour[end];
+                int next = tour[end + 1 == n ? 0 : end + 1];
+                double removalGain = distances[previous * stride + first] + distances[last * stride + next]
+                        - distances[previous * stride + next];
+                if (removalGain <= EPSILON) {
+                    continue;
+                }
+
+                int bestEdge = -1;
+                boolean bestReversed = false;
+                double bestCost = removalGain - EPSILON;
+                for (int edge = 0; edge < n; edge++) {
+                    if (edge >= start - 1 && edge <= end) {
+                        continue; // edges touching the run itself
+                    }
+                    int x = tour[edge];
+                    int y = tour[edge + 1 == n ? 0 : edge + 1];
+                    double xy = distances[x * stride + y];
+                    double forward = distances[x * stride + first] + distances[last * stride + y] - xy;
+                    double backward = distances[x * stride + last] + distances[first * stride + y] - xy;
+                    if (forward < bestCost) {
+                        bestCost = forward;
+                        bestEdge = edge;
+                        bestReversed = false;
+                    }
+                    if (backward < bestCost) {
+                        bestCost = backward;
+                        bestEdge = edge;
+                        bestReversed = true;
+                    }
+                }
+                if (bestEdge >= 0) {
+                    move(tour, start, length, bestEdge, bestReversed);
+                    changed = true;
+                }
+            }
+            if (System.nanoTime() >= deadline) {
+                return changed;
+            }
+        }
+        return changed;
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int swap = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = swap;
+        }
+    }
+
+    /**
+     * Take tour[start .. start+length-1] out and put it back after the stop at position edge
+     */
+    private static void move(int[] tour, int start, int length, int edge, boolean reversed) {
+        int[] segment = new int[length];
+        System.arraycopy(tour, start, segment, 0, length);
+        if (reversed) {
+            reverse(segment, 0, length - 1);
+        }
+        if (edge < start) {
+            // Shift tour[edge+1 .. start-1] right to open a gap after edge
+            System.arraycopy(tour, edge + 1, tour, edge + 1 + length, start - edge - 1);
+            System.arraycopy(segment, 0, tour, edge + 1, length);
+        } else {
+            // Shift tour[start+length .. edge] left over the old place of the run
+            System.arraycopy(tour, start + length, tour, start, edge - start - length + 1);
+            System.arraycopy(segment, 0, tour, edge - length + 1, length);
+        }
+    }
+
+    /**
+     * Length of a closed tour, including the return to tour[0]
+     */
+    static double tourLength(int[] tour, int length, double[] distances, int stride) {
+        double total = 0;
+        for (int position = 1; position < length; position++) {
+            total += distances[tour[position - 1] * stride + tour[position]];
+        }
+        return total + distances[tour[length - 1] * stride + tour[0]];
+    }
+
+    /**
+     * A planned closed tour
+     */
+    public static final class Tour {
+        private final int[] order;
+        private final double totalKm;
+
+        private Tour(int[] order, double[] distances, int n) {
+            this.order = order;
+            this.totalKm = tourLength(order, n, distances, n);
+        }
+
+        /** Point indexes in visiting order; position 0 is always the depot */
+        public int[] getOrder() { return order.clone(); }
+
+        /** Length of the whole tour including the return to the depot, in kilometres */
+        public double getTotalKm() { return totalKm; }
+    }
+}
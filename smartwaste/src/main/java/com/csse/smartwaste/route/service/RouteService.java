@@ -0,0 +1,154 @@
+package com.csse.smartwaste.route.service;
+
+import com.csse.smartwaste.bin.dto.BinResponse;
+import com.csse.smartwaste.bin.service.BinService;
+import com.csse.smartwaste.common.util.GeoUtil;
+import com.csse.smartwaste.route.dto.RouteResponse;
+import com.csse.smartwaste.route.dto.RouteStopResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route Service - Plans a worker's daily route over their assigned ACTIVE bins
+ *
+ * The route starts and ends at the depot. Arrival times assume a constant average driving speed
+ * plus a fixed handling time at every bin.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for turning assigned bins into a timed route
+ * - DIP (Dependency Inversion): Depends on BinService and RoutePlanner abstractions
+ *
+ * CODE SMELLS AVOIDED:
+ * - No magic numbers: Depot, speed and handling time are configuration
+ * - No algorithm in the service: Stop ordering is delegated to RoutePlanner
+ */
+@Service
+public class RouteService {
+
+    private static final double MINUTES_PER_HOUR = 60.0;
+
+    private final BinService binService;
+    private final RoutePlanner routePlanner;
+    private final double depotLatitude;
+    private final double depotLongitude;
+    private final double averageSpeedKmh;
+    private final double serviceMinutesPerStop;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (BinService, RoutePlanner) not concrete implementation
+     */
+    @Autowired
+    public RouteService(BinService binService, RoutePlanner routePlanner,
+                        @Value("${smartwaste.routes.depot-latitude:6.9271}") double depotLatitude,
+                        @Value("${smartwaste.routes.depot-longitude:79.8612}") double depotLongitude,
+                        @Value("${smartwaste.routes.average-speed-kmh:25}") double averageSpeedKmh,
+                        @Value("${smartwaste.routes.service-minutes-per-stop:2}") double serviceMinutesPerStop) {
+        if (averageSpeedKmh <= 0) {
+            throw new IllegalArgumentException("smartwaste.routes.average-speed-kmh must be positive");
+        }
+        this.binService = binService;
+        this.routePlanner = routePlanner;
+        this.depotLatitude = depotLatitude;
+        this.depotLongitude = depotLongitude;
+        this.averageSpeedKmh = averageSpeedKmh;
+        this.serviceMinutesPerStop = Math.max(0, serviceMinutesPerStop);
+    }
+
+    /**
+     * Plan a worker's route over the bins assigned to them that still await collection
+     * SRP: Single responsibility - only handles route assembly
+     *
+     * @param workerId the worker identifier
+     * @return RouteResponse with ordered stops, total distance and arrival estimates
+     */
+    public RouteResponse planRoute(String workerId) {
+        List<BinResponse> stops = new ArrayList<>();
+        List<String> unrouted = new ArrayList<>();
+        for (BinResponse bin : binService.getActiveBinsAssignedTo(workerId)) {
+            if (bin.getLatitude() != null && bin.getLongitude() != null) {
+                stops.add(bin);
+            } else {
+                unrouted.add(bin.getBinId());
+            }
+        }
+
+        List<BinResponse> ordered = new ArrayList<>(stops.size());
+        if (!stops.isEmpty()) {
+            // Index 0 is the depot, index i is stops[i - 1]
+            double[] latitudes = new double[stops.size() + 1];
+            double[] longitudes = new double[stops.size() + 1];
+            latitudes[0] = depotLatitude;
+            longitudes[0] = depotLongitude;
+            for (int i = 0; i < stops.size(); i++) {
+                latitudes[i + 1] = stops.get(i).getLatitude();
+                longitudes[i + 1] = stops.get(i).getLongitude();
+            }
+            int[] order = routePlanner.plan(latitudes, longitudes).getOrder();
+            for (int position = 1; position < order.length; position++) {
+                ordered.add(stops.get(order[position] - 1));
+            }
+        }
+
+        RouteResponse response = describeRoute(workerId, ordered);
+        response.setUnroutedBinIds(unrouted);
+        return response;
+    }
+
+    /**
+     * Describe an already ordered route: leg distances, arrival estimates and totals
+     * SRP: Single responsibility - only handles distance and time annotation of a route
+     *
+     * @param workerId the worker driving the route
+     * @param orderedStops bins in visiting order, all with coordinates
+     * @return RouteResponse starting now at the depot and ending back there
+     */
+    public RouteResponse describeRoute(String workerId, List<BinResponse> orderedStops) {
+        LocalDateTime plannedAt = LocalDateTime.now();
+        RouteResponse response = new RouteResponse();
+        response.setWorkerId(workerId);
+        response.setDepotLatitude(depotLatitude);
+        response.setDepotLongitude(depotLongitude);
+        response.setPlannedAt(plannedAt);
+
+        double latitude = depotLatitude;
+        double longitude = depotLongitude;
+        double cumulativeKm = 0;
+        double elapsedMinutes = 0;
+        int sequence = 0;
+        for (BinResponse bin : orderedStops) {
+            double legKm = GeoUtil.haversineKm(latitude, longitude, bin.getLatitude(), bin.getLongitude());
+            cumulativeKm += legKm;
+            elapsedMinutes += drivingMinutes(legKm);
+            response.getStops().add(new RouteStopResponse(++sequence, bin.getBinId(), bin.getLatitude(),
+                    bin.getLongitude(), bin.getAddress(), legKm, cumulativeKm, plannedAt.plusSeconds(Math.round(elapsedMinutes * 60))));
+            elapsedMinutes += serviceMinutesPerStop;
+            latitude = bin.getLatitude();
+            longitude = bin.getLongitude();
+        }
+        double returnKm = GeoUtil.haversineKm(latitude, longitude, depotLatitude, depotLongitude);
+        elapsedMinutes += drivingMinutes(returnKm);
+
+        response.setReturnDistanceKm(returnKm);
+        response.setTotalDistanceKm(cumulativeKm + returnKm);
+        response.setEstimatedDurationMinutes(Math.round(elapsedMinutes));
+        response.setEstimatedCompletionAt(plannedAt.plusSeconds(Math.round(elapsedMinutes * 60)));
+        return response;
+    }
+
+    /**
+     * Depot coordinates as {latitude, longitude}
+     */
+    public double[] getDepot() {
+        return new double[] {depotLatitude, depotLongitude};
+    }
+
+    private double drivingMinutes(double km) {
+        return km / averageSpeedKmh * MINUTES_PER_HOUR;
+    }
+}
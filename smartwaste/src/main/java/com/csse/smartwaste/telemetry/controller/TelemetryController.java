@@ -0,0 +1,88 @@
+package com.csse.smartwaste.telemetry.controller;
+
+import com.csse.smartwaste.common.exception.ResourceNotFoundException;
+import com.csse.smartwaste.telemetry.dto.BinReadingRequest;
+import com.csse.smartwaste.telemetry.dto.TelemetryIngestResponse;
+import com.csse.smartwaste.telemetry.entity.BinReading;
+import com.csse.smartwaste.telemetry.service.LatestReadingStore;
+import com.csse.smartwaste.telemetry.service.TelemetryIngestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Telemetry Controller - Handles HTTP requests for bin sensor telemetry
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for handling HTTP requests/responses
+ * - DIP (Dependency Inversion): Depends on the telemetry services
+ *
+ * CODE SMELLS AVOIDED:
+ * - No business logic: Validation and buffering live in TelemetryIngestService
+ * - Proper error handling: Backpressure surfaces as 429 through the global exception handler
+ */
+@RestController
+@RequestMapping("/api/telemetry")
+@CrossOrigin(origins = "*")
+public class TelemetryController {
+
+    private final TelemetryIngestService telemetryIngestService;
+    private final LatestReadingStore latestReadingStore;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on the telemetry services, not on storage
+     */
+    @Autowired
+    public TelemetryController(TelemetryIngestService telemetryIngestService,
+                               LatestReadingStore latestReadingStore) {
+        this.telemetryIngestService = telemetryIngestService;
+        this.latestReadingStore = latestReadingStore;
+    }
+
+    /**
+     * Ingest a batch of sensor readings
+     * SRP: Single responsibility - only handles ingest HTTP request
+     *
+     * @param readings readings from a sensor gateway
+     * @return 202 with the accepted/rejected counts, or 429 when the buffer is full
+     */
+    @PostMapping("/readings")
+    public ResponseEntity<TelemetryIngestResponse> ingestReadings(@RequestBody List<BinReadingRequest> readings) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(telemetryIngestService.ingest(readings));
+    }
+
+    /**
+     * Get the latest reading of a bin
+     * SRP: Single responsibility - only handles single-bin HTTP request
+     */
+    @GetMapping("/latest/{binId}")
+    public ResponseEntity<BinReading> getLatestReading(@PathVariable String binId) {
+        BinReading reading = latestReadingStore.get(binId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reading", "binId", binId));
+        return ResponseEntity.ok(reading);
+    }
+
+    /**
+     * Get the latest readings of the given bins, or of every bin
+     * SRP: Single responsibility - only handles dashboard HTTP request
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<List<BinReading>> getLatestReadings(
+            @RequestParam(required = false) List<String> binIds) {
+        return ResponseEntity.ok(latestReadingStore.getAll(binIds));
+    }
+
+    /**
+     * Get ingestion metrics
+     * SRP: Single responsibility - only handles metrics HTTP request
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(telemetryIngestService.getStats());
+    }
+}
@@ -0,0 +1,48 @@
+package com.csse.smartwaste.telemetry.dto;
+
+import java.time.Instant;
+
+/**
+ * BinReadingRequest DTO - One sensor reading inside an ingest batch
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only carries reading data from the sensor gateway
+ *
+ * CODE SMELLS AVOIDED:
+ * - Clear naming: Field names match CollectionRecord.SensorData
+ * - Proper encapsulation: Private fields with public getters/setters
+ */
+public class BinReadingRequest {
+
+    private String binId;
+
+    /** When the sensor took the reading; defaults to the time it was received */
+    private Instant recordedAt;
+
+    private Integer fillLevel;
+    private Double temperature;
+    private Integer batteryLevel;
+    private String signalStrength;
+
+    // Default constructor
+    public BinReadingRequest() {}
+
+    // Getters and Setters
+    public String getBinId() { return binId; }
+    public void setBinId(String binId) { this.binId = binId; }
+
+    public Instant getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(Instant recordedAt) { this.recordedAt = recordedAt; }
+
+    public Integer getFillLevel() { return fillLevel; }
+    public void setFillLevel(Integer fillLevel) { this.fillLevel = fillLevel; }
+
+    public Double getTemperature() { return temperature; }
+    public void setTemperature(Double temperature) { this.temperature = temperature; }
+
+    public Integer getBatteryLevel() { return batteryLevel; }
+    public void setBatteryLevel(Integer batteryLevel) { this.batteryLevel = batteryLevel; }
+
+    public String getSignalStrength() { return signalStrength; }
+    public void setSignalStrength(String signalStrength) { this.signalStrength = signalStrength; }
+}
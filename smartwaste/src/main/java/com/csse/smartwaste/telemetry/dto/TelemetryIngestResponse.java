@@ -0,0 +1,21 @@
+package com.csse.smartwaste.telemetry.dto;
+
+/**
+ * TelemetryIngestResponse DTO - Outcome of one ingest batch
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only reports how many readings were queued
+ */
+public class TelemetryIngestResponse {
+
+    private final int accepted;
+    private final int rejected;
+
+    public TelemetryIngestResponse(int accepted, int rejected) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    public int getAccepted() { return accepted; }
+    public int getRejected() { return rejected; }
+}
@@ -0,0 +1,81 @@
+package com.csse.smartwaste.telemetry.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.Instant;
+
+/**
+ * Bin Reading Entity - One fill-level reading reported by a bin sensor
+ *
+ * Stored in a MongoDB time-series collection bucketed by bin, so readings of one bin
+ * are packed together on disk and expire automatically after the retention period.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only describes a sensor reading
+ *
+ * CODE SMELLS AVOIDED:
+ * - No coupling to collections: Sensor data no longer waits for a worker visit
+ * - Proper encapsulation: Private fields with public getters/setters
+ */
+@Document(collection = "bin_readings")
+@TimeSeries(timeField = "recordedAt", metaField = "binId", granularity = Granularity.MINUTES, expireAfter = "90d")
+public class BinReading {
+
+    @Id
+    private String id;
+
+    private String binId;
+    private Instant recordedAt;
+
+    /** Fill level in percent, 0-100 */
+    private Integer fillLevel;
+
+    private Double temperature;
+    private Integer batteryLevel;
+    private String signalStrength;
+
+    // Default constructor for MongoDB
+    public BinReading() {
+    }
+
+    // Constructor with required fields
+    public BinReading(String binId, Instant recordedAt, Integer fillLevel) {
+        this.binId = binId;
+        this.recordedAt = recordedAt;
+        this.fillLevel = fillLevel;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getBinId() { return binId; }
+    public void setBinId(String binId) { this.binId = binId; }
+
+    public Instant getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(Instant recordedAt) { this.recordedAt = recordedAt; }
+
+    public Integer getFillLevel() { return fillLevel; }
+    public void setFillLevel(Integer fillLevel) { this.fillLevel = fillLevel; }
+
+    public Double getTemperature() { return temperature; }
+    public void setTemperature(Double temperature) { this.temperature = temperature; }
+
+    public Integer getBatteryLevel() { return batteryLevel; }
+    public void setBatteryLevel(Integer batteryLevel) { this.batteryLevel = batteryLevel; }
+
+    public String getSignalStrength() { return signalStrength; }
+    public void setSignalStrength(String signalStrength) { this.signalStrength = signalStrength; }
+
+    @Override
+    public String toString() {
+        return "BinReading{" +
+                "binId='" + binId + '\'' +
+                ", recordedAt=" + recordedAt +
+                ", fillLevel=" + fillLevel +
+                '}';
+    }
+}
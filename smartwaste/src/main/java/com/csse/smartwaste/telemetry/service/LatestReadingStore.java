@@ -0,0 +1,117 @@
+package com.csse.smartwaste.telemetry.service;
+
+import com.csse.smartwaste.telemetry.entity.BinReading;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest Reading Store - Most recent sensor reading of every bin, for dashboards
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for the latest-reading view
+ * - DIP (Dependency Inversion): Depends on MongoTemplate for the startup seed
+ *
+ * CODE SMELLS AVOIDED:
+ * - No dashboard queries against the time series: Reads are served from memory
+ * - No out-of-order overwrites: A late reading never replaces a newer one
+ */
+@Component
+public class LatestReadingStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatestReadingStore.class);
+
+    private final Map<String, BinReading> latestByBinId = new ConcurrentHashMap<>();
+    private final MongoTemplate mongoTemplate;
+    private final Duration seedWindow;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstraction (MongoTemplate) not concrete implementation
+     */
+    @Autowired
+    public LatestReadingStore(MongoTemplate mongoTemplate,
+                              @Value("${smartwaste.telemetry.latest-seed-window-hours:24}") long seedWindowHours) {
+        this.mongoTemplate = mongoTemplate;
+        this.seedWindow = Duration.ofHours(seedWindowHours);
+    }
+
+    /**
+     * Record a reading if it is newer than the one already held for its bin
+     * SRP: Single responsibility - only handles view updates
+     */
+    public void record(BinReading reading) {
+        latestByBinId.merge(reading.getBinId(), reading,
+                (held, incoming) -> incoming.getRecordedAt().isBefore(held.getRecordedAt()) ? held : incoming);
+    }
+
+    /**
+     * Get the latest reading of one bin
+     * SRP: Single responsibility - only handles single-bin lookup
+     */
+    public Optional<BinReading> get(String binId) {
+        return Optional.ofNullable(latestByBinId.get(binId));
+    }
+
+    /**
+     * Get the latest readings of the given bins, or of every bin when none are given
+     * SRP: Single responsibility - only handles multi-bin lookup
+     */
+    public List<BinReading> getAll(Collection<String> binIds) {
+        if (binIds == null || binIds.isEmpty()) {
+            return new ArrayList<>(latestByBinId.values());
+        }
+        List<BinReading> readings = new ArrayList<>(binIds.size());
+        for (String binId : binIds) {
+            BinReading reading = latestByBinId.get(binId);
+            if (reading != null) {
+                readings.add(reading);
+            }
+        }
+        return readings;
+    }
+
+    public int size() {
+        return latestByBinId.size();
+    }
+
+    /**
+     * Seed the view from recent readings so dashboards are populated right after a restart
+     * SRP: Single responsibility - only handles startup loading
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("recordedAt").gte(Instant.now().minus(seedWindow))),
+                Aggregation.sort(Sort.Direction.ASC, "recordedAt"),
+                Aggregation.group("binId").last(Aggregation.ROOT).as("reading"),
+                Aggregation.replaceRoot("reading"));
+        try {
+            List<BinReading> readings = mongoTemplate
+                    .aggregate(aggregation, BinReading.class, BinReading.class)
+                    .getMappedResults();
+            readings.forEach(this::record);
+            logger.info("Seeded latest readings for {} bins", readings.size());
+        } catch (DataAccessException e) {
+            logger.warn("Could not seed latest bin readings: {}", e.getMessage());
+        }
+    }
+}
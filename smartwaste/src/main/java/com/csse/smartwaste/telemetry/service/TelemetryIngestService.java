@@ -0,0 +1,230 @@
+package com.csse.smartwaste.telemetry.service;
+
+import com.csse.smartwaste.bin.service.FillPredictionService;
+import com.csse.smartwaste.common.exception.TooManyRequestsException;
+import com.csse.smartwaste.telemetry.dto.BinReadingRequest;
+import com.csse.smartwaste.telemetry.dto.TelemetryIngestResponse;
+import com.csse.smartwaste.telemetry.entity.BinReading;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Telemetry Ingest Service - Buffers sensor readings in memory and writes them in bulk
+ *
+ * Requests only validate and enqueue; a background flush drains the bounded buffer into the
+ * bin_readings time series with unordered bulk inserts. Buffer slots are reserved per batch,
+ * so a batch is either queued whole or refused whole with a 429 when the writer falls behind.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for getting readings into storage
+ * - DIP (Dependency Inversion): Depends on MongoTemplate and the in-memory views it feeds
+ *
+ * CODE SMELLS AVOIDED:
+ * - No insert per reading: Thousands of readings share one bulk write
+ * - No unbounded memory: The buffer has a fixed capacity and pushes back on producers
+ * - No partial batches: Gateways can safely retry a refused batch as a whole
+ */
+@Service
+public class TelemetryIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryIngestService.class);
+
+    // Sensor clocks drift; readings further ahead than this are rejected
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final MongoTemplate mongoTemplate;
+    private final LatestReadingStore latestReadingStore;
+    private final FillPredictionService fillPredictionService;
+    private final ArrayBlockingQueue<BinReading> buffer;
+    private final Semaphore freeSlots;
+    private final int bufferCapacity;
+    private final int maxBatchSize;
+    private final int writeBatchSize;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (MongoTemplate, LatestReadingStore)
+     */
+    @Autowired
+    public TelemetryIngestService(MongoTemplate mongoTemplate, LatestReadingStore latestReadingStore,
+                                  FillPredictionService fillPredictionService,
+                                  @Value("${smartwaste.telemetry.buffer-capacity:100000}") int bufferCapacity,
+                                  @Value("${smartwaste.telemetry.max-batch-size:5000}") int maxBatchSize,
+                                  @Value("${smartwaste.telemetry.write-batch-size:5000}") int writeBatchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.latestReadingStore = latestReadingStore;
+        this.fillPredictionService = fillPredictionService;
+        this.bufferCapacity = bufferCapacity;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.freeSlots = new Semaphore(bufferCapacity);
+        this.maxBatchSize = Math.min(maxBatchSize, bufferCapacity);
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    /**
+     * Create bin_readings as a time-series collection before the first write implicitly creates a plain one
+     */
+    @PostConstruct
+    public void ensureCollection() {
+        try {
+            if (!mongoTemplate.collectionExists(BinReading.class)) {
+                mongoTemplate.createCollection(BinReading.class);
+                logger.info("Created time-series collection bin_readings");
+            }
+        } catch (DataAccessException e) {
+            // Servers before MongoDB 5.0 have no time series; readings then go to a regular collection
+            logger.warn("Could not create time-series collection bin_readings: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Validate and enqueue a batch of readings
+     * SRP: Single responsibility - only handles admission into the buffer
+     *
+     * @param requests readings from a sensor gateway
+     * @return how many readings were queued and how many were invalid
+     * @throws IllegalArgumentException if the batch is empty or too large
+     * @throws TooManyRequestsException if the buffer cannot take the batch
+     */
+    public TelemetryIngestResponse ingest(List<BinReadingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one reading is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " readings per batch");
+        }
+
+        Instant receivedAt = Instant.now();
+        List<BinReading> readings = new ArrayList<>(requests.size());
+        for (BinReadingRequest request : requests) {
+            BinReading reading = toReading(request, receivedAt);
+            if (reading != null) {
+                readings.add(reading);
+            }
+        }
+        int invalid = requests.size() - readings.size();
+        rejected.add(invalid);
+        if (readings.isEmpty()) {
+            return new TelemetryIngestResponse(0, invalid);
+        }
+
+        if (!freeSlots.tryAcquire(readings.size())) {
+            throttled.add(readings.size());
+            throw new TooManyRequestsException("Telemetry buffer is full, retry later", RETRY_AFTER_SECONDS);
+        }
+        for (BinReading reading : readings) {
+            buffer.add(reading); // cannot fail: the slots were reserved above
+            latestReadingStore.record(reading);
+            fillPredictionService.recordFillLevel(reading.getBinId(), reading.getFillLevel(), reading.getRecordedAt());
+        }
+        accepted.add(readings.size());
+        return new TelemetryIngestResponse(readings.size(), invalid);
+    }
+
+    /**
+     * Drain the buffer into MongoDB in bulk
+     * Slots are freed only after their batch has been written, so a slow database fills the
+     * buffer and producers are throttled instead of memory growing.
+     * SRP: Single responsibility - only handles the background write
+     */
+    @Scheduled(fixedDelayString = "${smartwaste.telemetry.flush-interval-ms:200}")
+    public synchronized void flush() {
+        List<BinReading> batch = new ArrayList<>(writeBatchSize);
+        while (buffer.drainTo(batch, writeBatchSize) > 0) {
+            try {
+                write(batch);
+            } finally {
+                freeSlots.release(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Write whatever is still buffered before the application stops
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Get ingestion metrics
+     * SRP: Single responsibility - only handles metrics reporting
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buffered", buffer.size());
+        stats.put("bufferCapacity", bufferCapacity);
+        stats.put("accepted", accepted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("throttled", throttled.sum());
+        stats.put("written", written.sum());
+        stats.put("writeFailures", writeFailures.sum());
+        stats.put("binsWithReadings", latestReadingStore.size());
+        return stats;
+    }
+
+    private void write(List<BinReading> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BinReading.class)
+                    .insert(batch)
+                    .execute();
+            written.add(batch.size());
+        } catch (BulkOperationException e) {
+            written.add(e.getResult().getInsertedCount());
+            writeFailures.add(e.getErrors().size());
+            logger.warn("{} of {} readings failed to write", e.getErrors().size(), batch.size());
+        } catch (DataAccessException e) {
+            writeFailures.add(batch.size());
+            logger.error("Dropped {} readings after a failed bulk write", batch.size(), e);
+        }
+    }
+
+    private static BinReading toReading(BinReadingRequest request, Instant receivedAt) {
+        if (request == null || request.getBinId() == null || request.getBinId().isBlank()) {
+            return null;
+        }
+        Integer fillLevel = request.getFillLevel();
+        if (fillLevel == null || fillLevel < 0 || fillLevel > 100) {
+            return null;
+        }
+        Instant recordedAt = request.getRecordedAt() != null ? request.getRecordedAt() : receivedAt;
+        if (recordedAt.isAfter(receivedAt.plus(MAX_CLOCK_SKEW))) {
+            return null;
+        }
+
+        BinReading reading = new BinReading(request.getBinId().trim(), recordedAt, fillLevel);
+        reading.setTemperature(request.getTemperature());
+        reading.setBatteryLevel(request.getBatteryLevel());
+        reading.setSignalStrength(request.getSignalStrength());
+        return reading;
+    }
+}
@@ -3,6 +3,10 @@ package com.csse.smartwaste.worker.controller;
 import com.csse.smartwaste.common.model.Role;
 import com.csse.smartwaste.common.util.UserValidationUtil;
 import com.csse.smartwaste.login.entity.User;
+import com.csse.smartwaste.pickup.dto.WorkerSkillsDTO;
+import com.csse.smartwaste.pickup.service.WorkerAssignmentEngine;
+import com.csse.smartwaste.route.dto.RouteResponse;
+import com.csse.smartwaste.route.service.RouteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,10 +24,15 @@ import java.util.Map;
 public class WorkerController {
     
     private final UserValidationUtil userValidationUtil;
+    private final RouteService routeService;
+    private final WorkerAssignmentEngine workerAssignmentEngine;
     
     @Autowired
-    public WorkerController(UserValidationUtil userValidationUtil) {
+    public WorkerController(UserValidationUtil userValidationUtil, RouteService routeService,
+                            WorkerAssignmentEngine workerAssignmentEngine) {
         this.userValidationUtil = userValidationUtil;
+        this.routeService = routeService;
+        this.workerAssignmentEngine = workerAssignmentEngine;
     }
     
     /**
@@ -48,23 +57,46 @@ public class WorkerController {
     }
     
     /**
-     * Get worker's assigned routes
-     * Each worker sees only their own assigned routes
+     * Get worker's assigned route
+     * Each worker sees only their own route: their assigned ACTIVE bins in driving order,
+     * starting and ending at the depot, with total distance and arrival estimates
      */
     @GetMapping("/routes")
     public ResponseEntity<Map<String, Object>> getRoutes(@RequestParam String userId) {
         // Validate user exists and has Worker role
         User user = userValidationUtil.validateUserAndRole(userId, Role.Worker);
+        RouteResponse route = routeService.planRoute(user.getUserId());
         
         Map<String, Object> routes = new HashMap<>();
         routes.put("userId", user.getUserId());
         routes.put("userName", user.getName());
-        routes.put("routes", "Assigned routes for " + user.getName());
-        routes.put("message", "These are " + user.getName() + "'s personal assigned routes");
+        routes.put("route", route);
+        routes.put("totalDistanceKm", route.getTotalDistanceKm());
+        routes.put("estimatedCompletionAt", route.getEstimatedCompletionAt());
+        routes.put("message", route.getStops().size() + " bins to collect for " + user.getName());
         
         return ResponseEntity.ok(routes);
     }
     
+    /**
+     * Set the waste types a worker may handle and their daily pickup capacity
+     * Used by automatic pickup assignment; only trained workers get E-waste or hazardous pickups
+     */
+    @PutMapping("/{userId}/skills")
+    public ResponseEntity<Map<String, Object>> updateSkills(@PathVariable String userId,
+                                                            @RequestBody WorkerSkillsDTO request) {
+        User user = workerAssignmentEngine.updateWorkerSkills(userId, request.getSkills(),
+                request.getDailyPickupCapacity());
+        
+        Map<String, Object> skills = new HashMap<>();
+        skills.put("userId", user.getUserId());
+        skills.put("userName", user.getName());
+        skills.put("skills", user.getSkills());
+        skills.put("dailyPickupCapacity", user.getDailyPickupCapacity());
+        
+        return ResponseEntity.ok(skills);
+    }
+    
     /**
      * Get worker's personal reports
      * Each worker sees only their own reports
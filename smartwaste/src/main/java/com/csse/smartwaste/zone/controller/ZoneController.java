@@ -0,0 +1,141 @@
+package com.csse.smartwaste.zone.controller;
+
+import com.csse.smartwaste.common.exception.ResourceNotFoundException;
+import com.csse.smartwaste.zone.entity.Zone;
+import com.csse.smartwaste.zone.service.ZoneAssignmentService;
+import com.csse.smartwaste.zone.service.ZoneEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Zone Controller - Handles HTTP requests for zone configuration and lookups
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for handling HTTP requests/responses
+ * - DIP (Dependency Inversion): Depends on service abstractions, not concrete implementation
+ *
+ * CODE SMELLS AVOIDED:
+ * - No business logic: Delegates geometry to ZoneEngine and re-stamping to ZoneAssignmentService
+ * - Proper error handling: Uses global exception handler
+ */
+@RestController
+@RequestMapping("/api/zones")
+@CrossOrigin(origins = "*")
+public class ZoneController {
+
+    private final ZoneEngine zoneEngine;
+    private final ZoneAssignmentService zoneAssignmentService;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (ZoneEngine, ZoneAssignmentService) not concrete implementation
+     */
+    @Autowired
+    public ZoneController(ZoneEngine zoneEngine, ZoneAssignmentService zoneAssignmentService) {
+        this.zoneEngine = zoneEngine;
+        this.zoneAssignmentService = zoneAssignmentService;
+    }
+
+    /**
+     * Get all zones
+     * SRP: Single responsibility - only handles zone listing HTTP request
+     *
+     * @return ResponseEntity containing all zones ordered by priority
+     */
+    @GetMapping
+    public ResponseEntity<List<Zone>> getAllZones() {
+        return ResponseEntity.ok(zoneEngine.getZones());
+    }
+
+    /**
+     * Get a zone by its identifier
+     * SRP: Single responsibility - only handles zone retrieval HTTP request
+     *
+     * @param zoneId the zone identifier
+     * @return ResponseEntity containing the zone
+     */
+    @GetMapping("/{zoneId}")
+    public ResponseEntity<Zone> getZone(@PathVariable String zoneId) {
+        Zone zone = zoneEngine.getZone(zoneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone", "zoneId", zoneId));
+        return ResponseEntity.ok(zone);
+    }
+
+    /**
+     * Create or replace a zone, then re-stamp bins and pickup requests
+     * SRP: Single responsibility - only handles zone upsert HTTP request
+     *
+     * @param zoneId the zone identifier
+     * @param zone the zone definition
+     * @return ResponseEntity containing the saved zone and re-stamp counts
+     */
+    @PutMapping("/{zoneId}")
+    public ResponseEntity<Map<String, Object>> saveZone(@PathVariable String zoneId, @RequestBody Zone zone) {
+        zone.setZoneId(zoneId);
+        Zone saved = zoneEngine.saveZone(zone);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("zone", saved);
+        response.put("reassigned", zoneAssignmentService.reassignAll());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Delete a zone, then re-stamp bins and pickup requests
+     * SRP: Single responsibility - only handles zone deletion HTTP request
+     *
+     * @param zoneId the zone identifier
+     * @return ResponseEntity containing re-stamp counts
+     */
+    @DeleteMapping("/{zoneId}")
+    public ResponseEntity<Map<String, Object>> deleteZone(@PathVariable String zoneId) {
+        zoneEngine.deleteZone(zoneId);
+        return ResponseEntity.ok(zoneAssignmentService.reassignAll());
+    }
+
+    /**
+     * Resolve the zone of a location
+     * SRP: Single responsibility - only handles zone lookup HTTP request
+     *
+     * @param lat latitude
+     * @param lng longitude
+     * @param address address used when coordinates are missing
+     * @return ResponseEntity containing the zone identifier and name
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<Map<String, Object>> lookup(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) String address) {
+        String zoneId = zoneEngine.resolveZoneId(lat, lng, address);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("zoneId", zoneId);
+        response.put("zoneName", zoneId != null ? zoneEngine.getZoneName(zoneId) : null);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Describe the active lookup grid
+     * SRP: Single responsibility - only handles grid diagnostics HTTP request
+     */
+    @GetMapping("/grid-stats")
+    public ResponseEntity<Map<String, Object>> getGridStats() {
+        return ResponseEntity.ok(zoneEngine.getGridStats());
+    }
+
+    /**
+     * Reload zones from the database and re-stamp every bin and pickup request
+     * SRP: Single responsibility - only handles re-assignment HTTP request
+     */
+    @PostMapping("/reassign")
+    public ResponseEntity<Map<String, Object>> reassign() {
+        zoneEngine.reload();
+        return ResponseEntity.ok(zoneAssignmentService.reassignAll());
+    }
+}
@@ -0,0 +1,153 @@
+package com.csse.smartwaste.zone.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Zone Entity - Represents a collection zone of a municipality
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only describes a zone boundary and its metadata
+ * - OCP (Open/Closed): New municipalities are added as data, not as code
+ *
+ * CODE SMELLS AVOIDED:
+ * - No hard-coded geography: Boundaries are stored polygons instead of literal lat/lng boxes
+ * - Clear naming: Descriptive field names
+ * - Proper encapsulation: Private fields with public getters/setters
+ *
+ * A zone without a boundary is never matched by coordinates; it can still be the
+ * configured default zone or be matched through its address keywords.
+ */
+@Document(collection = "zones")
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Zone {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String zoneId;
+
+    private String name;
+    private String municipality;
+
+    /** Zones with a higher priority win where boundaries overlap */
+    private int priority;
+
+    /** Outer ring of the zone, in order; the ring is closed implicitly */
+    private List<Coordinate> boundary = new ArrayList<>();
+
+    /** Lower-case address fragments used for bins that have no coordinates */
+    private List<String> addressKeywords = new ArrayList<>();
+
+    /** Local time (HH:mm) at which collected bins become active again; null uses the configured default */
+    private String rolloverTime;
+
+    /** IANA time zone of rolloverTime, e.g. Asia/Colombo; null uses the configured default */
+    private String timeZone;
+
+    /** Hours an ACTIVE bin may go uncollected before it is reported missed; null uses the configured default */
+    private Integer serviceIntervalHours;
+
+    /** Pickup requests that can be booked into one pickup slot; 0 closes the zone for bookings, null uses the configured default */
+    private Integer pickupSlotCapacity;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Default constructor for MongoDB
+    public Zone() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Constructor with required fields
+    public Zone(String zoneId, String name, String municipality, int priority,
+                List<Coordinate> boundary, List<String> addressKeywords) {
+        this();
+        this.zoneId = zoneId;
+        this.name = name;
+        this.municipality = municipality;
+        this.priority = priority;
+        this.boundary = boundary;
+        this.addressKeywords = addressKeywords;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getZoneId() { return zoneId; }
+    public void setZoneId(String zoneId) { this.zoneId = zoneId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getMunicipality() { return municipality; }
+    public void setMunicipality(String municipality) { this.municipality = municipality; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+
+    public List<Coordinate> getBoundary() { return boundary; }
+    public void setBoundary(List<Coordinate> boundary) { this.boundary = boundary; }
+
+    public List<String> getAddressKeywords() { return addressKeywords; }
+    public void setAddressKeywords(List<String> addressKeywords) { this.addressKeywords = addressKeywords; }
+
+    public String getRolloverTime() { return rolloverTime; }
+    public void setRolloverTime(String rolloverTime) { this.rolloverTime = rolloverTime; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public Integer getServiceIntervalHours() { return serviceIntervalHours; }
+    public void setServiceIntervalHours(Integer serviceIntervalHours) { this.serviceIntervalHours = serviceIntervalHours; }
+
+    public Integer getPickupSlotCapacity() { return pickupSlotCapacity; }
+    public void setPickupSlotCapacity(Integer pickupSlotCapacity) { this.pickupSlotCapacity = pickupSlotCapacity; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    /**
+     * Coordinate Inner Class
+     * SRP: Single responsibility - only represents one boundary vertex
+     */
+    public static class Coordinate {
+        private double latitude;
+        private double longitude;
+
+        public Coordinate() {}
+
+        public Coordinate(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        public double getLatitude() { return latitude; }
+        public void setLatitude(double latitude) { this.latitude = latitude; }
+
+        public double getLongitude() { return longitude; }
+        public void setLongitude(double longitude) { this.longitude = longitude; }
+    }
+
+    @Override
+    public String toString() {
+        return "Zone{" +
+                "zoneId='" + zoneId + '\'' +
+                ", name='" + name + '\'' +
+                ", municipality='" + municipality + '\'' +
+                ", vertices=" + (boundary == null ? 0 : boundary.size()) +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package com.csse.smartwaste.zone.repository;
+
+import com.csse.smartwaste.zone.entity.Zone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Zone Repository - Handles data access operations for Zone entities
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for zone data access
+ * - DIP (Dependency Inversion): Depends on abstraction (MongoRepository) not concrete implementation
+ *
+ * CODE SMELLS AVOIDED:
+ * - No fat interfaces: Only the lookups the zone engine needs
+ * - Clear method naming: Descriptive method names
+ */
+@Repository
+public interface ZoneRepository extends MongoRepository<Zone, String> {
+
+    /**
+     * Find zone by its business identifier
+     * SRP: Single responsibility - only finds by zoneId
+     *
+     * @param zoneId the zone identifier
+     * @return Optional containing the zone if found
+     */
+    Optional<Zone> findByZoneId(String zoneId);
+
+    /**
+     * Find all zones of a municipality
+     * SRP: Single responsibility - only finds by municipality
+     *
+     * @param municipality the municipality name
+     * @return List of zones in the municipality
+     */
+    List<Zone> findByMunicipality(String municipality);
+}
@@ -0,0 +1,137 @@
+package com.csse.smartwaste.zone.service;
+
+import com.csse.smartwaste.bin.service.BinChangePublisher;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Zone Assignment Service - Stamps stored documents with the zone they belong to
+ *
+ * New bins and pickup requests get their zoneId when they are saved. This service
+ * re-stamps existing documents after zones change or after raw migrations move bins.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for bulk zone re-assignment
+ * - DIP (Dependency Inversion): Uses ZoneEngine for geometry and MongoTemplate for writes
+ *
+ * CODE SMELLS AVOIDED:
+ * - No full document loads: Only location fields are read, through a cursor
+ * - No write amplification: Only documents whose zone actually changed are updated, in bulk
+ */
+@Service
+public class ZoneAssignmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZoneAssignmentService.class);
+
+    private static final int BULK_BATCH_SIZE = 1000;
+    private static final String BINS_COLLECTION = "bins";
+    private static final String PICKUP_REQUESTS_COLLECTION = "pickup_requests";
+
+    private final ZoneEngine zoneEngine;
+    private final MongoTemplate mongoTemplate;
+    private final BinChangePublisher binChangePublisher;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstractions (ZoneEngine, MongoTemplate) not concrete implementation
+     */
+    @Autowired
+    public ZoneAssignmentService(ZoneEngine zoneEngine, MongoTemplate mongoTemplate,
+                                 BinChangePublisher binChangePublisher) {
+        this.zoneEngine = zoneEngine;
+        this.mongoTemplate = mongoTemplate;
+        this.binChangePublisher = binChangePublisher;
+    }
+
+    /**
+     * Re-stamp bins and pickup requests
+     * SRP: Single responsibility - only coordinates the two re-stamping passes
+     *
+     * @return number of updated documents per collection
+     */
+    public Map<String, Object> reassignAll() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("binsUpdated", reassignBins());
+        result.put("pickupRequestsUpdated", reassignPickupRequests());
+        return result;
+    }
+
+    /**
+     * Re-stamp bins and rebuild the in-memory bin views afterwards
+     * SRP: Single responsibility - only handles bin re-stamping
+     *
+     * @return number of bins whose zone changed
+     */
+    public long reassignBins() {
+        long updated = restamp(BINS_COLLECTION);
+        binChangePublisher.reloadAll();
+        return updated;
+    }
+
+    /**
+     * Re-stamp pickup requests
+     * SRP: Single responsibility - only handles pickup request re-stamping
+     *
+     * @return number of pickup requests whose zone changed
+     */
+    public long reassignPickupRequests() {
+        return restamp(PICKUP_REQUESTS_COLLECTION);
+    }
+
+    private long restamp(String collection) {
+        Query query = new Query();
+        query.fields().include("latitude", "longitude", "address", "zoneId");
+
+        long updated = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            var iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                Document document = iterator.next();
+                String zoneId = zoneEngine.resolveZoneId(
+                        toDouble(document.get("latitude")),
+                        toDouble(document.get("longitude")),
+                        document.getString("address"));
+                if (Objects.equals(zoneId, document.getString("zoneId"))) {
+                    continue;
+                }
+
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))),
+                        new Update().set("zoneId", zoneId));
+                if (++pending == BULK_BATCH_SIZE) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            updated += bulk.execute().getModifiedCount();
+        }
+
+        logger.info("Re-stamped zoneId on {} documents in {}", updated, collection);
+        return updated;
+    }
+
+    private static Double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : null;
+    }
+}
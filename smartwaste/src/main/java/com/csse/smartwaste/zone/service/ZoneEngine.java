@@ -0,0 +1,308 @@
+package com.csse.smartwaste.zone.service;
+
+import com.csse.smartwaste.common.exception.ResourceNotFoundException;
+import com.csse.smartwaste.zone.entity.Zone;
+import com.csse.smartwaste.zone.repository.ZoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Zone Engine - Resolves the zone of a location from the configured zone polygons
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for zone definitions and zone lookups
+ * - OCP (Open/Closed): Municipalities and zones are added as data without code changes
+ * - DIP (Dependency Inversion): Depends on the ZoneRepository abstraction
+ *
+ * CODE SMELLS AVOIDED:
+ * - No hard-coded boundaries: Zones live in the zones collection
+ * - No per-request geometry: Lookups go through a precomputed ZoneGrid
+ * - No locking on reads: The active snapshot is swapped atomically on reload
+ */
+@Service
+public class ZoneEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZoneEngine.class);
+
+    private static final int MIN_BOUNDARY_VERTICES = 3;
+
+    private final ZoneRepository zoneRepository;
+    private final String defaultZoneId;
+    private final double cellSizeDegrees;
+    private final int maxGridCells;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor injection - follows Dependency Injection best practice
+     * DIP: Depends on abstraction (ZoneRepository interface) not concrete implementation
+     */
+    @Autowired
+    public ZoneEngine(ZoneRepository zoneRepository,
+                      @Value("${smartwaste.zones.default-zone-id:ZONE_C}") String defaultZoneId,
+                      @Value("${smartwaste.zones.grid-cell-size-degrees:0.002}") double cellSizeDegrees,
+                      @Value("${smartwaste.zones.grid-max-cells:4000000}") int maxGridCells) {
+        this.zoneRepository = zoneRepository;
+        this.defaultZoneId = defaultZoneId;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.maxGridCells = maxGridCells;
+    }
+
+    /**
+     * Resolve the zone of a location
+     * Coordinates are used when present; otherwise the address is matched against zone keywords.
+     * Locations outside every zone fall back to the configured default zone.
+     * SRP: Single responsibility - only handles zone resolution
+     *
+     * @param latitude location latitude, may be null
+     * @param longitude location longitude, may be null
+     * @param address free-text address, may be null
+     * @return zone identifier, or null when no zone and no default zone are configured
+     */
+    public String resolveZoneId(Double latitude, Double longitude, String address) {
+        Snapshot current = snapshot();
+
+        if (latitude != null && longitude != null) {
+            int index = current.grid.locate(latitude, longitude);
+            if (index != ZoneGrid.OUTSIDE) {
+                return current.grid.zoneAt(index).getZoneId();
+            }
+        } else if (address != null) {
+            String lowerAddress = address.toLowerCase(Locale.ROOT);
+            for (Zone zone : current.zones) {
+                if (zone.getAddressKeywords() == null) {
+                    continue;
+                }
+                for (String keyword : zone.getAddressKeywords()) {
+                    if (lowerAddress.contains(keyword)) {
+                        return zone.getZoneId();
+                    }
+                }
+            }
+        }
+
+        return current.byZoneId.containsKey(defaultZoneId) ? defaultZoneId : null;
+    }
+
+    /**
+     * Get all zones ordered by descending priority
+     * SRP: Single responsibility - only handles zone listing
+     */
+    public List<Zone> getZones() {
+        return snapshot().zones;
+    }
+
+    /**
+     * Get a zone by its identifier
+     * SRP: Single responsibility - only handles single zone lookup
+     */
+    public Optional<Zone> getZone(String zoneId) {
+        return Optional.ofNullable(snapshot().byZoneId.get(zoneId));
+    }
+
+    /**
+     * Get the zone that bins outside every polygon fall back to
+     * SRP: Single responsibility - only exposes the configured default
+     */
+    public String getDefaultZoneId() {
+        return defaultZoneId;
+    }
+
+    /**
+     * Get the display name of a zone, falling back to its identifier
+     * SRP: Single responsibility - only handles zone naming
+     */
+    public String getZoneName(String zoneId) {
+        Zone zone = snapshot().byZoneId.get(zoneId);
+        return zone != null && zone.getName() != null ? zone.getName() : zoneId;
+    }
+
+    /**
+     * Create or replace a zone and rebuild the lookup grid
+     * SRP: Single responsibility - only handles zone persistence
+     *
+     * @param zone the zone definition
+     * @return the saved zone
+     * @throws IllegalArgumentException if the zone definition is invalid
+     */
+    public Zone saveZone(Zone zone) {
+        validate(zone);
+
+        zoneRepository.findByZoneId(zone.getZoneId()).ifPresent(existing -> {
+            zone.setId(existing.getId());
+            zone.setCreatedAt(existing.getCreatedAt());
+        });
+        if (zone.getAddressKeywords() != null) {
+            zone.setAddressKeywords(zone.getAddressKeywords().stream()
+                    .map(keyword -> keyword.toLowerCase(Locale.ROOT))
+                    .toList());
+        }
+        zone.setUpdatedAt(LocalDateTime.now());
+
+        Zone saved = zoneRepository.save(zone);
+        reload();
+        return saved;
+    }
+
+    /**
+     * Delete a zone and rebuild the lookup grid
+     * SRP: Single responsibility - only handles zone removal
+     *
+     * @throws ResourceNotFoundException if the zone does not exist
+     */
+    public void deleteZone(String zoneId) {
+        Zone zone = zoneRepository.findByZoneId(zoneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone", "zoneId", zoneId));
+        zoneRepository.delete(zone);
+        reload();
+    }
+
+    /**
+     * Reload zones from the database and swap in a freshly built grid
+     * SRP: Single responsibility - only handles snapshot rebuilding
+     */
+    public synchronized void reload() {
+        if (zoneRepository.count() == 0) {
+            zoneRepository.saveAll(defaultColomboZones());
+            logger.info("Seeded default Colombo zones");
+        }
+
+        List<Zone> zones = new ArrayList<>(zoneRepository.findAll());
+        zones.sort(Comparator.comparingInt(Zone::getPriority).reversed());
+
+        List<Zone> polygonZones = new ArrayList<>();
+        Map<String, Zone> byZoneId = new HashMap<>();
+        for (Zone zone : zones) {
+            byZoneId.put(zone.getZoneId(), zone);
+            if (zone.getBoundary() != null && zone.getBoundary().size() >= MIN_BOUNDARY_VERTICES) {
+                polygonZones.add(zone);
+            }
+        }
+
+        ZoneGrid grid = new ZoneGrid(polygonZones, cellSizeDegrees, maxGridCells);
+        snapshot = new Snapshot(List.copyOf(zones), byZoneId, grid);
+        logger.info("Zone grid built: {} zones, {}x{} cells of {} degrees, {} boundary cells",
+                zones.size(), grid.getRows(), grid.getCols(), grid.getCellSize(), grid.getMixedCells());
+    }
+
+    /**
+     * Describe the active lookup grid
+     * SRP: Single responsibility - only handles grid diagnostics
+     */
+    public Map<String, Object> getGridStats() {
+        Snapshot current = snapshot();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("zones", current.zones.size());
+        stats.put("rows", current.grid.getRows());
+        stats.put("cols", current.grid.getCols());
+        stats.put("cellSizeDegrees", current.grid.getCellSize());
+        stats.put("boundaryCells", current.grid.getMixedCells());
+        stats.put("defaultZoneId", defaultZoneId);
+        return stats;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private void validate(Zone zone) {
+        if (zone.getZoneId() == null || zone.getZoneId().isBlank()) {
+            throw new IllegalArgumentException("zoneId is required");
+        }
+        List<Zone.Coordinate> boundary = zone.getBoundary();
+        if (boundary != null && !boundary.isEmpty()) {
+            if (boundary.size() < MIN_BOUNDARY_VERTICES) {
+                throw new IllegalArgumentException("Zone boundary needs at least " + MIN_BOUNDARY_VERTICES + " vertices");
+            }
+            for (Zone.Coordinate vertex : boundary) {
+                if (vertex.getLatitude() < -90 || vertex.getLatitude() > 90
+                        || vertex.getLongitude() < -180 || vertex.getLongitude() > 180) {
+                    throw new IllegalArgumentException("Boundary vertex out of range: "
+                            + vertex.getLatitude() + ", " + vertex.getLongitude());
+                }
+            }
+        }
+        if (zone.getRolloverTime() != null) {
+            try {
+                LocalTime.parse(zone.getRolloverTime());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("rolloverTime must be HH:mm: " + zone.getRolloverTime());
+            }
+        }
+        if (zone.getTimeZone() != null) {
+            try {
+                ZoneId.of(zone.getTimeZone());
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Unknown timeZone: " + zone.getTimeZone());
+            }
+        }
+        if (zone.getServiceIntervalHours() != null && zone.getServiceIntervalHours() < 1) {
+            throw new IllegalArgumentException("serviceIntervalHours must be at least 1");
+        }
+        if (zone.getPickupSlotCapacity() != null && zone.getPickupSlotCapacity() < 0) {
+            throw new IllegalArgumentException("pickupSlotCapacity must not be negative");
+        }
+    }
+
+    /**
+     * The three Colombo zones that used to be hard-coded, used to seed an empty collection
+     */
+    private static List<Zone> defaultColomboZones() {
+        Zone downtown = new Zone("ZONE_A", "Downtown Area - Zone A", "Colombo", 20,
+                box(6.9, 79.85, 6.95, 79.9), List.of("downtown", "city center", "commercial"));
+        Zone residential = new Zone("ZONE_B", "Residential Area - Zone B", "Colombo", 10,
+                box(6.85, 79.8, 6.9, 79.85), List.of("residential", "housing", "apartment"));
+        Zone business = new Zone("ZONE_C", "Business District - Zone C", "Colombo", 0,
+                new ArrayList<>(), new ArrayList<>());
+        return List.of(downtown, residential, business);
+    }
+
+    private static List<Zone.Coordinate> box(double minLat, double minLng, double maxLat, double maxLng) {
+        return new ArrayList<>(List.of(
+                new Zone.Coordinate(minLat, minLng),
+                new Zone.Coordinate(minLat, maxLng),
+                new Zone.Coordinate(maxLat, maxLng),
+                new Zone.Coordinate(maxLat, minLng)));
+    }
+
+    /**
+     * Immutable view of the zones and their grid
+     */
+    private static final class Snapshot {
+        private final List<Zone> zones;
+        private final Map<String, Zone> byZoneId;
+        private final ZoneGrid grid;
+
+        private Snapshot(List<Zone> zones, Map<String, Zone> byZoneId, ZoneGrid grid) {
+            this.zones = zones;
+            this.byZoneId = byZoneId;
+            this.grid = grid;
+        }
+    }
+}
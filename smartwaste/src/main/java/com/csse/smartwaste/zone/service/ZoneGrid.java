@@ -0,0 +1,294 @@
+package com.csse.smartwaste.zone.service;
+
+import com.csse.smartwaste.zone.entity.Zone;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Zone Grid - Immutable raster of zone polygons for constant-time point classification
+ *
+ * Every cell of a regular lat/lng grid stores the index of the zone that fully covers it,
+ * OUTSIDE when no zone touches it, or MIXED when a zone boundary crosses it. Only MIXED
+ * cells fall back to an exact point-in-polygon test, so almost every lookup is one array read.
+ *
+ * SOLID PRINCIPLES APPLIED:
+ * - SRP (Single Responsibility): Only responsible for geometric classification
+ * - OCP (Open/Closed): Rebuilt from zone data; no zone is hard-coded
+ *
+ * CODE SMELLS AVOIDED:
+ * - No shared mutable state: A grid never changes after it is built, so readers need no locks
+ * - No false interiors: Boundary cells are marked conservatively and always re-checked exactly
+ */
+final class ZoneGrid {
+
+    static final int OUTSIDE = -1;
+    static final int MIXED = -2;
+
+    // Tolerance in cell units so edges lying exactly on a cell border mark both neighbours
+    private static final double EDGE_EPSILON = 1e-9;
+
+    private static final int MIN_GRID_CELLS = 9;
+
+    private final List<Zone> zones;
+    private final double[][] vertexLats;
+    private final double[][] vertexLngs;
+    private final double[] zoneMinLat;
+    private final double[] zoneMaxLat;
+    private final double[] zoneMinLng;
+    private final double[] zoneMaxLng;
+
+    private final double minLat;
+    private final double minLng;
+    private final double cellSize;
+    private final int rows;
+    private final int cols;
+    private final int[] cells;
+    private final int mixedCells;
+
+    /**
+     * Build the grid
+     *
+     * @param zones polygon zones ordered by descending priority; each has at least three vertices
+     * @param requestedCellSize cell edge in degrees
+     * @param maxCells upper bound on the number of cells; the cell size is doubled until it fits
+     */
+    ZoneGrid(List<Zone> zones, double requestedCellSize, int maxCells) {
+        this.zones = List.copyOf(zones);
+        int zoneCount = zones.size();
+        this.vertexLats = new double[zoneCount][];
+        this.vertexLngs = new double[zoneCount][];
+        this.zoneMinLat = new double[zoneCount];
+        this.zoneMaxLat = new double[zoneCount];
+        this.zoneMinLng = new double[zoneCount];
+        this.zoneMaxLng = new double[zoneCount];
+
+        double gridMinLat = Double.POSITIVE_INFINITY;
+        double gridMinLng = Double.POSITIVE_INFINITY;
+        double gridMaxLat = Double.NEGATIVE_INFINITY;
+        double gridMaxLng = Double.NEGATIVE_INFINITY;
+
+        for (int z = 0; z < zoneCount; z++) {
+            List<Zone.Coordinate> boundary = zones.get(z).getBoundary();
+            double[] lats = new double[boundary.size()];
+            double[] lngs = new double[boundary.size()];
+            double zMinLat = Double.POSITIVE_INFINITY;
+            double zMinLng = Double.POSITIVE_INFINITY;
+            double zMaxLat = Double.NEGATIVE_INFINITY;
+            double zMaxLng = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < boundary.size(); i++) {
+                lats[i] = boundary.get(i).getLatitude();
+                lngs[i] = boundary.get(i).getLongitude();
+                zMinLat = Math.min(zMinLat, lats[i]);
+                zMaxLat = Math.max(zMaxLat, lats[i]);
+                zMinLng = Math.min(zMinLng, lngs[i]);
+                zMaxLng = Math.max(zMaxLng, lngs[i]);
+            }
+            vertexLats[z] = lats;
+            vertexLngs[z] = lngs;
+            zoneMinLat[z] = zMinLat;
+            zoneMaxLat[z] = zMaxLat;
+            zoneMinLng[z] = zMinLng;
+            zoneMaxLng[z] = zMaxLng;
+            gridMinLat = Math.min(gridMinLat, zMinLat);
+            gridMinLng = Math.min(gridMinLng, zMinLng);
+            gridMaxLat = Math.max(gridMaxLat, zMaxLat);
+            gridMaxLng = Math.max(gridMaxLng, zMaxLng);
+        }
+
+        if (zoneCount == 0) {
+            this.minLat = 0;
+            this.minLng = 0;
+            this.cellSize = requestedCellSize;
+            this.rows = 0;
+            this.cols = 0;
+            this.cells = new int[0];
+            this.mixedCells = 0;
+            return;
+        }
+
+        // Padding alone takes nine cells, so smaller limits are treated as nine
+        long cellLimit = Math.max(maxCells, MIN_GRID_CELLS);
+        double size = requestedCellSize;
+        int gridRows;
+        int gridCols;
+        while (true) {
+            // One cell of padding on every side keeps boundary cells away from the clamp
+            gridRows = (int) Math.ceil((gridMaxLat - gridMinLat) / size) + 2;
+            gridCols = (int) Math.ceil((gridMaxLng - gridMinLng) / size) + 2;
+            if ((long) gridRows * gridCols <= cellLimit) {
+                break;
+            }
+            size *= 2;
+        }
+
+        this.cellSize = size;
+        this.minLat = gridMinLat - size;
+        this.minLng = gridMinLng - size;
+        this.rows = gridRows;
+        this.cols = gridCols;
+        this.cells = new int[gridRows * gridCols];
+        Arrays.fill(cells, OUTSIDE);
+
+        BitSet edgeCells = new BitSet(cells.length);
+        for (int z = 0; z < zoneCount; z++) {
+            rasterizeZone(z, edgeCells);
+        }
+
+        int mixed = 0;
+        for (int cell : cells) {
+            if (cell == MIXED) {
+                mixed++;
+            }
+        }
+        this.mixedCells = mixed;
+    }
+
+    /**
+     * Classify a point
+     *
+     * @return index of the highest-priority zone containing the point, or OUTSIDE
+     */
+    int locate(double latitude, double longitude) {
+        if (cells.length == 0) {
+            return OUTSIDE;
+        }
+        double v = (latitude - minLat) / cellSize;
+        double u = (longitude - minLng) / cellSize;
+        if (!(v >= 0 && u >= 0 && v < rows && u < cols)) {
+            return OUTSIDE; // also rejects NaN
+        }
+
+        int cell = cells[(int) v * cols + (int) u];
+        if (cell != MIXED) {
+            return cell;
+        }
+
+        for (int z = 0; z < zones.size(); z++) {
+            if (latitude >= zoneMinLat[z] && latitude <= zoneMaxLat[z]
+                    && longitude >= zoneMinLng[z] && longitude <= zoneMaxLng[z]
+                    && containsPoint(z, latitude, longitude)) {
+                return z;
+            }
+        }
+        return OUTSIDE;
+    }
+
+    Zone zoneAt(int index) {
+        return zones.get(index);
+    }
+
+    double getCellSize() { return cellSize; }
+    int getRows() { return rows; }
+    int getCols() { return cols; }
+    int getMixedCells() { return mixedCells; }
+
+    /**
+     * Mark the cells of one zone; zones are processed in priority order so a cell that is
+     * already fully owned by a higher-priority zone is never downgraded
+     */
+    private void rasterizeZone(int z, BitSet edgeCells) {
+        double[] lats = vertexLats[z];
+        double[] lngs = vertexLngs[z];
+        for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+            markEdge(lats[j], lngs[j], lats[i], lngs[i], edgeCells);
+        }
+
+        // One extra cell around the bounding box covers edge marks widened by EDGE_EPSILON
+        int rowStart = clampRow(row(zoneMinLat[z]) - 1);
+        int rowEnd = clampRow(row(zoneMaxLat[z]) + 1);
+        int colStart = clampCol(col(zoneMinLng[z]) - 1);
+        int colEnd = clampCol(col(zoneMaxLng[z]) + 1);
+
+        for (int r = rowStart; r <= rowEnd; r++) {
+            double centerLat = minLat + (r + 0.5) * cellSize;
+            for (int c = colStart; c <= colEnd; c++) {
+                int index = r * cols + c;
+                if (edgeCells.get(index)) {
+                    if (cells[index] < 0) {
+                        cells[index] = MIXED;
+                    }
+                    edgeCells.clear(index);
+                } else if (cells[index] == OUTSIDE
+                        && containsPoint(z, centerLat, minLng + (c + 0.5) * cellSize)) {
+                    // No edge crosses this cell, so its centre decides for the whole cell
+                    cells[index] = z;
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark every cell a polygon edge passes through, one grid row at a time
+     */
+    private void markEdge(double lat1, double lng1, double lat2, double lng2, BitSet edgeCells) {
+        double v1 = (lat1 - minLat) / cellSize;
+        double u1 = (lng1 - minLng) / cellSize;
+        double v2 = (lat2 - minLat) / cellSize;
+        double u2 = (lng2 - minLng) / cellSize;
+        double dv = v2 - v1;
+
+        double vLow = Math.min(v1, v2) - EDGE_EPSILON;
+        double vHigh = Math.max(v1, v2) + EDGE_EPSILON;
+        int rowStart = clampRow((int) Math.floor(vLow));
+        int rowEnd = clampRow((int) Math.floor(vHigh));
+
+        for (int r = rowStart; r <= rowEnd; r++) {
+            double uFrom;
+            double uTo;
+            if (Math.abs(dv) < EDGE_EPSILON) {
+                uFrom = Math.min(u1, u2);
+                uTo = Math.max(u1, u2);
+            } else {
+                double tA = clampUnit((Math.max(r, vLow) - v1) / dv);
+                double tB = clampUnit((Math.min(r + 1, vHigh) - v1) / dv);
+                double uA = u1 + tA * (u2 - u1);
+                double uB = u1 + tB * (u2 - u1);
+                uFrom = Math.min(uA, uB);
+                uTo = Math.max(uA, uB);
+            }
+            int colStart = clampCol((int) Math.floor(uFrom - EDGE_EPSILON));
+            int colEnd = clampCol((int) Math.floor(uTo + EDGE_EPSILON));
+            edgeCells.set(r * cols + colStart, r * cols + colEnd + 1);
+        }
+    }
+
+    /**
+     * Even-odd ray casting test against the zone's outer ring
+     */
+    private boolean containsPoint(int z, double latitude, double longitude) {
+        double[] lats = vertexLats[z];
+        double[] lngs = vertexLngs[z];
+        boolean inside = false;
+        for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+            if ((lats[i] > latitude) != (lats[j] > latitude)) {
+                double crossingLng = lngs[i] + (latitude - lats[i]) * (lngs[j] - lngs[i]) / (lats[j] - lats[i]);
+                if (longitude < crossingLng) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    private int row(double latitude) {
+        return clampRow((int) Math.floor((latitude - minLat) / cellSize));
+    }
+
+    private int col(double longitude) {
+        return clampCol((int) Math.floor((longitude - minLng) / cellSize));
+    }
+
+    private int clampRow(int r) {
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+
+    private int clampCol(int c) {
+        return Math.max(0, Math.min(cols - 1, c));
+    }
+
+    private static double clampUnit(double t) {
+        return Math.max(0.0, Math.min(1.0, t));
+    }
+}
@@ -0,0 +1,211 @@
+package com.csse.smartwaste.bin.service;
+
+import com.csse.smartwaste.bin.entity.Bin;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for BinLookupCache, including races between loads and status updates
+ */
+class BinLookupCacheTest {
+
+    private static Bin bin(String binId, Bin.BinStatus status) {
+        Bin bin = new Bin(binId, "owner-1", status, null, 6.9, 79.86, "Colombo");
+        bin.setId("id-" + binId);
+        return bin;
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        BinLookupCache cache = new BinLookupCache(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            Optional<Bin> result = cache.get("BIN-1", id -> {
+                loads.incrementAndGet();
+                return Optional.of(bin(id, Bin.BinStatus.ACTIVE));
+            });
+            assertEquals(Bin.BinStatus.ACTIVE, result.orElseThrow().getStatus());
+        }
+
+        assertEquals(1, loads.get());
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+    }
+
+    @Test
+    void callersCannotModifyCachedBin() {
+        BinLookupCache cache = new BinLookupCache(100, 60_000);
+        cache.get("BIN-1", id -> Optional.of(bin(id, Bin.BinStatus.ACTIVE)))
+                .orElseThrow()
+                .setStatus(Bin.BinStatus.LOST);
+
+        Bin cached = cache.get("BIN-1", id -> Optional.empty()).orElseThrow();
+        assertEquals(Bin.BinStatus.ACTIVE, cached.getStatus());
+    }
+
+    @Test
+    void missingBinsAreNotCached() {
+        BinLookupCache cache = new BinLookupCache(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("BIN-404", id -> { loads.incrementAndGet(); return Optional.empty(); });
+        cache.get("BIN-404", id -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void saveEventForcesReload() {
+        BinLookupCache cache = new BinLookupCache(100, 60_000);
+        cache.get("BIN-1", id -> Optional.of(bin(id, Bin.BinStatus.ACTIVE)));
+
+        cache.onBinSaved(bin("BIN-1", Bin.BinStatus.ACTIVE), bin("BIN-1", Bin.BinStatus.COLLECTED));
+
+        Bin reloaded = cache.get("BIN-1", id -> Optional.of(bin(id, Bin.BinStatus.COLLECTED))).orElseThrow();
+        assertEquals(Bin.BinStatus.COLLECTED, reloaded.getStatus());
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() throws InterruptedException {
+        BinLookupCache cache = new BinLookupCache(100, 1);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("BIN-1", id -> { loads.incrementAndGet(); return Optional.of(bin(id, Bin.BinStatus.ACTIVE)); });
+        Thread.sleep(10);
+        cache.get("BIN-1", id -> { loads.incrementAndGet(); return Optional.of(bin(id, Bin.BinStatus.ACTIVE)); });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        BinLookupCache cache = new BinLookupCache(64, 60_000);
+        for (int i = 0; i < 1_000; i++) {
+            cache.get("BIN-" + i, id -> Optional.of(bin(id, Bin.BinStatus.ACTIVE)));
+        }
+
+        assertTrue(cache.size() <= 64, "size was " + cache.size());
+        assertTrue((Long) cache.getStats().get("evictions") > 0);
+    }
+
+    @Test
+    void loadThatRacesWithUpdateIsNotCached() throws Exception {
+        BinLookupCache cache = new BinLookupCache(100, 60_000);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch updateDone = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // The reader fetches the old status, then stalls until the update has been published
+            Future<Optional<Bin>> slowRead = executor.submit(() -> cache.get("BIN-1", id -> {
+                Bin stale = bin(id, Bin.BinStatus.ACTIVE);
+                loadStarted.countDown();
+                awaitQuietly(updateDone);
+                return Optional.of(stale);
+            }));
+
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            cache.onBinSaved(bin("BIN-1", Bin.BinStatus.ACTIVE), bin("BIN-1", Bin.BinStatus.COLLECTED));
+            updateDone.countDown();
+            slowRead.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Bin current = cache.get("BIN-1", id -> Optional.of(bin(id, Bin.BinStatus.COLLECTED))).orElseThrow();
+        assertEquals(Bin.BinStatus.COLLECTED, current.getStatus());
+        assertEquals(1L, cache.getStats().get("staleLoadsDiscarded"));
+    }
+
+    @Test
+    void concurrentStatusUpdatesLeaveNoStaleEntries() throws Exception {
+        BinLookupCache cache = new BinLookupCache(1_000, 60_000);
+        Map<String, Bin> database = new ConcurrentHashMap<>();
+        List<String> binIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String binId = "BIN-" + i;
+            binIds.add(binId);
+            database.put(binId, bin(binId, Bin.BinStatus.ACTIVE));
+        }
+
+        // Reads copy the row and then yield, widening the window between load and publish
+        Function<String, Optional<Bin>> loader = id -> {
+            Optional<Bin> row = Optional.ofNullable(database.get(id)).map(Bin::new);
+            Thread.yield();
+            return row;
+        };
+
+        AtomicBoolean writersDone = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int w = 0; w < 4; w++) {
+                writers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    Bin.BinStatus[] statuses = Bin.BinStatus.values();
+                    for (int i = 0; i < 5_000; i++) {
+                        String binId = binIds.get(random.nextInt(binIds.size()));
+                        // Same order as BinService: write the row, then publish the change
+                        Bin previous = database.get(binId);
+                        Bin updated = new Bin(previous);
+                        updated.setStatus(statuses[random.nextInt(statuses.length)]);
+                        database.put(binId, updated);
+                        cache.onBinSaved(previous, updated);
+                    }
+                }));
+            }
+            for (int r = 0; r < 4; r++) {
+                readers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (!writersDone.get()) {
+                        cache.get(binIds.get(random.nextInt(binIds.size())), loader);
+                    }
+                }));
+            }
+
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            writersDone.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (String binId : binIds) {
+            Bin cached = cache.get(binId, loader).orElseThrow();
+            assertEquals(database.get(binId).getStatus(), cached.getStatus(), "stale entry for " + binId);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.pickup.dto.PickupSlotDTO;
+import com.csse.smartwaste.pickup.entity.PickupSlotReservation;
+import com.csse.smartwaste.zone.entity.Zone;
+import com.csse.smartwaste.zone.service.ZoneEngine;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for PickupSlotScheduler, including hundreds of concurrent bookings and reschedules
+ */
+class PickupSlotSchedulerTest {
+
+    private static final int THREADS = 64;
+    private static final int CAPACITY = 3;
+    private static final int HORIZON_DAYS = 2;
+    private static final String ZONE_A = "ZONE_A";
+    private static final String ZONE_B = "ZONE_B";
+    private static final String FULL_ZONE = "ZONE_CLOSED";
+
+    private MongoClient client;
+    private InMemoryReservations mongoTemplate;
+    private PickupSlotScheduler scheduler;
+
+    /**
+     * Keeps reservations in a map, with the same key and conditional-replace semantics as the collection
+     */
+    private static final class InMemoryReservations extends MongoTemplate {
+
+        private final Map<String, PickupSlotReservation> byRequestId = new ConcurrentHashMap<>();
+
+        private InMemoryReservations(MongoClient client) {
+            super(client, "test");
+        }
+
+        @Override
+        public <T> T findById(Object id, Class<T> entityClass) {
+            return entityClass.cast(copy(byRequestId.get((String) id)));
+        }
+
+        @Override
+        public <T> T insert(T objectToSave) {
+            PickupSlotReservation reservation = (PickupSlotReservation) objectToSave;
+            if (byRequestId.putIfAbsent(reservation.getRequestId(), copy(reservation)) != null) {
+                throw new DuplicateKeyException("E11000 duplicate key " + reservation.getRequestId());
+            }
+            return objectToSave;
+        }
+
+        @Override
+        public <T> T findAndReplace(Query query, T replacement) {
+            PickupSlotReservation reservation = (PickupSlotReservation) replacement;
+            Document filter = query.getQueryObject();
+            PickupSlotReservation[] replaced = new PickupSlotReservation[1];
+            byRequestId.computeIfPresent((String) filter.get("_id"), (id, current) -> {
+                if (!current.getZoneId().equals(filter.get("zoneId")) || !current.getDay().equals(filter.get("day"))
+                        || current.getSlotIndex() != ((Number) filter.get("slotIndex")).intValue()) {
+                    return current;
+                }
+                replaced[0] = current;
+                return copy(reservation);
+            });
+            return replaced[0] == null ? null : replacement;
+        }
+
+        @Override
+        public DeleteResult remove(Query query, Class<?> entityClass) {
+            boolean removed = byRequestId.remove((String) query.getQueryObject().get("_id")) != null;
+            return DeleteResult.acknowledged(removed ? 1 : 0);
+        }
+
+        @Override
+        public <O> AggregationResults<O> aggregate(Aggregation aggregation, Class<?> inputType, Class<O> outputType) {
+            Document match = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT).get(0).get("$match", Document.class);
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (PickupSlotReservation reservation : byRequestId.values()) {
+                if (reservation.getZoneId().equals(match.get("zoneId")) && reservation.getDay().equals(match.get("day"))) {
+                    counts.merge(reservation.getSlotIndex(), 1, Integer::sum);
+                }
+            }
+            List<O> rows = new ArrayList<>();
+            counts.forEach((slot, count) -> rows.add(outputType.cast(new Document("_id", slot).append("count", count))));
+            return new AggregationResults<>(rows, new Document());
+        }
+
+        private static PickupSlotReservation copy(PickupSlotReservation reservation) {
+            if (reservation == null) {
+                return null;
+            }
+            return new PickupSlotReservation(reservation.getRequestId(), reservation.getZoneId(), reservation.getDay(),
+                    reservation.getSlotIndex(), reservation.getSlotStart(), reservation.getSlotEnd());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create("mongodb://localhost:1");
+        mongoTemplate = new InMemoryReservations(client);
+        Map<String, Zone> zones = new HashMap<>();
+        for (String zoneId : List.of(ZONE_A, ZONE_B, FULL_ZONE)) {
+            Zone zone = new Zone();
+            zone.setZoneId(zoneId);
+            zone.setPickupSlotCapacity(zoneId.equals(FULL_ZONE) ? 0 : CAPACITY);
+            zones.put(zoneId, zone);
+        }
+        ZoneEngine zoneEngine = new ZoneEngine(null, ZONE_A, 0.002, 1000) {
+            @Override
+            public Optional<Zone> getZone(String zoneId) {
+                return Optional.ofNullable(zones.get(zoneId));
+            }
+        };
+        scheduler = new PickupSlotScheduler(mongoTemplate, zoneEngine, "08:00", "18:00", 60,
+                CAPACITY, HORIZON_DAYS, 0, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    /**
+     * Stored reservations per "zone|day|slot"
+     */
+    private Map<String, Integer> storedCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (PickupSlotReservation reservation : mongoTemplate.byRequestId.values()) {
+            counts.merge(reservation.getZoneId() + "|" + reservation.getDay() + "|" + reservation.getSlotIndex(),
+                    1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * No slot over capacity, and the in-memory counts match the stored reservations
+     */
+    private void assertConsistent() {
+        Map<String, Integer> stored = storedCounts();
+        stored.forEach((slot, count) -> assertTrue(count <= CAPACITY, slot + " holds " + count + " pickups"));
+        for (String zoneId : List.of(ZONE_A, ZONE_B)) {
+            for (int offset = 0; offset <= HORIZON_DAYS; offset++) {
+                LocalDate day = LocalDate.now().plusDays(offset);
+                List<PickupSlotDTO> slots = scheduler.getAvailability(zoneId, day);
+                for (int slot = 0; slot < slots.size(); slot++) {
+                    assertEquals(stored.getOrDefault(zoneId + "|" + day + "|" + slot, 0).intValue(),
+                            slots.get(slot).getReserved(), zoneId + " " + day + " slot " + slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Slots every booking could still choose from when the test ends
+     */
+    private int futureSlotsOf(LocalDateTime after) {
+        int slots = 0;
+        for (int offset = 0; offset <= HORIZON_DAYS; offset++) {
+            for (PickupSlotDTO slot : scheduler.getAvailability(ZONE_A, LocalDate.now().plusDays(offset))) {
+                if (slot.getSlotStart().isAfter(after)) {
+                    slots++;
+                }
+            }
+        }
+        return slots;
+    }
+
+    @Test
+    void concurrentBookingsNeverOverfillASlot() throws Exception {
+        int requests = 800;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<PickupSlotReservation>>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            String requestId = "req-" + i;
+            String zoneId = i % 2 == 0 ? ZONE_A : ZONE_B;
+            LocalDateTime preferred = i % 3 == 0 ? null : LocalDateTime.now().plusHours(i % 40);
+            results.add(executor.submit(() -> {
+                start.await();
+                return scheduler.reserve(requestId, zoneId, preferred);
+            }));
+        }
+        start.countDown();
+
+        Map<String, Integer> reservedByZone = new HashMap<>();
+        int rejected = 0;
+        for (int i = 0; i < requests; i++) {
+            Optional<PickupSlotReservation> result = results.get(i).get(30, TimeUnit.SECONDS);
+            PickupSlotReservation stored = mongoTemplate.byRequestId.get("req-" + i);
+            if (result.isPresent()) {
+                assertTrue(stored != null, "req-" + i + " was booked but holds no reservation");
+                assertEquals(result.get().getSlotStart(), stored.getSlotStart(), "req-" + i);
+                reservedByZone.merge(stored.getZoneId(), 1, Integer::sum);
+            } else {
+                assertTrue(stored == null, "req-" + i + " was rejected but holds a reservation");
+                rejected++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(requests, rejected + reservedByZone.values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(mongoTemplate.byRequestId.size(), requests - rejected);
+        assertConsistent();
+        // 400 requests per zone exceed the horizon's capacity, so every slot still ahead must be full
+        int futureSlots = futureSlotsOf(LocalDateTime.now());
+        assertTrue(rejected > 0, "expected more bookings than slots");
+        for (String zoneId : List.of(ZONE_A, ZONE_B)) {
+            assertTrue(reservedByZone.getOrDefault(zoneId, 0) >= futureSlots * CAPACITY,
+                    zoneId + " rejected bookings while slots were free");
+        }
+    }
+
+    @Test
+    void concurrentReschedulesKeepExactlyOneReservation() throws Exception {
+        // Two full days always lie within the horizon, so 40 bookings leave free slots to move into
+        int requests = 40;
+        for (int i = 0; i < requests; i++) {
+            scheduler.reserve("req-" + i, ZONE_A, null).orElseThrow();
+        }
+        List<String> booked = new ArrayList<>(mongoTemplate.byRequestId.keySet());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> moves = new ArrayList<>();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < booked.size(); i++) {
+                String requestId = booked.get(i);
+                LocalDateTime preferred = LocalDateTime.now().plusHours((i * 7L + round * 13L) % 48);
+                moves.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        scheduler.reserve(requestId, ZONE_A, preferred);
+                    } catch (IllegalStateException e) {
+                        // Two reschedules of the same request raced; the other one won
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> move : moves) {
+            move.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        for (String requestId : booked) {
+            assertTrue(mongoTemplate.byRequestId.containsKey(requestId), requestId + " lost its reservation");
+        }
+        assertEquals(booked.size(), mongoTemplate.byRequestId.size());
+        assertConsistent();
+    }
+
+    @Test
+    void rescheduleIntoFullHorizonKeepsEarlierSlot() {
+        int requests = 0;
+        while (scheduler.reserve("req-" + requests, ZONE_A, null).isPresent()) {
+            requests++;
+        }
+        assertTrue(requests > 0, "expected at least one free slot in the horizon");
+        PickupSlotReservation before = mongoTemplate.byRequestId.get("req-0");
+
+        Optional<PickupSlotReservation> moved = scheduler.reserve("req-0", ZONE_A, LocalDateTime.now().plusDays(1));
+
+        PickupSlotReservation after = mongoTemplate.byRequestId.get("req-0");
+        assertTrue(moved.isPresent(), "a request that cannot move keeps its slot");
+        assertEquals(before.getSlotStart(), moved.get().getSlotStart());
+        assertEquals(before.getSlotStart(), after.getSlotStart());
+        assertEquals(requests, mongoTemplate.byRequestId.size());
+        assertConsistent();
+    }
+
+    @Test
+    void zoneWithoutCapacityNeitherBooksNorDropsAReservation() {
+        assertTrue(scheduler.reserve("req-closed", FULL_ZONE, null).isEmpty());
+        assertTrue(mongoTemplate.byRequestId.isEmpty());
+
+        PickupSlotReservation held = scheduler.reserve("req-1", ZONE_A, null).orElseThrow();
+        assertTrue(scheduler.reserve("req-1", FULL_ZONE, null).isEmpty());
+
+        PickupSlotReservation after = mongoTemplate.byRequestId.get("req-1");
+        assertEquals(ZONE_A, after.getZoneId());
+        assertEquals(held.getSlotStart(), after.getSlotStart());
+        assertTrue(storedCounts().keySet().stream().noneMatch(slot -> slot.startsWith(FULL_ZONE)));
+        assertConsistent();
+    }
+}
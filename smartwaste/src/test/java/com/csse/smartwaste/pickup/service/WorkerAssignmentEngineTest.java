@@ -0,0 +1,284 @@
+package com.csse.smartwaste.pickup.service;
+
+import com.csse.smartwaste.common.model.PickupStatus;
+import com.csse.smartwaste.common.model.PickupType;
+import com.csse.smartwaste.common.model.Role;
+import com.csse.smartwaste.common.model.WasteType;
+import com.csse.smartwaste.common.util.UserValidationUtil;
+import com.csse.smartwaste.login.entity.User;
+import com.csse.smartwaste.pickup.entity.PickupRequest;
+import com.csse.smartwaste.route.service.RouteService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for WorkerAssignmentEngine, including its split of work with EmergencyDispatchQueue
+ */
+class WorkerAssignmentEngineTest {
+
+    private MongoClient client;
+    private InMemoryStore mongoTemplate;
+    private WorkerAssignmentEngine engine;
+    private EmergencyDispatchQueue queue;
+
+    /**
+     * Keeps documents in memory and answers the equality, null, $in, $nin and $ne filters used here
+     */
+    private static final class InMemoryStore extends MongoTemplate {
+
+        private final Map<Class<?>, Map<Object, Document>> collections = new LinkedHashMap<>();
+
+        private InMemoryStore(MongoClient client) {
+            super(client, "test");
+        }
+
+        private synchronized void put(Object entity) {
+            Document document = new Document();
+            getConverter().write(entity, document);
+            collections.computeIfAbsent(entity.getClass(), ignored -> new LinkedHashMap<>())
+                    .put(document.get("_id"), document);
+        }
+
+        private synchronized <T> T get(Object id, Class<T> entityClass) {
+            Document document = collections.getOrDefault(entityClass, Map.of()).get(id);
+            return document == null ? null : getConverter().read(entityClass, document);
+        }
+
+        @Override
+        public synchronized <T> List<T> find(Query query, Class<T> entityClass) {
+            List<T> found = new ArrayList<>();
+            for (Document document : collections.getOrDefault(entityClass, Map.of()).values()) {
+                if (matches(document, query.getQueryObject())) {
+                    found.add(getConverter().read(entityClass, document));
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public <O> AggregationResults<O> aggregate(Aggregation aggregation, Class<?> inputType, Class<O> outputType) {
+            return new AggregationResults<>(List.of(), new Document());
+        }
+
+        @Override
+        public synchronized <T> T findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options,
+                                                Class<T> entityClass) {
+            Document document = apply(query, update, entityClass);
+            return document == null ? null : getConverter().read(entityClass, document);
+        }
+
+        @Override
+        public BulkOperations bulkOps(BulkOperations.BulkMode mode, Class<?> entityClass) {
+            List<Object[]> updates = new ArrayList<>();
+            return (BulkOperations) Proxy.newProxyInstance(BulkOperations.class.getClassLoader(),
+                    new Class<?>[] {BulkOperations.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "updateOne":
+                                updates.add(args);
+                                return proxy;
+                            case "execute":
+                                synchronized (this) {
+                                    for (Object[] update : updates) {
+                                        apply((Query) update[0], (UpdateDefinition) update[1], entityClass);
+                                    }
+                                }
+                                return null;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+
+        /**
+         * Apply the $set part of an update to the first matching document
+         */
+        private Document apply(Query query, UpdateDefinition update, Class<?> entityClass) {
+            for (Document document : collections.getOrDefault(entityClass, Map.of()).values()) {
+                if (matches(document, query.getQueryObject())) {
+                    Document set = update.getUpdateObject().get("$set", Document.class);
+                    set.forEach((field, value) -> document.put(field, getConverter().convertToMongoType(value)));
+                    return document;
+                }
+            }
+            return null;
+        }
+
+        private static boolean matches(Document document, Document filter) {
+            for (Map.Entry<String, Object> condition : filter.entrySet()) {
+                Object actual = document.get(condition.getKey());
+                Object expected = condition.getValue();
+                if (expected instanceof Document operators) {
+                    for (Map.Entry<String, Object> operator : operators.entrySet()) {
+                        boolean ok;
+                        switch (operator.getKey()) {
+                            case "$in":
+                                ok = contains((Collection<?>) operator.getValue(), actual);
+                                break;
+                            case "$nin":
+                                ok = !contains((Collection<?>) operator.getValue(), actual);
+                                break;
+                            case "$ne":
+                                ok = !same(operator.getValue(), actual);
+                                break;
+                            default:
+                                throw new UnsupportedOperationException(operator.getKey());
+                        }
+                        if (!ok) {
+                            return false;
+                        }
+                    }
+                } else if (!same(expected, actual)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean contains(Collection<?> values, Object actual) {
+            return values.stream().anyMatch(value -> same(value, actual));
+        }
+
+        private static boolean same(Object expected, Object actual) {
+            Object normalised = expected instanceof Enum<?> constant ? constant.name()
+                    : expected instanceof LocalDateTime time ? Date.from(time.atZone(ZoneId.systemDefault()).toInstant())
+                    : expected;
+            return normalised == null ? actual == null : normalised.equals(actual);
+        }
+    }
+
+    private static User worker(String userId) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setName("Worker " + userId);
+        user.setRole(Role.Worker);
+        user.setStatus(User.UserStatus.ACTIVE);
+        user.setSkills(List.of(WasteType.HAZARDOUS, WasteType.E_WASTE));
+        return user;
+    }
+
+    private static PickupRequest request(String requestId, PickupType type) {
+        PickupRequest request = new PickupRequest();
+        request.setRequestId(requestId);
+        request.setPickupType(type);
+        request.setStatus(PickupStatus.PENDING);
+        request.setWasteType(WasteType.BULKY_WASTE);
+        request.setLatitude(6.93);
+        request.setLongitude(79.86);
+        request.setCreatedAt(LocalDateTime.now().minusMinutes(5));
+        return request;
+    }
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create("mongodb://localhost:1");
+        mongoTemplate = new InMemoryStore(client);
+        mongoTemplate.put(worker("W1"));
+        mongoTemplate.put(worker("W2"));
+
+        NotificationService notificationService = new NotificationService(mongoTemplate) {
+            @Override
+            public void sendWorkerAssignmentNotification(PickupRequest pickupRequest) {
+                // Delivery is not under test
+            }
+        };
+        UserValidationUtil userValidationUtil = new UserValidationUtil(null) {
+            @Override
+            public User validateUserAndRole(String userId, Role requiredRole) {
+                return mongoTemplate.get(userId, User.class);
+            }
+        };
+        RouteService routeService = new RouteService(null, null, 6.9271, 79.8612, 25, 2);
+        String[] skilledWasteTypes = {"E_WASTE", "HAZARDOUS"};
+        engine = new WorkerAssignmentEngine(mongoTemplate, notificationService, routeService, userValidationUtil,
+                null, 12, 1.0, 10.0, skilledWasteTypes, 5000);
+        queue = new EmergencyDispatchQueue(mongoTemplate, notificationService, userValidationUtil,
+                1.0, 2.0, new String[] {"HAZARDOUS:60"}, skilledWasteTypes, 32, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        queue.shutdown();
+        client.close();
+    }
+
+    @Test
+    void dispatchAssignsOpenRegularRequests() {
+        mongoTemplate.put(request("R1", PickupType.REGULAR));
+        mongoTemplate.put(request("X1", PickupType.EXTRA));
+
+        Map<String, Object> summary = engine.dispatch();
+
+        assertEquals(2, summary.get("openRequests"));
+        assertEquals(2, summary.get("assigned"));
+        assertTrue(mongoTemplate.get("R1", PickupRequest.class).getAssignedWorkerId() != null);
+        assertTrue(mongoTemplate.get("X1", PickupRequest.class).getAssignedWorkerId() != null);
+    }
+
+    @Test
+    void emergencyRequestIsOnlyAssignedThroughTheQueue() {
+        mongoTemplate.put(request("R1", PickupType.REGULAR));
+        mongoTemplate.put(request("E1", PickupType.EMERGENCY));
+        assertEquals(1, queue.rebuild());
+
+        Map<String, Object> summary = engine.dispatch();
+
+        assertEquals(1, summary.get("openRequests"));
+        assertEquals(1, summary.get("assigned"));
+        assertTrue(mongoTemplate.get("R1", PickupRequest.class).getAssignedWorkerId() != null);
+        PickupRequest waiting = mongoTemplate.get("E1", PickupRequest.class);
+        assertNull(waiting.getAssignedWorkerId(), "the bulk dispatcher must leave emergencies to the queue");
+        assertEquals(PickupStatus.PENDING, waiting.getStatus());
+        assertEquals(1, queue.getQueue(10).size());
+        assertEquals(1, queue.rebuild(), "a resync must still find the emergency open");
+
+        Optional<PickupRequest> claimed = queue.claim("W2", 6.93, 79.86);
+
+        assertEquals("E1", claimed.orElseThrow().getRequestId());
+        PickupRequest assigned = mongoTemplate.get("E1", PickupRequest.class);
+        assertEquals("W2", assigned.getAssignedWorkerId());
+        assertEquals(PickupStatus.IN_PROGRESS, assigned.getStatus());
+        assertEquals(0, queue.getQueue(10).size());
+    }
+
+    @Test
+    void repeatedDispatchNeverTouchesAWaitingEmergency() {
+        mongoTemplate.put(request("E1", PickupType.EMERGENCY));
+        queue.rebuild();
+
+        for (int run = 0; run < 3; run++) {
+            Map<String, Object> summary = engine.dispatch();
+            assertEquals(0, summary.get("openRequests"));
+            assertEquals(0, summary.get("assigned"));
+        }
+
+        assertNull(mongoTemplate.get("E1", PickupRequest.class).getAssignedWorkerId());
+        assertEquals("E1", queue.claim("W1", null, null).orElseThrow().getRequestId());
+    }
+}
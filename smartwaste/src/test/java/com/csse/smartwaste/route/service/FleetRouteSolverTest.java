@@ -0,0 +1,166 @@
+package com.csse.smartwaste.route.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for FleetRouteSolver: vehicle capacity, stop coverage and reproducible plans
+ */
+class FleetRouteSolverTest {
+
+    private static final long GENEROUS_BUDGET_MS = 60_000;
+
+    private FleetRouteSolver solver;
+
+    @AfterEach
+    void shutdown() {
+        if (solver != null) {
+            solver.shutdown();
+        }
+    }
+
+    /**
+     * Depot, stops scattered over roughly 20 x 20 km around Colombo and their demands in kg
+     */
+    private static double[][] problem(int stops, long seed) {
+        Random random = new Random(seed);
+        double[] latitudes = new double[stops + 1];
+        double[] longitudes = new double[stops + 1];
+        double[] demands = new double[stops + 1];
+        latitudes[0] = 6.9271;
+        longitudes[0] = 79.8612;
+        for (int i = 1; i <= stops; i++) {
+            latitudes[i] = 6.83 + random.nextDouble() * 0.18;
+            longitudes[i] = 79.78 + random.nextDouble() * 0.18;
+            demands[i] = 5 + random.nextDouble() * 20;
+        }
+        return new double[][] {latitudes, longitudes, demands};
+    }
+
+    private static double totalDemand(double[] demands) {
+        double total = 0;
+        for (int i = 1; i < demands.length; i++) {
+            total += demands[i];
+        }
+        return total;
+    }
+
+    private static void assertWithinCapacity(FleetRouteSolver.Solution solution, double[] demands,
+                                             int vehicles, double capacity) {
+        for (int vehicle = 0; vehicle < vehicles; vehicle++) {
+            double load = 0;
+            for (int point : solution.getRoute(vehicle)) {
+                load += demands[point];
+            }
+            assertTrue(load <= capacity + 1e-9, "vehicle " + vehicle + " carries " + load + " kg of " + capacity);
+            assertEquals(load, solution.getLoad(vehicle), 1e-6, "reported load of vehicle " + vehicle);
+        }
+    }
+
+    private static void assertEveryStopOnce(FleetRouteSolver.Solution solution, int stops, int vehicles) {
+        int[] seen = new int[stops + 1];
+        for (int vehicle = 0; vehicle < vehicles; vehicle++) {
+            for (int point : solution.getRoute(vehicle)) {
+                assertTrue(point >= 1 && point <= stops, "vehicle " + vehicle + " visits point " + point);
+                seen[point]++;
+            }
+        }
+        for (int point : solution.getUnassigned()) {
+            assertTrue(point >= 1 && point <= stops, "unassigned point " + point);
+            seen[point]++;
+        }
+        for (int point = 1; point <= stops; point++) {
+            assertEquals(1, seen[point], "point " + point + " routed or reported unassigned");
+        }
+    }
+
+    @Test
+    void largeZoneStaysWithinEveryTruckCapacity() {
+        solver = new FleetRouteSolver(4, 0);
+        int stops = 1000;
+        int vehicles = 8;
+        double[][] problem = problem(stops, 1);
+        double capacity = totalDemand(problem[2]) / vehicles * 1.1;
+
+        FleetRouteSolver.Solution solution = solver.solve(problem[0], problem[1], problem[2], vehicles, capacity, 2_000);
+
+        assertWithinCapacity(solution, problem[2], vehicles, capacity);
+        assertEveryStopOnce(solution, stops, vehicles);
+        assertEquals(0, solution.getUnassigned().length, "10% spare capacity should fit every stop");
+    }
+
+    @Test
+    void stopsBeyondFleetCapacityAreReportedUnassigned() {
+        solver = new FleetRouteSolver(4, 0);
+        int stops = 300;
+        int vehicles = 3;
+        double[][] problem = problem(stops, 2);
+        // The fleet carries about half of the zone
+        double capacity = totalDemand(problem[2]) / vehicles / 2;
+
+        FleetRouteSolver.Solution solution = solver.solve(problem[0], problem[1], problem[2], vehicles, capacity, 1_000);
+
+        assertWithinCapacity(solution, problem[2], vehicles, capacity);
+        assertEveryStopOnce(solution, stops, vehicles);
+        assertTrue(solution.getUnassigned().length > 0, "an overloaded zone must leave stops out");
+        double leftOut = 0;
+        for (int point : solution.getUnassigned()) {
+            leftOut += problem[2][point];
+        }
+        assertTrue(leftOut >= totalDemand(problem[2]) - vehicles * capacity - 1e-6,
+                "left-out load must cover what the fleet cannot carry");
+    }
+
+    @Test
+    void stopHeavierThanATruckIsReportedUnassigned() {
+        solver = new FleetRouteSolver(2, 0);
+        double[][] problem = problem(20, 3);
+        problem[2][7] = 500;
+
+        FleetRouteSolver.Solution solution = solver.solve(problem[0], problem[1], problem[2], 2, 400, 200);
+
+        assertWithinCapacity(solution, problem[2], 2, 400);
+        assertEveryStopOnce(solution, 20, 2);
+        assertArrayEquals(new int[] {7}, solution.getUnassigned());
+    }
+
+    @Test
+    void sameInputGivesSamePlan() {
+        // A restart cap reached well within the budget takes timing out of the result
+        solver = new FleetRouteSolver(4, 3);
+        int stops = 200;
+        int vehicles = 4;
+        double[][] problem = problem(stops, 4);
+        double capacity = totalDemand(problem[2]) / vehicles * 1.05;
+
+        FleetRouteSolver.Solution first = solver.solve(problem[0], problem[1], problem[2], vehicles, capacity, GENEROUS_BUDGET_MS);
+        FleetRouteSolver.Solution second = solver.solve(problem[0], problem[1], problem[2], vehicles, capacity, GENEROUS_BUDGET_MS);
+
+        assertEquals(4 * 3, first.getRestarts(), "every search should run its full restart cap");
+        for (int vehicle = 0; vehicle < vehicles; vehicle++) {
+            assertArrayEquals(first.getRoute(vehicle), second.getRoute(vehicle), "route of vehicle " + vehicle);
+        }
+        assertArrayEquals(first.getUnassigned(), second.getUnassigned());
+        assertEquals(first.getTotalDistance(), second.getTotalDistance(), 0.0);
+    }
+
+    @Test
+    void depotOnlyGivesEmptyRoutes() {
+        solver = new FleetRouteSolver(2, 0);
+
+        FleetRouteSolver.Solution solution = solver.solve(new double[] {6.9271}, new double[] {79.8612},
+                new double[] {0}, 3, 100, 100);
+
+        for (int vehicle = 0; vehicle < 3; vehicle++) {
+            assertEquals(0, solution.getRoute(vehicle).length);
+        }
+        assertEquals(0, solution.getUnassigned().length);
+        assertEquals(0.0, solution.getTotalDistance(), 0.0);
+    }
+}
@@ -0,0 +1,169 @@
+package com.csse.smartwaste.route.service;
+
+import com.csse.smartwaste.common.util.GeoUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for RoutePlanner: tour validity, monotone improvement and optimality on small inputs
+ */
+class RoutePlannerTest {
+
+    private static final long GENEROUS_BUDGET_MS = 10_000;
+
+    /**
+     * Depot followed by stops scattered over roughly 20 x 20 km around Colombo
+     */
+    private static double[][] points(int stops, long seed) {
+        Random random = new Random(seed);
+        double[] latitudes = new double[stops + 1];
+        double[] longitudes = new double[stops + 1];
+        latitudes[0] = 6.9271;
+        longitudes[0] = 79.8612;
+        for (int i = 1; i <= stops; i++) {
+            latitudes[i] = 6.83 + random.nextDouble() * 0.18;
+            longitudes[i] = 79.78 + random.nextDouble() * 0.18;
+        }
+        return new double[][] {latitudes, longitudes};
+    }
+
+    private static void assertValidTour(int[] order, int points) {
+        assertEquals(points, order.length, "tour length");
+        assertEquals(0, order[0], "tour must start at the depot");
+        boolean[] seen = new boolean[points];
+        for (int index : order) {
+            assertTrue(index >= 0 && index < points, "index out of range: " + index);
+            assertTrue(!seen[index], "point visited twice: " + index);
+            seen[index] = true;
+        }
+    }
+
+    @Test
+    void everyStopIsVisitedExactlyOnce() {
+        RoutePlanner planner = new RoutePlanner(GENEROUS_BUDGET_MS);
+        for (int stops : new int[] {0, 1, 2, 3, 10, 300}) {
+            double[][] points = points(stops, stops);
+            RoutePlanner.Tour tour = planner.plan(points[0], points[1]);
+
+            assertValidTour(tour.getOrder(), stops + 1);
+            double[] distances = GeoUtil.distanceMatrixKm(points[0], points[1]);
+            assertEquals(RoutePlanner.tourLength(tour.getOrder(), stops + 1, distances, stops + 1),
+                    tour.getTotalKm(), 1e-9, "reported length for " + stops + " stops");
+        }
+    }
+
+    @Test
+    void improvementNeverLengthensATour() {
+        for (long seed = 1; seed <= 20; seed++) {
+            int points = 40;
+            double[][] coordinates = points(points - 1, seed);
+            double[] distances = GeoUtil.distanceMatrixKm(coordinates[0], coordinates[1]);
+
+            // Start from a random order so both moves have plenty to do
+            Random random = new Random(seed);
+            int[] tour = new int[points];
+            for (int i = 0; i < points; i++) {
+                tour[i] = i;
+            }
+            for (int i = points - 1; i > 1; i--) {
+                int j = 1 + random.nextInt(i);
+                int swap = tour[i];
+                tour[i] = tour[j];
+                tour[j] = swap;
+            }
+
+            double before = RoutePlanner.tourLength(tour, points, distances, points);
+            RoutePlanner.improve(tour, points, distances, points, System.nanoTime() + GENEROUS_BUDGET_MS * 1_000_000L);
+            double after = RoutePlanner.tourLength(tour, points, distances, points);
+
+            assertValidTour(tour, points);
+            assertTrue(after <= before + 1e-9, "seed " + seed + ": " + before + " km became " + after + " km");
+        }
+    }
+
+    @Test
+    void convexTourMatchesBruteForceOptimum() {
+        // With every point on the convex hull the only tour without crossing edges is the optimum,
+        // and 2-opt leaves no crossing edges, so the planner must find it whatever the input order
+        RoutePlanner planner = new RoutePlanner(GENEROUS_BUDGET_MS);
+        for (long seed = 1; seed <= 5; seed++) {
+            int stops = 8;
+            Random random = new Random(seed);
+            double[] angles = new double[stops + 1];
+            for (int i = 0; i <= stops; i++) {
+                angles[i] = 2 * Math.PI * (i + random.nextDouble() * 0.5) / (stops + 1);
+            }
+            // Shuffle the stops so the input order says nothing about the hull order
+            for (int i = stops; i > 1; i--) {
+                int j = 1 + random.nextInt(i);
+                double swap = angles[i];
+                angles[i] = angles[j];
+                angles[j] = swap;
+            }
+            double[] latitudes = new double[stops + 1];
+            double[] longitudes = new double[stops + 1];
+            for (int i = 0; i <= stops; i++) {
+                latitudes[i] = 6.92 + 0.05 * Math.sin(angles[i]);
+                longitudes[i] = 79.86 + 0.05 * Math.cos(angles[i]);
+            }
+
+            double optimum = bruteForce(latitudes, longitudes);
+            assertEquals(optimum, planner.plan(latitudes, longitudes).getTotalKm(), 1e-9, "seed " + seed);
+        }
+    }
+
+    @Test
+    void smallRandomToursStayCloseToBruteForceOptimum() {
+        // Local search gives no optimality guarantee on arbitrary inputs; on eight stops it
+        // should nearly always find the optimum and never be far off
+        RoutePlanner planner = new RoutePlanner(GENEROUS_BUDGET_MS);
+        int optimal = 0;
+        for (long seed = 1; seed <= 50; seed++) {
+            double[][] points = points(8, seed);
+            double optimum = bruteForce(points[0], points[1]);
+            double planned = planner.plan(points[0], points[1]).getTotalKm();
+
+            assertTrue(planned >= optimum - 1e-9, "seed " + seed + " beat the brute-force optimum");
+            assertTrue(planned <= optimum * 1.10, "seed " + seed + ": " + planned + " km vs optimum " + optimum + " km");
+            if (planned <= optimum + 1e-9) {
+                optimal++;
+            }
+        }
+        assertTrue(optimal >= 45, "only " + optimal + " of 50 tours were optimal");
+    }
+
+    private static double bruteForce(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        double[] distances = GeoUtil.distanceMatrixKm(latitudes, longitudes);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return shortest(order, 1, distances, n, Double.MAX_VALUE);
+    }
+
+    /**
+     * Shortest closed tour over every permutation of order[from..]
+     */
+    private static double shortest(int[] order, int from, double[] distances, int n, double best) {
+        if (from == n) {
+            return Math.min(best, RoutePlanner.tourLength(order, n, distances, n));
+        }
+        for (int i = from; i < n; i++) {
+            swap(order, from, i);
+            best = shortest(order, from + 1, distances, n, best);
+            swap(order, from, i);
+        }
+        return best;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int swap = values[i];
+        values[i] = values[j];
+        values[j] = swap;
+    }
+}